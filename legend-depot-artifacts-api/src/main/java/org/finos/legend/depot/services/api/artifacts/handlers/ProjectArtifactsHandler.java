@@ -17,9 +17,11 @@ package org.finos.legend.depot.services.api.artifacts.handlers;
 
 import org.finos.legend.depot.domain.notifications.RestCuratedArtifacts;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationResponse;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 
 import java.io.File;
 import java.util.List;
+import java.util.stream.Collectors;
 
 public interface ProjectArtifactsHandler
 {
@@ -28,5 +30,16 @@ public interface ProjectArtifactsHandler
 
     void delete(String groupId, String artifactId, String versionId);
 
+    default void delete(String groupId, String artifactId, List<String> versionIds)
+    {
+        versionIds.forEach(versionId -> delete(groupId, artifactId, versionId));
+    }
+
+    default void delete(List<ProjectVersion> projectVersions)
+    {
+        projectVersions.stream().collect(Collectors.groupingBy(ProjectVersion::getGa)).values().forEach(versions ->
+                delete(versions.get(0).getGroupId(), versions.get(0).getArtifactId(), versions.stream().map(ProjectVersion::getVersionId).collect(Collectors.toList())));
+    }
+
     MetadataNotificationResponse refreshRestArtifacts(String groupId, String artifactId, String versionId, RestCuratedArtifacts restCuratedArtifacts);
 }
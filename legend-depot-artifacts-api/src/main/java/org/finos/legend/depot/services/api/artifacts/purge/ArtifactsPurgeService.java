@@ -21,9 +21,19 @@ import java.util.List;
 
 public interface ArtifactsPurgeService
 {
-    MetadataNotificationResponse evictLeastRecentlyUsed(int ttlForVersionsInDays, int ttlForSnapshotsInDays);
+    default MetadataNotificationResponse evictLeastRecentlyUsed(int ttlForVersionsInDays, int ttlForSnapshotsInDays)
+    {
+        return evictLeastRecentlyUsed(ttlForVersionsInDays, ttlForSnapshotsInDays, false);
+    }
 
-    MetadataNotificationResponse evictVersionsNotUsed();
+    MetadataNotificationResponse evictLeastRecentlyUsed(int ttlForVersionsInDays, int ttlForSnapshotsInDays, boolean dryRun);
+
+    default MetadataNotificationResponse evictVersionsNotUsed()
+    {
+        return evictVersionsNotUsed(false);
+    }
+
+    MetadataNotificationResponse evictVersionsNotUsed(boolean dryRun);
 
     MetadataNotificationResponse evictOldestProjectVersions(String groupId, String artifactId, int versionsToKeep);
 
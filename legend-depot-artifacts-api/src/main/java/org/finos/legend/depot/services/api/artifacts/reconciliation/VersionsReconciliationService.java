@@ -16,13 +16,24 @@
 package org.finos.legend.depot.services.api.artifacts.reconciliation;
 
 import org.finos.legend.depot.domain.version.VersionMismatch;
+import org.finos.legend.depot.domain.version.VersionMismatchesReport;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface VersionsReconciliationService
 {
      List<VersionMismatch> findVersionsMismatches();
 
+     Page<VersionMismatch> findVersionsMismatches(String continuationToken, int pageSize);
+
+     VersionMismatchesReport startVersionsMismatchesReport();
+
+     Optional<VersionMismatchesReport> getVersionsMismatchesReport();
+
+     Page<VersionMismatch> getVersionsMismatchesReportPage(String continuationToken, int pageSize);
+
      List<StoreProjectData> syncLatestProjectVersions();
 }
@@ -19,6 +19,7 @@ import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 
 import java.util.List;
+import java.util.Map;
 
 public interface RefreshDependenciesService
 {
@@ -29,4 +30,6 @@ public interface RefreshDependenciesService
     StoreProjectVersionData updateTransitiveDependencies(String groupId, String artifactId, String versionId);
 
     void setProjectDataTransitiveDependencies(StoreProjectVersionData projectData);
+
+    void setProjectDataTransitiveDependencies(StoreProjectVersionData projectData, List<ProjectVersion> previousDependencies, Map<String, List<ProjectVersion>> previousExclusions);
 }
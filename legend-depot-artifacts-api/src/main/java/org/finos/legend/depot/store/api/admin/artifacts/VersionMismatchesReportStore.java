@@ -0,0 +1,46 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+package org.finos.legend.depot.store.api.admin.artifacts;
+
+import org.finos.legend.depot.domain.version.VersionMismatch;
+import org.finos.legend.depot.domain.version.VersionMismatchesReport;
+import org.finos.legend.depot.store.model.Page;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+public interface VersionMismatchesReportStore
+{
+    Optional<VersionMismatchesReport> getLatest();
+
+    /**
+     * Stores the given running report unless another one, started after runningSince, is still running.
+     * @return true if the report was stored and the caller should run it
+     */
+    boolean start(VersionMismatchesReport running, Date runningSince);
+
+    /**
+     * Stores mismatches found by the given run, one per project.
+     */
+    void addMismatches(String runId, List<VersionMismatch> mismatches);
+
+    /**
+     * Replaces the latest report. Once it has finished, mismatches stored by any other run are removed.
+     */
+    void save(VersionMismatchesReport report);
+
+    Page<VersionMismatch> getMismatches(String runId, String continuationToken, int pageSize);
+}
@@ -0,0 +1,51 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.model.admin.artifacts;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.finos.legend.depot.domain.version.VersionMismatch;
+import org.finos.legend.depot.store.model.HasIdentifier;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class StoredVersionMismatch extends VersionMismatch implements HasIdentifier
+{
+    @JsonProperty
+    public String runId;
+
+    public StoredVersionMismatch()
+    {
+    }
+
+    public StoredVersionMismatch(String runId, VersionMismatch mismatch)
+    {
+        super(mismatch.projectId, mismatch.groupId, mismatch.artifactId, mismatch.versionsNotInStore, mismatch.versionsNotInRepository, mismatch.errors);
+        this.runId = runId;
+    }
+
+    @Override
+    @JsonIgnore
+    public String getId()
+    {
+        return null;
+    }
+
+    public VersionMismatch toVersionMismatch()
+    {
+        return new VersionMismatch(projectId, groupId, artifactId, versionsNotInStore, versionsNotInRepository, errors);
+    }
+}
@@ -15,6 +15,8 @@
 
 package org.finos.legend.depot.services.artifacts.repository.maven;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import org.apache.maven.model.Build;
 import org.apache.maven.model.Dependency;
 import org.apache.maven.model.Model;
@@ -30,7 +32,7 @@ import org.finos.legend.depot.services.api.artifacts.repository.ArtifactReposito
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepositoryProviderConfiguration;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactType;
-import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.domain.version.ParsedVersions;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.jboss.shrinkwrap.resolver.api.NoResolvedResultException;
@@ -51,12 +53,14 @@ import java.io.InputStream;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -76,6 +80,7 @@ public class MavenArtifactRepository implements ArtifactRepository
     private final String settingsLocation;
     private String localRepository;
     private List<Repository> remoteRepositories = new ArrayList<>();
+    private final Cache<String, List<String>> versionsCache;
 
 
     public MavenArtifactRepository(ArtifactRepositoryProviderConfiguration configuration)
@@ -83,11 +88,14 @@ public class MavenArtifactRepository implements ArtifactRepository
         if (configuration == null)
         {
             this.settingsLocation = null;
+            this.versionsCache = buildVersionsCache(MavenArtifactRepositoryConfiguration.DEFAULT_VERSIONS_CACHE_TTL_IN_SECONDS);
             return;
         }
         if (configuration instanceof MavenArtifactRepositoryConfiguration)
         {
-            this.settingsLocation = ((MavenArtifactRepositoryConfiguration)configuration).getSettingsLocation();
+            MavenArtifactRepositoryConfiguration mavenConfiguration = (MavenArtifactRepositoryConfiguration) configuration;
+            this.settingsLocation = mavenConfiguration.getSettingsLocation();
+            this.versionsCache = buildVersionsCache(mavenConfiguration.getVersionsCacheTtlInSeconds());
             loadSettings(this.settingsLocation);
         }
         else
@@ -97,6 +105,11 @@ public class MavenArtifactRepository implements ArtifactRepository
     }
 
 
+    private static Cache<String, List<String>> buildVersionsCache(long ttlInSeconds)
+    {
+        return CacheBuilder.newBuilder().expireAfterWrite(ttlInSeconds, TimeUnit.SECONDS).build();
+    }
+
     private MavenResolverSystem getResolver()
     {
         org.jboss.shrinkwrap.resolver.api.maven.ConfigurableMavenResolverSystem configurator = Maven.configureResolver()
@@ -298,8 +311,7 @@ public class MavenArtifactRepository implements ArtifactRepository
         String pomFileLocation;
         if (pom == null || pom.length == 0)
         {
-            pomFileLocation = localRepository + File.separator + group.replace(".", File.separator) +
-                    File.separator + artifact + File.separator + version + File.separator + artifact + "-" + version + "." + PackagingType.POM.getId();
+            pomFileLocation = localPOMFileLocation(group, artifact, version);
         }
         else
         {
@@ -318,6 +330,12 @@ public class MavenArtifactRepository implements ArtifactRepository
         }
     }
 
+    private String localPOMFileLocation(String group, String artifact, String version)
+    {
+        return localRepository + File.separator + group.replace(".", File.separator) +
+                File.separator + artifact + File.separator + version + File.separator + artifact + "-" + version + "." + PackagingType.POM.getId();
+    }
+
     @Override
     public File getJarFile(String group, String artifact, String version)
     {
@@ -362,7 +380,7 @@ public class MavenArtifactRepository implements ArtifactRepository
     {
         List<String> allVersions = findAllVersions(group, artifact);
         LOGGER.info("findVersions [{}-{}]: total raw versions [{}]", group, artifact, allVersions.size());
-        List<VersionId> validVersions = allVersions.stream().filter(v -> VersionValidator.isValidReleaseVersion(v)).map(v -> VersionId.parseVersionId(v)).collect(Collectors.toList());
+        List<VersionId> validVersions = allVersions.stream().map(ParsedVersions::tryParse).filter(Optional::isPresent).map(Optional::get).collect(Collectors.toList());
         LOGGER.info("findVersions [{}-{}]: valid release versions [{}], filtered out [{}]", group, artifact, validVersions.size(), allVersions.size() - validVersions.size());
         return validVersions;
     }
@@ -370,6 +388,20 @@ public class MavenArtifactRepository implements ArtifactRepository
 
 
     private List<String> findAllVersions(String group, String artifact) throws ArtifactRepositoryException
+    {
+        String cacheKey = gavCoordinates(group, artifact, EMPTY_STRING);
+        List<String> cachedVersions = versionsCache.getIfPresent(cacheKey);
+        if (cachedVersions != null)
+        {
+            LOGGER.info("findAllVersions [{}-{}]: using cached versions [{}]", group, artifact, cachedVersions.size());
+            return cachedVersions;
+        }
+        List<String> allVersions = Collections.unmodifiableList(resolveAllVersions(group, artifact));
+        versionsCache.put(cacheKey, allVersions);
+        return allVersions;
+    }
+
+    private List<String> resolveAllVersions(String group, String artifact) throws ArtifactRepositoryException
     {
         List<String> result = new ArrayList<>();
         long start = System.currentTimeMillis();
@@ -404,13 +436,42 @@ public class MavenArtifactRepository implements ArtifactRepository
     @Override
     public Optional<String> findVersion(String group, String artifact, String versionId) throws ArtifactRepositoryException
     {
-        List<String> allVersions = this.findAllVersions(group, artifact);
-        LOGGER.info("findVersion looking for [{}] in [{}] versions for [{}-{}]. Contains match: [{}]", versionId, allVersions.size(), group, artifact, allVersions.contains(versionId));
-        if (!allVersions.contains(versionId))
+        List<String> cachedVersions = versionsCache.getIfPresent(gavCoordinates(group, artifact, EMPTY_STRING));
+        if (cachedVersions != null && cachedVersions.contains(versionId))
+        {
+            return Optional.of(versionId);
+        }
+        boolean exists = versionExists(group, artifact, versionId);
+        if (!exists)
+        {
+            LOGGER.warn("findVersion [{}] NOT found for [{}-{}]", versionId, group, artifact);
+        }
+        return exists ? Optional.of(versionId) : Optional.empty();
+    }
+
+    protected boolean versionExists(String group, String artifact, String versionId) throws ArtifactRepositoryException
+    {
+        long start = System.currentTimeMillis();
+        try
+        {
+            URL[] pom = resolvePOMFromRepository(group, artifact, versionId);
+            return pom != null && pom.length > 0;
+        }
+        catch (ResolutionException re)
+        {
+            // a pom left in the local repository by an earlier failed resolution does not make the version exist
+            LOGGER.debug("versionExists [{}-{}-{}] could not be resolved: {}", group, artifact, versionId, re.getMessage());
+            return false;
+        }
+        catch (Exception e)
+        {
+            LOGGER.error("unknown error executing versionExists", e);
+            throw new ArtifactRepositoryException(e);
+        }
+        finally
         {
-            LOGGER.warn("findVersion [{}] NOT found for [{}-{}]. Last 10 versions: {}", versionId, group, artifact, allVersions.subList(Math.max(0, allVersions.size() - 10), allVersions.size()));
+            LOGGER.info("versionExists [{}-{}-{}], took [{}] ms", group, artifact, versionId, System.currentTimeMillis() - start);
         }
-        return allVersions.stream().filter(v -> v.equals(versionId)).findFirst();
     }
 
     private Object executeWithTrace(String label, String groupId, String artifactId, String version, Supplier<Object> functionToExecute)
@@ -24,16 +24,30 @@ import javax.validation.constraints.NotNull;
 
 public class MavenArtifactRepositoryConfiguration extends ArtifactRepositoryProviderConfiguration
 {
+    public static final long DEFAULT_VERSIONS_CACHE_TTL_IN_SECONDS = 60L;
 
     @NotNull
     @JsonProperty
     private String settingsLocation;
 
+    @JsonProperty
+    private long versionsCacheTtlInSeconds = DEFAULT_VERSIONS_CACHE_TTL_IN_SECONDS;
+
+    public MavenArtifactRepositoryConfiguration(String settingsLocation)
+    {
+        this(settingsLocation, null);
+    }
+
     @JsonCreator
-    public MavenArtifactRepositoryConfiguration(@JsonProperty("settingsLocation") String settingsLocation)
+    public MavenArtifactRepositoryConfiguration(@JsonProperty("settingsLocation") String settingsLocation,
+                                                @JsonProperty("versionsCacheTtlInSeconds") Long versionsCacheTtlInSeconds)
     {
         super("MavenArtifactRepositoryConfiguration");
         this.settingsLocation = settingsLocation;
+        if (versionsCacheTtlInSeconds != null)
+        {
+            this.versionsCacheTtlInSeconds = versionsCacheTtlInSeconds;
+        }
     }
 
     public String getSettingsLocation()
@@ -41,6 +55,11 @@ public class MavenArtifactRepositoryConfiguration extends ArtifactRepositoryProv
         return settingsLocation;
     }
 
+    public long getVersionsCacheTtlInSeconds()
+    {
+        return versionsCacheTtlInSeconds;
+    }
+
     @Override
     public ArtifactRepository initialiseArtifactRepositoryProvider()
     {
@@ -53,6 +72,7 @@ public class MavenArtifactRepositoryConfiguration extends ArtifactRepositoryProv
         return "MavenArtifactRepositoryConfiguration{" +
                 "name='" + super.getName() + '\'' +
                 "settings='" + this.settingsLocation + '\'' +
+                "versionsCacheTtlInSeconds='" + this.versionsCacheTtlInSeconds + '\'' +
                 '}';
     }
 }
@@ -17,16 +17,22 @@ package org.finos.legend.depot.services.artifacts.repository;
 
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactNotFoundException;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
+import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepositoryException;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactType;
+import org.finos.legend.depot.services.artifacts.repository.maven.MavenArtifactRepository;
 import org.finos.legend.depot.services.artifacts.repository.maven.TestMavenArtifactsRepository;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
+import org.jboss.shrinkwrap.resolver.api.NoResolvedResultException;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.io.File;
+import java.net.URL;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TestRepository
 {
@@ -120,4 +126,27 @@ public class TestRepository
         Assertions.assertEquals(1,filesForVersionedEntities.size());
         Assertions.assertEquals("test-versioned-entities-1.0.0.jar",filesForVersionedEntities.get(0).getName());
     }
+
+    @Test
+    public void canFindVersionWithoutResolvingAllVersions() throws ArtifactRepositoryException
+    {
+        AtomicInteger pomLookups = new AtomicInteger();
+        MavenArtifactRepository mavenRepository = new MavenArtifactRepository(null)
+        {
+            @Override
+            protected URL[] resolvePOMFromRepository(String group, String artifact, String version)
+            {
+                pomLookups.incrementAndGet();
+                if ("1.0.0".equals(version))
+                {
+                    return new URL[]{this.getClass().getClassLoader().getResource("repository/examples/metadata/test/1.0.0/test-1.0.0.pom")};
+                }
+                throw new NoResolvedResultException("could not resolve " + version);
+            }
+        };
+
+        Assertions.assertEquals(Optional.of("1.0.0"), mavenRepository.findVersion(GROUP_ID, "test", "1.0.0"));
+        Assertions.assertFalse(mavenRepository.findVersion(GROUP_ID, "test", "3.0.0").isPresent());
+        Assertions.assertEquals(2, pomLookups.get());
+    }
 }
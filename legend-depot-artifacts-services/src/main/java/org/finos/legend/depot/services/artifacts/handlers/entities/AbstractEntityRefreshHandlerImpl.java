@@ -16,6 +16,7 @@
 package org.finos.legend.depot.services.artifacts.handlers.entities;
 
 import org.finos.legend.depot.domain.notifications.RestCuratedArtifacts;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationResponse;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
@@ -58,6 +59,16 @@ public abstract class AbstractEntityRefreshHandlerImpl
         return getEntitiesApi().delete(groupId, artifactId, versionId);
     }
 
+    protected long deleteByVersions(String groupId, String artifactId, List<String> versionIds)
+    {
+        return getEntitiesApi().delete(groupId, artifactId, versionIds);
+    }
+
+    protected long deleteByVersions(List<ProjectVersion> projectVersions)
+    {
+        return getEntitiesApi().delete(projectVersions);
+    }
+
 
     private String getGAVCoordinates(String groupId,String artifactId, String versionId)
     {
@@ -16,6 +16,7 @@
 package org.finos.legend.depot.services.artifacts.handlers.entities;
 
 import org.finos.legend.depot.domain.notifications.RestCuratedArtifacts;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationResponse;
 import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
 import org.finos.legend.depot.services.api.artifacts.handlers.entties.EntitiesArtifactsHandler;
@@ -50,4 +51,16 @@ public class EntitiesHandlerImpl extends AbstractEntityRefreshHandlerImpl implem
     {
         super.deleteByVersion(groupId,artifactId,versionId);
     }
+
+    @Override
+    public void delete(String groupId, String artifactId, List<String> versionIds)
+    {
+        super.deleteByVersions(groupId, artifactId, versionIds);
+    }
+
+    @Override
+    public void delete(List<ProjectVersion> projectVersions)
+    {
+        super.deleteByVersions(projectVersions);
+    }
 }
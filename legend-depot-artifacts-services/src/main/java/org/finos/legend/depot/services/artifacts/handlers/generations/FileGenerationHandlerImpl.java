@@ -17,6 +17,7 @@ package org.finos.legend.depot.services.artifacts.handlers.generations;
 
 import org.apache.commons.io.FilenameUtils;
 import org.finos.legend.depot.domain.notifications.RestCuratedArtifacts;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactType;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationResponse;
@@ -189,4 +190,16 @@ public class FileGenerationHandlerImpl implements FileGenerationsArtifactsHandle
     {
         generations.delete(groupId,artifactId, versionId);
     }
+
+    @Override
+    public void delete(String groupId, String artifactId, List<String> versionIds)
+    {
+        generations.delete(groupId, artifactId, versionIds);
+    }
+
+    @Override
+    public void delete(List<ProjectVersion> projectVersions)
+    {
+        generations.delete(projectVersions);
+    }
 }
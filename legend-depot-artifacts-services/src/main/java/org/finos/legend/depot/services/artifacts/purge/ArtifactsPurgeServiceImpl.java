@@ -16,10 +16,13 @@
 package org.finos.legend.depot.services.artifacts.purge;
 
 import org.eclipse.collections.impl.parallel.ParallelIterate;
-import org.finos.legend.depot.domain.VersionedData;
+import org.finos.legend.depot.core.services.api.metrics.CounterHandle;
+import org.finos.legend.depot.core.services.api.metrics.GaugeHandle;
+import org.finos.legend.depot.core.services.metrics.MetricHandle;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationResponse;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactType;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.ParsedVersions;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactHandlerFactory;
 import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactsHandler;
@@ -31,7 +34,6 @@ import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfig
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
-import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
@@ -49,6 +51,7 @@ import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTra
 import static org.finos.legend.depot.domain.DatesHandler.toDate;
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.DELETE_VERSION;
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.DEPRECATE_VERSION;
+import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.EVICT_LEAST_RECENTLY_USED;
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.EVICT_VERSION;
 
 
@@ -62,7 +65,17 @@ public class ArtifactsPurgeServiceImpl implements ArtifactsPurgeService
 
     public static final String VERSION_PURGE_COUNTER = "versionPurge";
     public static final String VERSION_DELETE_COUNTER = "versionDeletion";
+    public static final String VERSION_EVICTION_CANDIDATES = "versionEvictionCandidates";
+    public static final String VERSION_EVICTION_PROCESSED = "versionEvictionProcessed";
+
+    private static final MetricHandle<CounterHandle> PURGED = MetricHandle.of(metrics -> metrics.counter(VERSION_PURGE_COUNTER));
+    private static final MetricHandle<CounterHandle> PURGE_ERRORS = MetricHandle.of(metrics -> metrics.errorCounter(VERSION_PURGE_COUNTER));
+    private static final MetricHandle<CounterHandle> DELETED = MetricHandle.of(metrics -> metrics.counter(VERSION_DELETE_COUNTER));
+    private static final MetricHandle<GaugeHandle> EVICTION_CANDIDATES = MetricHandle.of(metrics -> metrics.gauge(VERSION_EVICTION_CANDIDATES));
+    private static final MetricHandle<GaugeHandle> EVICTION_PROCESSED = MetricHandle.of(metrics -> metrics.gauge(VERSION_EVICTION_PROCESSED));
+
     private static final String EVICT_OLDEST = "evict_old";
+    private static final int EVICTION_BATCH_SIZE = 500;
 
     private final ManageProjectsService projects;
 
@@ -121,7 +134,7 @@ public class ArtifactsPurgeServiceImpl implements ArtifactsPurgeService
                     artifactHandler.delete(groupId, artifactId, versionId);
                 }
             });
-            PrometheusMetricsFactory.getInstance().incrementCount(VERSION_DELETE_COUNTER);
+            DELETED.get().increment();
             LOGGER.info(String.format("%s-%s-%s artifacts deleted", groupId, artifactId, versionId));
             return projects.delete(groupId, artifactId, versionId);
         },decorateSpanWithVersionInfo(groupId, artifactId, versionId));
@@ -185,7 +198,7 @@ public class ArtifactsPurgeServiceImpl implements ArtifactsPurgeService
             LOGGER.info(String.format("%s-%s-%s artifacts deleted", groupId, artifactId, versionId));
             projectData.setEvicted(true);
             LOGGER.info(String.format("%s-%s-%s evicted", groupId, artifactId, versionId));
-            PrometheusMetricsFactory.getInstance().incrementCount(VERSION_PURGE_COUNTER);
+            PURGED.get().increment();
             metrics.delete(groupId, artifactId, versionId);
             return projects.createOrUpdate(projectData);
         },decorateSpanWithVersionInfo(groupId, artifactId, versionId));
@@ -232,6 +245,7 @@ public class ArtifactsPurgeServiceImpl implements ArtifactsPurgeService
         {
             MetadataNotificationResponse response = new MetadataNotificationResponse();
             List<String> versionIds = projects.getVersions(groupId, artifactId);
+            versionIds.sort(ParsedVersions.RELEASE_VERSION_ORDER);
             int numberOfVersions = versionIds.size();
             try
             {
@@ -249,70 +263,117 @@ public class ArtifactsPurgeServiceImpl implements ArtifactsPurgeService
                 String errorMessage = String.format(" Error evicting old versions %s-%s %s",groupId,artifactId,e.getMessage());
                 LOGGER.error(errorMessage);
                 response.addError(errorMessage);
-                PrometheusMetricsFactory.getInstance().incrementErrorCount(VERSION_PURGE_COUNTER);
+                PURGE_ERRORS.get().increment();
             }
             return response;
         });
     }
 
     @Override
-    public MetadataNotificationResponse evictLeastRecentlyUsed(int ttlForVersionsInDays, int ttlForSnapshotsInDays)
+    public MetadataNotificationResponse evictLeastRecentlyUsed(int ttlForVersionsInDays, int ttlForSnapshotsInDays, boolean dryRun)
+    {
+        return TracerFactory.get().executeWithTrace(EVICT_LEAST_RECENTLY_USED, () ->
+        {
+            MetadataNotificationResponse response = new MetadataNotificationResponse();
+            LocalDateTime currentDateTime = LocalDateTime.now();
+            List<ProjectVersion> candidates;
+            try
+            {
+                LOGGER.info("Started finding least recently used eviction candidates");
+                metrics.consolidateMetrics();
+                candidates = metrics.findVersionsLastQueriedBefore(toDate(currentDateTime.minusDays(ttlForVersionsInDays)), toDate(currentDateTime.minusDays(ttlForSnapshotsInDays)))
+                        .stream().map(metric -> new ProjectVersion(metric.getGroupId(), metric.getArtifactId(), metric.getVersionId())).collect(Collectors.toList());
+                LOGGER.info("Completed finding least recently used eviction candidates: [{}]", candidates.size());
+            }
+            catch (Exception e)
+            {
+                String errorMessage = String.format("Error while applying retention policy: %s", e.getMessage());
+                LOGGER.error(errorMessage);
+                response.addError(errorMessage);
+                return response;
+            }
+            return evictVersions(candidates, dryRun, response);
+        });
+    }
+
+    @Override
+    public MetadataNotificationResponse evictVersionsNotUsed(boolean dryRun)
     {
-        Set<ProjectVersion> evictProjectVersions = new HashSet<>();
-        LocalDateTime currentDateTime = LocalDateTime.now();
         MetadataNotificationResponse response = new MetadataNotificationResponse();
+        List<ProjectVersion> candidates;
         try
         {
-            LOGGER.info("Started finding eviction candidates for snapshot versions");
-            metrics.findSnapshotVersionMetricsBefore(toDate(currentDateTime.minusDays(ttlForSnapshotsInDays)))
-                    .parallelStream().forEach(pv -> evictProjectVersions.add(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())));
-            LOGGER.info("Started finding eviction candidates for non-snapshot versions");
-            metrics.findReleasedVersionMetricsBefore(toDate(currentDateTime.minusDays(ttlForVersionsInDays)))
-                    .parallelStream().forEach(pv -> evictProjectVersions.add(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId())));
-            LOGGER.info("Completed finding eviction candidates");
+            LOGGER.info("Started finding versions not being used for eviction");
+            metrics.consolidateMetrics();
+            Set<ProjectVersion> versionsUsed = new HashSet<>(metrics.getQueriedProjectVersions());
+            candidates = projects.findNotEvictedOrExcluded().stream().filter(pv -> !versionsUsed.contains(pv)).collect(Collectors.toList());
+            LOGGER.info("Completed finding versions not being used: [{}]", candidates.size());
         }
         catch (Exception e)
         {
-            LOGGER.error(String.format("Error while applying retention policy: %s", e.getMessage()));
+            String errorMessage = String.format("Error while evicting versions not being used: %s", e.getMessage());
+            LOGGER.error(errorMessage);
+            response.addError(errorMessage);
+            return response;
         }
-        evictProjectVersions.parallelStream().forEach(pv ->
-        {
-            evict(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
-            response.addMessage(String.format("Evicted project version: %s", pv.getGav()));
-        });
-        return response;
+        return evictVersions(candidates, dryRun, response);
     }
 
-    @Override
-    public MetadataNotificationResponse evictVersionsNotUsed()
+    private MetadataNotificationResponse evictVersions(List<ProjectVersion> candidates, boolean dryRun, MetadataNotificationResponse response)
     {
-        Set<ProjectVersion> evictProjectVersions = new HashSet<>();
-        MetadataNotificationResponse response = new MetadataNotificationResponse();
-        try
+        GaugeHandle processedGauge = EVICTION_PROCESSED.get();
+        EVICTION_CANDIDATES.get().set(candidates.size());
+        processedGauge.set(0);
+        int processed = 0;
+        int evicted = 0;
+        for (int start = 0; start < candidates.size(); start += EVICTION_BATCH_SIZE)
         {
-            LOGGER.info("Started finding versions not being used for eviction");
-            List<StoreProjectData> allProjects = projects.getAllProjectCoordinates();
-            allProjects.parallelStream().forEach(project ->
+            List<ProjectVersion> batch = candidates.subList(start, Math.min(start + EVICTION_BATCH_SIZE, candidates.size()));
+            try
             {
-                Set<String> allVersions = projects.find(project.getGroupId(), project.getArtifactId()).stream()
-                        .filter(versionData -> !versionData.isEvicted() && !versionData.getVersionData().isExcluded())
-                        .map(VersionedData::getVersionId).collect(Collectors.toSet());
-                Set<String> versionsUsed = metrics.findMetricsForProjectCoordinates(project.getGroupId(), project.getArtifactId()).stream().map(metric -> metric.getVersionId()).collect(Collectors.toSet());
-                allVersions.removeAll(versionsUsed);
-                allVersions.parallelStream().forEach(version -> evictProjectVersions.add(new ProjectVersion(project.getGroupId(), project.getArtifactId(), version)));
-            });
-            LOGGER.info("Completed finding versions not being used");
+                // candidates may have been evicted since they were selected
+                List<ProjectVersion> versionsToEvict = projects.findNotEvicted(batch);
+                if (!dryRun)
+                {
+                    evictBatch(versionsToEvict);
+                }
+                versionsToEvict.forEach(pv -> response.addMessage(String.format(dryRun ? "Eviction candidate: %s" : "Evicted project version: %s", pv.getGav())));
+                evicted += versionsToEvict.size();
+            }
+            catch (Exception e)
+            {
+                String errorMessage = String.format("Error evicting batch of %s versions: %s", batch.size(), e.getMessage());
+                LOGGER.error(errorMessage);
+                response.addError(errorMessage);
+                PURGE_ERRORS.get().increment();
+            }
+            processed += batch.size();
+            processedGauge.set(processed);
+            LOGGER.info("Eviction progress: [{}/{}] candidates processed, [{}] versions {}", processed, candidates.size(), evicted, dryRun ? "to evict" : "evicted");
         }
-        catch (Exception e)
+        response.addMessage(String.format("%s %s versions out of %s candidates", dryRun ? "Dry run, would evict" : "Evicted", evicted, candidates.size()));
+        return response;
+    }
+
+    private void evictBatch(List<ProjectVersion> projectVersions)
+    {
+        if (projectVersions.isEmpty())
         {
-            LOGGER.error(String.format("Error while evicting versions not being used: %s", e.getMessage()));
+            return;
         }
-        evictProjectVersions.parallelStream().forEach(pv ->
+        // the whole batch is removed with one delete per collection, whatever the number of projects in it
+        getSupportedArtifactTypes().forEach(artifactType ->
         {
-            evict(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
-            response.addMessage(String.format("Evicted project version: %s", pv.getGav()));
+            ProjectArtifactsHandler artifactHandler = ProjectArtifactHandlerFactory.getArtifactHandler(artifactType);
+            if (artifactHandler != null)
+            {
+                artifactHandler.delete(projectVersions);
+            }
         });
-        return response;
+        metrics.delete(projectVersions);
+        projects.markEvicted(projectVersions);
+        CounterHandle purged = PURGED.get();
+        projectVersions.forEach(pv -> purged.increment());
     }
 
 }
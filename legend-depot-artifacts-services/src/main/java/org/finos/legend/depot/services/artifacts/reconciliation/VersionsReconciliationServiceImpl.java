@@ -19,9 +19,12 @@ import org.eclipse.collections.impl.parallel.ParallelIterate;
 import org.finos.legend.depot.services.api.artifacts.reconciliation.VersionsReconciliationService;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
+import org.finos.legend.depot.store.api.admin.artifacts.VersionMismatchesReportStore;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.domain.version.VersionMismatch;
+import org.finos.legend.depot.domain.version.VersionMismatchesReport;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 import org.slf4j.Logger;
@@ -30,11 +33,22 @@ import javax.inject.Inject;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static java.util.Collections.max;
 import static java.util.Collections.synchronizedList;
 
 public class VersionsReconciliationServiceImpl implements VersionsReconciliationService
@@ -50,122 +64,306 @@ public class VersionsReconciliationServiceImpl implements VersionsReconciliation
     public static final String REPO_EXCEPTIONS = "repo_exceptions";
     public static final String PROJECT_UPDATE_EXCEPTIONS = "project_update_exceptions";
     public static final String PROJECTS = "projects";
+    private static final int DEFAULT_PARALLELISM = 10;
+    private static final int PROJECTS_PAGE_SIZE = 500;
+    // a report still marked as running after this long was left behind by a server that stopped and can be replaced
+    private static final long REPORT_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(6);
 
     private final ArtifactRepository repository;
     private final ManageProjectsService projects;
+    private final VersionMismatchesReportStore reports;
+    private final int parallelism;
+    private final AtomicReference<Future<?>> runningReport = new AtomicReference<>();
 
     @Inject
-    public VersionsReconciliationServiceImpl(ArtifactRepository repository, ManageProjectsService projectsService)
+    public VersionsReconciliationServiceImpl(ArtifactRepository repository, ManageProjectsService projectsService, VersionMismatchesReportStore reports)
+    {
+        this(repository, projectsService, reports, DEFAULT_PARALLELISM);
+    }
+
+    public VersionsReconciliationServiceImpl(ArtifactRepository repository, ManageProjectsService projectsService, VersionMismatchesReportStore reports, int parallelism)
     {
         this.repository = repository;
         this.projects = projectsService;
+        this.reports = reports;
+        this.parallelism = parallelism;
     }
 
     @Override
     public List<VersionMismatch> findVersionsMismatches()
     {
+        VersionMismatchesReport report = VersionMismatchesReport.running(new Date());
+        ReconciliationCounts counts = new ReconciliationCounts();
         List<VersionMismatch> versionMismatches = new ArrayList<>();
-        AtomicLong repoVersions = new AtomicLong(0);
-        AtomicLong storeVersionsCount = new AtomicLong(0);
-        AtomicLong missingRepoVersions = new AtomicLong(0);
-        AtomicLong missingStoreVersions = new AtomicLong(0);
-        AtomicLong repoExceptions = new AtomicLong(0);
-        AtomicLong evictedVersionsCount = new AtomicLong(0);
-        AtomicLong excludedVersionsCount = new AtomicLong(0);
+        reconcileAndPublishMetrics(counts, versionMismatches::addAll);
+        reports.addMismatches(report.runId, versionMismatches);
+        reports.save(VersionMismatchesReport.completed(report.runId, report.started, counts.projects.get(), versionMismatches.size()));
+        return versionMismatches;
+    }
+
+    @Override
+    public Page<VersionMismatch> findVersionsMismatches(String continuationToken, int pageSize)
+    {
+        if (pageSize < 1)
+        {
+            throw new IllegalArgumentException("pageSize must be greater than 0");
+        }
+        Page<StoreProjectData> page = projects.getProjectCoordinates(continuationToken, pageSize);
+        return new Page<>(withReconciliationExecutor(executor -> reconcile(page.getItems(), new ReconciliationCounts(), executor)), page.getContinuationToken());
+    }
+
+    @Override
+    public VersionMismatchesReport startVersionsMismatchesReport()
+    {
+        Date started = new Date();
+        VersionMismatchesReport running = VersionMismatchesReport.running(started);
+        if (!reports.start(running, new Date(started.getTime() - REPORT_TIMEOUT_MILLIS)))
+        {
+            VersionMismatchesReport current = reports.getLatest().orElse(running);
+            LOGGER.info("versions mismatch report already running since {}", current.started);
+            return current;
+        }
+        ExecutorService reportExecutor = Executors.newSingleThreadExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "versions-reconciliation-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try
+        {
+            runningReport.set(reportExecutor.submit(() -> runReport(running)));
+        }
+        finally
+        {
+            reportExecutor.shutdown();
+        }
+        return running;
+    }
+
+    private void runReport(VersionMismatchesReport running)
+    {
+        try
+        {
+            // mismatches are stored as every page of projects is reconciled rather than held until the end
+            ReconciliationCounts counts = new ReconciliationCounts();
+            AtomicLong mismatches = new AtomicLong();
+            reconcileAndPublishMetrics(counts, found ->
+            {
+                reports.addMismatches(running.runId, found);
+                mismatches.addAndGet(found.size());
+            });
+            reports.save(VersionMismatchesReport.completed(running.runId, running.started, counts.projects.get(), mismatches.get()));
+        }
+        catch (Exception e)
+        {
+            LOGGER.error("versions mismatch report failed", e);
+            reports.save(VersionMismatchesReport.failed(running.runId, running.started, e.getMessage()));
+        }
+    }
+
+    /**
+     * The report started by this server, if any, for callers that need to wait for it.
+     */
+    Optional<Future<?>> getRunningReport()
+    {
+        return Optional.ofNullable(runningReport.get());
+    }
+
+    @Override
+    public Optional<VersionMismatchesReport> getVersionsMismatchesReport()
+    {
+        return reports.getLatest();
+    }
+
+    @Override
+    public Page<VersionMismatch> getVersionsMismatchesReportPage(String continuationToken, int pageSize)
+    {
+        if (pageSize < 1)
+        {
+            throw new IllegalArgumentException("pageSize must be greater than 0");
+        }
+        return reports.getLatest()
+                .map(report -> reports.getMismatches(report.runId, continuationToken, pageSize))
+                .orElse(new Page<>(Collections.emptyList(), null));
+    }
+
+    private <T> T withReconciliationExecutor(Function<ExecutorService, T> work)
+    {
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism, runnable ->
+        {
+            Thread thread = new Thread(runnable, "versions-reconciliation-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try
+        {
+            return work.apply(executor);
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    private void reconcileAndPublishMetrics(ReconciliationCounts counts, Consumer<List<VersionMismatch>> mismatchesFound)
+    {
         long startTime = System.currentTimeMillis();
-        List<StoreProjectData> allProjects = projects.getAllProjectCoordinates();
-        LOGGER.info("Starting findVersionsMismatches {}",allProjects.size());
-        ParallelIterate.forEach(allProjects,(p ->
+        LOGGER.info("Starting findVersionsMismatches");
+        long versionMismatches = withReconciliationExecutor(executor ->
         {
-            try
+            long mismatches = 0;
+            // keyset pages rather than one cursor: reconciling a batch calls the repository and can outlive a cursor's idle timeout
+            String continuationToken = null;
+            do
             {
-                final List<StoreProjectVersionData> projectVersions = projects.find(p.getGroupId(), p.getArtifactId());
-                List<String> storeVersions = projectVersions.stream().filter(pv -> !VersionValidator.isSnapshotVersion(pv.getVersionId())).map(pv -> pv.getVersionId()).collect(Collectors.toList());
-                storeVersionsCount.addAndGet(storeVersions.size());
-                final List<String> repositoryVersions = repository.findVersions(p.getGroupId(), p.getArtifactId()).stream().map(v -> v.toVersionIdString()).collect(Collectors.toList());
-                repoVersions.addAndGet(repositoryVersions.size());
-
-                //check evicted versions
-                long noOfEvictedVersions = projectVersions.stream().filter(pv -> pv.isEvicted()).count();
-                long noOfExcludedVersions = projectVersions.stream().filter(pv -> pv.getVersionData().isExcluded()).count();
-                evictedVersionsCount.addAndGet(noOfEvictedVersions);
-                excludedVersionsCount.addAndGet(noOfExcludedVersions);
-
-                //check versions not in store
-                List<String> versionsNotInStore = repositoryVersions.stream().filter(repoVersion -> !storeVersions.contains(repoVersion)).collect(Collectors.toList());
-                missingRepoVersions.addAndGet(versionsNotInStore.size());
-                if (!versionsNotInStore.isEmpty())
-                {
-                    LOGGER.info("version-mismatch found for {} {}-{} : notInStore[{}]", p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInStore);
-                }
-                //check versions not in repo
-                List<String> versionsNotInRepo = storeVersions.stream().filter(storeVersion -> !repositoryVersions.contains(storeVersion)).collect(Collectors.toList());
-                missingStoreVersions.addAndGet(versionsNotInRepo.size());
-                if (!versionsNotInRepo.isEmpty())
-                {
-                    LOGGER.info("version-mismatch found for {} {}-{} : notInRepository [{}]", p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInRepo);
-                }
-
-                if (!versionsNotInStore.isEmpty() || !versionsNotInRepo.isEmpty())
-                {
-                    versionMismatches.add(new VersionMismatch(p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInStore, versionsNotInRepo));
-                }
+                Page<StoreProjectData> page = projects.getProjectCoordinates(continuationToken, PROJECTS_PAGE_SIZE);
+                counts.projects.addAndGet(page.getItems().size());
+                List<VersionMismatch> found = reconcile(page.getItems(), counts, executor);
+                mismatchesFound.accept(found);
+                mismatches += found.size();
+                continuationToken = page.getContinuationToken();
             }
-            catch (Exception e)
+            while (continuationToken != null);
+            return mismatches;
+        });
+
+        PrometheusMetricsFactory.getInstance().setGauge(PROJECTS,counts.projects.get());
+        PrometheusMetricsFactory.getInstance().setGauge(REPO_VERSIONS,counts.repoVersions.get());
+        PrometheusMetricsFactory.getInstance().setGauge(STORE_VERSIONS,counts.storeVersions.get());
+        PrometheusMetricsFactory.getInstance().setGauge(MISSING_REPO_VERSIONS,counts.missingRepoVersions.get());
+        PrometheusMetricsFactory.getInstance().setGauge(MISSING_STORE_VERSIONS,counts.missingStoreVersions.get());
+        PrometheusMetricsFactory.getInstance().setGauge(REPO_EXCEPTIONS,counts.repoExceptions.get());
+        PrometheusMetricsFactory.getInstance().setGauge(EXCLUDED_VERSIONS,counts.excludedVersions.get());
+        PrometheusMetricsFactory.getInstance().setGauge(EVICTED_VERSIONS, counts.evictedVersions.get());
+        LOGGER.info("Finished findVersionsMismatches {} ({}) ms",versionMismatches,System.currentTimeMillis() - startTime);
+    }
+
+    private List<VersionMismatch> reconcile(List<StoreProjectData> projectsToReconcile, ReconciliationCounts counts, ExecutorService executor)
+    {
+        List<Future<Optional<VersionMismatch>>> results = projectsToReconcile.stream()
+                .map(p -> executor.submit(() -> reconcileProject(p, counts)))
+                .collect(Collectors.toList());
+        List<VersionMismatch> versionMismatches = new ArrayList<>();
+        try
+        {
+            for (Future<Optional<VersionMismatch>> result : results)
             {
-                String message = String.format("Could not get versions for %s:%s exception: %s ", p.getGroupId(), p.getArtifactId(), e.getMessage());
-                LOGGER.error(message);
-                versionMismatches.add(new VersionMismatch(p.getProjectId(), p.getGroupId(), p.getArtifactId(), Collections.emptyList(), Collections.emptyList(), Arrays.asList(message)));
-                repoExceptions.addAndGet(1);
+                result.get().ifPresent(versionMismatches::add);
             }
-        }),10);
-
-        PrometheusMetricsFactory.getInstance().setGauge(PROJECTS,allProjects.size());
-        PrometheusMetricsFactory.getInstance().setGauge(REPO_VERSIONS,repoVersions.get());
-        PrometheusMetricsFactory.getInstance().setGauge(STORE_VERSIONS,storeVersionsCount.get());
-        PrometheusMetricsFactory.getInstance().setGauge(MISSING_REPO_VERSIONS,missingRepoVersions.get());
-        PrometheusMetricsFactory.getInstance().setGauge(MISSING_STORE_VERSIONS,missingStoreVersions.get());
-        PrometheusMetricsFactory.getInstance().setGauge(REPO_EXCEPTIONS,repoExceptions.get());
-        PrometheusMetricsFactory.getInstance().setGauge(EXCLUDED_VERSIONS,excludedVersionsCount.get());
-        PrometheusMetricsFactory.getInstance().setGauge(EVICTED_VERSIONS, evictedVersionsCount.get());
-        LOGGER.info("Finished findVersionsMismatches {} ({}) ms",versionMismatches.size(),System.currentTimeMillis() - startTime);
+        }
+        catch (InterruptedException e)
+        {
+            results.forEach(result -> result.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("versions reconciliation interrupted", e);
+        }
+        catch (ExecutionException e)
+        {
+            results.forEach(result -> result.cancel(true));
+            throw new IllegalStateException("versions reconciliation failed: " + e.getCause().getMessage(), e.getCause());
+        }
         return versionMismatches;
     }
 
+    private Optional<VersionMismatch> reconcileProject(StoreProjectData p, ReconciliationCounts counts)
+    {
+        try
+        {
+            final List<StoreProjectVersionData> projectVersions = projects.find(p.getGroupId(), p.getArtifactId());
+            Set<String> storeVersions = projectVersions.stream().map(pv -> pv.getVersionId()).filter(v -> !VersionValidator.isSnapshotVersion(v)).collect(Collectors.toSet());
+            counts.storeVersions.addAndGet(storeVersions.size());
+            final Set<String> repositoryVersions = repository.findVersions(p.getGroupId(), p.getArtifactId()).stream().map(v -> v.toVersionIdString()).collect(Collectors.toSet());
+            counts.repoVersions.addAndGet(repositoryVersions.size());
+
+            //check evicted versions
+            counts.evictedVersions.addAndGet(projectVersions.stream().filter(pv -> pv.isEvicted()).count());
+            counts.excludedVersions.addAndGet(projectVersions.stream().filter(pv -> pv.getVersionData().isExcluded()).count());
+
+            //check versions not in store
+            List<String> versionsNotInStore = repositoryVersions.stream().filter(repoVersion -> !storeVersions.contains(repoVersion)).sorted().collect(Collectors.toList());
+            counts.missingRepoVersions.addAndGet(versionsNotInStore.size());
+            if (!versionsNotInStore.isEmpty())
+            {
+                LOGGER.info("version-mismatch found for {} {}-{} : notInStore[{}]", p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInStore);
+            }
+            //check versions not in repo
+            List<String> versionsNotInRepo = storeVersions.stream().filter(storeVersion -> !repositoryVersions.contains(storeVersion)).sorted().collect(Collectors.toList());
+            counts.missingStoreVersions.addAndGet(versionsNotInRepo.size());
+            if (!versionsNotInRepo.isEmpty())
+            {
+                LOGGER.info("version-mismatch found for {} {}-{} : notInRepository [{}]", p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInRepo);
+            }
+
+            if (!versionsNotInStore.isEmpty() || !versionsNotInRepo.isEmpty())
+            {
+                return Optional.of(new VersionMismatch(p.getProjectId(), p.getGroupId(), p.getArtifactId(), versionsNotInStore, versionsNotInRepo));
+            }
+            return Optional.empty();
+        }
+        catch (Exception e)
+        {
+            String message = String.format("Could not get versions for %s:%s exception: %s ", p.getGroupId(), p.getArtifactId(), e.getMessage());
+            LOGGER.error(message);
+            counts.repoExceptions.addAndGet(1);
+            return Optional.of(new VersionMismatch(p.getProjectId(), p.getGroupId(), p.getArtifactId(), Collections.emptyList(), Collections.emptyList(), Arrays.asList(message)));
+        }
+    }
+
     @Override
     public List<StoreProjectData> syncLatestProjectVersions()
     {
         AtomicLong projectUpdateExceptions = new AtomicLong(0);
         List<StoreProjectData> projectsWithUpdatedLatestVersion = synchronizedList(new ArrayList<>());
+        AtomicLong projectCount = new AtomicLong(0);
         long startTime = System.currentTimeMillis();
-        List<StoreProjectData> allProjects = projects.getAllProjectCoordinates();
-        LOGGER.info("Syncing projects' latest versions to latest non-evicted and non-excluded store version if mismatch exists {}", allProjects.size());
-        ParallelIterate.forEach(allProjects, (p ->
+        LOGGER.info("Syncing projects' latest versions to latest non-evicted and non-excluded store version if mismatch exists");
+        // keyset pages so no cursor is left open while a batch is being updated
+        String continuationToken = null;
+        do
         {
-            try
-            {
-                final List<StoreProjectVersionData> activeProjectVersions = projects.find(p.getGroupId(), p.getArtifactId()).stream()
-                        .filter(pv -> !pv.getVersionData().isExcluded() && !pv.isEvicted() && !pv.getVersionData().isDeprecated()).collect(Collectors.toList());
-
-                List<String> activeStoreVersions = activeProjectVersions.stream().filter(pv -> !VersionValidator.isSnapshotVersion(pv.getVersionId())).map(pv -> pv.getVersionId()).collect(Collectors.toList());
-                if (!activeStoreVersions.isEmpty() && p.evaluateLatestVersionAndUpdate(max(activeStoreVersions)))
-                {
-                    LOGGER.info("Updating latest version for {} {}-{} to {}", p.getProjectId(), p.getGroupId(), p.getArtifactId(), max(activeStoreVersions));
-                    projects.createOrUpdate(p);
-                    projectsWithUpdatedLatestVersion.add(p);
-                }
-            }
-            catch (Exception e)
-            {
-                String message = String.format("Could not update project %s:%s exception: %s ", p.getGroupId(), p.getArtifactId(), e.getMessage());
-                LOGGER.error(message);
-                projectUpdateExceptions.addAndGet(1);
-            }
-        }), 10);
+            Page<StoreProjectData> page = projects.getProjectCoordinates(continuationToken, PROJECTS_PAGE_SIZE);
+            projectCount.addAndGet(page.getItems().size());
+            ParallelIterate.forEach(page.getItems(), p -> syncLatestProjectVersion(p, projectsWithUpdatedLatestVersion, projectUpdateExceptions), 10);
+            continuationToken = page.getContinuationToken();
+        }
+        while (continuationToken != null);
 
-        PrometheusMetricsFactory.getInstance().setGauge(PROJECTS, allProjects.size());
+        PrometheusMetricsFactory.getInstance().setGauge(PROJECTS, projectCount.get());
         PrometheusMetricsFactory.getInstance().setGauge(PROJECT_UPDATE_EXCEPTIONS, projectUpdateExceptions.get());
         LOGGER.info("Finished syncLatestProjectVersions {} ({}) ms", projectsWithUpdatedLatestVersion.size(), System.currentTimeMillis() - startTime);
         return projectsWithUpdatedLatestVersion;
     }
+
+    private void syncLatestProjectVersion(StoreProjectData p, List<StoreProjectData> projectsWithUpdatedLatestVersion, AtomicLong projectUpdateExceptions)
+    {
+        try
+        {
+            Optional<StoreProjectVersionData> latestRelease = projects.findLatestRelease(p.getGroupId(), p.getArtifactId());
+            if (latestRelease.isPresent() && p.evaluateLatestVersionAndUpdate(latestRelease.get().getVersionId()))
+            {
+                LOGGER.info("Updating latest version for {} {}-{} to {}", p.getProjectId(), p.getGroupId(), p.getArtifactId(), latestRelease.get().getVersionId());
+                projects.createOrUpdate(p);
+                projectsWithUpdatedLatestVersion.add(p);
+            }
+        }
+        catch (Exception e)
+        {
+            String message = String.format("Could not update project %s:%s exception: %s ", p.getGroupId(), p.getArtifactId(), e.getMessage());
+            LOGGER.error(message);
+            projectUpdateExceptions.addAndGet(1);
+        }
+    }
+
+    private static final class ReconciliationCounts
+    {
+        private final AtomicLong projects = new AtomicLong(0);
+        private final AtomicLong repoVersions = new AtomicLong(0);
+        private final AtomicLong storeVersions = new AtomicLong(0);
+        private final AtomicLong missingRepoVersions = new AtomicLong(0);
+        private final AtomicLong missingStoreVersions = new AtomicLong(0);
+        private final AtomicLong repoExceptions = new AtomicLong(0);
+        private final AtomicLong evictedVersions = new AtomicLong(0);
+        private final AtomicLong excludedVersions = new AtomicLong(0);
+    }
 }
@@ -0,0 +1,126 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.artifacts.refresh;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Resolves artifact file SHA-256 checksums, preferring the .sha256 file a repository publishes next to each artifact
+ * and only hashing the file when none is available. Other sidecar digests (e.g. .sha1) are ignored, as stored checksums
+ * must all be SHA-256 to be comparable. Results are cached by (path, size, last modified).
+ */
+final class ArtifactFileChecksums
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(ArtifactFileChecksums.class);
+    private static final String REPOSITORY_CHECKSUM_EXTENSION = ".sha256";
+    private static final Pattern SHA_256 = Pattern.compile("[0-9a-f]{64}");
+    private static final int DEFAULT_MAX_CACHED_CHECKSUMS = 10000;
+
+    private final Map<String, CachedChecksum> checksums;
+
+    ArtifactFileChecksums()
+    {
+        this(DEFAULT_MAX_CACHED_CHECKSUMS);
+    }
+
+    ArtifactFileChecksums(int maxCachedChecksums)
+    {
+        this.checksums = Collections.synchronizedMap(new LinkedHashMap<String, CachedChecksum>(16, 0.75f, true)
+        {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedChecksum> eldest)
+            {
+                return size() > maxCachedChecksums;
+            }
+        });
+    }
+
+    String getCheckSum(File file) throws IOException
+    {
+        String filePath = file.getPath();
+        long size = file.length();
+        long lastModified = file.lastModified();
+        CachedChecksum cached = checksums.get(filePath);
+        if (cached != null && cached.size == size && cached.lastModified == lastModified)
+        {
+            return cached.checkSum;
+        }
+        Optional<String> repositoryCheckSum = readRepositoryCheckSum(file);
+        String checkSum = repositoryCheckSum.isPresent() ? repositoryCheckSum.get() : calculateCheckSum(file);
+        checksums.put(filePath, new CachedChecksum(size, lastModified, checkSum));
+        return checkSum;
+    }
+
+    private Optional<String> readRepositoryCheckSum(File file)
+    {
+        File checkSumFile = new File(file.getPath() + REPOSITORY_CHECKSUM_EXTENSION);
+        if (!checkSumFile.isFile())
+        {
+            return Optional.empty();
+        }
+        try
+        {
+            String content = new String(Files.readAllBytes(checkSumFile.toPath()), StandardCharsets.US_ASCII).trim();
+            // some repositories write "<checksum>  <file name>"
+            String checkSum = content.split("\\s+")[0].toLowerCase();
+            if (SHA_256.matcher(checkSum).matches())
+            {
+                return Optional.of(checkSum);
+            }
+            LOGGER.warn("ignoring invalid checksum file {}", checkSumFile.getPath());
+        }
+        catch (IOException e)
+        {
+            LOGGER.warn("could not read checksum file {}: {}", checkSumFile.getPath(), e.getMessage());
+        }
+        return Optional.empty();
+    }
+
+    private String calculateCheckSum(File file) throws IOException
+    {
+        try (InputStream inputStream = new FileInputStream(file))
+        {
+            return DigestUtils.sha256Hex(inputStream);
+        }
+    }
+
+    private static final class CachedChecksum
+    {
+        private final long size;
+        private final long lastModified;
+        private final String checkSum;
+
+        private CachedChecksum(long size, long lastModified, String checkSum)
+        {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.checkSum = checkSum;
+        }
+    }
+}
@@ -15,14 +15,17 @@
 
 package org.finos.legend.depot.services.artifacts.refresh;
 
+import org.eclipse.collections.api.block.function.Function;
 import org.eclipse.collections.impl.parallel.ParallelIterate;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepositoryException;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationResponse;
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.domain.version.VersionAlias;
+import org.finos.legend.depot.domain.version.ParsedVersions;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.services.api.artifacts.refresh.ArtifactsRefreshService;
@@ -33,10 +36,13 @@ import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
@@ -55,7 +61,7 @@ public class ArtifactsRefreshServiceImpl implements ArtifactsRefreshService
     private static final String GROUP_ID = "groupId";
     private static final String ARTIFACT_ID = "artifactId";
     private static final String VERSION_ID = "versionId";
-    private static final int PARALLEL_ITERATE_BATCH_SIZE = 100;
+    private static final int PROJECTS_PAGE_SIZE = 1000;
 
 
     private final ProjectsService projects;
@@ -82,12 +88,25 @@ public class ArtifactsRefreshServiceImpl implements ArtifactsRefreshService
                     String message = String.format("Executing: [%s-%s-%s], parentEventId :[%s], full/allVersions/transitive :[%s/%s/%s]",ALL,ALL,ALL,parentEvent,fullUpdate,allVersions,transitive);
                     result.addMessage(message);
                     LOGGER.info(message);
-                    ParallelIterate.forEach(projects.getAllProjectCoordinates(),project -> result.combine(refreshAllVersionsForProject(project.getGroupId(),project.getArtifactId(),fullUpdate,allVersions,transitive,parentEvent)), PARALLEL_ITERATE_BATCH_SIZE);
+                    forEachProjectPage(project -> refreshAllVersionsForProject(project.getGroupId(),project.getArtifactId(),fullUpdate,allVersions,transitive,parentEvent), result);
                     return result;
                 }
         );
     }
 
+    private void forEachProjectPage(Function<StoreProjectData, MetadataNotificationResponse> refresh, MetadataNotificationResponse result)
+    {
+        // keyset pages rather than one cursor: refreshing a page can take longer than a cursor's idle timeout
+        String continuationToken = null;
+        do
+        {
+            Page<StoreProjectData> page = projects.getProjectCoordinates(continuationToken, PROJECTS_PAGE_SIZE);
+            ParallelIterate.collect(page.getItems(), refresh).forEach(result::combine);
+            continuationToken = page.getContinuationToken();
+        }
+        while (continuationToken != null);
+    }
+
     private MetadataNotificationResponse executeWithTrace(String label, MetadataNotification event, Supplier<MetadataNotificationResponse> supplier)
     {
 
@@ -109,7 +128,7 @@ public class ArtifactsRefreshServiceImpl implements ArtifactsRefreshService
                     String message = String.format("Executing: [%s-%s-%s], parentEventId :[%s], full/transitive :[%s/%s]",ALL,ALL,ALL_SNAPSHOT,parentEvent,fullUpdate,transitive);
                     result.addMessage(message);
                     LOGGER.info(message);
-                    ParallelIterate.forEach(projects.getAllProjectCoordinates(),project -> result.combine(refreshAllDefaultSNAPSHOTVersionsForProject(project,fullUpdate,transitive,parentEvent)), PARALLEL_ITERATE_BATCH_SIZE);
+                    forEachProjectPage(project -> refreshAllDefaultSNAPSHOTVersionsForProject(project,fullUpdate,transitive,parentEvent), result);
                     return result;
                 }
         );
@@ -217,9 +236,11 @@ public class ArtifactsRefreshServiceImpl implements ArtifactsRefreshService
         return response;
     }
 
-    List<VersionId> calculateCandidateVersions(List<VersionId> repoVersions, List<String> versions)
+    List<VersionId> calculateCandidateVersions(List<VersionId> repoVersions, Collection<String> versions)
     {
-        return repoVersions.stream().filter(v -> !versions.contains(v.toVersionIdString())).collect(Collectors.toList());
+        Set<VersionId> storedVersions = new HashSet<>(versions.size());
+        versions.forEach(version -> ParsedVersions.tryParse(version).ifPresentOrElse(storedVersions::add, () -> LOGGER.debug("ignoring non release version {}", version)));
+        return repoVersions.stream().filter(v -> !storedVersions.contains(v)).collect(Collectors.toList());
     }
 
     private String queueWorkToRefreshProjectVersion(StoreProjectData projectData, String versionId, boolean fullUpdate, boolean transitive, String parentEvent)
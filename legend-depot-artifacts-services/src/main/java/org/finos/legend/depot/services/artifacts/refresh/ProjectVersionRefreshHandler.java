@@ -16,8 +16,9 @@
 package org.finos.legend.depot.services.artifacts.refresh;
 
 import com.google.inject.name.Named;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.maven.model.Model;
+import org.finos.legend.depot.core.services.api.metrics.HistogramHandle;
+import org.finos.legend.depot.core.services.metrics.MetricHandle;
 import org.finos.legend.depot.domain.CoordinateValidator;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.artifacts.repository.DependencyExclusion;
@@ -45,12 +46,10 @@ import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactHandlerFactory;
 import org.finos.legend.depot.services.api.artifacts.handlers.ProjectArtifactsHandler;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
-import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
@@ -75,6 +74,7 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
     public static final String VERSION_REFRESH_DURATION_HELP = "version refresh duration";
     public static final String TOTAL_NUMBER_OF_VERSIONS_REFRESH = "total number of versions refresh";
 
+    private static final MetricHandle<HistogramHandle> REFRESH_DURATION = MetricHandle.of(metrics -> metrics.histogram(VERSION_REFRESH_DURATION));
 
     private static final String PROCESS_EVENT = "processNotification";
     private static final String SHA_256 = "SHA-256";
@@ -90,6 +90,7 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
     private final Queue workQueue;
     private final RefreshDependenciesService refreshDependenciesService;
     private final int maximumSnapshotsAllowed;
+    private final ArtifactFileChecksums artifactFileChecksums = new ArtifactFileChecksums();
 
 
     @Inject
@@ -277,7 +278,7 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
             LOGGER.error(errorMessage);
         }
         long refreshEndTime = System.currentTimeMillis();
-        PrometheusMetricsFactory.getInstance().observeHistogram(VERSION_REFRESH_DURATION, refreshStartTime, refreshEndTime);
+        REFRESH_DURATION.get().observe(refreshStartTime, refreshEndTime);
         return response;
     }
 
@@ -313,7 +314,7 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
             LOGGER.error(errorMessage);
         }
         long refreshEndTime = System.currentTimeMillis();
-        PrometheusMetricsFactory.getInstance().observeHistogram(VERSION_REFRESH_DURATION, refreshStartTime, refreshEndTime);
+        REFRESH_DURATION.get().observe(refreshStartTime, refreshEndTime);
         return response;
 
     }
@@ -323,6 +324,8 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
         Optional<StoreProjectVersionData> projectVersionData = projects.find(project.getGroupId(), project.getArtifactId(), versionId);
         StoreProjectVersionData storeProjectVersionData = projectVersionData.isPresent() ? projectVersionData.get() : new StoreProjectVersionData(project.getGroupId(), project.getArtifactId(), versionId);
         ProjectVersionData versionData = storeProjectVersionData.getVersionData();
+        List<ProjectVersion> previousDependencies = projectVersionData.isPresent() ? versionData.getDependencies() : null;
+        Map<String, List<ProjectVersion>> previousExclusions = projectVersionData.isPresent() ? versionData.getDependencyExclusions() : null;
         versionData.setDependencies(newDependencies);
         versionData.setDependencyExclusions(new HashMap<>());
 
@@ -355,7 +358,7 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
         }
 
         storeProjectVersionData.setVersionData(versionData);
-        this.refreshDependenciesService.setProjectDataTransitiveDependencies(storeProjectVersionData);
+        this.refreshDependenciesService.setProjectDataTransitiveDependencies(storeProjectVersionData, previousDependencies, previousExclusions);
         storeProjectVersionData.setEvicted(false);
         storeProjectVersionData.getVersionData().setExcluded(false);
         storeProjectVersionData.getVersionData().setExclusionReason(null);
@@ -503,17 +506,24 @@ public final class ProjectVersionRefreshHandler implements NotificationHandler
     private List<File> findArtifactFiles(ArtifactType type, StoreProjectData projectData, String versionId, boolean includeUnchangedFiles)
     {
         List<File> filesFromRepo = this.repositoryServices.findFiles(type, projectData.getGroupId(), projectData.getArtifactId(), versionId);
-        return filesFromRepo.stream().filter(file -> includeUnchangedFiles || artifactFileChangedOrNotProcessed(file)).collect(Collectors.toList());
+        if (includeUnchangedFiles || filesFromRepo.isEmpty())
+        {
+            return filesFromRepo;
+        }
+        List<String> filePaths = filesFromRepo.stream().map(File::getPath).collect(Collectors.toList());
+        Map<String, String> storedCheckSums = new HashMap<>();
+        this.artifacts.findByPaths(filePaths).stream().filter(artifactFile -> artifactFile.getCheckSum() != null)
+                .forEach(artifactFile -> storedCheckSums.put(artifactFile.getPath(), artifactFile.getCheckSum()));
+        return filesFromRepo.stream().filter(file -> artifactFileChangedOrNotProcessed(file, storedCheckSums.get(file.getPath()))).collect(Collectors.toList());
     }
 
-    private boolean artifactFileChangedOrNotProcessed(File file)
+    private boolean artifactFileChangedOrNotProcessed(File file, String storedCheckSum)
     {
         String filePath = file.getPath();
-        Optional<ArtifactFile> artifactDetails = this.artifacts.find(filePath);
         try
         {
-            String fileCheckSum = DigestUtils.sha256Hex(new FileInputStream(filePath));
-            if (!artifactDetails.isPresent() || !MessageDigest.isEqual(fileCheckSum.getBytes(), artifactDetails.get().getCheckSum().getBytes()))
+            String fileCheckSum = this.artifactFileChecksums.getCheckSum(file);
+            if (storedCheckSum == null || !MessageDigest.isEqual(fileCheckSum.getBytes(), storedCheckSum.getBytes()))
             {
                 LOGGER.info("loading artifacts from updated file: {}", filePath);
                 LOGGER.info("file check sum: {}", fileCheckSum);
@@ -15,9 +15,11 @@
 
 package org.finos.legend.depot.services.artifacts.refresh;
 
+import org.finos.legend.depot.core.services.api.metrics.GaugeHandle;
+import org.finos.legend.depot.core.services.api.metrics.HistogramHandle;
+import org.finos.legend.depot.core.services.metrics.MetricHandle;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.ProjectVersionData;
-import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyWithPlatformVersions;
 import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.artifacts.refresh.RefreshDependenciesService;
@@ -35,31 +37,59 @@ import javax.inject.Named;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.HashSet;
 import java.util.Comparator;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import java.util.stream.Collectors;
 
 public class RefreshDependenciesServiceImpl implements RefreshDependenciesService
 {
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(RefreshDependenciesServiceImpl.class);
+    public static final String SNAPSHOT_CASCADE_SIZE = "snapshot_cascade_size";
+    public static final String SNAPSHOT_CASCADE_SIZE_HELP = "versions refreshed by the last snapshot cascade";
+    public static final String SNAPSHOT_CASCADE_DURATION = "snapshot_cascade_duration";
+    public static final String SNAPSHOT_CASCADE_DURATION_HELP = "snapshot cascade duration";
+
+    private static final MetricHandle<GaugeHandle> CASCADE_SIZE = MetricHandle.of(metrics -> metrics.gauge(SNAPSHOT_CASCADE_SIZE));
+    private static final MetricHandle<HistogramHandle> CASCADE_DURATION = MetricHandle.of(metrics -> metrics.histogram(SNAPSHOT_CASCADE_DURATION));
+
+    private static final int DEFAULT_PARALLELISM = 4;
 
     private final ManageProjectsService projects;
     private final ArtifactRepository repositoryServices;
     private final DependencyOverride dependencyOverride;
     private final MavenDependencyResolver mavenDependencyResolver;
+    private final ExecutorService cascadeExecutor;
 
     @Inject
     public RefreshDependenciesServiceImpl(ManageProjectsService projects, ArtifactRepository repositoryServices, @Named("dependencyOverride") DependencyOverride dependencyOverride, MavenDependencyResolver mavenDependencyResolver)
+    {
+        this(projects, repositoryServices, dependencyOverride, mavenDependencyResolver, DEFAULT_PARALLELISM);
+    }
+
+    public RefreshDependenciesServiceImpl(ManageProjectsService projects, ArtifactRepository repositoryServices, DependencyOverride dependencyOverride, MavenDependencyResolver mavenDependencyResolver, int parallelism)
     {
         this.projects = projects;
         this.repositoryServices = repositoryServices;
         this.dependencyOverride = dependencyOverride;
         this.mavenDependencyResolver = mavenDependencyResolver;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.cascadeExecutor = Executors.newFixedThreadPool(parallelism, runnable ->
+        {
+            Thread thread = new Thread(runnable, "snapshot-cascade-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
@@ -116,6 +146,16 @@ public class RefreshDependenciesServiceImpl implements RefreshDependenciesServic
     }
 
     public StoreProjectVersionData updateTransitiveDependencies(String groupId, String artifactId, String versionId)
+    {
+        StoreProjectVersionData projectData = refreshTransitiveDependencies(groupId, artifactId, versionId);
+        if (VersionValidator.isSnapshotVersion(projectData.getVersionId()))
+        {
+            cascadeToDependants(new ProjectVersion(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId()));
+        }
+        return projectData;
+    }
+
+    private StoreProjectVersionData refreshTransitiveDependencies(String groupId, String artifactId, String versionId)
     {
         Optional<StoreProjectVersionData> projectVersionData = this.projects.find(groupId, artifactId, versionId);
         if (!projectVersionData.isPresent() || projectVersionData.get().getVersionData().isExcluded())
@@ -126,13 +166,124 @@ public class RefreshDependenciesServiceImpl implements RefreshDependenciesServic
         LOGGER.info(String.format("Finding dependencies for %s-%s-%s", groupId, artifactId, versionId));
         this.setProjectDataTransitiveDependencies(projectData);
         LOGGER.info(String.format("Completed finding dependencies for %s-%s-%s", groupId, artifactId, versionId));
-        projectData = this.projects.createOrUpdate(projectData);
-        if (VersionValidator.isSnapshotVersion(projectData.getVersionId()))
+        return this.projects.createOrUpdate(projectData);
+    }
+
+    private void cascadeToDependants(ProjectVersion snapshot)
+    {
+        long startTime = System.currentTimeMillis();
+        List<List<ProjectVersion>> layers = SnapshotCascadePlanner.plan(snapshot, version -> this.projects.getDependantProjects(version.getGroupId(), version.getArtifactId(), version.getVersionId())
+                .stream().map(d -> new ProjectVersion(d.getGroupId(), d.getArtifactId(), d.getVersionId())).collect(Collectors.toList()));
+        int cascadeSize = layers.stream().mapToInt(List::size).sum();
+        LOGGER.info("Refreshing [{}] dependants of {} in [{}] layers", cascadeSize, snapshot.getGav(), layers.size());
+
+        List<String> failures = new ArrayList<>();
+        for (List<ProjectVersion> layer : layers)
+        {
+            List<Future<?>> results = layer.stream()
+                    .map(version -> cascadeExecutor.submit(() -> refreshTransitiveDependencies(version.getGroupId(), version.getArtifactId(), version.getVersionId())))
+                    .collect(Collectors.toList());
+            try
+            {
+                for (int i = 0; i < results.size(); i++)
+                {
+                    try
+                    {
+                        results.get(i).get();
+                    }
+                    catch (ExecutionException e)
+                    {
+                        LOGGER.error("Refreshing dependant {} failed: {}", layer.get(i).getGav(), e.getCause().getMessage());
+                        failures.add(layer.get(i).getGav());
+                    }
+                }
+            }
+            catch (InterruptedException e)
+            {
+                results.forEach(result -> result.cancel(true));
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("snapshot cascade interrupted", e);
+            }
+        }
+
+        long endTime = System.currentTimeMillis();
+        CASCADE_SIZE.get().set(cascadeSize);
+        CASCADE_DURATION.get().observe(startTime, endTime);
+        LOGGER.info("Finished refreshing [{}] dependants of {} ({}) ms", cascadeSize, snapshot.getGav(), endTime - startTime);
+        if (!failures.isEmpty())
         {
-            List<ProjectDependencyWithPlatformVersions> dependantProjects = this.projects.getDependantProjects(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId());
-            dependantProjects.forEach(d -> updateTransitiveDependencies(d.getGroupId(), d.getArtifactId(), d.getVersionId()));
+            throw new IllegalStateException(String.format("refreshing dependants of %s failed for %s", snapshot.getGav(), failures));
         }
-        return projectData;
+    }
+
+    public void setProjectDataTransitiveDependencies(StoreProjectVersionData projectData, List<ProjectVersion> previousDependencies, Map<String, List<ProjectVersion>> previousExclusions)
+    {
+        ProjectVersionData versionData = projectData.getVersionData();
+        VersionDependencyReport previousReport = projectData.getTransitiveDependenciesReport();
+        // snapshots can change underneath an unchanged declaration, so only a report made of released versions is reused
+        if (previousDependencies != null && previousReport != null && previousReport.isValid()
+                && previousReport.getTransitiveDependencies().stream().noneMatch(dep -> VersionValidator.isSnapshotVersion(dep.getVersionId()))
+                && versionData.getDependencies().equals(previousDependencies)
+                && sameExclusions(versionData.getDependencyExclusions(), previousExclusions))
+        {
+            LOGGER.info("Dependencies of [{}-{}-{}] unchanged, reusing stored transitive dependencies", projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId());
+            return;
+        }
+        if (versionData.getDependencyExclusions().isEmpty())
+        {
+            Optional<VersionDependencyReport> composedReport = composeFromDependencyReports(versionData.getDependencies());
+            if (composedReport.isPresent())
+            {
+                LOGGER.info("Transitive dependencies of [{}-{}-{}] composed from stored dependency reports", projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId());
+                projectData.setTransitiveDependenciesReport(composedReport.get());
+                return;
+            }
+        }
+        this.setProjectDataTransitiveDependencies(projectData);
+    }
+
+    private Optional<VersionDependencyReport> composeFromDependencyReports(List<ProjectVersion> dependencies)
+    {
+        // the reports of all direct dependencies are read in one query
+        Map<ProjectVersion, StoreProjectVersionData> reports = new HashMap<>();
+        this.projects.findDependencyGraphNodes(dependencies, true).forEach(versionData ->
+                reports.put(new ProjectVersion(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId()), versionData));
+        Map<String, ProjectVersion> composed = new LinkedHashMap<>();
+        dependencies.forEach(dependency -> composed.putIfAbsent(dependency.getGa(), dependency));
+        for (ProjectVersion dependency : dependencies)
+        {
+            StoreProjectVersionData dependencyData = reports.get(dependency);
+            if (dependencyData == null || !hasStoredTransitiveDependencies(dependencyData))
+            {
+                return Optional.empty();
+            }
+            for (ProjectVersion transitive : dependencyData.getTransitiveDependenciesReport().getTransitiveDependencies())
+            {
+                ProjectVersion chosen = composed.putIfAbsent(transitive.getGa(), transitive);
+                if (chosen != null && !chosen.equals(transitive))
+                {
+                    // the winning version depends on distances the stored reports do not keep, leave it to a full resolution
+                    return Optional.empty();
+                }
+            }
+        }
+        return Optional.of(new VersionDependencyReport(new ArrayList<>(composed.values()), true));
+    }
+
+    private static boolean hasStoredTransitiveDependencies(StoreProjectVersionData versionData)
+    {
+        // versions stored before their report was computed read back as a valid but empty report
+        return !versionData.getVersionData().isExcluded() && versionData.getTransitiveDependenciesReport().isValid()
+                && (!versionData.getTransitiveDependenciesReport().getTransitiveDependencies().isEmpty() || versionData.getVersionData().getDependencies().isEmpty());
+    }
+
+    private static boolean sameExclusions(Map<String, List<ProjectVersion>> exclusions, Map<String, List<ProjectVersion>> previousExclusions)
+    {
+        if (previousExclusions == null || !exclusions.keySet().equals(previousExclusions.keySet()))
+        {
+            return false;
+        }
+        return exclusions.entrySet().stream().allMatch(e -> new HashSet<>(e.getValue()).equals(new HashSet<>(previousExclusions.get(e.getKey()))));
     }
 
     public void setProjectDataTransitiveDependencies(StoreProjectVersionData projectData)
@@ -0,0 +1,99 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.services.artifacts.refresh;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Works out which versions have to be refreshed after a snapshot changes: every version depending on it, directly or
+ * through other snapshots, appears once, in layers where each version comes after the affected versions it depends on.
+ */
+final class SnapshotCascadePlanner
+{
+    private SnapshotCascadePlanner()
+    {
+    }
+
+    static List<List<ProjectVersion>> plan(ProjectVersion root, Function<ProjectVersion, Collection<ProjectVersion>> dependantsOf)
+    {
+        Map<ProjectVersion, Set<ProjectVersion>> edges = new LinkedHashMap<>();
+        Map<ProjectVersion, Integer> pendingDependencies = new LinkedHashMap<>();
+        Set<ProjectVersion> discovered = new HashSet<>(Collections.singleton(root));
+        Deque<ProjectVersion> toExpand = new ArrayDeque<>(Collections.singleton(root));
+        while (!toExpand.isEmpty())
+        {
+            ProjectVersion version = toExpand.poll();
+            Set<ProjectVersion> dependants = new LinkedHashSet<>(dependantsOf.apply(version));
+            dependants.remove(version);
+            dependants.remove(root);
+            edges.put(version, dependants);
+            for (ProjectVersion dependant : dependants)
+            {
+                pendingDependencies.merge(dependant, 1, Integer::sum);
+                // only snapshots can change underneath their dependants, released versions end the cascade
+                if (discovered.add(dependant) && VersionValidator.isSnapshotVersion(dependant.getVersionId()))
+                {
+                    toExpand.add(dependant);
+                }
+            }
+        }
+
+        List<List<ProjectVersion>> layers = new ArrayList<>();
+        List<ProjectVersion> layer = release(root, edges, pendingDependencies);
+        while (!layer.isEmpty())
+        {
+            layers.add(layer);
+            List<ProjectVersion> next = new ArrayList<>();
+            layer.forEach(version -> next.addAll(release(version, edges, pendingDependencies)));
+            layer = next;
+        }
+        if (!pendingDependencies.isEmpty())
+        {
+            // versions in a dependency cycle never become free, they are still refreshed once each, after everything else
+            layers.add(new ArrayList<>(pendingDependencies.keySet()));
+        }
+        return layers;
+    }
+
+    private static List<ProjectVersion> release(ProjectVersion version, Map<ProjectVersion, Set<ProjectVersion>> edges, Map<ProjectVersion, Integer> pendingDependencies)
+    {
+        List<ProjectVersion> released = new ArrayList<>();
+        for (ProjectVersion dependant : edges.getOrDefault(version, Collections.emptySet()))
+        {
+            if (pendingDependencies.merge(dependant, -1, Integer::sum) == 0)
+            {
+                pendingDependencies.remove(dependant);
+                released.add(dependant);
+            }
+        }
+        return released;
+    }
+}
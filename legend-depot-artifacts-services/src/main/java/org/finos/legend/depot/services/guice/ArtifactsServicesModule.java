@@ -50,6 +50,10 @@ import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRe
 import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_COUNTER;
 import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_DURATION;
 import static org.finos.legend.depot.services.artifacts.refresh.ProjectVersionRefreshHandler.VERSION_REFRESH_DURATION_HELP;
+import static org.finos.legend.depot.services.artifacts.refresh.RefreshDependenciesServiceImpl.SNAPSHOT_CASCADE_DURATION;
+import static org.finos.legend.depot.services.artifacts.refresh.RefreshDependenciesServiceImpl.SNAPSHOT_CASCADE_DURATION_HELP;
+import static org.finos.legend.depot.services.artifacts.refresh.RefreshDependenciesServiceImpl.SNAPSHOT_CASCADE_SIZE;
+import static org.finos.legend.depot.services.artifacts.refresh.RefreshDependenciesServiceImpl.SNAPSHOT_CASCADE_SIZE_HELP;
 
 public class ArtifactsServicesModule extends PrivateModule
 {
@@ -65,7 +69,7 @@ public class ArtifactsServicesModule extends PrivateModule
 
     protected void configureVersionReconciliation()
     {
-        bind(VersionsReconciliationService.class).to(VersionsReconciliationServiceImpl.class);
+        bind(VersionsReconciliationService.class).to(VersionsReconciliationServiceImpl.class).in(Singleton.class);
         expose(VersionsReconciliationService.class);
     }
 
@@ -79,7 +83,8 @@ public class ArtifactsServicesModule extends PrivateModule
     {
         bind(ArtifactsRefreshService.class).to(ArtifactsRefreshServiceImpl.class);
         bind(NotificationHandler.class).to(ProjectVersionRefreshHandler.class);
-        bind(RefreshDependenciesService.class).to(RefreshDependenciesServiceImpl.class);
+        // one instance so the whole server shares a single snapshot cascade pool
+        bind(RefreshDependenciesService.class).to(RefreshDependenciesServiceImpl.class).in(Singleton.class);
         bind(ProjectVersionRefreshHandler.class);
 
         expose(ArtifactsRefreshService.class);
@@ -129,6 +134,8 @@ public class ArtifactsServicesModule extends PrivateModule
     {
         metricsHandler.registerCounter(VERSION_REFRESH_COUNTER, TOTAL_NUMBER_OF_VERSIONS_REFRESH);
         metricsHandler.registerHistogram(VERSION_REFRESH_DURATION, VERSION_REFRESH_DURATION_HELP);
+        metricsHandler.registerGauge(SNAPSHOT_CASCADE_SIZE, SNAPSHOT_CASCADE_SIZE_HELP);
+        metricsHandler.registerHistogram(SNAPSHOT_CASCADE_DURATION, SNAPSHOT_CASCADE_DURATION_HELP);
         return true;
     }
 
@@ -28,9 +28,11 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import java.security.Principal;
 import java.util.List;
@@ -134,13 +136,29 @@ public class ArtifactsPurgeResource extends AuthorisedResource
     @Path("/artifactEviction/versions/notUsed")
     @ApiOperation(ResourceLoggingAndTracing.EVICT_VERSIONS_NOT_USED)
     @Produces(MediaType.APPLICATION_JSON)
-    public MetadataNotificationResponse evictVersionsNotUsed()
+    public MetadataNotificationResponse evictVersionsNotUsed(@QueryParam("dryRun") @DefaultValue("false") @ApiParam("report eviction candidates without evicting them") boolean dryRun)
     {
 
         return handle(ResourceLoggingAndTracing.EVICT_VERSIONS_NOT_USED, () ->
         {
             validateUser();
-            return artifactsPurgeService.evictVersionsNotUsed();
+            return artifactsPurgeService.evictVersionsNotUsed(dryRun);
+        });
+    }
+
+    @DELETE
+    @Path("/artifactEviction/versions/leastRecentlyUsed")
+    @ApiOperation(ResourceLoggingAndTracing.EVICT_LEAST_RECENTLY_USED)
+    @Produces(MediaType.APPLICATION_JSON)
+    public MetadataNotificationResponse evictLeastRecentlyUsed(@QueryParam("ttlForVersionsInDays") @ApiParam("evict released versions not queried in this many days") int ttlForVersionsInDays,
+                                                               @QueryParam("ttlForSnapshotsInDays") @ApiParam("evict snapshot versions not queried in this many days") int ttlForSnapshotsInDays,
+                                                               @QueryParam("dryRun") @DefaultValue("false") @ApiParam("report eviction candidates without evicting them") boolean dryRun)
+    {
+
+        return handle(ResourceLoggingAndTracing.EVICT_LEAST_RECENTLY_USED, () ->
+        {
+            validateUser();
+            return artifactsPurgeService.evictLeastRecentlyUsed(ttlForVersionsInDays, ttlForSnapshotsInDays, dryRun);
         });
     }
 
@@ -17,21 +17,28 @@ package org.finos.legend.depot.store.resources.artifacts;
 
 import io.swagger.annotations.Api;
 import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
 import org.finos.legend.depot.core.services.api.authorisation.AuthorisationProvider;
 import org.finos.legend.depot.core.services.authorisation.resources.AuthorisedResource;
 import org.finos.legend.depot.domain.version.VersionMismatch;
+import org.finos.legend.depot.domain.version.VersionMismatchesReport;
 import org.finos.legend.depot.services.api.artifacts.reconciliation.VersionsReconciliationService;
 import org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing;
+import org.finos.legend.depot.store.model.Page;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
+import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import java.security.Principal;
 import java.util.List;
+import java.util.Optional;
 
 @Path("")
 @Api("Repository")
@@ -62,4 +69,46 @@ public class VersionsReconciliationResource extends AuthorisedResource
     {
         return handle(ResourceLoggingAndTracing.GET_PROJECT_CACHE_MISMATCHES, () -> this.reconciliationService.findVersionsMismatches());
     }
+
+    @GET
+    @Path("/paged/versions/mismatch")
+    @ApiOperation(ResourceLoggingAndTracing.GET_PROJECT_CACHE_MISMATCHES_PAGE)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Page<VersionMismatch> getVersionMissMatches(@QueryParam("continuationToken") @ApiParam("token returned with the previous page, first page if not provided") String continuationToken,
+                                                       @QueryParam("pageSize") @DefaultValue("100") @ApiParam("number of projects per page") int pageSize)
+    {
+        return handle(ResourceLoggingAndTracing.GET_PROJECT_CACHE_MISMATCHES_PAGE, () -> this.reconciliationService.findVersionsMismatches(continuationToken, pageSize));
+    }
+
+    @POST
+    @Path("/versions/mismatch/report")
+    @ApiOperation(ResourceLoggingAndTracing.START_PROJECT_CACHE_MISMATCHES_REPORT)
+    @Produces(MediaType.APPLICATION_JSON)
+    public VersionMismatchesReport startVersionMissMatchesReport()
+    {
+        return handle(ResourceLoggingAndTracing.START_PROJECT_CACHE_MISMATCHES_REPORT, () ->
+        {
+            validateUser();
+            return this.reconciliationService.startVersionsMismatchesReport();
+        });
+    }
+
+    @GET
+    @Path("/versions/mismatch/report")
+    @ApiOperation(ResourceLoggingAndTracing.GET_PROJECT_CACHE_MISMATCHES_REPORT)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Optional<VersionMismatchesReport> getVersionMissMatchesReport()
+    {
+        return handle(ResourceLoggingAndTracing.GET_PROJECT_CACHE_MISMATCHES_REPORT, () -> this.reconciliationService.getVersionsMismatchesReport());
+    }
+
+    @GET
+    @Path("/paged/versions/mismatch/report")
+    @ApiOperation(ResourceLoggingAndTracing.GET_PROJECT_CACHE_MISMATCHES_REPORT_PAGE)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Page<VersionMismatch> getVersionMissMatchesReportPage(@QueryParam("continuationToken") @ApiParam("token returned with the previous page, first page if not provided") String continuationToken,
+                                                                 @QueryParam("pageSize") @DefaultValue("100") @ApiParam("number of mismatches per page") int pageSize)
+    {
+        return handle(ResourceLoggingAndTracing.GET_PROJECT_CACHE_MISMATCHES_REPORT_PAGE, () -> this.reconciliationService.getVersionsMismatchesReportPage(continuationToken, pageSize));
+    }
 }
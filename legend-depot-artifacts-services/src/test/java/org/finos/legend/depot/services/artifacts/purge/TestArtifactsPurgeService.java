@@ -53,6 +53,7 @@ import org.finos.legend.depot.store.mongo.projects.ProjectsMongo;
 import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.store.mongo.generations.TestGenerationsStoreMongo;
+import org.finos.legend.depot.store.mongo.artifacts.VersionMismatchesReportMongo;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -86,7 +87,7 @@ public class TestArtifactsPurgeService extends TestBaseServices
     protected UpdateEntities entitiesStore = new EntitiesMongo(mongoProvider);
     protected UpdateFileGenerations fileGenerationsStore = new FileGenerationsMongo(mongoProvider);
     protected ArtifactRepository repository = mock(ArtifactRepository.class);
-    protected VersionsReconciliationServiceImpl versionsMismatchService = new VersionsReconciliationServiceImpl(repository, projectsService);
+    protected VersionsReconciliationServiceImpl versionsMismatchService = new VersionsReconciliationServiceImpl(repository, projectsService, new VersionMismatchesReportMongo(mongoProvider));
     protected ManageEntitiesService entitiesService = new ManageEntitiesServiceImpl(entitiesStore, projectsService);
     protected ArtifactsPurgeService purgeService = new ArtifactsPurgeServiceImpl(projectsService, versionsMismatchService, metricHandler, projectsConfiguration);
 
@@ -256,6 +257,28 @@ public class TestArtifactsPurgeService extends TestBaseServices
         Assertions.assertFalse(version3.isEvicted());
     }
 
+    @Test
+    public void canDryRunEvictLeastRecentlyUsed()
+    {
+        metrics.insert(new VersionQueryMetric(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0", DatesHandler.toDate(LocalDateTime.now().minusDays(366))));
+        metrics.insert(new VersionQueryMetric(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.2.0", DatesHandler.toDate(LocalDateTime.now().minusDays(366))));
+        metrics.insert(new VersionQueryMetric(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.2.0", new Date()));
+        MetadataNotificationResponse response = purgeService.evictLeastRecentlyUsed(365, 30, true);
+
+        Assertions.assertFalse(response.hasErrors());
+        Assertions.assertTrue(response.getMessages().contains("Eviction candidate: examples.metadata:test:2.0.0"));
+        Assertions.assertFalse(response.getMessages().contains("Eviction candidate: examples.metadata:test:2.2.0"));
+        Assertions.assertFalse(projectsService.find(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0").get().isEvicted());
+        Assertions.assertEquals(3, metrics.getAllStoredEntities().size());
+        Assertions.assertEquals(2, entitiesStore.getAllEntities(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0").size());
+
+        purgeService.evictLeastRecentlyUsed(365, 30);
+        Assertions.assertTrue(projectsService.find(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0").get().isEvicted());
+        Assertions.assertFalse(projectsService.find(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.2.0").get().isEvicted());
+        Assertions.assertEquals(0, entitiesStore.getAllEntities(TEST_GROUP_ID, TEST_ARTIFACT_ID, "2.0.0").size());
+        Assertions.assertEquals(2, metrics.getAllStoredEntities().size());
+    }
+
     @Test
     public void canEvictVersionsNotUsed()
     {
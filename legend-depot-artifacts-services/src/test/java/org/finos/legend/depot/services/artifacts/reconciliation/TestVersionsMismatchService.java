@@ -15,13 +15,16 @@
 
 package org.finos.legend.depot.services.artifacts.reconciliation;
 
-import org.finos.legend.depot.services.api.artifacts.reconciliation.VersionsReconciliationService;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepositoryException;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
+import org.finos.legend.depot.store.mongo.TestStoreMongo;
+import org.finos.legend.depot.store.mongo.artifacts.VersionMismatchesReportMongo;
 import org.finos.legend.depot.domain.version.VersionMismatch;
+import org.finos.legend.depot.domain.version.VersionMismatchesReport;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -30,16 +33,22 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-public class TestVersionsMismatchService
+public class TestVersionsMismatchService extends TestStoreMongo
 {
     protected ArtifactRepository repository = mock(ArtifactRepository.class);
     protected ManageProjectsService projects = mock(ManageProjectsService.class);
-    protected VersionsReconciliationService repositoryServices = new VersionsReconciliationServiceImpl(repository, projects);
+    protected VersionsReconciliationServiceImpl repositoryServices = new VersionsReconciliationServiceImpl(repository, projects, new VersionMismatchesReportMongo(mongoProvider));
 
     @BeforeEach
     public void setup() throws ArtifactRepositoryException
@@ -50,6 +59,7 @@ public class TestVersionsMismatchService
         coordinates.add(new StoreProjectData("PROD-C","examples.metadata", "test3", null, "2.0.2"));
         coordinates.add(new StoreProjectData("PROD-D","examples.metadata", "test4"));
         when(projects.getAllProjectCoordinates()).thenReturn(coordinates);
+        when(projects.getProjectCoordinates(isNull(), anyInt())).thenReturn(new Page<>(coordinates, null));
         StoreProjectVersionData p1v1 = new StoreProjectVersionData("examples.metadata", "test1", "2.2.0");
         StoreProjectVersionData p1v2 = new StoreProjectVersionData("examples.metadata", "test1", "2.3.0");
         StoreProjectVersionData p2v1 = new StoreProjectVersionData("examples.metadata", "test2", "1.0.0");
@@ -59,6 +69,10 @@ public class TestVersionsMismatchService
         when(projects.find("examples.metadata", "test2")).thenReturn(Arrays.asList(p2v1));
         when(projects.find("examples.metadata", "test3")).thenReturn(Arrays.asList(p3v1));
         when(projects.find("examples.metadata", "test4")).thenReturn(Arrays.asList(p4v1));
+        when(projects.findLatestRelease("examples.metadata", "test1")).thenReturn(Optional.of(p1v2));
+        when(projects.findLatestRelease("examples.metadata", "test2")).thenReturn(Optional.of(p2v1));
+        when(projects.findLatestRelease("examples.metadata", "test3")).thenReturn(Optional.of(p3v1));
+        when(projects.findLatestRelease("examples.metadata", "test4")).thenReturn(Optional.of(p4v1));
         when(repository.findVersions("examples.metadata", "test1")).thenReturn(Arrays.asList(VersionId.parseVersionId("2.2.0"),VersionId.parseVersionId("2.3.0"), VersionId.parseVersionId("2.3.1")));
         when(repository.findVersions("examples.metadata", "test2")).thenReturn(Arrays.asList(VersionId.parseVersionId("1.0.1")));
         when(repository.findVersions("examples.metadata", "test3")).thenReturn(Collections.emptyList());
@@ -88,6 +102,53 @@ public class TestVersionsMismatchService
 
     }
 
+    @Test
+    public void getVersionsMismatchByPage()
+    {
+        List<StoreProjectData> coordinates = projects.getAllProjectCoordinates();
+        when(projects.getProjectCoordinates(isNull(), eq(2))).thenReturn(new Page<>(coordinates.subList(0, 2), "next"));
+        when(projects.getProjectCoordinates(eq("next"), eq(2))).thenReturn(new Page<>(coordinates.subList(2, 4), null));
+
+        Page<VersionMismatch> firstPage = repositoryServices.findVersionsMismatches(null, 2);
+        Assertions.assertEquals(2, firstPage.getItems().size());
+        Assertions.assertEquals("PROD-A", firstPage.getItems().get(0).projectId);
+        Assertions.assertEquals("PROD-B", firstPage.getItems().get(1).projectId);
+        Assertions.assertEquals("next", firstPage.getContinuationToken());
+
+        Page<VersionMismatch> secondPage = repositoryServices.findVersionsMismatches(firstPage.getContinuationToken(), 2);
+        Assertions.assertEquals(1, secondPage.getItems().size());
+        Assertions.assertEquals("PROD-C", secondPage.getItems().get(0).projectId);
+        Assertions.assertNull(secondPage.getContinuationToken());
+    }
+
+    @Test
+    public void canRunVersionsMismatchReportAsynchronously() throws Exception
+    {
+        Assertions.assertFalse(repositoryServices.getVersionsMismatchesReport().isPresent());
+        Assertions.assertEquals(VersionMismatchesReport.Status.RUNNING, repositoryServices.startVersionsMismatchesReport().status);
+
+        repositoryServices.getRunningReport().get().get(5, TimeUnit.SECONDS);
+        VersionMismatchesReport report = repositoryServices.getVersionsMismatchesReport().get();
+        Assertions.assertEquals(VersionMismatchesReport.Status.COMPLETED, report.status);
+        Assertions.assertEquals(4, report.projects);
+        Assertions.assertEquals(3, report.mismatches);
+        List<VersionMismatch> mismatches = repositoryServices.getVersionsMismatchesReportPage(null, 10).getItems();
+        Assertions.assertEquals(3, mismatches.size());
+        Assertions.assertEquals("2.3.1", mismatches.stream().filter(p -> p.projectId.equals("PROD-A")).findFirst().get().versionsNotInStore.get(0));
+        Assertions.assertNotNull(report.finished);
+    }
+
+    @Test
+    public void doesNotStartReportWhileAnotherIsRunning()
+    {
+        VersionMismatchesReportMongo reports = new VersionMismatchesReportMongo(mongoProvider);
+        VersionMismatchesReport running = VersionMismatchesReport.running(new Date());
+        Assertions.assertTrue(reports.start(running, new Date(0)));
+
+        Assertions.assertEquals(running.started, repositoryServices.startVersionsMismatchesReport().started);
+        Assertions.assertFalse(repositoryServices.getRunningReport().isPresent());
+    }
+
     @Test
     public void getVersionsMismatchWithExceptions() throws ArtifactRepositoryException
     {
@@ -144,6 +205,7 @@ public class TestVersionsMismatchService
         coordinates.add(new StoreProjectData("PROD-B","examples.metadata", "test2", null, "1.0.0"));
         coordinates.add(new StoreProjectData("PROD-C","examples.metadata", "test3", null, "2.0.2"));
         when(projects.getAllProjectCoordinates()).thenReturn(coordinates);
+        when(projects.getProjectCoordinates(isNull(), anyInt())).thenReturn(new Page<>(coordinates, null));
         StoreProjectVersionData p1v1 = new StoreProjectVersionData("examples.metadata", "test1", "2.2.0");
         StoreProjectVersionData p1v2 = new StoreProjectVersionData("examples.metadata", "test1", "2.3.0");
         p1v2.getVersionData().setExcluded(true);
@@ -154,6 +216,10 @@ public class TestVersionsMismatchService
         when(projects.find("examples.metadata", "test1")).thenReturn(Arrays.asList(p1v1, p1v2));
         when(projects.find("examples.metadata", "test2")).thenReturn(Arrays.asList(p2v1));
         when(projects.find("examples.metadata", "test3")).thenReturn(Arrays.asList(p3v1));
+        // the store skips excluded and evicted versions
+        when(projects.findLatestRelease("examples.metadata", "test1")).thenReturn(Optional.of(p1v1));
+        when(projects.findLatestRelease("examples.metadata", "test2")).thenReturn(Optional.empty());
+        when(projects.findLatestRelease("examples.metadata", "test3")).thenReturn(Optional.of(p3v1));
 
         List<StoreProjectData> projectsWithUpdatedLatestVersions = repositoryServices.syncLatestProjectVersions();
         Assertions.assertEquals(1, projectsWithUpdatedLatestVersions.stream().filter(p -> p.getProjectId().equals("PROD-A")).count());
@@ -0,0 +1,81 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.artifacts.refresh;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestArtifactFileChecksums
+{
+    private static final String CONTENT = "some entities";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void calculatesCheckSumWhenRepositoryChecksumIsMissing() throws IOException
+    {
+        File jar = writeFile("test-entities-1.0.0.jar", CONTENT);
+        Assertions.assertEquals(DigestUtils.sha256Hex(CONTENT), new ArtifactFileChecksums().getCheckSum(jar));
+    }
+
+    @Test
+    public void usesRepositoryChecksumWhenAvailable() throws IOException
+    {
+        File jar = writeFile("test-entities-1.0.0.jar", CONTENT);
+        writeFile("test-entities-1.0.0.jar.sha256", DigestUtils.sha256Hex(CONTENT).toUpperCase() + "  test-entities-1.0.0.jar");
+        Assertions.assertEquals(DigestUtils.sha256Hex(CONTENT), new ArtifactFileChecksums().getCheckSum(jar));
+    }
+
+    @Test
+    public void ignoresOtherRepositoryDigests() throws IOException
+    {
+        File jar = writeFile("test-entities-1.0.0.jar", CONTENT);
+        writeFile("test-entities-1.0.0.jar.sha1", DigestUtils.sha1Hex(CONTENT));
+        Assertions.assertEquals(DigestUtils.sha256Hex(CONTENT), new ArtifactFileChecksums().getCheckSum(jar));
+
+        writeFile("test-entities-1.0.0.jar.sha256", "abcdef0123");
+        Assertions.assertEquals(DigestUtils.sha256Hex(CONTENT), new ArtifactFileChecksums().getCheckSum(jar));
+    }
+
+    @Test
+    public void reusesCheckSumUntilFileChanges() throws IOException
+    {
+        ArtifactFileChecksums checksums = new ArtifactFileChecksums();
+        File jar = writeFile("test-entities-1.0.0.jar", CONTENT);
+        String checkSum = checksums.getCheckSum(jar);
+
+        String published = DigestUtils.sha256Hex(CONTENT + " published");
+        writeFile("test-entities-1.0.0.jar.sha256", published);
+        Assertions.assertEquals(checkSum, checksums.getCheckSum(jar));
+
+        writeFile("test-entities-1.0.0.jar", CONTENT + " changed");
+        Assertions.assertEquals(published, checksums.getCheckSum(jar));
+    }
+
+    private File writeFile(String name, String content) throws IOException
+    {
+        return Files.write(tempDir.resolve(name), content.getBytes(StandardCharsets.UTF_8)).toFile();
+    }
+}
@@ -49,6 +49,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -118,4 +119,24 @@ public class TestArtifactsRefreshServiceWithMocks extends TestStoreMongo
         List<VersionId> candidates = artifactsRefreshService.calculateCandidateVersions(repoVersions,versions);
         Assertions.assertEquals("2.0.0",candidates.get(0).toVersionIdString());
     }
+
+    @Test
+    public void canCalculateCandidateVersionsForProjectWithManyVersions()
+    {
+        List<VersionId> repoVersions = new ArrayList<>();
+        List<String> storeVersions = new ArrayList<>();
+        for (int i = 0; i < 2000; i++)
+        {
+            VersionId version = VersionId.parseVersionId(String.format("%s.%s.0", i / 100, i % 100));
+            repoVersions.add(version);
+            if (i % 40 != 0)
+            {
+                storeVersions.add(version.toVersionIdString());
+            }
+        }
+        List<VersionId> candidates = artifactsRefreshService.calculateCandidateVersions(repoVersions, storeVersions);
+        Assertions.assertEquals(50, candidates.size());
+        Assertions.assertEquals("0.0.0", candidates.get(0).toVersionIdString());
+        Assertions.assertEquals("19.60.0", candidates.get(49).toVersionIdString());
+    }
 }
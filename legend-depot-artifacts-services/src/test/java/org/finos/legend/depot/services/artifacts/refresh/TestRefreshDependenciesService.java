@@ -18,6 +18,7 @@ import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
 import org.finos.legend.depot.services.api.artifacts.refresh.RefreshDependenciesService;
 import org.finos.legend.depot.services.api.artifacts.repository.ArtifactRepository;
+import org.finos.legend.depot.services.api.dependencies.MavenDependencyResolver;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
@@ -39,9 +40,18 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class TestRefreshDependenciesService extends CoreDataMongoStoreTests
 {
@@ -395,4 +405,93 @@ public class TestRefreshDependenciesService extends CoreDataMongoStoreTests
         Assertions.assertTrue(transitiveDeps.stream().anyMatch(dep -> "art103".equals(dep.getArtifactId())));
     }
 
+    @Test
+    public void snapshotCascadeRefreshesEachDependantOnceInDependencyOrder()
+    {
+        // art107 and art108 both depend on the base snapshot, art109 depends on both of them
+        ProjectVersion base = new ProjectVersion(GROUPID, "test-master", "branch2-SNAPSHOT");
+        ProjectVersion left = new ProjectVersion(GROUPID, "art107", "branch2-SNAPSHOT");
+        ProjectVersion right = new ProjectVersion(GROUPID, "art108", "branch2-SNAPSHOT");
+        ProjectVersion top = new ProjectVersion(GROUPID, "art109", "branch2-SNAPSHOT");
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData(GROUPID, "test-master", "branch2-SNAPSHOT"));
+        StoreProjectVersionData leftData = new StoreProjectVersionData(GROUPID, "art107", "branch2-SNAPSHOT");
+        leftData.getVersionData().setDependencies(Collections.singletonList(base));
+        projectsVersionsStore.createOrUpdate(leftData);
+        StoreProjectVersionData rightData = new StoreProjectVersionData(GROUPID, "art108", "branch2-SNAPSHOT");
+        rightData.getVersionData().setDependencies(Collections.singletonList(base));
+        projectsVersionsStore.createOrUpdate(rightData);
+        StoreProjectVersionData topData = new StoreProjectVersionData(GROUPID, "art109", "branch2-SNAPSHOT");
+        topData.getVersionData().setDependencies(Arrays.asList(left, right));
+        projectsVersionsStore.createOrUpdate(topData);
+
+        List<List<ProjectVersion>> layers = SnapshotCascadePlanner.plan(base, version -> projectsService.getDependantProjects(version.getGroupId(), version.getArtifactId(), version.getVersionId())
+                .stream().map(d -> new ProjectVersion(d.getGroupId(), d.getArtifactId(), d.getVersionId())).collect(Collectors.toList()));
+        Assertions.assertEquals(2, layers.size());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(left, right)), new HashSet<>(layers.get(0)));
+        Assertions.assertEquals(Collections.singletonList(top), layers.get(1));
+
+        ManageProjectsService spiedProjects = spy(projectsService);
+        RefreshDependenciesService service = new RefreshDependenciesServiceImpl(spiedProjects, repository, new DependencyUtil(), new MavenDependencyResolverImpl(projectsService), 2);
+        service.updateTransitiveDependencies(GROUPID, "test-master", "branch2-SNAPSHOT");
+
+        verify(spiedProjects, times(1)).createOrUpdate(argThat((StoreProjectVersionData pv) -> "art109".equals(pv.getArtifactId())));
+        verify(spiedProjects, times(1)).createOrUpdate(argThat((StoreProjectVersionData pv) -> "art107".equals(pv.getArtifactId())));
+        verify(spiedProjects, times(1)).createOrUpdate(argThat((StoreProjectVersionData pv) -> "art108".equals(pv.getArtifactId())));
+        StoreProjectVersionData refreshedTop = projectsService.find(GROUPID, "art109", "branch2-SNAPSHOT").get();
+        Assertions.assertTrue(refreshedTop.getTransitiveDependenciesReport().isValid());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(left, right, base)), new HashSet<>(refreshedTop.getTransitiveDependenciesReport().getTransitiveDependencies()));
+    }
+
+    @Test
+    public void unchangedDependenciesReuseStoredReport()
+    {
+        MavenDependencyResolver resolver = spy(new MavenDependencyResolverImpl(projectsService));
+        RefreshDependenciesService service = new RefreshDependenciesServiceImpl(projectsService, repository, new DependencyUtil(), resolver);
+        StoreProjectVersionData projectData = projectsService.find(GROUPID, "test", "3.0.0").get();
+        VersionDependencyReport storedReport = projectData.getTransitiveDependenciesReport();
+
+        service.setProjectDataTransitiveDependencies(projectData, Collections.singletonList(new ProjectVersion(GROUPID, "test-dependencies", "2.0.0")), Collections.emptyMap());
+
+        Assertions.assertEquals(storedReport, projectData.getTransitiveDependenciesReport());
+        verify(resolver, never()).collectDependencies(anyList(), any());
+    }
+
+    @Test
+    public void changedDependenciesAreComposedFromStoredReports()
+    {
+        MavenDependencyResolver resolver = spy(new MavenDependencyResolverImpl(projectsService));
+        RefreshDependenciesService service = new RefreshDependenciesServiceImpl(projectsService, repository, new DependencyUtil(), resolver);
+        List<ProjectVersion> dependencies = Arrays.asList(new ProjectVersion(GROUPID, "test", "3.0.0"), new ProjectVersion(GROUPID, "art101", "1.0.0"));
+        StoreProjectVersionData composed = new StoreProjectVersionData(GROUPID, "test-master", "4.0.0");
+        composed.getVersionData().setDependencies(dependencies);
+        StoreProjectVersionData resolved = new StoreProjectVersionData(GROUPID, "test-master", "4.0.0");
+        resolved.getVersionData().setDependencies(dependencies);
+
+        service.setProjectDataTransitiveDependencies(composed, null, null);
+        verify(resolver, never()).collectDependencies(anyList(), any());
+        refreshDependenciesService.setProjectDataTransitiveDependencies(resolved);
+
+        Assertions.assertTrue(composed.getTransitiveDependenciesReport().isValid());
+        Assertions.assertEquals(new HashSet<>(resolved.getTransitiveDependenciesReport().getTransitiveDependencies()), new HashSet<>(composed.getTransitiveDependenciesReport().getTransitiveDependencies()));
+    }
+
+    @Test
+    public void conflictingStoredReportsFallBackToMavenResolution()
+    {
+        StoreProjectVersionData art103 = new StoreProjectVersionData(GROUPID, "art103", "2.0.0");
+        art103.setTransitiveDependenciesReport(new VersionDependencyReport(Collections.emptyList(), true));
+        projectsVersionsStore.createOrUpdate(art103);
+        MavenDependencyResolver resolver = spy(new MavenDependencyResolverImpl(projectsService));
+        RefreshDependenciesService service = new RefreshDependenciesServiceImpl(projectsService, repository, new DependencyUtil(), resolver);
+        StoreProjectVersionData projectData = new StoreProjectVersionData(GROUPID, "test-master", "4.0.0");
+        projectData.getVersionData().setDependencies(Arrays.asList(new ProjectVersion(GROUPID, "test", "3.0.0"), new ProjectVersion(GROUPID, "art103", "2.0.0")));
+
+        service.setProjectDataTransitiveDependencies(projectData, null, null);
+
+        verify(resolver, times(1)).collectDependencies(anyList(), any());
+        List<ProjectVersion> transitiveDependencies = projectData.getTransitiveDependenciesReport().getTransitiveDependencies();
+        Assertions.assertTrue(transitiveDependencies.contains(new ProjectVersion(GROUPID, "art103", "2.0.0")));
+        Assertions.assertFalse(transitiveDependencies.contains(new ProjectVersion(GROUPID, "art103", "1.0.0")));
+    }
+
 }
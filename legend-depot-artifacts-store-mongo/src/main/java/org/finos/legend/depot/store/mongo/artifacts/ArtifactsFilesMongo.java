@@ -29,6 +29,7 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import javax.inject.Inject;
 import javax.inject.Named;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -72,4 +73,14 @@ public class ArtifactsFilesMongo extends BaseMongo<ArtifactFile> implements Arti
     {
         return findOne(Filters.eq(PATH, path));
     }
+
+    @Override
+    public List<ArtifactFile> findByPaths(List<String> paths)
+    {
+        if (paths.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        return find(Filters.in(PATH, paths));
+    }
 }
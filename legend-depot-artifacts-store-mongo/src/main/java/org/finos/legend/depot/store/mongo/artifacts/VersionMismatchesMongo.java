@@ -0,0 +1,99 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.artifacts;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexModel;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.finos.legend.depot.store.model.Page;
+import org.finos.legend.depot.store.model.admin.artifacts.StoredVersionMismatch;
+import org.finos.legend.depot.store.mongo.core.BaseMongo;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class VersionMismatchesMongo extends BaseMongo<StoredVersionMismatch>
+{
+    public static final String COLLECTION = "versions-mismatches";
+    private static final String RUN_ID = "runId";
+    private static final List<String> KEYSET_FIELDS = Arrays.asList(RUN_ID, GROUP_ID, ARTIFACT_ID, ID_FIELD);
+
+    @Inject
+    public VersionMismatchesMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
+    {
+        super(databaseProvider, StoredVersionMismatch.class, new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_EMPTY));
+    }
+
+    public static List<IndexModel> buildIndexes()
+    {
+        return Arrays.asList(buildIndex("runId-groupId-artifactId-id", RUN_ID, GROUP_ID, ARTIFACT_ID, ID_FIELD));
+    }
+
+    @Override
+    protected MongoCollection getCollection()
+    {
+        return getMongoCollection(COLLECTION);
+    }
+
+    @Override
+    protected Bson getKeyFilter(StoredVersionMismatch data)
+    {
+        return Filters.and(Filters.eq(RUN_ID, data.runId), getArtifactFilter(data.groupId, data.artifactId));
+    }
+
+    @Override
+    protected void validateNewData(StoredVersionMismatch data)
+    {
+        //no specific validation
+    }
+
+    @Override
+    protected List<String> getKeysetFields()
+    {
+        return KEYSET_FIELDS;
+    }
+
+    public void insert(List<StoredVersionMismatch> mismatches)
+    {
+        if (!mismatches.isEmpty())
+        {
+            getCollection().insertMany(mismatches.stream().map(this::toDocument).collect(Collectors.toList()));
+        }
+    }
+
+    public Page<StoredVersionMismatch> find(String runId, String continuationToken, int pageSize)
+    {
+        return findPage(Filters.eq(RUN_ID, runId), continuationToken, pageSize);
+    }
+
+    public long deleteAll()
+    {
+        return delete(new Document());
+    }
+
+    public long deleteAllRunsBut(String runId)
+    {
+        return delete(Filters.ne(RUN_ID, runId));
+    }
+}
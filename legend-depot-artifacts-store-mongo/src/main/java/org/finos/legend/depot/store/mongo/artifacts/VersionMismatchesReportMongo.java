@@ -0,0 +1,134 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+package org.finos.legend.depot.store.mongo.artifacts;
+
+import com.mongodb.ErrorCategory;
+import com.mongodb.MongoWriteException;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.finos.legend.depot.domain.version.VersionMismatch;
+import org.finos.legend.depot.domain.version.VersionMismatchesReport;
+import org.finos.legend.depot.store.api.admin.artifacts.VersionMismatchesReportStore;
+import org.finos.legend.depot.store.model.Page;
+import org.finos.legend.depot.store.model.admin.artifacts.StoredVersionMismatch;
+import org.finos.legend.depot.store.mongo.core.BaseMongo;
+
+import javax.inject.Inject;
+import javax.inject.Named;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+public class VersionMismatchesReportMongo extends BaseMongo<VersionMismatchesReport> implements VersionMismatchesReportStore
+{
+    public static final String COLLECTION = "versions-mismatches-report";
+    private static final String LATEST = "latest";
+    private static final String STATUS = "status";
+    private static final String STARTED = "started";
+    private static final ReplaceOptions UPSERT = new ReplaceOptions().upsert(true);
+    private final VersionMismatchesMongo mismatches;
+
+    @Inject
+    public VersionMismatchesReportMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
+    {
+        super(databaseProvider, VersionMismatchesReport.class);
+        this.mismatches = new VersionMismatchesMongo(databaseProvider);
+    }
+
+    @Override
+    protected MongoCollection getCollection()
+    {
+        return getMongoCollection(COLLECTION);
+    }
+
+    @Override
+    protected Bson getKeyFilter(VersionMismatchesReport data)
+    {
+        return Filters.eq(ID_FIELD, LATEST);
+    }
+
+    @Override
+    protected void validateNewData(VersionMismatchesReport data)
+    {
+        //no specific validation
+    }
+
+    @Override
+    public Optional<VersionMismatchesReport> getLatest()
+    {
+        Document document = (Document) getCollection().find(getKeyFilter(null)).projection(Projections.excludeId()).first();
+        return Optional.ofNullable(convert(document, VersionMismatchesReport.class));
+    }
+
+    @Override
+    public boolean start(VersionMismatchesReport running, Date runningSince)
+    {
+        // the report has a fixed id, so when another one is running the upsert clashes with it instead of adding a second report
+        Bson notRunning = Filters.or(Filters.ne(STATUS, VersionMismatchesReport.Status.RUNNING.name()), Filters.lt(STARTED, runningSince.getTime()));
+        try
+        {
+            getCollection().replaceOne(Filters.and(getKeyFilter(running), notRunning), toDocument(running), UPSERT);
+            return true;
+        }
+        catch (MongoWriteException e)
+        {
+            if (ErrorCategory.fromErrorCode(e.getError().getCode()) == ErrorCategory.DUPLICATE_KEY)
+            {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void addMismatches(String runId, List<VersionMismatch> found)
+    {
+        mismatches.insert(found.stream().map(mismatch -> new StoredVersionMismatch(runId, mismatch)).collect(Collectors.toList()));
+    }
+
+    @Override
+    public void save(VersionMismatchesReport report)
+    {
+        // the header stays one small document, the mismatches of the run it points to are kept in their own collection
+        getCollection().replaceOne(getKeyFilter(report), toDocument(report), UPSERT);
+        if (report.status == VersionMismatchesReport.Status.COMPLETED)
+        {
+            mismatches.deleteAllRunsBut(report.runId);
+        }
+        else if (report.status == VersionMismatchesReport.Status.FAILED)
+        {
+            mismatches.deleteAll();
+        }
+    }
+
+    @Override
+    public Page<VersionMismatch> getMismatches(String runId, String continuationToken, int pageSize)
+    {
+        Page<StoredVersionMismatch> page = mismatches.find(runId, continuationToken, pageSize);
+        return new Page<>(page.getItems().stream().map(StoredVersionMismatch::toVersionMismatch).collect(Collectors.toList()), page.getContinuationToken());
+    }
+
+    @Override
+    protected Document toDocument(VersionMismatchesReport data)
+    {
+        return super.toDocument(data).append(ID_FIELD, LATEST);
+    }
+}
@@ -19,8 +19,11 @@ import com.google.inject.PrivateModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import org.finos.legend.depot.store.api.admin.artifacts.ArtifactsFilesStore;
+import org.finos.legend.depot.store.api.admin.artifacts.VersionMismatchesReportStore;
 import org.finos.legend.depot.store.mongo.admin.MongoAdminStore;
 import org.finos.legend.depot.store.mongo.artifacts.ArtifactsFilesMongo;
+import org.finos.legend.depot.store.mongo.artifacts.VersionMismatchesMongo;
+import org.finos.legend.depot.store.mongo.artifacts.VersionMismatchesReportMongo;
 
 import javax.inject.Named;
 
@@ -30,7 +33,9 @@ public class ArtifactsStoreMongoModule extends PrivateModule
     protected void configure()
     {
         bind(ArtifactsFilesStore.class).to(ArtifactsFilesMongo.class);
+        bind(VersionMismatchesReportStore.class).to(VersionMismatchesReportMongo.class);
         expose(ArtifactsFilesStore.class);
+        expose(VersionMismatchesReportStore.class);
     }
 
 
@@ -40,6 +45,7 @@ public class ArtifactsStoreMongoModule extends PrivateModule
     public boolean registerIndexes(MongoAdminStore adminStore)
     {
         adminStore.registerIndexes(ArtifactsFilesMongo.COLLECTION,ArtifactsFilesMongo.buildIndexes());
+        adminStore.registerIndexes(VersionMismatchesMongo.COLLECTION, VersionMismatchesMongo.buildIndexes());
         return true;
     }
 }
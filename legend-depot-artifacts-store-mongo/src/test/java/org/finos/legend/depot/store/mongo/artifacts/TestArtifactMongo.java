@@ -22,6 +22,9 @@ import org.finos.legend.depot.store.mongo.artifacts.ArtifactsFilesMongo;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 public class TestArtifactMongo extends TestStoreMongo
@@ -67,4 +70,16 @@ public class TestArtifactMongo extends TestStoreMongo
 
     }
 
+    @Test
+    public void canFindArtifactsInformationByPaths()
+    {
+        ArtifactsFilesStore artifacts = new ArtifactsFilesMongo(this.mongoProvider);
+        artifacts.createOrUpdate(new ArtifactFile(FILE_PATH, "lala"));
+        artifacts.createOrUpdate(new ArtifactFile("path/to/other/entity.jar", "lolo"));
+
+        List<ArtifactFile> found = artifacts.findByPaths(Arrays.asList(FILE_PATH, "path/not/stored.jar"));
+        Assertions.assertEquals(1, found.size());
+        Assertions.assertEquals("lala", found.get(0).getCheckSum());
+        Assertions.assertTrue(artifacts.findByPaths(Collections.emptyList()).isEmpty());
+    }
 }
@@ -0,0 +1,99 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+package org.finos.legend.depot.store.mongo.artifacts;
+
+import org.finos.legend.depot.domain.version.VersionMismatch;
+import org.finos.legend.depot.domain.version.VersionMismatchesReport;
+import org.finos.legend.depot.store.model.Page;
+import org.finos.legend.depot.store.mongo.TestStoreMongo;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.stream.Collectors;
+
+public class TestVersionMismatchesReportMongo extends TestStoreMongo
+{
+    private final VersionMismatchesReportMongo reports = new VersionMismatchesReportMongo(this.mongoProvider);
+
+    @Test
+    public void canStoreLatestReport()
+    {
+        Assertions.assertFalse(reports.getLatest().isPresent());
+
+        VersionMismatch mismatch = new VersionMismatch("PROD-A", "examples.metadata", "test", Arrays.asList("2.0.0"), Collections.emptyList());
+        VersionMismatchesReport first = VersionMismatchesReport.running(new Date(1000));
+        reports.addMismatches(first.runId, Collections.singletonList(mismatch));
+        reports.save(VersionMismatchesReport.completed(first.runId, first.started, 1, 1));
+
+        VersionMismatchesReport second = VersionMismatchesReport.running(new Date(2000));
+        reports.addMismatches(second.runId, Collections.singletonList(mismatch));
+        reports.save(VersionMismatchesReport.completed(second.runId, second.started, 2, 1));
+
+        VersionMismatchesReport latest = reports.getLatest().get();
+        Assertions.assertEquals(VersionMismatchesReport.Status.COMPLETED, latest.status);
+        Assertions.assertEquals(second.runId, latest.runId);
+        Assertions.assertEquals(new Date(2000), latest.started);
+        Assertions.assertEquals(2, latest.projects);
+        Assertions.assertEquals(1, latest.mismatches);
+        Assertions.assertEquals(Collections.singletonList(mismatch), reports.getMismatches(latest.runId, null, 10).getItems());
+        Assertions.assertEquals(1, mongoProvider.getCollection(VersionMismatchesReportMongo.COLLECTION).countDocuments());
+
+        // mismatches of earlier runs are removed once a later run completes
+        Assertions.assertTrue(reports.getMismatches(first.runId, null, 10).getItems().isEmpty());
+        Assertions.assertEquals(1, mongoProvider.getCollection(VersionMismatchesMongo.COLLECTION).countDocuments());
+    }
+
+    @Test
+    public void canPageMismatchesOfARun()
+    {
+        VersionMismatchesReport running = VersionMismatchesReport.running(new Date(1000));
+        reports.addMismatches(running.runId, Arrays.asList(
+                new VersionMismatch("PROD-C", "examples.metadata", "c", Arrays.asList("1.0.0"), Collections.emptyList()),
+                new VersionMismatch("PROD-A", "examples.metadata", "a", Arrays.asList("1.0.0"), Collections.emptyList())));
+        reports.addMismatches(running.runId, Collections.singletonList(
+                new VersionMismatch("PROD-B", "examples.metadata", "b", Collections.emptyList(), Arrays.asList("2.0.0"))));
+
+        Page<VersionMismatch> firstPage = reports.getMismatches(running.runId, null, 2);
+        Assertions.assertEquals(Arrays.asList("a", "b"), firstPage.getItems().stream().map(m -> m.artifactId).collect(Collectors.toList()));
+        Assertions.assertNotNull(firstPage.getContinuationToken());
+
+        Page<VersionMismatch> lastPage = reports.getMismatches(running.runId, firstPage.getContinuationToken(), 2);
+        Assertions.assertEquals(Collections.singletonList("c"), lastPage.getItems().stream().map(m -> m.artifactId).collect(Collectors.toList()));
+        Assertions.assertNull(lastPage.getContinuationToken());
+
+        // a failed run keeps no mismatches
+        reports.save(VersionMismatchesReport.failed(running.runId, running.started, "error"));
+        Assertions.assertTrue(reports.getMismatches(running.runId, null, 2).getItems().isEmpty());
+    }
+
+    @Test
+    public void startsOneReportAtATime()
+    {
+        Assertions.assertTrue(reports.start(VersionMismatchesReport.running(new Date(1000)), new Date(0)));
+        Assertions.assertFalse(reports.start(VersionMismatchesReport.running(new Date(2000)), new Date(0)));
+        Assertions.assertEquals(new Date(1000), reports.getLatest().get().started);
+
+        // a running report older than the given cut off was abandoned and can be replaced
+        Assertions.assertTrue(reports.start(VersionMismatchesReport.running(new Date(3000)), new Date(1500)));
+        Assertions.assertEquals(new Date(3000), reports.getLatest().get().started);
+
+        VersionMismatchesReport latest = reports.getLatest().get();
+        reports.save(VersionMismatchesReport.completed(latest.runId, latest.started, 0, 0));
+        Assertions.assertTrue(reports.start(VersionMismatchesReport.running(new Date(4000)), new Date(0)));
+    }
+}
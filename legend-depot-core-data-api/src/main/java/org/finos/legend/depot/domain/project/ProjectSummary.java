@@ -18,13 +18,15 @@ package org.finos.legend.depot.domain.project;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.Comparator;
 import java.util.Objects;
 
-import static org.apache.commons.lang3.StringUtils.compare;
-
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ProjectSummary implements Comparable
 {
+    private static final Comparator<ProjectSummary> BY_COORDINATES = Comparator.comparing((ProjectSummary summary) -> summary.groupId, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(summary -> summary.artifactId, Comparator.nullsFirst(Comparator.naturalOrder()));
+
     @JsonProperty
     public String projectId;
     @JsonProperty
@@ -33,6 +35,16 @@ public class ProjectSummary implements Comparable
     public String artifactId;
     @JsonProperty
     public long versions;
+    @JsonProperty
+    public long snapshotVersions;
+    @JsonProperty
+    public long evictedVersions;
+    @JsonProperty
+    public long excludedVersions;
+    @JsonProperty
+    public String latestVersion;
+    @JsonProperty
+    public String latestSnapshot;
 
     public ProjectSummary(String projectId, String groupId, String artifactId, long versions)
     {
@@ -42,6 +54,16 @@ public class ProjectSummary implements Comparable
         this.versions = versions;
     }
 
+    public ProjectSummary(String projectId, String groupId, String artifactId, long versions, long snapshotVersions, long evictedVersions, long excludedVersions, String latestVersion, String latestSnapshot)
+    {
+        this(projectId, groupId, artifactId, versions);
+        this.snapshotVersions = snapshotVersions;
+        this.evictedVersions = evictedVersions;
+        this.excludedVersions = excludedVersions;
+        this.latestVersion = latestVersion;
+        this.latestSnapshot = latestSnapshot;
+    }
+
     @JsonProperty(value = "mavenCoordinates")
     public String getMavenCoordinates()
     {
@@ -52,7 +74,7 @@ public class ProjectSummary implements Comparable
     @Override
     public int compareTo(Object o)
     {
-        return compare(((ProjectSummary) o).groupId + artifactId, this.groupId + artifactId);
+        return BY_COORDINATES.compare(this, (ProjectSummary) o);
     }
 
     @Override
@@ -67,12 +89,20 @@ public class ProjectSummary implements Comparable
             return false;
         }
         ProjectSummary that = (ProjectSummary) o;
-        return versions == that.versions;
+        return versions == that.versions
+                && snapshotVersions == that.snapshotVersions
+                && evictedVersions == that.evictedVersions
+                && excludedVersions == that.excludedVersions
+                && Objects.equals(projectId, that.projectId)
+                && Objects.equals(groupId, that.groupId)
+                && Objects.equals(artifactId, that.artifactId)
+                && Objects.equals(latestVersion, that.latestVersion)
+                && Objects.equals(latestSnapshot, that.latestSnapshot);
     }
 
     @Override
     public int hashCode()
     {
-        return Objects.hash(versions);
+        return Objects.hash(projectId, groupId, artifactId, versions);
     }
 }
@@ -42,6 +42,9 @@ public class VersionMismatch
     @EqualsExclude
     public List<String> errors = new ArrayList<>();
 
+    public VersionMismatch()
+    {
+    }
 
     public VersionMismatch(String projectId, String groupId, String artifactId, List<String> versionsNotInCache, List<String> versionsNotInRepo,List<String> errors)
     {
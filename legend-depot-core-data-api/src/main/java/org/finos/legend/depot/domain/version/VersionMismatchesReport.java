@@ -0,0 +1,86 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.domain.version;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.finos.legend.depot.store.model.HasIdentifier;
+
+import java.util.Date;
+import java.util.UUID;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class VersionMismatchesReport implements HasIdentifier
+{
+    public enum Status
+    {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @JsonProperty
+    public String runId;
+    @JsonProperty
+    public Status status;
+    @JsonProperty
+    public Date started;
+    @JsonProperty
+    public Date finished;
+    @JsonProperty
+    public long projects;
+    // mismatches are stored one per project under the run id and read a page at a time
+    @JsonProperty
+    public long mismatches;
+    @JsonProperty
+    public String error;
+
+    public VersionMismatchesReport()
+    {
+    }
+
+    public VersionMismatchesReport(String runId, Status status, Date started, Date finished, long projects, long mismatches, String error)
+    {
+        this.runId = runId;
+        this.status = status;
+        this.started = started;
+        this.finished = finished;
+        this.projects = projects;
+        this.mismatches = mismatches;
+        this.error = error;
+    }
+
+    public static VersionMismatchesReport running(Date started)
+    {
+        return new VersionMismatchesReport(UUID.randomUUID().toString(), Status.RUNNING, started, null, 0, 0, null);
+    }
+
+    public static VersionMismatchesReport completed(String runId, Date started, long projects, long mismatches)
+    {
+        return new VersionMismatchesReport(runId, Status.COMPLETED, started, new Date(), projects, mismatches, null);
+    }
+
+    public static VersionMismatchesReport failed(String runId, Date started, String error)
+    {
+        return new VersionMismatchesReport(runId, Status.FAILED, started, new Date(), 0, 0, error);
+    }
+
+    @Override
+    @JsonIgnore
+    public String getId()
+    {
+        return null;
+    }
+}
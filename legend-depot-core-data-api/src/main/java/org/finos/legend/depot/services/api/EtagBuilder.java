@@ -64,6 +64,12 @@ public final class EtagBuilder
         return this;
     }
 
+    public EtagBuilder withPage(String continuationToken, int pageSize)
+    {
+        params.add("page" + pageSize + (continuationToken == null ? "" : continuationToken));
+        return this;
+    }
+
     public String build()
     {
         if (this.constantParams)
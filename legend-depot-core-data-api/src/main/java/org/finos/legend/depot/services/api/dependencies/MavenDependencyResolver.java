@@ -19,6 +19,7 @@ import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyReport;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -42,6 +43,15 @@ public interface MavenDependencyResolver
      */
     Set<ProjectVersion> collectDependencies(List<ProjectVersion> projectVersions, Map<String, List<ProjectVersion>> exclusionsMap);
 
+    /**
+     * Resolve each project version on its own, as {@link #collectDependencies(List, Map)} would without exclusions,
+     * within a single session so that descriptors shared between the trees are only read once.
+     *
+     * @param projectVersions the project versions to resolve independently
+     * @return the resolved dependencies of each project version
+     */
+    Map<ProjectVersion, Set<ProjectVersion>> collectDependenciesOfEach(Collection<ProjectVersion> projectVersions);
+
     /**
      * Collect the flattened set of resolved dependencies using Maven resolution
      * from {@link ArtifactDependency} objects that carry their own exclusions.
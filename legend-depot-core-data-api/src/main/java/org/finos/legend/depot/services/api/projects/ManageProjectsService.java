@@ -16,6 +16,7 @@
 package org.finos.legend.depot.services.api.projects;
 
 import org.finos.legend.depot.domain.project.ProjectSummary;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 
@@ -38,6 +39,14 @@ public interface ManageProjectsService extends ProjectsService
 
     long delete(String groupId,String artifactId, String versionId);
 
+    List<ProjectVersion> findNotEvicted(List<ProjectVersion> projectVersions);
+
+    List<StoreProjectVersionData> findDependencyGraphNodes(List<ProjectVersion> projectVersions, boolean withTransitiveDependencies);
+
+    List<ProjectVersion> findNotEvictedOrExcluded();
+
+    long markEvicted(List<ProjectVersion> projectVersions);
+
     StoreProjectVersionData excludeProjectVersion(String groupId, String artifactId, String versionId, String exclusionReason);
 
     List<ProjectSummary> getProjectsSummary();
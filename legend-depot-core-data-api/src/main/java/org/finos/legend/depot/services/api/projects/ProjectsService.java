@@ -18,6 +18,7 @@ package org.finos.legend.depot.services.api.projects;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.artifacts.repository.DependencyExclusion;
 import org.finos.legend.depot.services.api.dependencies.DependencyResponseModel;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.domain.project.ProjectVersion;
@@ -26,17 +27,26 @@ import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyWithP
 import org.finos.legend.sdlc.domain.model.version.VersionId;
 
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Stream;
 
 public interface ProjectsService
 {
     List<StoreProjectData> getAllProjectCoordinates();
 
+    Page<StoreProjectData> getProjectCoordinates(String continuationToken, int pageSize);
+
+    /**
+     * Cursor backed; callers must close the stream.
+     */
+    Stream<StoreProjectData> getAllProjectCoordinatesAsStream(int batchSize);
+
     List<StoreProjectVersionData> findByUpdatedDate(long updatedFrom, long updatedTo);
 
     default List<String> getVersions(String groupId, String artifactId)
@@ -51,6 +61,10 @@ public interface ProjectsService
 
     List<StoreProjectVersionData> find(String groupId, String artifactId);
 
+    Optional<StoreProjectVersionData> findLatestRelease(String groupId, String artifactId);
+
+    Page<StoreProjectVersionData> findVersions(String groupId, String artifactId, String continuationToken, int pageSize);
+
     List<StoreProjectVersionData> findVersion(Boolean excluded);
 
     List<StoreProjectVersionData> findSnapshotVersions(String groupId, String artifactId);
@@ -75,6 +89,8 @@ public interface ProjectsService
 
     Set<ProjectVersion> getDependenciesMaven(List<ProjectVersion> projectVersions, Map<String, List<ProjectVersion>> exclusionsMap, boolean transitive);
 
+    Map<ProjectVersion, Set<ProjectVersion>> getTransitiveDependenciesMavenOfEach(Collection<ProjectVersion> projectVersions);
+
     ProjectDependencyReport getProjectDependencyReportFromProjectVersionList(List<ProjectVersion> projectDependencyVersions);
 
     ProjectDependencyReport getProjectDependencyReport(List<ArtifactDependency> projectDependencyVersions);
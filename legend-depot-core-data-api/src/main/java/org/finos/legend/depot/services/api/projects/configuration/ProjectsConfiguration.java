@@ -26,14 +26,31 @@ public class ProjectsConfiguration
     @JsonProperty
     private final String defaultBranch;
 
+    @JsonProperty
+    private final long aliasCacheMaxStalenessSeconds;
+
     @JsonCreator
-    public ProjectsConfiguration(@JsonProperty("defaultBranch") String defaultBranch)
+    public ProjectsConfiguration(@JsonProperty("defaultBranch") String defaultBranch, @JsonProperty("aliasCacheMaxStalenessSeconds") Long aliasCacheMaxStalenessSeconds)
     {
         this.defaultBranch = defaultBranch;
+        this.aliasCacheMaxStalenessSeconds = aliasCacheMaxStalenessSeconds == null ? 0 : aliasCacheMaxStalenessSeconds;
+    }
+
+    public ProjectsConfiguration(String defaultBranch)
+    {
+        this(defaultBranch, null);
     }
 
     public String getDefaultBranch()
     {
         return defaultBranch;
     }
+
+    /**
+     * How long a resolved latest/head alias may be served from memory, 0 (the default) disables caching.
+     */
+    public long getAliasCacheMaxStalenessSeconds()
+    {
+        return aliasCacheMaxStalenessSeconds;
+    }
 }
@@ -15,17 +15,27 @@
 
 package org.finos.legend.depot.store.api.projects;
 
+import org.finos.legend.depot.domain.CoordinateData;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface Projects
 {
     List<StoreProjectData> getAll();
 
+    Page<StoreProjectData> getAll(String continuationToken, int pageSize);
+
+    Stream<StoreProjectData> getAllAsStream(int batchSize);
+
     Optional<StoreProjectData> find(String groupId, String artifactId);
 
+    List<StoreProjectData> find(Collection<? extends CoordinateData> coordinates);
+
     @Deprecated
     List<StoreProjectData> findByProjectId(String projectId);
 }
@@ -15,22 +15,64 @@
 
 package org.finos.legend.depot.store.api.projects;
 
+import org.finos.legend.depot.domain.project.ProjectSummary;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface ProjectsVersions
 {
     List<StoreProjectVersionData> getAll();
 
+    Stream<StoreProjectVersionData> getAllAsStream(int batchSize);
+
     List<StoreProjectVersionData> findByUpdatedDate(long updatedFrom, long updatedTo);
 
+    /**
+     * Streams the versions updated from the given timestamp (inclusive), loading only their group and artifact ids.
+     */
+    Stream<StoreProjectVersionData> findUpdatedCoordinates(long updatedFrom, int batchSize);
+
     List<StoreProjectVersionData> find(String groupId, String artifactId);
 
+    Page<StoreProjectVersionData> find(String groupId, String artifactId, String continuationToken, int pageSize);
+
     Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId);
 
+    /**
+     * Loads the given versions with one query, keeping only what a dependency graph needs: coordinates, direct dependencies
+     * and exclusion state, plus the transitive dependencies report when requested. Versions not in the store are skipped.
+     */
+    List<StoreProjectVersionData> findDependencyGraphNodes(Collection<ProjectVersion> projectVersions, boolean withTransitiveDependencies);
+
     long getVersionCount(String groupId, String artifactId);
 
+    /**
+     * Latest release version that is neither excluded, evicted nor deprecated, found through the stored version sort key.
+     */
+    Optional<StoreProjectVersionData> findLatestRelease(String groupId, String artifactId);
+
+    /**
+     * Ids of the highest non excluded release versions, newest first.
+     */
+    List<String> findLatestReleaseVersionIds(String groupId, String artifactId, int limit);
+
+    /**
+     * Version counts, evicted/excluded counts and most recently updated snapshot of every project with stored versions.
+     * Project ids and latest versions are not set.
+     */
+    List<ProjectSummary> getVersionsSummary();
+
     List<StoreProjectVersionData> findVersion(Boolean excluded);
+
+    /**
+     * Streams the versions that declare a direct dependency on groupId:artifactId (and versionId when not null).
+     * Only coordinates, dependencies and properties are loaded.
+     */
+    Stream<StoreProjectVersionData> findDependants(String groupId, String artifactId, String versionId, int batchSize);
 }
\ No newline at end of file
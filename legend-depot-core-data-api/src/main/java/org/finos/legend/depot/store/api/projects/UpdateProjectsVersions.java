@@ -15,8 +15,11 @@
 
 package org.finos.legend.depot.store.api.projects;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 
+import java.util.List;
+
 public interface UpdateProjectsVersions extends ProjectsVersions
 {
     StoreProjectVersionData createOrUpdate(StoreProjectVersionData projectVersionData);
@@ -24,4 +27,10 @@ public interface UpdateProjectsVersions extends ProjectsVersions
     long delete(String groupId, String artifactId);
 
     long delete(String groupId, String artifactId, String versionId);
+
+    List<ProjectVersion> findNotEvicted(List<ProjectVersion> projectVersions);
+
+    List<ProjectVersion> findNotEvictedOrExcluded();
+
+    long markEvicted(List<ProjectVersion> projectVersions);
 }
\ No newline at end of file
@@ -22,7 +22,7 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.finos.legend.depot.store.model.HasIdentifier;
 import org.finos.legend.depot.domain.CoordinateData;
-import org.finos.legend.sdlc.domain.model.version.VersionId;
+import org.finos.legend.depot.domain.version.ParsedVersions;
 import org.finos.legend.depot.domain.version.VersionValidator;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -83,7 +83,7 @@ public class StoreProjectData extends CoordinateData implements HasIdentifier
     public boolean evaluateLatestVersionAndUpdate(String candidateVersion)
     {
         if (!VersionValidator.isSnapshotVersion(candidateVersion) &&
-            (this.getLatestVersion() == null || VersionId.parseVersionId(candidateVersion).compareTo(VersionId.parseVersionId(this.getLatestVersion())) == 1))
+            (this.getLatestVersion() == null || ParsedVersions.parse(candidateVersion).compareTo(ParsedVersions.parse(this.getLatestVersion())) > 0))
         {
             this.setLatestVersion(candidateVersion);
             return true;
@@ -61,6 +61,16 @@ public class ProjectsResource extends TracingResource
         return handleResponse(ResourceLoggingAndTracing.GET_ALL_PROJECTS, () -> projectApi.getAllProjectCoordinates());
     }
 
+    @GET
+    @Path("/paged/project-configurations")
+    @ApiOperation(ResourceLoggingAndTracing.GET_PROJECTS_PAGE)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getProjectsWithCoordinates(@QueryParam("continuationToken") @ApiParam("token returned with the previous page, first page if not provided") String continuationToken,
+                                               @QueryParam("pageSize") @DefaultValue("100") @ApiParam("number of projects per page") int pageSize)
+    {
+        return handleResponse(ResourceLoggingAndTracing.GET_PROJECTS_PAGE, () -> projectApi.getProjectCoordinates(continuationToken, pageSize));
+    }
+
     @GET
     @Path("/project-configurations/{groupId}/{artifactId}")
     @ApiOperation(ResourceLoggingAndTracing.GET_PROJECT_CONFIG_BY_GA)
@@ -31,6 +31,7 @@ import org.finos.legend.depot.core.services.tracing.resources.TracingResource;
 import org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing;
 
 import javax.inject.Inject;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -68,6 +69,18 @@ public class ProjectsVersionsResource extends TracingResource
                 () -> projectVersionApi.findByUpdatedDate(updatedFrom, updatedTo == null ? toTime(LocalDateTime.now()) : updatedTo));
     }
 
+    @GET
+    @Path("/paged/versions")
+    @ApiOperation(ResourceLoggingAndTracing.GET_VERSIONS_PAGE)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getVersions(@QueryParam("groupId") @ApiParam("versions of all projects if not provided") String groupId,
+                                @QueryParam("artifactId") String artifactId,
+                                @QueryParam("continuationToken") @ApiParam("token returned with the previous page, first page if not provided") String continuationToken,
+                                @QueryParam("pageSize") @DefaultValue("100") @ApiParam("number of versions per page") int pageSize)
+    {
+        return handleResponse(ResourceLoggingAndTracing.GET_VERSIONS_PAGE, () -> projectVersionApi.findVersions(groupId, artifactId, continuationToken, pageSize));
+    }
+
     @GET
     @Path("/versions/{groupId}/{artifactId}/{versionId}")
     @ApiOperation(value = ResourceLoggingAndTracing.GET_PROJECT_VERSION_BY_GAV, response = ProjectVersionDTO.class)
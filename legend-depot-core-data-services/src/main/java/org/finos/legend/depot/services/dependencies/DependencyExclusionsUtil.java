@@ -26,8 +26,10 @@ import java.util.HashMap;
 import java.util.Collections;
 import java.util.stream.Collectors;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 public class DependencyExclusionsUtil
@@ -38,6 +40,11 @@ public class DependencyExclusionsUtil
     {
         populateVersionsOfDependencyExclusions(dependencyExclusions, projects);
 
+        // every distinct exclusion is resolved once, in a single resolution session, however many direct dependencies declare it
+        Set<ProjectVersion> allExclusions = new LinkedHashSet<>();
+        dependencyExclusions.values().stream().filter(Objects::nonNull).forEach(allExclusions::addAll);
+        Map<ProjectVersion, Set<ProjectVersion>> dependenciesOfExclusions = allExclusions.isEmpty() ? Collections.emptyMap() : projects.getTransitiveDependenciesMavenOfEach(allExclusions);
+
         for (String key : dependencyExclusions.keySet())
         {
             List<ProjectVersion> exclusions = dependencyExclusions.get(key);
@@ -47,7 +54,7 @@ public class DependencyExclusionsUtil
                 Set<ProjectVersion> transitiveExclusions = new HashSet<>();
                 for (ProjectVersion exclusion : exclusions)
                 {
-                    transitiveExclusions.addAll(projects.getDependenciesMaven(Collections.singletonList(exclusion), new HashMap<>(), true));
+                    transitiveExclusions.addAll(dependenciesOfExclusions.get(exclusion));
                     LOGGER.info("Found {} transitive dependencies for exclusion {} ", transitiveExclusions.size(), exclusion.getGa());
                 }
                 List<ProjectVersion> updatedExclusions = new ArrayList<>(exclusions);
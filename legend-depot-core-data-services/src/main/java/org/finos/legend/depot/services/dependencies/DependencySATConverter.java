@@ -18,7 +18,7 @@ package org.finos.legend.depot.services.dependencies;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
-import org.finos.legend.sdlc.domain.model.version.VersionId;
+import org.finos.legend.depot.domain.version.ParsedVersions;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Variable;
@@ -85,7 +85,7 @@ public class DependencySATConverter
         {
             if (variables.size() > 1)
             {
-                List<Variable> sortedReleaseVersionsVariables = variables.stream().filter(v -> !VersionValidator.isSnapshotVersion(reverseVariableMap.get(v).getVersionId())).sorted(Comparator.comparing(v -> VersionId.parseVersionId(reverseVariableMap.get(v).getVersionId()))).collect(Collectors.toList());
+                List<Variable> sortedReleaseVersionsVariables = variables.stream().filter(v -> !VersionValidator.isSnapshotVersion(reverseVariableMap.get(v).getVersionId())).sorted(Comparator.comparing(v -> reverseVariableMap.get(v).getVersionId(), ParsedVersions.RELEASE_VERSION_ORDER)).collect(Collectors.toList());
                 List<Variable> snapshotVersionsVariables = variables.stream().filter(v -> VersionValidator.isSnapshotVersion(reverseVariableMap.get(v).getVersionId())).collect(Collectors.toList());
                 int size = sortedReleaseVersionsVariables.size();
 
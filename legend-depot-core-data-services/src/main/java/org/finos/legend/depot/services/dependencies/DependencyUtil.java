@@ -22,25 +22,78 @@ import org.finos.legend.depot.domain.project.ProjectVersionData;
 import org.finos.legend.depot.services.api.dependencies.DependencyOverride;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Collection;
 import java.util.stream.Collectors;
 
 public class DependencyUtil implements DependencyOverride
 {
+    /**
+     * Returns a copy of dependencies without the versions replaced by an overriding version of the same project, nor anything
+     * those replaced versions depend on. Neither input is modified.
+     */
     @Override
     public List<ProjectVersion> overrideWith(List<ProjectVersion> dependencies, List<ProjectVersion> overridingDependencies, Function2<List<ProjectVersion>, Boolean, Set<ProjectVersion>> executableFunction)
     {
-        Map<String, List<ProjectVersion>> dependenciesLocator = dependencies.stream().collect(Collectors.groupingBy(dep -> dep.getGroupId() + dep.getArtifactId()));
-        Set<ProjectVersion> overriddenDependencies = overridingDependencies.stream().map(dep -> dependenciesLocator.getOrDefault(dep.getGroupId() + dep.getArtifactId(), Collections.emptyList())).flatMap(Collection::stream).collect(Collectors.toSet());
-        overriddenDependencies.removeAll(overridingDependencies);
-        Set<ProjectVersion> deleteDependencies = overriddenDependencies.parallelStream().map(dep -> executableFunction.apply(Collections.singletonList(dep), true)).flatMap(Collection::stream).collect(Collectors.toSet());
-        dependencies.removeAll(deleteDependencies);
-        dependencies.removeAll(overriddenDependencies);
-        return dependencies;
+        if (dependencies.isEmpty() || overridingDependencies.isEmpty())
+        {
+            return new ArrayList<>(dependencies);
+        }
+        Map<String, Set<String>> overridingVersions = new HashMap<>();
+        overridingDependencies.forEach(dep -> overridingVersions.computeIfAbsent(projectKey(dep), key -> new HashSet<>()).add(dep.getVersionId()));
+
+        Set<ProjectVersion> overriddenDependencies = new LinkedHashSet<>();
+        dependencies.forEach(dep ->
+        {
+            Set<String> versions = overridingVersions.get(projectKey(dep));
+            if (versions != null && !versions.contains(dep.getVersionId()))
+            {
+                overriddenDependencies.add(dep);
+            }
+        });
+        if (overriddenDependencies.isEmpty())
+        {
+            return new ArrayList<>(dependencies);
+        }
+
+        Set<ProjectVersion> deleteDependencies = new HashSet<>(overriddenDependencies);
+        overriddenDependencies.forEach(dep -> deleteDependencies.addAll(executableFunction.apply(Collections.singletonList(dep), true)));
+        return dependencies.stream().filter(dep -> !deleteDependencies.contains(dep)).collect(Collectors.toList());
+    }
+
+    /**
+     * Wraps a dependency function so that the transitive dependencies of a single version are computed once and then served
+     * from closures. The cache is meant to live for one request, while the stored dependencies cannot change.
+     */
+    public static Function2<List<ProjectVersion>, Boolean, Set<ProjectVersion>> memoizeClosures(Function2<List<ProjectVersion>, Boolean, Set<ProjectVersion>> function, Map<ProjectVersion, Set<ProjectVersion>> closures)
+    {
+        return (versions, transitive) ->
+        {
+            if (!transitive || versions.size() != 1)
+            {
+                return function.apply(versions, transitive);
+            }
+            ProjectVersion version = versions.get(0);
+            Set<ProjectVersion> closure = closures.get(version);
+            if (closure == null)
+            {
+                // not computeIfAbsent: computing a closure recurses into this cache
+                closure = Collections.unmodifiableSet(function.apply(versions, true));
+                Set<ProjectVersion> existing = closures.putIfAbsent(version, closure);
+                closure = existing != null ? existing : closure;
+            }
+            return closure;
+        };
+    }
+
+    private static String projectKey(ProjectVersion projectVersion)
+    {
+        return projectVersion.getGroupId() + ":" + projectVersion.getArtifactId();
     }
 
     @Override
@@ -16,6 +16,7 @@
 package org.finos.legend.depot.services.dependencies;
 
 import org.apache.maven.repository.internal.MavenRepositorySystemUtils;
+import org.eclipse.aether.DefaultRepositoryCache;
 import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.artifact.Artifact;
@@ -53,6 +54,7 @@ import javax.inject.Inject;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -118,6 +120,33 @@ public class MavenDependencyResolverImpl implements MavenDependencyResolver
         return executeCollectRequest(reader, rootDependencies);
     }
 
+    @Override
+    public Map<ProjectVersion, Set<ProjectVersion>> collectDependenciesOfEach(Collection<ProjectVersion> projectVersions)
+    {
+        InMemoryArtifactDescriptorReader reader = new InMemoryArtifactDescriptorReader(projectsService);
+        RepositorySystem system = newRepositorySystem(reader);
+        DefaultRepositorySystemSession session = newSession(system);
+        // the collector keeps descriptors in the session cache, so versions shared by several trees are read from the store once
+        session.setCache(new DefaultRepositoryCache());
+
+        Map<ProjectVersion, Set<ProjectVersion>> dependencies = new LinkedHashMap<>();
+        for (ProjectVersion pv : projectVersions)
+        {
+            if (!dependencies.containsKey(pv))
+            {
+                Dependency rootDependency = new Dependency(
+                        new DefaultArtifact(pv.getGroupId(), pv.getArtifactId(), "jar", pv.getVersionId()),
+                        "compile",
+                        false,
+                        Collections.emptyList());
+                Set<ProjectVersion> collected = new HashSet<>();
+                collectDependenciesFromNode(executeCollectRequestForNode(system, session, Collections.singletonList(rootDependency)), collected);
+                dependencies.put(pv, collected);
+            }
+        }
+        return dependencies;
+    }
+
     @Override
     public Set<ProjectVersion> collectDependencies(List<ArtifactDependency> artifactDependencies)
     {
@@ -194,8 +223,11 @@ public class MavenDependencyResolverImpl implements MavenDependencyResolver
     private DependencyNode executeCollectRequestForNode(InMemoryArtifactDescriptorReader reader, List<Dependency> rootDependencies)
     {
         RepositorySystem system = newRepositorySystem(reader);
-        DefaultRepositorySystemSession session = newSession(system);
+        return executeCollectRequestForNode(system, newSession(system), rootDependencies);
+    }
 
+    private DependencyNode executeCollectRequestForNode(RepositorySystem system, DefaultRepositorySystemSession session, List<Dependency> rootDependencies)
+    {
         CollectRequest request = new CollectRequest();
         request.setDependencies(rootDependencies);
 
@@ -0,0 +1,116 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.dependencies;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dependency graph with nodes interned to ints and forward edges held in adjacency arrays, so walks over it are
+ * plain array BFS once the dependencies of every node have been loaded.
+ */
+public final class ProjectDependencyAdjacency
+{
+    private static final int[] NO_EDGES = new int[0];
+
+    private final Map<ProjectVersion, Integer> ids;
+    private final List<ProjectVersion> nodes;
+    private final int[][] forwardEdges;
+
+    private ProjectDependencyAdjacency(Map<ProjectVersion, Integer> ids, List<ProjectVersion> nodes, int[][] forwardEdges)
+    {
+        this.ids = ids;
+        this.nodes = nodes;
+        this.forwardEdges = forwardEdges;
+    }
+
+    public static ProjectDependencyAdjacency build(Map<ProjectVersion, List<ProjectVersion>> dependencies)
+    {
+        Map<ProjectVersion, Integer> ids = new HashMap<>();
+        List<ProjectVersion> nodes = new ArrayList<>();
+        dependencies.forEach((node, children) ->
+        {
+            intern(node, ids, nodes);
+            children.forEach(child -> intern(child, ids, nodes));
+        });
+
+        int[][] forwardEdges = new int[nodes.size()][];
+        for (int id = 0; id < forwardEdges.length; id++)
+        {
+            List<ProjectVersion> children = dependencies.getOrDefault(nodes.get(id), Collections.emptyList());
+            forwardEdges[id] = children.isEmpty() ? NO_EDGES : children.stream().mapToInt(ids::get).distinct().toArray();
+        }
+        return new ProjectDependencyAdjacency(ids, nodes, forwardEdges);
+    }
+
+    private static void intern(ProjectVersion node, Map<ProjectVersion, Integer> ids, List<ProjectVersion> nodes)
+    {
+        if (!ids.containsKey(node))
+        {
+            ids.put(node, nodes.size());
+            nodes.add(node);
+        }
+    }
+
+    public int size()
+    {
+        return nodes.size();
+    }
+
+    /**
+     * Breadth first walk from the given roots. A root already reached from an earlier root is not reported as a root.
+     */
+    public ProjectDependencyGraph toGraph(List<ProjectVersion> roots)
+    {
+        ProjectDependencyGraph graph = new ProjectDependencyGraph();
+        boolean[] visited = new boolean[nodes.size()];
+        int[] queue = new int[nodes.size()];
+        for (ProjectVersion root : roots)
+        {
+            Integer rootId = ids.get(root);
+            if (rootId == null || visited[rootId])
+            {
+                continue;
+            }
+            visited[rootId] = true;
+            graph.addNode(root, null);
+            int head = 0;
+            int tail = 0;
+            queue[tail++] = rootId;
+            while (head < tail)
+            {
+                int node = queue[head++];
+                for (int child : forwardEdges[node])
+                {
+                    graph.setEdges(nodes.get(node), nodes.get(child));
+                    if (!visited[child])
+                    {
+                        visited[child] = true;
+                        graph.addNode(nodes.get(child), nodes.get(node));
+                        queue[tail++] = child;
+                    }
+                }
+            }
+        }
+        return graph;
+    }
+}
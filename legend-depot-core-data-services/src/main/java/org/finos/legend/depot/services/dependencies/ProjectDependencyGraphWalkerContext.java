@@ -19,7 +19,6 @@ import org.eclipse.collections.api.block.function.Function0;
 import org.eclipse.collections.api.factory.Maps;
 import org.eclipse.collections.api.factory.Sets;
 import org.eclipse.collections.api.map.ConcurrentMutableMap;
-import org.eclipse.collections.api.map.MutableMap;
 import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
 import org.finos.legend.depot.domain.CoordinateData;
 import org.finos.legend.depot.domain.project.ProjectVersion;
@@ -34,9 +33,9 @@ import java.util.stream.Collectors;
 public class ProjectDependencyGraphWalkerContext
 {
     private final ConcurrentMutableMap<ProjectVersion, List<ProjectVersion>> projectVersionToDependencyMap = new ConcurrentHashMap<>();
-    private final MutableMap<ProjectVersion, StoreProjectVersionData> projectDataMap = Maps.mutable.empty();
-    private final MutableMap<DependencyProject, Set<ProjectVersion>> projectToVersions = Maps.mutable.empty();
-    private Map<String, List<ProjectVersion>> exclusions = Maps.mutable.empty();
+    private final ConcurrentMutableMap<ProjectVersion, StoreProjectVersionData> projectDataMap = new ConcurrentHashMap<>();
+    private final ConcurrentMutableMap<DependencyProject, Set<ProjectVersion>> projectToVersions = new ConcurrentHashMap<>();
+    private volatile Map<String, List<ProjectVersion>> exclusions = Maps.mutable.empty();
 
     public static class DependencyProject extends CoordinateData
     {
@@ -58,7 +57,7 @@ public class ProjectDependencyGraphWalkerContext
 
     public void addVersionToProject(String groupId, String artifactId, ProjectVersion version)
     {
-        this.projectToVersions.getIfAbsentPut(new DependencyProject(groupId, artifactId), Sets.mutable.empty()).add(version);
+        this.projectToVersions.getIfAbsentPut(new DependencyProject(groupId, artifactId), () -> Sets.mutable.<ProjectVersion>empty().asSynchronized()).add(version);
     }
 
     public ConcurrentMutableMap<ProjectVersion, List<ProjectVersion>> getProjectVersionToDependencyMap()
@@ -19,14 +19,20 @@ import com.google.inject.PrivateModule;
 import com.google.inject.Provides;
 import com.google.inject.Singleton;
 import com.google.inject.name.Names;
+import org.finos.legend.depot.core.services.api.metrics.PrometheusMetricsHandler;
+import org.finos.legend.depot.core.services.api.metrics.configuration.PrometheusConfiguration;
 import org.finos.legend.depot.services.api.dependencies.DependencyOverride;
 import org.finos.legend.depot.services.api.dependencies.MavenDependencyResolver;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
+import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.services.dependencies.DependencyUtil;
 import org.finos.legend.depot.services.dependencies.MavenDependencyResolverImpl;
 import org.finos.legend.depot.services.projects.ProjectsServiceImpl;
+import org.finos.legend.depot.services.projects.VersionAliasCache;
+import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 
 import javax.inject.Named;
+import java.util.concurrent.TimeUnit;
 
 public class CoreDataServicesModule extends PrivateModule
 {
@@ -49,4 +55,19 @@ public class CoreDataServicesModule extends PrivateModule
         return new DependencyUtil();
     }
 
+    @Provides
+    @Singleton
+    public VersionAliasCache initialiseVersionAliasCache(ProjectsVersions projectsVersions, ProjectsConfiguration configuration, PrometheusConfiguration prometheusConfiguration)
+    {
+        if (prometheusConfiguration.isEnabled())
+        {
+            PrometheusMetricsHandler metricsHandler = prometheusConfiguration.getMetricsHandler();
+            metricsHandler.registerCounter(VersionAliasCache.ALIAS_CACHE_HITS, VersionAliasCache.ALIAS_CACHE_HITS_HELP);
+            metricsHandler.registerCounter(VersionAliasCache.ALIAS_CACHE_MISSES, VersionAliasCache.ALIAS_CACHE_MISSES_HELP);
+            metricsHandler.registerCounter(VersionAliasCache.ALIAS_CACHE_INVALIDATIONS, VersionAliasCache.ALIAS_CACHE_INVALIDATIONS_HELP);
+            metricsHandler.registerGauge(VersionAliasCache.ALIAS_CACHE_SIZE, VersionAliasCache.ALIAS_CACHE_SIZE_HELP);
+        }
+        return new VersionAliasCache(projectsVersions, TimeUnit.SECONDS.toMillis(configuration.getAliasCacheMaxStalenessSeconds()));
+    }
+
 }
@@ -16,6 +16,7 @@
 package org.finos.legend.depot.services.projects;
 
 import org.finos.legend.depot.domain.project.ProjectSummary;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.api.dependencies.DependencyOverride;
 import org.finos.legend.depot.services.api.dependencies.MavenDependencyResolver;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
@@ -31,21 +32,27 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 
 public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements ManageProjectsService
 {
+    private static final int PROJECTS_BATCH_SIZE = 1000;
 
     private final UpdateProjectsVersions projectsVersions;
     private final UpdateProjects projects;
+    private final VersionAliasCache aliasCache;
 
     @Inject
-    public ManageProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyUtil, Provider<MavenDependencyResolver> mavenDependencyResolverProvider)
+    public ManageProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyUtil, Provider<MavenDependencyResolver> mavenDependencyResolverProvider, VersionAliasCache aliasCache)
     {
-        super(projectsVersions,projects, metricsRegistry, queue, configuration, dependencyUtil, mavenDependencyResolverProvider);
+        super(projectsVersions,projects, metricsRegistry, queue, configuration, dependencyUtil, mavenDependencyResolverProvider, aliasCache);
         this.projects = projects;
         this.projectsVersions = projectsVersions;
+        this.aliasCache = aliasCache;
     }
 
     public ManageProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration)
@@ -53,6 +60,7 @@ public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements Ma
         super(projectsVersions,projects, metricsRegistry, queue, configuration);
         this.projects = projects;
         this.projectsVersions = projectsVersions;
+        this.aliasCache = VersionAliasCache.disabled();
     }
 
     @Override
@@ -64,26 +72,60 @@ public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements Ma
     @Override
     public StoreProjectVersionData createOrUpdate(StoreProjectVersionData projectData)
     {
-        return projectsVersions.createOrUpdate(projectData);
+        StoreProjectVersionData result = projectsVersions.createOrUpdate(projectData);
+        aliasCache.invalidate(projectData.getGroupId(), projectData.getArtifactId());
+        return result;
     }
 
     @Override
     public StoreProjectData createOrUpdate(StoreProjectData projectData)
     {
-        return projects.createOrUpdate(projectData);
+        StoreProjectData result = projects.createOrUpdate(projectData);
+        aliasCache.invalidate(projectData.getGroupId(), projectData.getArtifactId());
+        return result;
     }
 
     @Override
     public long delete(String groupId, String artifactId)
     {
         projects.delete(groupId, artifactId);
-        return projectsVersions.delete(groupId, artifactId);
+        long deleted = projectsVersions.delete(groupId, artifactId);
+        aliasCache.invalidate(groupId, artifactId);
+        return deleted;
     }
 
     @Override
     public long delete(String groupId, String artifactId, String versionId)
     {
-        return projectsVersions.delete(groupId, artifactId, versionId);
+        long deleted = projectsVersions.delete(groupId, artifactId, versionId);
+        aliasCache.invalidate(groupId, artifactId);
+        return deleted;
+    }
+
+    @Override
+    public List<ProjectVersion> findNotEvicted(List<ProjectVersion> projectVersions)
+    {
+        return projectsVersions.findNotEvicted(projectVersions);
+    }
+
+    @Override
+    public List<StoreProjectVersionData> findDependencyGraphNodes(List<ProjectVersion> projectVersions, boolean withTransitiveDependencies)
+    {
+        return projectsVersions.findDependencyGraphNodes(projectVersions, withTransitiveDependencies);
+    }
+
+    @Override
+    public List<ProjectVersion> findNotEvictedOrExcluded()
+    {
+        return projectsVersions.findNotEvictedOrExcluded();
+    }
+
+    @Override
+    public long markEvicted(List<ProjectVersion> projectVersions)
+    {
+        long evicted = projectsVersions.markEvicted(projectVersions);
+        projectVersions.forEach(pv -> aliasCache.invalidate(pv.getGroupId(), pv.getArtifactId()));
+        return evicted;
     }
 
     @Override
@@ -95,14 +137,22 @@ public class ManageProjectsServiceImpl extends ProjectsServiceImpl implements Ma
         return this.createOrUpdate(storeProjectVersionData);
     }
 
+    @Override
     public List<ProjectSummary> getProjectsSummary()
     {
-        List<ProjectSummary> status = new ArrayList();
-        projects.getAll().forEach(p ->
+        Map<String, ProjectSummary> versionsSummary = new HashMap<>();
+        projectsVersions.getVersionsSummary().forEach(summary -> versionsSummary.put(summary.groupId + ":" + summary.artifactId, summary));
+
+        List<ProjectSummary> status = new ArrayList<>();
+        try (Stream<StoreProjectData> allProjects = projects.getAllAsStream(PROJECTS_BATCH_SIZE))
         {
-            ProjectSummary summry = new ProjectSummary(p.getProjectId(), p.getGroupId(), p.getArtifactId(), projectsVersions.getVersionCount(p.getGroupId(), p.getArtifactId()));
-            status.add(summry);
-        });
+            allProjects.forEach(p ->
+            {
+                ProjectSummary versions = versionsSummary.get(p.getGroupId() + ":" + p.getArtifactId());
+                status.add(versions == null ? new ProjectSummary(p.getProjectId(), p.getGroupId(), p.getArtifactId(), 0, 0, 0, 0, p.getLatestVersion(), null)
+                        : new ProjectSummary(p.getProjectId(), p.getGroupId(), p.getArtifactId(), versions.versions, versions.snapshotVersions, versions.evictedVersions, versions.excludedVersions, p.getLatestVersion(), versions.latestSnapshot));
+            });
+        }
         return status;
     }
 }
@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.services.projects;
 
+import org.eclipse.collections.api.block.function.Function2;
 import org.eclipse.collections.api.factory.Sets;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.artifacts.repository.DependencyExclusion;
@@ -39,6 +40,7 @@ import org.finos.legend.depot.services.dependencies.DependencySATConverter;
 import org.finos.legend.depot.services.dependencies.DependencyResolutionFailureAnalyzer;
 import org.finos.legend.depot.services.dependencies.LogicNGSATResult;
 import org.finos.legend.depot.services.dependencies.DependencyUtil;
+import org.finos.legend.depot.services.dependencies.ProjectDependencyAdjacency;
 import org.finos.legend.depot.services.dependencies.ProjectDependencyGraphWalkerContext;
 import org.finos.legend.depot.services.dependencies.DependencyExclusionsUtil;
 import org.finos.legend.depot.services.api.dependencies.MavenDependencyResolver;
@@ -47,9 +49,10 @@ import org.finos.legend.depot.store.api.projects.Projects;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 import org.finos.legend.depot.store.api.projects.UpdateProjects;
 import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
-import org.finos.legend.sdlc.domain.model.version.VersionId;
+import org.finos.legend.depot.domain.version.ParsedVersions;
 import org.logicng.datastructures.Assignment;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.solvers.MaxSATSolver;
@@ -68,7 +71,11 @@ import java.util.HashSet;
 import java.util.Collections;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
@@ -90,14 +97,17 @@ public class ProjectsServiceImpl implements ProjectsService
 
     private final Provider<MavenDependencyResolver> mavenDependencyResolverProvider;
 
+    private final VersionAliasCache aliasCache;
+
     private final Map<ProjectVersion, Set<ProjectVersion>> transitiveDependenciesMap = new HashMap<>();
 
     private static final String EXCLUSION_FOUND_IN_STORE = "project version not found for %s-%s-%s, exclusion reason: %s";
     private static final String NOT_FOUND_IN_STORE = "project version not found for %s-%s-%s";
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(ProjectsServiceImpl.class);
+    private static final int DEPENDANTS_BATCH_SIZE = 500;
 
     @Inject
-    public ProjectsServiceImpl(ProjectsVersions projectsVersions, Projects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyOverride, Provider<MavenDependencyResolver> mavenDependencyResolverProvider)
+    public ProjectsServiceImpl(ProjectsVersions projectsVersions, Projects projects, @Named("queryMetricsRegistry") QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration, @Named("dependencyOverride") DependencyOverride dependencyOverride, Provider<MavenDependencyResolver> mavenDependencyResolverProvider, VersionAliasCache aliasCache)
     {
         this.projectsVersions = projectsVersions;
         this.projects = projects;
@@ -106,6 +116,7 @@ public class ProjectsServiceImpl implements ProjectsService
         this.configuration = configuration;
         this.dependencyOverride = dependencyOverride;
         this.mavenDependencyResolverProvider = mavenDependencyResolverProvider;
+        this.aliasCache = aliasCache;
     }
 
     public ProjectsServiceImpl(UpdateProjectsVersions projectsVersions, UpdateProjects projects, QueryMetricsRegistry metricsRegistry, Queue queue, ProjectsConfiguration configuration)
@@ -118,6 +129,7 @@ public class ProjectsServiceImpl implements ProjectsService
         this.dependencyOverride = new DependencyUtil();
         MavenDependencyResolverImpl resolver = new MavenDependencyResolverImpl(this);
         this.mavenDependencyResolverProvider = () -> resolver;
+        this.aliasCache = VersionAliasCache.disabled();
     }
 
     @Override
@@ -126,6 +138,24 @@ public class ProjectsServiceImpl implements ProjectsService
         return projects.getAll();
     }
 
+    @Override
+    public Page<StoreProjectData> getProjectCoordinates(String continuationToken, int pageSize)
+    {
+        return projects.getAll(continuationToken, pageSize);
+    }
+
+    @Override
+    public Stream<StoreProjectData> getAllProjectCoordinatesAsStream(int batchSize)
+    {
+        return projects.getAllAsStream(batchSize);
+    }
+
+    @Override
+    public Page<StoreProjectVersionData> findVersions(String groupId, String artifactId, String continuationToken, int pageSize)
+    {
+        return projectsVersions.find(groupId, artifactId, continuationToken, pageSize);
+    }
+
     @Override
     public List<String> getVersions(String groupId, String artifactId,boolean includeSnapshots)
     {
@@ -150,6 +180,12 @@ public class ProjectsServiceImpl implements ProjectsService
         return projectsVersions.find(groupId, artifactId);
     }
 
+    @Override
+    public Optional<StoreProjectVersionData> findLatestRelease(String groupId, String artifactId)
+    {
+        return projectsVersions.findLatestRelease(groupId, artifactId);
+    }
+
     @Override
     public List<StoreProjectVersionData> findVersion(Boolean excluded)
     {
@@ -177,6 +213,26 @@ public class ProjectsServiceImpl implements ProjectsService
 
     @Override
     public Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId)
+    {
+        if (aliasCache.isEnabled() && VersionAliasCache.isCacheable(versionId))
+        {
+            // on a miss the version loaded to resolve the alias is returned as is rather than looked up again
+            AtomicReference<Optional<StoreProjectVersionData>> loaded = new AtomicReference<>();
+            Optional<VersionAliasCache.ResolvedVersion> resolved = aliasCache.resolve(groupId, artifactId, versionId, () ->
+            {
+                loaded.set(this.findInStore(groupId, artifactId, versionId));
+                return loaded.get();
+            });
+            if (loaded.get() != null)
+            {
+                return loaded.get();
+            }
+            return resolved.isPresent() ? projectsVersions.find(groupId, artifactId, resolved.get().getVersionId()) : Optional.empty();
+        }
+        return this.findInStore(groupId, artifactId, versionId);
+    }
+
+    private Optional<StoreProjectVersionData> findInStore(String groupId, String artifactId, String versionId)
     {
         if (VersionAlias.LATEST.getName().equals(versionId))
         {
@@ -211,20 +267,15 @@ public class ProjectsServiceImpl implements ProjectsService
     @Override
     public String resolveAliasesAndCheckVersionExists(String groupId, String artifactId, String versionId)
     {
-        String version;
-        Optional<StoreProjectVersionData> projectVersion = this.find(groupId, artifactId, versionId);
-        if (projectVersion.isPresent())
-        {
-            version = projectVersion.get().getVersionId();
-        }
-        else
+        Optional<VersionAliasCache.ResolvedVersion> projectVersion = aliasCache.resolve(groupId, artifactId, versionId, () -> this.findInStore(groupId, artifactId, versionId));
+        if (!projectVersion.isPresent())
         {
             throw new IllegalArgumentException(String.format(NOT_FOUND_IN_STORE, groupId, artifactId, versionId));
         }
-        ProjectVersionData versionData = projectVersion.get().getVersionData();
-        if (versionData.isExcluded())
+        String version = projectVersion.get().getVersionId();
+        if (projectVersion.get().isExcluded())
         {
-            throw new IllegalArgumentException(String.format(EXCLUSION_FOUND_IN_STORE, groupId, artifactId, version, versionData.getExclusionReason()));
+            throw new IllegalArgumentException(String.format(EXCLUSION_FOUND_IN_STORE, groupId, artifactId, version, projectVersion.get().getExclusionReason()));
         }
         else if (projectVersion.get().isEvicted())
         {
@@ -246,9 +297,16 @@ public class ProjectsServiceImpl implements ProjectsService
 
     @Override
     public Set<ProjectVersion> getDependencies(List<ProjectVersion> projectVersions, Map<String, List<ProjectVersion>> exclusionsMap, boolean transitive)
+    {
+        // transitive dependencies of overridden versions are resolved once per call, however many roots share them
+        return getDependencies(projectVersions, exclusionsMap, transitive, new ConcurrentHashMap<>());
+    }
+
+    private Set<ProjectVersion> getDependencies(List<ProjectVersion> projectVersions, Map<String, List<ProjectVersion>> exclusionsMap, boolean transitive, Map<ProjectVersion, Set<ProjectVersion>> closures)
     {
         boolean hasExclusions = exclusionsMap != null && !exclusionsMap.isEmpty();
         Set<ProjectVersion> dependencies = new HashSet<>();
+        Function2<List<ProjectVersion>, Boolean, Set<ProjectVersion>> dependenciesFunction = DependencyUtil.memoizeClosures((pvList, trans) -> getDependencies(pvList, exclusionsMap, trans, closures), closures);
 
         projectVersions.forEach(pv ->
         {
@@ -264,12 +322,12 @@ public class ProjectsServiceImpl implements ProjectsService
                         currentVersion,
                         projectVersions,
                         exclusionsMap,
-                        (pvList, trans) -> getDependencies(pvList, exclusionsMap, trans)
+                        dependenciesFunction
                 ));
             }
             else
             {
-                dependencies.addAll(this.dependencyOverride.overrideWith(projectVersionDependencies, projectVersions, this::getDependencies));
+                dependencies.addAll(this.dependencyOverride.overrideWith(projectVersionDependencies, projectVersions, dependenciesFunction));
             }
 
             if (transitive && !projectVersionDependencies.isEmpty())
@@ -291,12 +349,12 @@ public class ProjectsServiceImpl implements ProjectsService
                                 currentVersion,
                                 projectVersions,
                                 exclusionsMap,
-                                (pvList, trans) -> getDependencies(pvList, exclusionsMap, trans)
+                                dependenciesFunction
                         ));
                     }
                     else
                     {
-                        dependencies.addAll(this.dependencyOverride.overrideWith(transitiveDeps, projectVersions, this::getDependencies));
+                        dependencies.addAll(this.dependencyOverride.overrideWith(transitiveDeps, projectVersions, dependenciesFunction));
                     }
                 }
                 else
@@ -340,25 +398,102 @@ public class ProjectsServiceImpl implements ProjectsService
         return dependencies;
     }
 
+    @Override
+    public Map<ProjectVersion, Set<ProjectVersion>> getTransitiveDependenciesMavenOfEach(Collection<ProjectVersion> projectVersions)
+    {
+        Map<ProjectVersion, ProjectVersion> resolvedVersions = new LinkedHashMap<>();
+        projectVersions.forEach(pv ->
+        {
+            String version = this.resolveAliasesAndCheckVersionExists(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
+            resolvedVersions.put(pv, new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), version));
+        });
+
+        // the stored transitive dependencies report is the maven closure computed when the version was refreshed, all of them are
+        // read in one query; only versions without a usable report are collected with maven
+        Map<ProjectVersion, Set<ProjectVersion>> resolvedDependencies = new HashMap<>();
+        projectsVersions.findDependencyGraphNodes(new LinkedHashSet<>(resolvedVersions.values()), true).forEach(versionData ->
+        {
+            if (hasStoredTransitiveDependencies(versionData))
+            {
+                ProjectVersion projectVersion = new ProjectVersion(versionData.getGroupId(), versionData.getArtifactId(), versionData.getVersionId());
+                Set<ProjectVersion> closure = new HashSet<>(versionData.getTransitiveDependenciesReport().getTransitiveDependencies());
+                closure.add(projectVersion);
+                resolvedDependencies.put(projectVersion, closure);
+            }
+        });
+        Set<ProjectVersion> withoutReport = resolvedVersions.values().stream().filter(pv -> !resolvedDependencies.containsKey(pv)).collect(Collectors.toCollection(LinkedHashSet::new));
+        if (!withoutReport.isEmpty())
+        {
+            resolvedDependencies.putAll(mavenDependencyResolverProvider.get().collectDependenciesOfEach(withoutReport));
+        }
+        Map<ProjectVersion, Set<ProjectVersion>> dependencies = new LinkedHashMap<>();
+        resolvedVersions.forEach((pv, resolved) -> dependencies.put(pv, resolvedDependencies.get(resolved)));
+        return dependencies;
+    }
+
+    private static boolean hasStoredTransitiveDependencies(StoreProjectVersionData versionData)
+    {
+        // versions stored before their report was computed read back as a valid but empty report
+        return !versionData.getVersionData().isExcluded() && versionData.getTransitiveDependenciesReport().isValid()
+                && (!versionData.getTransitiveDependenciesReport().getTransitiveDependencies().isEmpty() || versionData.getVersionData().getDependencies().isEmpty());
+    }
 
+    public ProjectDependencyGraph buildDependencyGraph(List<ProjectVersion> roots, ProjectDependencyGraphWalkerContext context)
+    {
+        loadDependencyGraph(roots, context);
+        return ProjectDependencyAdjacency.build(context.getProjectVersionToDependencyMap()).toGraph(roots);
+    }
 
-    public void buildDependencyGraph(ProjectDependencyGraph graph, ProjectVersion parent, List<ProjectVersion> children, ProjectDependencyGraphWalkerContext context)
+    private void loadDependencyGraph(List<ProjectVersion> roots, ProjectDependencyGraphWalkerContext context)
     {
-        children.forEach(projectVersion ->
+        // the transitive dependencies reports of the roots list every other node, so the whole graph is normally fetched with two queries
+        Set<ProjectVersion> closure = new LinkedHashSet<>();
+        loadDependencyGraphNodes(roots, true, context).forEach(root ->
         {
-            if (!graph.hasNode(projectVersion))
+            if (root.getTransitiveDependenciesReport().isValid())
             {
-                graph.addNode(projectVersion, parent);
-                if (!context.getProjectVersionToDependencyMap().containsKey(projectVersion))
-                {
-                    StoreProjectVersionData projectData =  context.getProjectDataPutIfAbsent(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), () -> getProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-                    context.getProjectVersionToDependencyMap().putIfAbsent(projectVersion, projectData.getVersionData().getDependencies());
-                }
-                List<ProjectVersion> dependencies = context.getProjectVersionToDependencyMap().get(projectVersion);
-                dependencies.forEach(child -> graph.setEdges(projectVersion, child));
-                buildDependencyGraph(graph, projectVersion, dependencies, context);
+                closure.addAll(root.getTransitiveDependenciesReport().getTransitiveDependencies());
             }
         });
+        closure.removeAll(roots);
+        loadDependencyGraphNodes(closure, false, context);
+        Set<ProjectVersion> prefetched = new HashSet<>(closure);
+        prefetched.addAll(roots);
+
+        // reports can lag behind the stored dependencies: the graph is walked one layer at a time and the nodes of a layer
+        // that are still unknown are loaded together, so round trips grow with the depth of the graph rather than its size
+        Set<ProjectVersion> visited = new HashSet<>();
+        List<ProjectVersion> frontier = roots;
+        while (!frontier.isEmpty())
+        {
+            List<ProjectVersion> layer = frontier.stream().filter(visited::add).collect(Collectors.toList());
+            loadDependencyGraphNodes(layer.stream().filter(pv -> !prefetched.contains(pv) && context.getProjectData(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()) == null).collect(Collectors.toList()), false, context);
+
+            List<ProjectVersion> next = new ArrayList<>();
+            layer.forEach(projectVersion ->
+            {
+                // aliases and versions missing from the store go through the single version lookup for its errors
+                StoreProjectVersionData projectData = context.getProjectDataPutIfAbsent(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), () -> getProject(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
+                if (projectData.getVersionData().isExcluded())
+                {
+                    throw new IllegalArgumentException(String.format(EXCLUSION_FOUND_IN_STORE, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId(), projectData.getVersionData().getExclusionReason()));
+                }
+                context.getProjectVersionToDependencyMap().putIfAbsent(projectVersion, projectData.getVersionData().getDependencies());
+                next.addAll(context.getProjectVersionToDependencyMap().get(projectVersion));
+            });
+            frontier = next;
+        }
+    }
+
+    private List<StoreProjectVersionData> loadDependencyGraphNodes(Collection<ProjectVersion> projectVersions, boolean withTransitiveDependencies, ProjectDependencyGraphWalkerContext context)
+    {
+        if (projectVersions.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        List<StoreProjectVersionData> loaded = projectsVersions.findDependencyGraphNodes(projectVersions, withTransitiveDependencies);
+        loaded.forEach(projectData -> context.getProjectDataPutIfAbsent(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), () -> projectData));
+        return loaded;
     }
 
     public ProjectDependencyReport getProjectDependencyReportFromProjectVersionList(List<ProjectVersion> projectDependencyVersions)
@@ -377,12 +512,11 @@ public class ProjectsServiceImpl implements ProjectsService
 
     public ProjectDependencyReport getProjectDependencyReport(List<ArtifactDependency> projectDependencyVersions)
     {
-        ProjectDependencyGraph graph = new ProjectDependencyGraph();
         ProjectDependencyGraphWalkerContext graphWalkerContext = new ProjectDependencyGraphWalkerContext();
 
         List<ProjectVersion> versions = this.dependencyOverride.getArtifactDependenciesAsProjectVersions(projectDependencyVersions);
 
-        buildDependencyGraph(graph, null, versions, graphWalkerContext);
+        ProjectDependencyGraph graph = buildDependencyGraph(versions, graphWalkerContext);
         buildProjectVersionMap(projectDependencyVersions, graphWalkerContext);
         return buildReportFromGraph(graph, graphWalkerContext);
     }
@@ -426,6 +560,8 @@ public class ProjectsServiceImpl implements ProjectsService
         Map<String, List<ProjectVersion>> exclusions = graphWalkerContext.getExclusions();
 
         removeExclusionsFromGraph(dependencyGraph, exclusions);
+        Map<String, String> projectIds = new HashMap<>();
+        this.projects.find(dependencyGraph.getNodes()).forEach(project -> projectIds.put(project.getGroupId() + ":" + project.getArtifactId(), project.getProjectId()));
         dependencyGraph.getNodes().forEach(projectVersion ->
         {
             // add node
@@ -434,8 +570,7 @@ public class ProjectsServiceImpl implements ProjectsService
             StoreProjectVersionData projectData = graphWalkerContext.getProjectData(versionNode.getGroupId(), versionNode.getArtifactId(), versionNode.getVersionId());
             if (projectData != null)
             {
-                StoreProjectData projectCoordinates = this.projects.find(projectData.getGroupId(), projectData.getArtifactId()).get();
-                versionNode.setProjectId(projectCoordinates.getProjectId());
+                versionNode.setProjectId(projectIds.get(projectData.getGroupId() + ":" + projectData.getArtifactId()));
             }
             // forward edges
             dependencyGraph.getForwardEdges().getIfAbsentValue(projectVersion, Sets.mutable.empty()).forEach(forwardNode -> versionNode.getForwardEdges().add(forwardNode.getGav()));
@@ -512,31 +647,17 @@ public class ProjectsServiceImpl implements ProjectsService
     @Override
     public List<ProjectDependencyWithPlatformVersions> getDependantProjects(String groupId, String artifactId, String versionId, boolean latestOnly)
     {
-        ConcurrentLinkedQueue<ProjectDependencyWithPlatformVersions> result = new ConcurrentLinkedQueue<>();
-        if (versionId.equalsIgnoreCase("ALL"))
+        String version = versionId.equalsIgnoreCase("ALL") ? null : this.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        List<ProjectDependencyWithPlatformVersions> result = new ArrayList<>();
+        try (Stream<StoreProjectVersionData> dependants = projectsVersions.findDependants(groupId, artifactId, version, DEPENDANTS_BATCH_SIZE))
         {
-            this.getAllProjectCoordinates().parallelStream().forEach(project ->
+            dependants.forEach(projectData ->
             {
-                projectsVersions.find(project.getGroupId(), project.getArtifactId()).parallelStream().forEach(projectData ->
-                {
-                    Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId));
-                    dependencies.forEach(dep -> result.offer(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
-                });
-            });
-        }
-        else
-        {
-            String version =  this.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
-            this.getAllProjectCoordinates().parallelStream().forEach(project ->
-            {
-                projectsVersions.find(project.getGroupId(), project.getArtifactId()).parallelStream().forEach(projectData ->
-                {
-                    Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId) && dep.getVersionId().equals(version));
-                    dependencies.forEach(dep -> result.offer(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
-                });
+                Stream<ProjectVersion> dependencies = projectData.getVersionData().getDependencies().stream().filter(dep -> dep.getGroupId().equals(groupId) && dep.getArtifactId().equals(artifactId) && (version == null || dep.getVersionId().equals(version)));
+                dependencies.forEach(dep -> result.add(new ProjectDependencyWithPlatformVersions(projectData.getGroupId(), projectData.getArtifactId(), projectData.getVersionId(), dep, projectData.getVersionData().getProperties())));
             });
         }
-        return latestOnly ? filterProjectByLatest(result.stream().collect(Collectors.toList())) : result.stream().collect(Collectors.toList());
+        return latestOnly ? filterProjectByLatest(result) : result;
     }
 
     @Override
@@ -710,12 +831,9 @@ public class ProjectsServiceImpl implements ProjectsService
         if (backtrackVersions > 0 && !VersionValidator.isSnapshotVersion(pv.getVersionId()))
         {
             LOGGER.info("Finding alternative versions for {}-{}-{} with backtrack {}", pv.getGroupId(), pv.getArtifactId(), pv.getVersionId(), backtrackVersions);
-            List<String> versionStrings = this.getVersions(pv.getGroupId(), pv.getArtifactId(), false);
-            versionStrings.sort((v1, v2) -> VersionId.parseVersionId(v2).compareTo(VersionId.parseVersionId(v1)));
+            List<String> versionStrings = projectsVersions.findLatestReleaseVersionIds(pv.getGroupId(), pv.getArtifactId(), backtrackVersions);
             LOGGER.info("Found {} versions for {}-{}, latest is {}", versionStrings.size(), pv.getGroupId(), pv.getArtifactId(), versionStrings.isEmpty() ? "N/A" : versionStrings.get(0));
-            versionStrings.stream()
-                    .limit(backtrackVersions)
-                    .forEach(v -> alternatives.add(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), v)));
+            versionStrings.forEach(v -> alternatives.add(new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), v)));
         }
         else
         {
@@ -729,7 +847,7 @@ public class ProjectsServiceImpl implements ProjectsService
     private List<ProjectDependencyWithPlatformVersions> filterProjectByLatest(List<ProjectDependencyWithPlatformVersions> projects)
     {
         Map<String, List<ProjectDependencyWithPlatformVersions>> groupedProjectDependencyWithPlatformVersions = projects.stream().filter(p -> !VersionValidator.isSnapshotVersion(p.getVersionId())).collect(Collectors.groupingBy(p -> p.getGroupId() + p.getArtifactId()));
-        return groupedProjectDependencyWithPlatformVersions.entrySet().stream().map(set -> set.getValue().stream().max(Comparator.comparing(ProjectDependencyWithPlatformVersions::getVersionId)).get()).collect(Collectors.toList());
+        return groupedProjectDependencyWithPlatformVersions.entrySet().stream().map(set -> set.getValue().stream().max(Comparator.comparing(ProjectDependencyWithPlatformVersions::getVersionId, ParsedVersions.RELEASE_VERSION_ORDER)).get()).collect(Collectors.toList());
     }
 
     private StoreProjectVersionData getProject(String groupId, String artifactId, String versionId)
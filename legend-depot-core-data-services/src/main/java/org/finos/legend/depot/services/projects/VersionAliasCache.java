@@ -0,0 +1,245 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.projects;
+
+import org.finos.legend.depot.core.services.api.metrics.CounterHandle;
+import org.finos.legend.depot.core.services.api.metrics.GaugeHandle;
+import org.finos.legend.depot.core.services.metrics.MetricHandle;
+import org.finos.legend.depot.domain.version.VersionAlias;
+import org.finos.legend.depot.store.api.projects.ProjectsVersions;
+import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
+import org.slf4j.Logger;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the versions the latest and head aliases last resolved to, so alias lookups do not hit the store on every request.
+ * Entries are dropped when the store reports versions of their project as updated (polled in the background every
+ * maxStaleness / POLLS_PER_STALENESS_PERIOD) or when written through this process, and never outlive maxStaleness.
+ */
+public class VersionAliasCache
+{
+    public static final String ALIAS_CACHE_HITS = "alias_cache_hits";
+    public static final String ALIAS_CACHE_HITS_HELP = "version aliases resolved from memory";
+    public static final String ALIAS_CACHE_MISSES = "alias_cache_misses";
+    public static final String ALIAS_CACHE_MISSES_HELP = "version aliases resolved from the store";
+    public static final String ALIAS_CACHE_INVALIDATIONS = "alias_cache_invalidations";
+    public static final String ALIAS_CACHE_INVALIDATIONS_HELP = "projects whose cached version aliases were dropped after an update";
+    public static final String ALIAS_CACHE_SIZE = "alias_cache_size";
+    public static final String ALIAS_CACHE_SIZE_HELP = "version aliases held in memory";
+
+    private static final MetricHandle<CounterHandle> HITS = MetricHandle.of(metrics -> metrics.counter(ALIAS_CACHE_HITS));
+    private static final MetricHandle<CounterHandle> MISSES = MetricHandle.of(metrics -> metrics.counter(ALIAS_CACHE_MISSES));
+    private static final MetricHandle<CounterHandle> INVALIDATIONS = MetricHandle.of(metrics -> metrics.counter(ALIAS_CACHE_INVALIDATIONS));
+    private static final MetricHandle<GaugeHandle> SIZE = MetricHandle.of(metrics -> metrics.gauge(ALIAS_CACHE_SIZE));
+
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(VersionAliasCache.class);
+    private static final int POLLS_PER_STALENESS_PERIOD = 5;
+    private static final int POLL_BATCH_SIZE = 1000;
+
+    private final ProjectsVersions projectsVersions;
+    private final long maxStalenessMillis;
+    private final long pollIntervalMillis;
+    private final LongSupplier clock;
+    private final Map<String, CachedAlias> aliases = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicLong lastPolled;
+
+    public VersionAliasCache(ProjectsVersions projectsVersions, long maxStalenessMillis)
+    {
+        this(projectsVersions, maxStalenessMillis, System::currentTimeMillis);
+        if (isEnabled() && pollIntervalMillis > 0)
+        {
+            ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable ->
+            {
+                Thread thread = new Thread(runnable, "version-alias-cache-poller");
+                thread.setDaemon(true);
+                return thread;
+            });
+            poller.scheduleWithFixedDelay(this::pollForUpdates, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    VersionAliasCache(ProjectsVersions projectsVersions, long maxStalenessMillis, LongSupplier clock)
+    {
+        this.projectsVersions = projectsVersions;
+        this.maxStalenessMillis = Math.max(0, maxStalenessMillis);
+        this.pollIntervalMillis = this.maxStalenessMillis / POLLS_PER_STALENESS_PERIOD;
+        this.clock = clock;
+        this.lastPolled = new AtomicLong(clock.getAsLong());
+    }
+
+    public static VersionAliasCache disabled()
+    {
+        return new VersionAliasCache(null, 0);
+    }
+
+    public boolean isEnabled()
+    {
+        return maxStalenessMillis > 0;
+    }
+
+    public static boolean isCacheable(String versionId)
+    {
+        return VersionAlias.LATEST.getName().equals(versionId) || VersionAlias.HEAD.getName().equals(versionId);
+    }
+
+    public Optional<ResolvedVersion> resolve(String groupId, String artifactId, String alias, Supplier<Optional<StoreProjectVersionData>> loader)
+    {
+        if (!isEnabled() || !isCacheable(alias))
+        {
+            return loader.get().map(ResolvedVersion::of);
+        }
+
+        String key = key(groupId, artifactId, alias);
+        long now = clock.getAsLong();
+        CachedAlias cached = aliases.get(key);
+        if (cached != null && now - cached.loadedAt < maxStalenessMillis)
+        {
+            HITS.get().increment();
+            return Optional.of(cached.version);
+        }
+        MISSES.get().increment();
+
+        long loadedGeneration = generation.get();
+        Optional<ResolvedVersion> resolved = loader.get().map(ResolvedVersion::of);
+        // unknown projects are not cached so that arbitrary coordinates cannot grow the cache
+        if (resolved.isPresent() && loadedGeneration == generation.get())
+        {
+            aliases.put(key, new CachedAlias(now, resolved.get()));
+        }
+        else
+        {
+            aliases.remove(key);
+        }
+        SIZE.get().set(aliases.size());
+        return resolved;
+    }
+
+    public void invalidate(String groupId, String artifactId)
+    {
+        if (!isEnabled())
+        {
+            return;
+        }
+        generation.incrementAndGet();
+        boolean removed = false;
+        for (VersionAlias alias : VersionAlias.values())
+        {
+            removed |= aliases.remove(key(groupId, artifactId, alias.getName())) != null;
+        }
+        if (removed)
+        {
+            INVALIDATIONS.get().increment();
+        }
+    }
+
+    public void invalidateAll()
+    {
+        generation.incrementAndGet();
+        aliases.clear();
+    }
+
+    int size()
+    {
+        return aliases.size();
+    }
+
+    void pollForUpdates()
+    {
+        long now = clock.getAsLong();
+        long from = lastPolled.get();
+        // the window overlaps the previous one so writes stamped by a server whose clock lags this one are not missed
+        try (Stream<StoreProjectVersionData> updated = projectsVersions.findUpdatedCoordinates(from - pollIntervalMillis, POLL_BATCH_SIZE))
+        {
+            Map<String, StoreProjectVersionData> projects = updated.collect(Collectors.toMap(pv -> pv.getGroupId() + ":" + pv.getArtifactId(), pv -> pv, (first, second) -> first));
+            projects.values().forEach(pv -> invalidate(pv.getGroupId(), pv.getArtifactId()));
+            lastPolled.set(now);
+        }
+        catch (Exception e)
+        {
+            LOGGER.warn("could not poll for updated project versions, cached aliases will expire within {} ms: {}", maxStalenessMillis, e.getMessage());
+        }
+    }
+
+    private static String key(String groupId, String artifactId, String alias)
+    {
+        return groupId + ":" + artifactId + ":" + alias;
+    }
+
+    public static final class ResolvedVersion
+    {
+        private final String versionId;
+        private final boolean excluded;
+        private final String exclusionReason;
+        private final boolean evicted;
+
+        private ResolvedVersion(String versionId, boolean excluded, String exclusionReason, boolean evicted)
+        {
+            this.versionId = versionId;
+            this.excluded = excluded;
+            this.exclusionReason = exclusionReason;
+            this.evicted = evicted;
+        }
+
+        static ResolvedVersion of(StoreProjectVersionData projectVersion)
+        {
+            return new ResolvedVersion(projectVersion.getVersionId(), projectVersion.getVersionData().isExcluded(), projectVersion.getVersionData().getExclusionReason(), projectVersion.isEvicted());
+        }
+
+        public String getVersionId()
+        {
+            return versionId;
+        }
+
+        public boolean isExcluded()
+        {
+            return excluded;
+        }
+
+        public String getExclusionReason()
+        {
+            return exclusionReason;
+        }
+
+        public boolean isEvicted()
+        {
+            return evicted;
+        }
+    }
+
+    private static final class CachedAlias
+    {
+        private final long loadedAt;
+        private final ResolvedVersion version;
+
+        private CachedAlias(long loadedAt, ResolvedVersion version)
+        {
+            this.loadedAt = loadedAt;
+            this.version = version;
+        }
+    }
+}
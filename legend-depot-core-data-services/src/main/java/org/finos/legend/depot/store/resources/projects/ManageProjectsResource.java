@@ -20,6 +20,7 @@ import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.finos.legend.depot.core.services.api.authorisation.AuthorisationProvider;
 import org.finos.legend.depot.core.services.authorisation.resources.AuthorisedResource;
+import org.finos.legend.depot.domain.project.ProjectSummary;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.services.api.projects.ManageProjectsService;
 import org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing;
@@ -28,6 +29,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
 import javax.ws.rs.DELETE;
+import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -35,6 +37,7 @@ import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
 import javax.ws.rs.core.MediaType;
 import java.security.Principal;
+import java.util.List;
 
 @Path("")
 @Api("Projects")
@@ -58,6 +61,19 @@ public class ManageProjectsResource extends AuthorisedResource
         return PROJECTS_RESOURCE;
     }
 
+    @GET
+    @Path("/projects/summary")
+    @ApiOperation(ResourceLoggingAndTracing.GET_PROJECTS_SUMMARY)
+    @Produces(MediaType.APPLICATION_JSON)
+    public List<ProjectSummary> getProjectsSummary()
+    {
+        return handle(ResourceLoggingAndTracing.GET_PROJECTS_SUMMARY, () ->
+        {
+            validateUser();
+            return projectApi.getProjectsSummary();
+        });
+    }
+
     @PUT
     @Path("/projects/{projectId}/{groupId}/{artifactId}")
     @ApiOperation(ResourceLoggingAndTracing.CREATE_UPDATE_PROJECT)
@@ -0,0 +1,134 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.dependencies;
+
+import org.eclipse.collections.api.block.function.Function2;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+public class TestDependencyUtil
+{
+    private static final int CLOSURE_SIZE = 300;
+    private static final int OVERRIDES = 50;
+
+    private final DependencyUtil dependencyUtil = new DependencyUtil();
+
+    private static ProjectVersion version(int project, String versionId)
+    {
+        return new ProjectVersion("examples.metadata", "project" + project, versionId);
+    }
+
+    // project i depends on projects 2i+1 and 2i+2, so every version has a small closure of its own
+    private static Set<ProjectVersion> closureOf(ProjectVersion projectVersion)
+    {
+        int project = Integer.parseInt(projectVersion.getArtifactId().substring("project".length()));
+        Set<ProjectVersion> closure = new HashSet<>();
+        for (int child = 2 * project + 1; child < CLOSURE_SIZE; child = 2 * child + 1)
+        {
+            closure.add(version(child, "1.0.0"));
+            if (child + 1 < CLOSURE_SIZE)
+            {
+                closure.add(version(child + 1, "1.0.0"));
+            }
+        }
+        return closure;
+    }
+
+    private static List<ProjectVersion> reference(List<ProjectVersion> dependencies, List<ProjectVersion> overridingDependencies, Function2<List<ProjectVersion>, Boolean, Set<ProjectVersion>> function)
+    {
+        Map<String, List<ProjectVersion>> dependenciesLocator = dependencies.stream().collect(Collectors.groupingBy(dep -> dep.getGroupId() + ":" + dep.getArtifactId()));
+        Set<ProjectVersion> overridden = overridingDependencies.stream().map(dep -> dependenciesLocator.getOrDefault(dep.getGroupId() + ":" + dep.getArtifactId(), Collections.emptyList())).flatMap(Collection::stream).collect(Collectors.toSet());
+        overridden.removeAll(overridingDependencies);
+        Set<ProjectVersion> deleted = overridden.stream().map(dep -> function.apply(Collections.singletonList(dep), true)).flatMap(Collection::stream).collect(Collectors.toSet());
+        List<ProjectVersion> result = new ArrayList<>(dependencies);
+        result.removeAll(deleted);
+        result.removeAll(overridden);
+        return result;
+    }
+
+    @Test
+    public void overridesFiftyVersionsOfALargeClosureWithoutChangingInputs()
+    {
+        List<ProjectVersion> dependencies = new ArrayList<>();
+        for (int i = 1; i < CLOSURE_SIZE; i++)
+        {
+            dependencies.add(version(i, "1.0.0"));
+        }
+        List<ProjectVersion> overrides = new ArrayList<>();
+        for (int i = 0; i < OVERRIDES; i++)
+        {
+            overrides.add(version(1 + 3 * i, i % 2 == 0 ? "2.0.0" : "1.0.0"));
+        }
+        List<ProjectVersion> dependenciesCopy = new ArrayList<>(dependencies);
+        List<ProjectVersion> overridesCopy = new ArrayList<>(overrides);
+        Function2<List<ProjectVersion>, Boolean, Set<ProjectVersion>> closures = (versions, transitive) -> closureOf(versions.get(0));
+
+        List<ProjectVersion> result = dependencyUtil.overrideWith(dependencies, overrides, closures);
+
+        Assertions.assertEquals(dependenciesCopy, dependencies);
+        Assertions.assertEquals(overridesCopy, overrides);
+        Assertions.assertEquals(reference(dependencies, overrides, closures), result);
+        Assertions.assertTrue(result.size() < CLOSURE_SIZE - 1 - OVERRIDES / 2);
+    }
+
+    @Test
+    public void closuresAreComputedOncePerVersion()
+    {
+        AtomicInteger calls = new AtomicInteger();
+        Map<ProjectVersion, Set<ProjectVersion>> cache = new ConcurrentHashMap<>();
+        Function2<List<ProjectVersion>, Boolean, Set<ProjectVersion>> closures = DependencyUtil.memoizeClosures((versions, transitive) ->
+        {
+            calls.incrementAndGet();
+            return closureOf(versions.get(0));
+        }, cache);
+
+        List<ProjectVersion> dependencies = new ArrayList<>();
+        for (int i = 1; i < 20; i++)
+        {
+            dependencies.add(version(i, "1.0.0"));
+        }
+        List<ProjectVersion> overrides = Collections.singletonList(version(3, "2.0.0"));
+        for (int run = 0; run < 5; run++)
+        {
+            dependencyUtil.overrideWith(dependencies, overrides, closures);
+        }
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(closureOf(version(3, "1.0.0")), cache.get(version(3, "1.0.0")));
+    }
+
+    @Test
+    public void keepsDependenciesWhenNothingIsOverridden()
+    {
+        List<ProjectVersion> dependencies = Collections.unmodifiableList(new ArrayList<>(Collections.singletonList(version(1, "1.0.0"))));
+        Map<ProjectVersion, Set<ProjectVersion>> unused = new HashMap<>();
+        List<ProjectVersion> result = dependencyUtil.overrideWith(dependencies, Collections.singletonList(version(1, "1.0.0")), (versions, transitive) -> unused.get(versions.get(0)));
+        Assertions.assertEquals(dependencies, result);
+        Assertions.assertNotSame(dependencies, result);
+    }
+}
@@ -0,0 +1,70 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.dependencies;
+
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.project.dependencies.ProjectDependencyGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+public class TestProjectDependencyAdjacency
+{
+    private static final ProjectVersion A = new ProjectVersion("examples.metadata", "a", "1.0.0");
+    private static final ProjectVersion B = new ProjectVersion("examples.metadata", "b", "1.0.0");
+    private static final ProjectVersion C = new ProjectVersion("examples.metadata", "c", "1.0.0");
+    private static final ProjectVersion D = new ProjectVersion("examples.metadata", "d", "1.0.0");
+
+    private Map<ProjectVersion, List<ProjectVersion>> diamond()
+    {
+        Map<ProjectVersion, List<ProjectVersion>> dependencies = new HashMap<>();
+        dependencies.put(A, Arrays.asList(B, C));
+        dependencies.put(B, Collections.singletonList(D));
+        dependencies.put(C, Arrays.asList(D, D));
+        dependencies.put(D, Collections.emptyList());
+        return dependencies;
+    }
+
+    @Test
+    public void buildsGraphReachableFromRoots()
+    {
+        ProjectDependencyAdjacency adjacency = ProjectDependencyAdjacency.build(diamond());
+        Assertions.assertEquals(4, adjacency.size());
+
+        ProjectDependencyGraph graph = adjacency.toGraph(Collections.singletonList(A));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(A, B, C, D)), graph.getNodes());
+        Assertions.assertEquals(Collections.singleton(A), graph.getRootNodes());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(B, C)), graph.getForwardEdges().get(A));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(B, C)), graph.getBackEdges().get(D));
+
+        ProjectDependencyGraph subGraph = adjacency.toGraph(Collections.singletonList(B));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(B, D)), subGraph.getNodes());
+    }
+
+    @Test
+    public void rootsReachedFromEarlierRootsAreNotRootNodes()
+    {
+        ProjectDependencyAdjacency adjacency = ProjectDependencyAdjacency.build(diamond());
+        Assertions.assertEquals(Collections.singleton(A), adjacency.toGraph(Arrays.asList(A, C)).getRootNodes());
+        Assertions.assertEquals(new HashSet<>(Arrays.asList(C, A)), adjacency.toGraph(Arrays.asList(C, A)).getRootNodes());
+    }
+}
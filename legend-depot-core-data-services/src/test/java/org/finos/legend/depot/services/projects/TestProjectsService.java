@@ -20,6 +20,7 @@ import org.eclipse.collections.api.map.MutableMap;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.artifacts.repository.DependencyExclusion;
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
+import org.finos.legend.depot.domain.project.ProjectSummary;
 import org.finos.legend.depot.domain.project.ProjectVersionData;
 import org.finos.legend.depot.services.api.dependencies.DependencyConflict;
 import org.finos.legend.depot.services.api.dependencies.DependencyResponseModel;
@@ -40,6 +41,7 @@ import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.services.api.projects.configuration.ProjectsConfiguration;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.store.mongo.notifications.queue.NotificationsQueueMongo;
+import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 import org.finos.legend.engine.language.pure.dsl.generation.extension.Artifact;
 import org.finos.legend.sdlc.domain.model.project.Project;
 import org.finos.legend.sdlc.domain.model.version.VersionId;
@@ -64,7 +66,14 @@ import java.util.ArrayList;
 import java.util.stream.Collectors;
 
 import static org.finos.legend.depot.domain.version.VersionValidator.BRANCH_SNAPSHOT;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class TestProjectsService extends TestBaseServices
 {
@@ -274,6 +283,56 @@ public class TestProjectsService extends TestBaseServices
         Assertions.assertEquals(storeProjectVersionData.getVersionData().getExclusionReason(),EXCLUSION_REASON);
     }
 
+    @Test
+    public void dependencyGraphIsLoadedOneLayerAtATime()
+    {
+        List<ProjectVersion> chain = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+        {
+            chain.add(new ProjectVersion("examples.chain", "level" + i, "1.0.0"));
+            projectsStore.createOrUpdate(new StoreProjectData("PROD-" + i, "examples.chain", "level" + i));
+        }
+        for (int i = 0; i < chain.size(); i++)
+        {
+            // no transitive reports, so every layer has to be discovered by the walk
+            StoreProjectVersionData versionData = new StoreProjectVersionData("examples.chain", "level" + i, "1.0.0");
+            if (i + 1 < chain.size())
+            {
+                versionData.getVersionData().addDependency(chain.get(i + 1));
+            }
+            projectsVersionsStore.createOrUpdate(versionData);
+        }
+
+        ProjectsVersionsMongo versionsStore = spy((ProjectsVersionsMongo) projectsVersionsStore);
+        ProjectsServiceImpl service = new ProjectsServiceImpl(versionsStore, projectsStore, metrics, queue, new ProjectsConfiguration("master"));
+        ProjectDependencyReport report = service.getProjectDependencyReport("examples.chain", "level0", "1.0.0");
+
+        Assertions.assertEquals(4, report.getGraph().getNodes().size());
+        Assertions.assertEquals("PROD-3", report.getGraph().getNodes().get("examples.chain:level3:1.0.0").getProjectId());
+        verify(versionsStore, times(chain.size())).findDependencyGraphNodes(any(), anyBoolean());
+        verify(versionsStore, never()).find(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    public void canGetProjectsSummary()
+    {
+        projectsService.excludeProjectVersion("examples.metadata", "test", "2.3.1", "too big");
+        projectsService.markEvicted(Collections.singletonList(new ProjectVersion("examples.metadata", "test", "2.2.0")));
+        projectsVersionsStore.createOrUpdate(new StoreProjectVersionData("examples.metadata", "test", BRANCH_SNAPSHOT("master")));
+
+        List<StoreProjectData> projects = projectsService.getAllProjectCoordinates();
+        List<ProjectSummary> summary = projectsService.getProjectsSummary();
+        Assertions.assertEquals(projects.size(), summary.size());
+        Assertions.assertEquals(projects.size(), new HashSet<>(summary).size());
+        summary.forEach(s -> Assertions.assertEquals(projectsVersionsStore.getVersionCount(s.groupId, s.artifactId), s.versions));
+
+        ProjectSummary test = summary.stream().filter(s -> s.groupId.equals("examples.metadata") && s.artifactId.equals("test")).findFirst().get();
+        Assertions.assertEquals(1, test.excludedVersions);
+        Assertions.assertEquals(1, test.evictedVersions);
+        Assertions.assertEquals(projectsService.findSnapshotVersions("examples.metadata", "test").size(), test.snapshotVersions);
+        Assertions.assertEquals(projectsService.findCoordinates("examples.metadata", "test").get().getLatestVersion(), test.latestVersion);
+    }
+
     @Test
     public void canGetProjectCoordinatesByGA()
     {
@@ -530,6 +589,82 @@ public class TestProjectsService extends TestBaseServices
 
     }
 
+    @Test
+    public void exclusionsAreResolvedInOnePassWithTheSameResult()
+    {
+        // B -> E -> F, D -> E -> F, D -> G -> H
+        // B excludes E, D excludes E and G
+        ProjectVersion e = new ProjectVersion("examples.metadata", "teste", "1.0.0");
+        ProjectVersion f = new ProjectVersion("examples.metadata", "testf", "1.0.0");
+        ProjectVersion g = new ProjectVersion("examples.metadata", "testg", "1.0.0");
+        ProjectVersion h = new ProjectVersion("examples.metadata", "testh", "1.0.0");
+        StoreProjectVersionData projectB = new StoreProjectVersionData("examples.metadata", "testb", "1.0.0");
+        projectB.getVersionData().setDependencies(Arrays.asList(e));
+        projectB.setTransitiveDependenciesReport(new VersionDependencyReport(Arrays.asList(e, f), true));
+        StoreProjectVersionData projectD = new StoreProjectVersionData("examples.metadata", "testd", "1.0.0");
+        projectD.getVersionData().setDependencies(Arrays.asList(e, g));
+        projectD.setTransitiveDependenciesReport(new VersionDependencyReport(Arrays.asList(e, f, g, h), true));
+        StoreProjectVersionData projectE = new StoreProjectVersionData("examples.metadata", "teste", "1.0.0");
+        projectE.getVersionData().setDependencies(Arrays.asList(f));
+        projectE.setTransitiveDependenciesReport(new VersionDependencyReport(Arrays.asList(f), true));
+        StoreProjectVersionData projectG = new StoreProjectVersionData("examples.metadata", "testg", "1.0.0");
+        projectG.getVersionData().setDependencies(Arrays.asList(h));
+        projectG.setTransitiveDependenciesReport(new VersionDependencyReport(Arrays.asList(h), true));
+        Arrays.asList(projectB, projectD, projectE, projectG,
+                new StoreProjectVersionData("examples.metadata", "testf", "1.0.0"),
+                new StoreProjectVersionData("examples.metadata", "testh", "1.0.0")).forEach(projectsService::createOrUpdate);
+
+        List<ArtifactDependency> artifactDependencies = Arrays.asList(
+                new ArtifactDependency("examples.metadata", "testb", "1.0.0", Arrays.asList(new DependencyExclusion("examples.metadata", "teste"))),
+                new ArtifactDependency("examples.metadata", "testd", "1.0.0", Arrays.asList(new DependencyExclusion("examples.metadata", "teste"), new DependencyExclusion("examples.metadata", "testg"))));
+
+        // what resolving every exclusion separately produces
+        Map<String, List<ProjectVersion>> expected = DependencyExclusionsUtil.createDependencyExclusionsMap(artifactDependencies);
+        expected.replaceAll((key, exclusions) ->
+        {
+            ProjectVersion directDependency = ProjectVersionData.reverseDependencyKey(key);
+            Set<ProjectVersion> allDependencies = projectsService.getDependencies(Collections.singletonList(directDependency), true);
+            Set<ProjectVersion> withTransitive = new HashSet<>();
+            exclusions.forEach(exclusion ->
+            {
+                allDependencies.stream().filter(d -> d.getGa().equals(exclusion.getGa())).findFirst().ifPresent(d -> exclusion.setVersionId(d.getVersionId()));
+                withTransitive.add(exclusion);
+                withTransitive.addAll(projectsService.getDependenciesMaven(Collections.singletonList(exclusion), new HashMap<>(), true));
+            });
+            return new ArrayList<>(withTransitive);
+        });
+
+        ManageProjectsService service = spy(projectsService);
+        Map<String, List<ProjectVersion>> actual = DependencyExclusionsUtil.getTransitiveDependenciesOfExclusions(DependencyExclusionsUtil.createDependencyExclusionsMap(artifactDependencies), service);
+
+        Assertions.assertEquals(expected.keySet(), actual.keySet());
+        expected.forEach((key, exclusions) -> Assertions.assertEquals(new HashSet<>(exclusions), new HashSet<>(actual.get(key))));
+        Assertions.assertEquals(Sets.mutable.with(e, f, g, h), new HashSet<>(actual.get(ProjectVersionData.createDependencyKey(new ProjectVersion("examples.metadata", "testd", "1.0.0")))));
+        verify(service, times(1)).getTransitiveDependenciesMavenOfEach(any());
+        verify(service, never()).getDependenciesMaven(any(), any(), anyBoolean());
+    }
+
+    @Test
+    public void exclusionsWithoutValidReportsAreCollectedWithMaven()
+    {
+        // B -> E -> F, B excludes E whose report is invalid
+        ProjectVersion e = new ProjectVersion("examples.metadata", "teste", "1.0.0");
+        ProjectVersion f = new ProjectVersion("examples.metadata", "testf", "1.0.0");
+        StoreProjectVersionData projectB = new StoreProjectVersionData("examples.metadata", "testb", "1.0.0");
+        projectB.getVersionData().setDependencies(Arrays.asList(e));
+        projectB.setTransitiveDependenciesReport(new VersionDependencyReport(Arrays.asList(e, f), true));
+        StoreProjectVersionData projectE = new StoreProjectVersionData("examples.metadata", "teste", "1.0.0");
+        projectE.getVersionData().setDependencies(Arrays.asList(f));
+        projectE.setTransitiveDependenciesReport(new VersionDependencyReport(Collections.emptyList(), false));
+        Arrays.asList(projectB, projectE, new StoreProjectVersionData("examples.metadata", "testf", "1.0.0")).forEach(projectsService::createOrUpdate);
+
+        List<ArtifactDependency> artifactDependencies = Arrays.asList(
+                new ArtifactDependency("examples.metadata", "testb", "1.0.0", Arrays.asList(new DependencyExclusion("examples.metadata", "teste"))));
+        Map<String, List<ProjectVersion>> actual = DependencyExclusionsUtil.getTransitiveDependenciesOfExclusions(DependencyExclusionsUtil.createDependencyExclusionsMap(artifactDependencies), projectsService);
+
+        Assertions.assertEquals(Sets.mutable.with(e, f), new HashSet<>(actual.get(ProjectVersionData.createDependencyKey(new ProjectVersion("examples.metadata", "testb", "1.0.0")))));
+    }
+
     @Test
     public void canGenerateReportForOverriddenDependenciesCase1()
     {
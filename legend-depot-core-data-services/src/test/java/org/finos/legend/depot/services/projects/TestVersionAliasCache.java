@@ -0,0 +1,110 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.services.projects;
+
+import org.finos.legend.depot.store.api.projects.ProjectsVersions;
+import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+public class TestVersionAliasCache
+{
+    private static final long MAX_STALENESS = 10000;
+
+    private final ProjectsVersions projectsVersions = Mockito.mock(ProjectsVersions.class);
+    private final AtomicLong clock = new AtomicLong(1000);
+    private final AtomicInteger loads = new AtomicInteger();
+    private final VersionAliasCache cache = new VersionAliasCache(projectsVersions, MAX_STALENESS, clock::get);
+
+    private Supplier<Optional<StoreProjectVersionData>> loader(String versionId)
+    {
+        return () ->
+        {
+            loads.incrementAndGet();
+            return Optional.of(new StoreProjectVersionData("examples.metadata", "test", versionId));
+        };
+    }
+
+    @Test
+    public void servesAliasesFromMemoryUntilStale()
+    {
+        Assertions.assertEquals("2.0.0", cache.resolve("examples.metadata", "test", "latest", loader("2.0.0")).get().getVersionId());
+        Assertions.assertEquals("2.0.0", cache.resolve("examples.metadata", "test", "latest", loader("2.0.1")).get().getVersionId());
+        Assertions.assertEquals(1, loads.get());
+
+        clock.addAndGet(MAX_STALENESS);
+        Assertions.assertEquals("2.0.1", cache.resolve("examples.metadata", "test", "latest", loader("2.0.1")).get().getVersionId());
+        Assertions.assertEquals(2, loads.get());
+        // updates are polled in the background, never on the resolving thread
+        Mockito.verifyNoInteractions(projectsVersions);
+    }
+
+    @Test
+    public void dropsAliasesOfProjectsUpdatedInStore()
+    {
+        cache.resolve("examples.metadata", "test", "latest", loader("2.0.0"));
+        cache.resolve("examples.metadata", "test", "head", loader("master-SNAPSHOT"));
+        Assertions.assertEquals(2, cache.size());
+
+        Mockito.when(projectsVersions.findUpdatedCoordinates(anyLong(), anyInt())).thenAnswer(invocation -> Stream.of(new StoreProjectVersionData("examples.metadata", "test", "2.0.1"), new StoreProjectVersionData("examples.metadata", "test", "2.0.2")));
+        clock.addAndGet(MAX_STALENESS / 2);
+        cache.pollForUpdates();
+        Assertions.assertEquals(0, cache.size());
+        Assertions.assertEquals("2.0.1", cache.resolve("examples.metadata", "test", "latest", loader("2.0.1")).get().getVersionId());
+        Assertions.assertEquals(3, loads.get());
+        Assertions.assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void dropsAliasesWrittenThroughThisProcess()
+    {
+        cache.resolve("examples.metadata", "test", "latest", loader("2.0.0"));
+        cache.invalidate("examples.metadata", "test");
+        Assertions.assertEquals("2.0.1", cache.resolve("examples.metadata", "test", "latest", loader("2.0.1")).get().getVersionId());
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void doesNotCacheUnknownProjectsOrVersions()
+    {
+        Assertions.assertFalse(cache.resolve("examples.metadata", "unknown", "latest", Optional::empty).isPresent());
+        Assertions.assertEquals(0, cache.size());
+
+        cache.resolve("examples.metadata", "test", "2.0.0", loader("2.0.0"));
+        cache.resolve("examples.metadata", "test", "2.0.0", loader("2.0.0"));
+        Assertions.assertEquals(2, loads.get());
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void disabledCacheAlwaysLoads()
+    {
+        VersionAliasCache disabled = VersionAliasCache.disabled();
+        disabled.resolve("examples.metadata", "test", "latest", loader("2.0.0"));
+        disabled.resolve("examples.metadata", "test", "latest", loader("2.0.0"));
+        Assertions.assertEquals(2, loads.get());
+    }
+}
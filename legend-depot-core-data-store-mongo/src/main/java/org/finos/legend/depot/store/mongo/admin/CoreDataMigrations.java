@@ -22,6 +22,7 @@ import org.finos.legend.depot.store.mongo.admin.migrations.ProjectToProjectVersi
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.Map;
 
 @Deprecated
 public final class CoreDataMigrations extends MongoMigrations
@@ -50,6 +51,12 @@ public final class CoreDataMigrations extends MongoMigrations
         new DependenciesMigration(mongoDatabase).calculateTransitiveDependenciesForAllProjectVersions();
     }
 
+    @Deprecated
+    public Map<String, Object> getTransitiveDependenciesProgress()
+    {
+        return new DependenciesMigration(mongoDatabase).getTransitiveDependenciesProgress();
+    }
+
     @Deprecated
     public void addTransitiveDependenciesToVersionData()
     {
@@ -61,5 +68,10 @@ public final class CoreDataMigrations extends MongoMigrations
     {
         new ProjectToProjectVersionMigration(mongoDatabase).addLatestVersionToProjectData();
     }
+
+    public long addVersionSortKeys()
+    {
+        return new ProjectToProjectVersionMigration(mongoDatabase).addVersionSortKeys();
+    }
 }
 
@@ -19,13 +19,18 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
 import org.bson.conversions.Bson;
-import org.eclipse.collections.api.block.function.Function3;
-import org.eclipse.collections.api.map.ConcurrentMutableMap;
-import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.domain.project.dependencies.VersionDependencyReport;
@@ -33,19 +38,21 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 import org.slf4j.Logger;
 
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.function.Function;
 import java.util.stream.Collectors;
 
-import static com.mongodb.client.model.Filters.and;
-import static com.mongodb.client.model.Filters.eq;
-
 @Deprecated
 public final class DependenciesMigration
 {
@@ -55,8 +62,18 @@ public final class DependenciesMigration
     private static final String INVALID_DEPENDENCIES = "%s-%s-%s has invalid transitive dependencies";
     private static final String EXCLUDED_DEPENDENCY = "%s-%s-%s is an excluded dependency";
     private static final String VERSIONS_COLLECTION = "versionsTemp";
+    private static final String CHECKPOINT_COLLECTION = "versionsTempCheckpoint";
+    private static final String CHECKPOINT_ID = "transitiveDependencies";
+    private static final String TRANSITIVE_DEPENDENCIES_REPORT = "transitiveDependenciesReport";
+    private static final String VERSION_DATA_DEPENDENCIES = "versionData.dependencies";
+    private static final String VERSION_DATA_EXCLUDED = "versionData.excluded";
+    private static final String GAV = "gav";
+    public static final String TOTAL = "total";
+    public static final String COMPLETED = "completed";
+    public static final String FINISHED = "finished";
+    public static final String UPDATED = "updated";
 
-    private final ConcurrentMutableMap<ProjectVersion, VersionDependencyReport> transitiveDependenciesMap = new ConcurrentHashMap<>();
+    private final ObjectMapper mapper = new ObjectMapper();
 
     public DependenciesMigration(MongoDatabase mongoDatabase)
     {
@@ -66,24 +83,57 @@ public final class DependenciesMigration
     @Deprecated
     public void calculateTransitiveDependenciesForAllProjectVersions()
     {
-        MongoCollection<Document> versionsCollection = mongoDatabase.getCollection(ProjectsVersionsMongo.COLLECTION);
-        mongoDatabase.getCollection(VERSIONS_COLLECTION).drop();
         MongoCollection<Document> tempVersionCollection = mongoDatabase.getCollection(VERSIONS_COLLECTION);
-        List<StoreProjectVersionData> versionData = new ArrayList<>();
-        versionsCollection.find().forEach((Consumer<Document>) document -> versionData.add(BaseMongo.convert(new ObjectMapper(), document, StoreProjectVersionData.class)));
-        List<StoreProjectVersionData> versionsToUpdate = calculateTransitiveDependenciesForAllVersions(versionData);
-        try
+        Document checkpoint = mongoDatabase.getCollection(CHECKPOINT_COLLECTION).find(Filters.eq(BaseMongo.ID_FIELD, CHECKPOINT_ID)).first();
+        if (checkpoint == null || checkpoint.getBoolean(FINISHED, false))
+        {
+            LOGGER.info("Starting transitive dependencies calculation");
+            tempVersionCollection.drop();
+            tempVersionCollection.createIndex(Indexes.ascending(GAV), new IndexOptions().unique(true));
+        }
+        else
+        {
+            LOGGER.info(String.format("Resuming transitive dependencies calculation from checkpoint: [%s] of [%s] completed", checkpoint.get(COMPLETED), checkpoint.get(TOTAL)));
+        }
+
+        Set<ProjectVersion> excluded = new HashSet<>();
+        Map<ProjectVersion, List<ProjectVersion>> directDependencies = readDependencyGraph(excluded);
+        List<ProjectVersion> versionsInDependencyOrder = dependencyOrder(directDependencies);
+        Set<String> completed = new HashSet<>();
+        tempVersionCollection.find().projection(Projections.include(GAV)).batchSize(BaseMongo.DEFAULT_BATCH_SIZE).forEach((Consumer<Document>) document -> completed.add(document.getString(GAV)));
+        LOGGER.info(String.format("Dependencies count for calculation: [%s], already completed: [%s]", versionsInDependencyOrder.size(), completed.size()));
+
+        long total = versionsInDependencyOrder.size();
+        long done = versionsInDependencyOrder.stream().filter(pv -> completed.contains(pv.getGav())).count();
+        saveCheckpoint(total, done, false);
+        List<ProjectVersion> batch = new ArrayList<>();
+        for (ProjectVersion projectVersion : versionsInDependencyOrder)
         {
-            versionsToUpdate.forEach(pv ->
+            if (completed.contains(projectVersion.getGav()))
             {
-                tempVersionCollection.insertOne(BaseMongo.buildDocument(pv));
-                LOGGER.info(String.format("%s-%s-%s insertion completed",pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
-            });
+                continue;
+            }
+            batch.add(projectVersion);
+            if (batch.size() == BaseMongo.DEFAULT_BATCH_SIZE)
+            {
+                done += calculateBatch(batch, directDependencies, excluded, tempVersionCollection);
+                saveCheckpoint(total, done, false);
+                batch.clear();
+            }
         }
-        catch (Exception e)
+        if (!batch.isEmpty())
         {
-            LOGGER.info(String.format("Error while inserting data:%s", e));
+            done += calculateBatch(batch, directDependencies, excluded, tempVersionCollection);
         }
+        saveCheckpoint(total, done, true);
+        LOGGER.info(String.format("Dependencies calculation completed: [%s]", done));
+    }
+
+    @Deprecated
+    public Map<String, Object> getTransitiveDependenciesProgress()
+    {
+        Document checkpoint = mongoDatabase.getCollection(CHECKPOINT_COLLECTION).find(Filters.eq(BaseMongo.ID_FIELD, CHECKPOINT_ID)).projection(Projections.excludeId()).first();
+        return checkpoint == null ? Collections.emptyMap() : checkpoint;
     }
 
     @Deprecated
@@ -91,105 +141,156 @@ public final class DependenciesMigration
     {
         MongoCollection<Document> versionsCollection = mongoDatabase.getCollection(ProjectsVersionsMongo.COLLECTION);
         MongoCollection<Document> tempVersionCollection = mongoDatabase.getCollection(VERSIONS_COLLECTION);
-        List<StoreProjectVersionData> versionData = new ArrayList<>();
-        tempVersionCollection.find().forEach((Consumer<Document>) document -> versionData.add(BaseMongo.convert(new ObjectMapper(), document, StoreProjectVersionData.class)));
-        versionData.forEach(pv ->
+        Bson projection = Projections.include(BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, TRANSITIVE_DEPENDENCIES_REPORT);
+        List<WriteModel<Document>> updates = new ArrayList<>();
+        tempVersionCollection.find().projection(projection).batchSize(BaseMongo.DEFAULT_BATCH_SIZE).forEach((Consumer<Document>) document ->
         {
-            LOGGER.info(String.format("Updating project version with transitive dependencies: %s-%s-%s", pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
-            versionsCollection.updateOne(getArtifactAndVersionFilter(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()), Updates.combine(
+            StoreProjectVersionData pv = BaseMongo.convert(mapper, document, StoreProjectVersionData.class);
+            updates.add(new UpdateOneModel<>(getArtifactAndVersionFilter(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()), Updates.combine(
                     Updates.addEachToSet("transitiveDependenciesReport.transitiveDependencies", buildProjectVersionDocument(pv.getTransitiveDependenciesReport().getTransitiveDependencies())),
-                    Updates.set("transitiveDependenciesReport.valid", pv.getTransitiveDependenciesReport().isValid())));
-            LOGGER.info(String.format("Completed updating project version with transitive dependencies: %s-%s-%s", pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
-        });
-    }
-
-    private List<StoreProjectVersionData> calculateTransitiveDependenciesForAllVersions(List<StoreProjectVersionData> allProjectsVersions)
-    {
-        AtomicInteger i = new AtomicInteger();
-        List<StoreProjectVersionData> versionWithDependencies = allProjectsVersions.stream().filter(p -> !p.getVersionData().getDependencies().isEmpty() && !p.getVersionData().isExcluded()).collect(Collectors.toList());
-        List<StoreProjectVersionData> versionWithoutDependencies = allProjectsVersions.stream().filter(p -> p.getVersionData().getDependencies().isEmpty() || p.getVersionData().isExcluded()).collect(Collectors.toList());
-        Map<String, StoreProjectVersionData> directDependenciesMap = allProjectsVersions.stream().filter(p -> !p.getVersionData().isExcluded()).collect(Collectors.toMap(p -> p.getGroupId() + p.getArtifactId() + p.getVersionId(), Function.identity()));
-        try
-        {
-            LOGGER.info(String.format("Dependencies count for calculation: [%s]", versionWithDependencies.size()));
-
-            versionWithDependencies.forEach(pv ->
+                    Updates.set("transitiveDependenciesReport.valid", pv.getTransitiveDependenciesReport().isValid()))));
+            if (updates.size() == BaseMongo.DEFAULT_BATCH_SIZE)
             {
-                ProjectVersion projectVersion = new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
-                LOGGER.info(String.format("Finding transitive dependencies for [%s-%s-%s]", pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
-                VersionDependencyReport report = this.transitiveDependenciesMap.getIfAbsentPut(projectVersion, () -> calculateTransitiveDependencies(projectVersion, getDependenciesFromMap(directDependenciesMap)));
-                pv.setTransitiveDependenciesReport(report);
-                LOGGER.info(String.format("Completed finding transitive dependencies for [%s-%s-%s]", pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
-                LOGGER.info(String.format("Dependencies calculation count completed: [%s]", i.incrementAndGet()));
-
-            });
-        }
-        catch (Exception e)
+                versionsCollection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
+                updates.clear();
+                LOGGER.info("Updated batch of project versions with transitive dependencies");
+            }
+        });
+        if (!updates.isEmpty())
         {
-            LOGGER.info(String.format("Error finding dependencies: %s", e.getMessage()));
-            throw new IllegalStateException(String.format("Error finding transitive dependencies due to: %s", e.getMessage()));
+            versionsCollection.bulkWrite(updates, new BulkWriteOptions().ordered(false));
         }
-        versionWithoutDependencies.stream().filter(pv -> pv.getVersionData().isExcluded()).forEach(pv -> pv.getTransitiveDependenciesReport().setValid(false));
-        List<StoreProjectVersionData> finalList = new ArrayList<>();
-        finalList.addAll(versionWithDependencies);
-        finalList.addAll(versionWithoutDependencies);
-        return finalList;
+        LOGGER.info("Completed updating project versions with transitive dependencies");
     }
 
-    private Function3<String,String,String,StoreProjectVersionData> getDependenciesFromMap(Map<String, StoreProjectVersionData> dependenciesMap)
+    private Map<ProjectVersion, List<ProjectVersion>> readDependencyGraph(Set<ProjectVersion> excluded)
     {
-        return (group, artifact, versionId) -> dependenciesMap.get(group + artifact + versionId);
+        // only coordinates and direct dependencies are kept in memory, reports are streamed from the temp collection per batch
+        Map<ProjectVersion, List<ProjectVersion>> directDependencies = new LinkedHashMap<>();
+        mongoDatabase.getCollection(ProjectsVersionsMongo.COLLECTION).find()
+                .projection(Projections.include(BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, VERSION_DATA_DEPENDENCIES, VERSION_DATA_EXCLUDED))
+                .batchSize(BaseMongo.DEFAULT_BATCH_SIZE)
+                .forEach((Consumer<Document>) document ->
+                {
+                    StoreProjectVersionData pv = BaseMongo.convert(mapper, document, StoreProjectVersionData.class);
+                    ProjectVersion projectVersion = new ProjectVersion(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId());
+                    if (pv.getVersionData().isExcluded())
+                    {
+                        excluded.add(projectVersion);
+                    }
+                    directDependencies.put(projectVersion, pv.getVersionData().getDependencies().stream().map(dep -> new ProjectVersion(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId())).collect(Collectors.toList()));
+                });
+        return directDependencies;
     }
 
-    private VersionDependencyReport calculateTransitiveDependencies(ProjectVersion projectVersion, Function3<String, String, String, StoreProjectVersionData> dependencyProvider)
+    private static List<ProjectVersion> dependencyOrder(Map<ProjectVersion, List<ProjectVersion>> directDependencies)
     {
-        Set<ProjectVersion> dependencies = new HashSet<>();
-        try
+        Map<ProjectVersion, List<ProjectVersion>> dependants = new HashMap<>();
+        Map<ProjectVersion, Integer> pendingDependencies = new HashMap<>();
+        Deque<ProjectVersion> ready = new ArrayDeque<>();
+        directDependencies.forEach((version, dependencies) ->
         {
-            StoreProjectVersionData versionData = dependencyProvider.value(projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId());
-            if (versionData != null)
+            int pending = 0;
+            for (ProjectVersion dependency : new LinkedHashSet<>(dependencies))
             {
-                if (versionData.getVersionData().isExcluded())
+                if (!dependency.equals(version) && directDependencies.containsKey(dependency))
                 {
-                    LOGGER.error(String.format(EXCLUDED_DEPENDENCY, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-                    throw new IllegalStateException(String.format(INVALID_DEPENDENCIES, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-                }
-                List<ProjectVersion> artifactDependencies = versionData.getVersionData().getDependencies();
-                if (!artifactDependencies.isEmpty())
-                {
-                    artifactDependencies.forEach(dep ->
-                    {
-                        ProjectVersion pv = new ProjectVersion(dep.getGroupId(), dep.getArtifactId(), dep.getVersionId());
-                        VersionDependencyReport transitiveDependencies = this.transitiveDependenciesMap.getIfAbsentPut(pv, () -> calculateTransitiveDependencies(pv, dependencyProvider));
-                        if (transitiveDependencies.isValid())
-                        {
-                            dependencies.add(pv);
-                            dependencies.addAll(transitiveDependencies.getTransitiveDependencies());
-                        }
-                        else
-                        {
-                            LOGGER.error(String.format(INVALID_DEPENDENCIES, dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()));
-                            throw new IllegalStateException(String.format(INVALID_DEPENDENCIES, dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()));
-                        }
-                    });
+                    dependants.computeIfAbsent(dependency, k -> new ArrayList<>()).add(version);
+                    pending++;
                 }
             }
-            else
+            pendingDependencies.put(version, pending);
+            if (pending == 0)
             {
-                LOGGER.error(String.format(NOT_FOUND_IN_STORE, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
-                throw new IllegalStateException(String.format(NOT_FOUND_IN_STORE, projectVersion.getGroupId(), projectVersion.getArtifactId(), projectVersion.getVersionId()));
+                ready.add(version);
             }
+        });
+        List<ProjectVersion> ordered = new ArrayList<>(directDependencies.size());
+        while (!ready.isEmpty())
+        {
+            ProjectVersion version = ready.poll();
+            ordered.add(version);
+            dependants.getOrDefault(version, Collections.emptyList()).forEach(dependant ->
+            {
+                if (pendingDependencies.merge(dependant, -1, Integer::sum) == 0)
+                {
+                    ready.add(dependant);
+                }
+            });
+        }
+        // versions in a dependency cycle never become ready, they go last and end up with invalid reports
+        directDependencies.keySet().stream().filter(version -> pendingDependencies.get(version) > 0).forEach(ordered::add);
+        return ordered;
+    }
+
+    private int calculateBatch(List<ProjectVersion> batch, Map<ProjectVersion, List<ProjectVersion>> directDependencies, Set<ProjectVersion> excluded, MongoCollection<Document> tempVersionCollection)
+    {
+        Set<String> inBatch = batch.stream().map(ProjectVersion::getGav).collect(Collectors.toSet());
+        Set<String> previouslyCalculated = batch.stream().flatMap(pv -> directDependencies.get(pv).stream()).map(ProjectVersion::getGav).filter(gav -> !inBatch.contains(gav)).collect(Collectors.toSet());
+        Map<String, VersionDependencyReport> reports = new HashMap<>();
+        if (!previouslyCalculated.isEmpty())
+        {
+            tempVersionCollection.find(Filters.in(GAV, previouslyCalculated)).projection(Projections.include(GAV, TRANSITIVE_DEPENDENCIES_REPORT)).batchSize(BaseMongo.DEFAULT_BATCH_SIZE)
+                    .forEach((Consumer<Document>) document -> reports.put(document.getString(GAV), BaseMongo.convert(mapper, document, StoreProjectVersionData.class).getTransitiveDependenciesReport()));
         }
-        catch (IllegalStateException e)
+
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        for (ProjectVersion projectVersion : batch)
+        {
+            VersionDependencyReport report = calculateTransitiveDependencies(projectVersion, directDependencies, excluded, reports);
+            reports.put(projectVersion.getGav(), report);
+            writes.add(new ReplaceOneModel<>(Filters.eq(GAV, projectVersion.getGav()), buildReportDocument(projectVersion, report), new ReplaceOptions().upsert(true)));
+        }
+        tempVersionCollection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        LOGGER.info(String.format("Dependencies calculation batch completed: [%s]", batch.size()));
+        return batch.size();
+    }
+
+    private VersionDependencyReport calculateTransitiveDependencies(ProjectVersion projectVersion, Map<ProjectVersion, List<ProjectVersion>> directDependencies, Set<ProjectVersion> excluded, Map<String, VersionDependencyReport> reports)
+    {
+        if (excluded.contains(projectVersion))
         {
             return new VersionDependencyReport(new ArrayList<>(), false);
         }
-        catch (Exception e)
+        Set<ProjectVersion> dependencies = new HashSet<>();
+        for (ProjectVersion dep : directDependencies.get(projectVersion))
         {
-            LOGGER.info(String.format("Error finding dependencies: %s", e.getMessage()));
-            throw new IllegalStateException(String.format("Error finding transitive dependencies with message: %s", e.getMessage()));
+            if (!directDependencies.containsKey(dep))
+            {
+                LOGGER.error(String.format(NOT_FOUND_IN_STORE, dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()));
+                return new VersionDependencyReport(new ArrayList<>(), false);
+            }
+            if (excluded.contains(dep))
+            {
+                LOGGER.error(String.format(EXCLUDED_DEPENDENCY, dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()));
+                return new VersionDependencyReport(new ArrayList<>(), false);
+            }
+            VersionDependencyReport transitiveDependencies = reports.get(dep.getGav());
+            if (transitiveDependencies == null || !transitiveDependencies.isValid())
+            {
+                LOGGER.error(String.format(INVALID_DEPENDENCIES, dep.getGroupId(), dep.getArtifactId(), dep.getVersionId()));
+                return new VersionDependencyReport(new ArrayList<>(), false);
+            }
+            dependencies.add(dep);
+            dependencies.addAll(transitiveDependencies.getTransitiveDependencies());
         }
-        return new VersionDependencyReport(dependencies.stream().collect(Collectors.toList()), true);
+        return new VersionDependencyReport(new ArrayList<>(dependencies), true);
+    }
+
+    private Document buildReportDocument(ProjectVersion projectVersion, VersionDependencyReport report)
+    {
+        return new Document(GAV, projectVersion.getGav())
+                .append(BaseMongo.GROUP_ID, projectVersion.getGroupId())
+                .append(BaseMongo.ARTIFACT_ID, projectVersion.getArtifactId())
+                .append(BaseMongo.VERSION_ID, projectVersion.getVersionId())
+                .append(TRANSITIVE_DEPENDENCIES_REPORT, new Document("transitiveDependencies", buildProjectVersionDocument(report.getTransitiveDependencies())).append("valid", report.isValid()));
+    }
+
+    private void saveCheckpoint(long total, long completed, boolean finished)
+    {
+        mongoDatabase.getCollection(CHECKPOINT_COLLECTION).replaceOne(Filters.eq(BaseMongo.ID_FIELD, CHECKPOINT_ID),
+                new Document(BaseMongo.ID_FIELD, CHECKPOINT_ID).append(TOTAL, total).append(COMPLETED, completed).append(FINISHED, finished).append(UPDATED, new Date()),
+                new ReplaceOptions().upsert(true));
     }
 
     private Bson getArtifactAndVersionFilter(String groupId, String artifactId, String versionId)
@@ -209,7 +310,7 @@ public final class DependenciesMigration
         {
             try
             {
-                return Document.parse(new ObjectMapper().writeValueAsString(dep));
+                return Document.parse(mapper.writeValueAsString(dep));
             }
             catch (JsonProcessingException e)
             {
@@ -18,8 +18,13 @@ package org.finos.legend.depot.store.mongo.admin.migrations;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.project.ProjectVersionData;
@@ -35,8 +40,10 @@ import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Date;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -174,4 +181,40 @@ public final class ProjectToProjectVersionMigration
             }
         });
     }
+
+    @Deprecated
+    public long addVersionSortKeys()
+    {
+        MongoCollection<Document> versionsCollection = mongoDatabase.getCollection(ProjectsVersionsMongo.COLLECTION);
+        AtomicLong updated = new AtomicLong();
+        List<WriteModel<Document>> updates = new ArrayList<>();
+        versionsCollection.find(Filters.and(Filters.exists(ProjectsVersionsMongo.SORT_KEY, false), Filters.not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT("") + "$"))))
+                .projection(Projections.include(BaseMongo.VERSION_ID))
+                .batchSize(BaseMongo.DEFAULT_BATCH_SIZE)
+                .forEach((Consumer<Document>) document ->
+                {
+                    String sortKey = ProjectsVersionsMongo.withSortKey(document).getString(ProjectsVersionsMongo.SORT_KEY);
+                    if (sortKey == null)
+                    {
+                        LOGGER.info(String.format("%s is not a release version, no sort key added", document.getString(BaseMongo.VERSION_ID)));
+                        return;
+                    }
+                    updates.add(new UpdateOneModel<>(Filters.eq(BaseMongo.ID_FIELD, document.get(BaseMongo.ID_FIELD)), Updates.set(ProjectsVersionsMongo.SORT_KEY, sortKey)));
+                    if (updates.size() == BaseMongo.DEFAULT_BATCH_SIZE)
+                    {
+                        updated.addAndGet(versionsCollection.bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount());
+                        updates.clear();
+                        LOGGER.info(String.format("[%s] version sort keys added", updated.get()));
+                    }
+                });
+        if (!updates.isEmpty())
+        {
+            updated.addAndGet(versionsCollection.bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount());
+        }
+        // versions stored from now on get their sort key when written, the marker lets lookups stop probing for releases without one
+        mongoDatabase.getCollection(ProjectsVersionsMongo.MIGRATIONS_COLLECTION).replaceOne(Filters.eq(BaseMongo.ID_FIELD, ProjectsVersionsMongo.SORT_KEYS_MIGRATION),
+                new Document(BaseMongo.ID_FIELD, ProjectsVersionsMongo.SORT_KEYS_MIGRATION).append("completed", new Date()), new ReplaceOptions().upsert(true));
+        LOGGER.info(String.format("version sort keys migration completed, [%s] updated", updated.get()));
+        return updated.get();
+    }
 }
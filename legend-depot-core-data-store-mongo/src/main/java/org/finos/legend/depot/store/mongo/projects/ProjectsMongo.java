@@ -22,7 +22,9 @@ import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexModel;
 import org.bson.conversions.Bson;
+import org.finos.legend.depot.domain.CoordinateData;
 import org.finos.legend.depot.domain.project.ProjectValidator;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.StoreException;
 import org.finos.legend.depot.store.api.projects.Projects;
@@ -31,15 +33,21 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class ProjectsMongo extends BaseMongo<StoreProjectData> implements Projects, UpdateProjects
 {
 
     public static final String COLLECTION = "project-configurations";
     public static final String PROJECT_ID = "projectId";
+    private static final List<String> KEYSET_FIELDS = Arrays.asList(BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID);
 
     @Inject
     public ProjectsMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
@@ -60,6 +68,12 @@ public class ProjectsMongo extends BaseMongo<StoreProjectData> implements Projec
                 Filters.eq(BaseMongo.ARTIFACT_ID, data.getArtifactId()));
     }
 
+    @Override
+    protected List<String> getKeysetFields()
+    {
+        return KEYSET_FIELDS;
+    }
+
     @Override
     protected MongoCollection getCollection()
     {
@@ -86,6 +100,18 @@ public class ProjectsMongo extends BaseMongo<StoreProjectData> implements Projec
         return getAllStoredEntities();
     }
 
+    @Override
+    public Page<StoreProjectData> getAll(String continuationToken, int pageSize)
+    {
+        return getStoredEntitiesPage(continuationToken, pageSize);
+    }
+
+    @Override
+    public Stream<StoreProjectData> getAllAsStream(int batchSize)
+    {
+        return getAllStoredEntitiesAsStream(batchSize);
+    }
+
     @Override
     public List<StoreProjectData> findByProjectId(String projectId)
     {
@@ -98,6 +124,19 @@ public class ProjectsMongo extends BaseMongo<StoreProjectData> implements Projec
         return findOne(Filters.and(Filters.eq(BaseMongo.GROUP_ID, groupId), Filters.eq(BaseMongo.ARTIFACT_ID, artifactId)));
     }
 
+    @Override
+    public List<StoreProjectData> find(Collection<? extends CoordinateData> coordinates)
+    {
+        if (coordinates.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        List<Bson> groupFilters = new ArrayList<>();
+        coordinates.stream().collect(Collectors.groupingBy(CoordinateData::getGroupId, Collectors.mapping(CoordinateData::getArtifactId, Collectors.toSet())))
+                .forEach((groupId, artifactIds) -> groupFilters.add(Filters.and(Filters.eq(BaseMongo.GROUP_ID, groupId), Filters.in(BaseMongo.ARTIFACT_ID, artifactIds))));
+        return find(Filters.or(groupFilters));
+    }
+
     @Override
     public long delete(String groupId, String artifactId)
     {
@@ -19,11 +19,23 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.finos.legend.depot.domain.CoordinateValidator;
+import org.finos.legend.depot.domain.project.ProjectSummary;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
+import org.finos.legend.depot.domain.version.ParsedVersions;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 import org.finos.legend.depot.store.api.projects.UpdateProjectsVersions;
@@ -31,18 +43,49 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.gte;
 import static com.mongodb.client.model.Filters.lt;
+import static org.finos.legend.depot.domain.DatesHandler.toTime;
 
 public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> implements ProjectsVersions, UpdateProjectsVersions
 {
     public static final String COLLECTION = "versions";
+    public static final String SORT_KEY = "sortKey";
+    public static final String MIGRATIONS_COLLECTION = "versions-migrations";
+    public static final String SORT_KEYS_MIGRATION = "addVersionSortKeys";
+    private static final long MIGRATION_CHECK_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final String VERSION_DATA_DEPRECATED = "versionData.deprecated";
     private static final String VERSION_DATA_EXCLUDED = "versionData.excluded";
+    private static final String EVICTED = "evicted";
+    private static final String VERSION_DATA_DEPENDENCIES = "versionData.dependencies";
+    private static final String VERSION_DATA_PROPERTIES = "versionData.properties";
+    private static final String VERSION_DATA_EXCLUSION_REASON = "versionData.exclusionReason";
+    private static final String TRANSITIVE_DEPENDENCIES_REPORT = "transitiveDependenciesReport";
+    private static final String VERSIONS = "versions";
+    private static final String SNAPSHOT_VERSIONS = "snapshotVersions";
+    private static final String EVICTED_VERSIONS = "evictedVersions";
+    private static final String EXCLUDED_VERSIONS = "excludedVersions";
+    private static final String LATEST_SNAPSHOT = "latestSnapshot";
+    private static final String SNAPSHOT_VERSION = VersionValidator.BRANCH_SNAPSHOT("") + "$";
+    private static final List<String> KEYSET_FIELDS = Arrays.asList(BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID);
+    private volatile boolean sortKeysBackfilled;
+    private volatile long sortKeysMigrationCheckedAt;
 
     @Inject
     public ProjectsVersionsMongo(@Named("mongoDatabase") MongoDatabase databaseProvider)
@@ -52,7 +95,33 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
 
     public static List<IndexModel> buildIndexes()
     {
-        return Arrays.asList(BaseMongo.buildIndex("groupId-artifactId-versionId", true, BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID));
+        return Arrays.asList(BaseMongo.buildIndex("groupId-artifactId-versionId", true, BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID),
+                BaseMongo.buildIndex("updated", UPDATED),
+                BaseMongo.buildIndex("groupId-artifactId-excluded-sortKey-evicted", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, VERSION_DATA_EXCLUDED, SORT_KEY, EVICTED),
+                BaseMongo.buildIndex("versionData-dependencies", VERSION_DATA_DEPENDENCIES + "." + BaseMongo.GROUP_ID, VERSION_DATA_DEPENDENCIES + "." + BaseMongo.ARTIFACT_ID, VERSION_DATA_DEPENDENCIES + "." + BaseMongo.VERSION_ID));
+    }
+
+    @Override
+    protected Document toDocument(StoreProjectVersionData data)
+    {
+        return withSortKey(super.toDocument(data));
+    }
+
+    /**
+     * Adds the key release versions are ordered by, see {@link ParsedVersions#sortKey(String)}. Snapshots have none.
+     */
+    public static Document withSortKey(Document document)
+    {
+        String sortKey = ParsedVersions.sortKey(document.getString(BaseMongo.VERSION_ID));
+        if (sortKey != null)
+        {
+            document.put(SORT_KEY, sortKey);
+        }
+        else
+        {
+            document.remove(SORT_KEY);
+        }
+        return document;
     }
 
     @Override
@@ -61,6 +130,12 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
         return getAllStoredEntities();
     }
 
+    @Override
+    public Stream<StoreProjectVersionData> getAllAsStream(int batchSize)
+    {
+        return getAllStoredEntitiesAsStream(batchSize);
+    }
+
     /** Return the list of all stored entities which have been updated from the given
      *  timestamp or beyond.
      *  Records with updated time matching the given input will also be returned.
@@ -76,12 +151,27 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
         return find(and(gte(UPDATED, updatedFrom),(lt(UPDATED, updatedTo))));
     }
 
+    @Override
+    public Stream<StoreProjectVersionData> findUpdatedCoordinates(long updatedFrom, int batchSize)
+    {
+        return stream(gte(UPDATED, updatedFrom), Projections.include(GROUP_ID, ARTIFACT_ID), batchSize);
+    }
+
     @Override
     public List<StoreProjectVersionData> find(String groupId, String artifactId)
     {
         return find(Filters.and(getArtifactFilter(groupId, artifactId)));
     }
 
+    @Override
+    public Page<StoreProjectVersionData> find(String groupId, String artifactId, String continuationToken, int pageSize)
+    {
+        Bson filter = new Document();
+        filter = groupId != null ? and(filter, Filters.eq(GROUP_ID, groupId)) : filter;
+        filter = artifactId != null ? and(filter, Filters.eq(ARTIFACT_ID, artifactId)) : filter;
+        return findPage(filter, continuationToken, pageSize);
+    }
+
     @Override
     public Optional<StoreProjectVersionData> find(String groupId, String artifactId, String versionId)
     {
@@ -98,12 +188,161 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
         return find(Filters.and(Filters.eq(VERSION_DATA_EXCLUDED, excluded)));
     }
 
+    @Override
+    public List<StoreProjectVersionData> findDependencyGraphNodes(Collection<ProjectVersion> projectVersions, boolean withTransitiveDependencies)
+    {
+        if (projectVersions.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        List<Bson> projectFilters = new ArrayList<>();
+        projectVersions.stream().collect(Collectors.groupingBy(ProjectVersion::getGa)).values().forEach(versions ->
+                projectFilters.add(getArtifactAndVersionsFilter(versions.get(0).getGroupId(), versions.get(0).getArtifactId(),
+                        versions.stream().map(ProjectVersion::getVersionId).distinct().collect(Collectors.toList()))));
+        List<String> fields = new ArrayList<>(Arrays.asList(GROUP_ID, ARTIFACT_ID, VERSION_ID, VERSION_DATA_DEPENDENCIES, VERSION_DATA_EXCLUDED, VERSION_DATA_EXCLUSION_REASON));
+        if (withTransitiveDependencies)
+        {
+            fields.add(TRANSITIVE_DEPENDENCIES_REPORT);
+        }
+        List<StoreProjectVersionData> result = new ArrayList<>();
+        try (Stream<StoreProjectVersionData> nodes = stream(Filters.or(projectFilters), Projections.include(fields), DEFAULT_BATCH_SIZE))
+        {
+            nodes.forEach(result::add);
+        }
+        return result;
+    }
+
+    @Override
+    public Stream<StoreProjectVersionData> findDependants(String groupId, String artifactId, String versionId, int batchSize)
+    {
+        Bson dependency = and(Filters.eq(GROUP_ID, groupId), Filters.eq(ARTIFACT_ID, artifactId));
+        dependency = versionId != null ? and(dependency, Filters.eq(VERSION_ID, versionId)) : dependency;
+        Bson projection = Projections.include(GROUP_ID, ARTIFACT_ID, VERSION_ID, VERSION_DATA_DEPENDENCIES, VERSION_DATA_PROPERTIES);
+        return stream(Filters.elemMatch(VERSION_DATA_DEPENDENCIES, dependency), projection, batchSize);
+    }
+
     @Override
     public long getVersionCount(String groupId, String artifactId)
     {
         return count(getArtifactFilter(groupId,artifactId));
     }
 
+    @Override
+    public Optional<StoreProjectVersionData> findLatestRelease(String groupId, String artifactId)
+    {
+        Bson filter = and(getReleasesFilter(groupId, artifactId), Filters.eq(EVICTED, false), Filters.ne(VERSION_DATA_DEPRECATED, true));
+        if (hasReleasesWithoutSortKey(filter))
+        {
+            return find(and(filter, Filters.not(Filters.regex(VERSION_ID, SNAPSHOT_VERSION)))).stream()
+                    .max(Comparator.comparing(StoreProjectVersionData::getVersionId, ParsedVersions.RELEASE_VERSION_ORDER));
+        }
+        Document document = (Document) getCollection().find(and(filter, Filters.exists(SORT_KEY))).sort(Sorts.descending(SORT_KEY)).limit(1).first();
+        return document == null ? Optional.empty() : Optional.of(convert(document, StoreProjectVersionData.class));
+    }
+
+    @Override
+    public List<String> findLatestReleaseVersionIds(String groupId, String artifactId, int limit)
+    {
+        Bson filter = getReleasesFilter(groupId, artifactId);
+        List<String> versionIds = new ArrayList<>();
+        if (hasReleasesWithoutSortKey(filter))
+        {
+            getCollection().find(and(filter, Filters.not(Filters.regex(VERSION_ID, SNAPSHOT_VERSION))))
+                    .projection(Projections.include(VERSION_ID))
+                    .forEach((Consumer<Document>) document -> versionIds.add(document.getString(VERSION_ID)));
+            return versionIds.stream().sorted(ParsedVersions.RELEASE_VERSION_ORDER.reversed()).limit(limit).collect(Collectors.toList());
+        }
+        getCollection().find(and(filter, Filters.exists(SORT_KEY)))
+                .projection(Projections.include(VERSION_ID))
+                .sort(Sorts.descending(SORT_KEY))
+                .limit(limit)
+                .forEach((Consumer<Document>) document -> versionIds.add(document.getString(VERSION_ID)));
+        return versionIds;
+    }
+
+    private Bson getReleasesFilter(String groupId, String artifactId)
+    {
+        return and(getArtifactFilter(groupId, artifactId), Filters.eq(VERSION_DATA_EXCLUDED, false));
+    }
+
+    /**
+     * Releases stored before sort keys were introduced have none until PUT /migrations/addVersionSortKeys backfills them;
+     * projects that still have such releases are ordered in memory. Once the backfill has recorded its marker no probe is made.
+     */
+    private boolean hasReleasesWithoutSortKey(Bson filter)
+    {
+        if (isSortKeysBackfilled())
+        {
+            return false;
+        }
+        return getCollection().find(and(filter, Filters.exists(SORT_KEY, false), Filters.not(Filters.regex(VERSION_ID, SNAPSHOT_VERSION))))
+                .projection(Projections.include(VERSION_ID)).limit(1).first() != null;
+    }
+
+    private boolean isSortKeysBackfilled()
+    {
+        long now = System.currentTimeMillis();
+        if (!sortKeysBackfilled && now - sortKeysMigrationCheckedAt >= MIGRATION_CHECK_INTERVAL_MILLIS)
+        {
+            sortKeysBackfilled = getMongoCollection(MIGRATIONS_COLLECTION).find(Filters.eq(ID_FIELD, SORT_KEYS_MIGRATION)).first() != null;
+            sortKeysMigrationCheckedAt = now;
+        }
+        return sortKeysBackfilled;
+    }
+
+    @Override
+    public List<ProjectSummary> getVersionsSummary()
+    {
+        // counts are computed on the server: one pass over all versions and one over snapshots only
+        Map<String, ProjectSummary> summaries = new LinkedHashMap<>();
+        Document byProject = new Document(GROUP_ID, "$" + GROUP_ID).append(ARTIFACT_ID, "$" + ARTIFACT_ID);
+        getMongoCollection(COLLECTION).aggregate(Arrays.asList(
+                Aggregates.project(Projections.include(GROUP_ID, ARTIFACT_ID, EVICTED, VERSION_DATA_EXCLUDED)),
+                Aggregates.group(byProject,
+                        Accumulators.sum(VERSIONS, 1),
+                        Accumulators.sum(EVICTED_VERSIONS, countIfTrue(EVICTED)),
+                        Accumulators.sum(EXCLUDED_VERSIONS, countIfTrue(VERSION_DATA_EXCLUDED)))))
+                .allowDiskUse(true)
+                .forEach((Consumer<Document>) document ->
+                {
+                    Document project = document.get(ID_FIELD, Document.class);
+                    ProjectSummary summary = new ProjectSummary(null, project.getString(GROUP_ID), project.getString(ARTIFACT_ID), getLong(document, VERSIONS));
+                    summary.evictedVersions = getLong(document, EVICTED_VERSIONS);
+                    summary.excludedVersions = getLong(document, EXCLUDED_VERSIONS);
+                    summaries.put(summary.groupId + ":" + summary.artifactId, summary);
+                });
+        getMongoCollection(COLLECTION).aggregate(Arrays.asList(
+                Aggregates.match(Filters.regex(VERSION_ID, SNAPSHOT_VERSION)),
+                Aggregates.project(Projections.include(GROUP_ID, ARTIFACT_ID, VERSION_ID, UPDATED)),
+                Aggregates.sort(Sorts.descending(UPDATED)),
+                Aggregates.group(byProject,
+                        Accumulators.sum(SNAPSHOT_VERSIONS, 1),
+                        Accumulators.first(LATEST_SNAPSHOT, "$" + VERSION_ID))))
+                .allowDiskUse(true)
+                .forEach((Consumer<Document>) document ->
+                {
+                    Document project = document.get(ID_FIELD, Document.class);
+                    ProjectSummary summary = summaries.get(project.getString(GROUP_ID) + ":" + project.getString(ARTIFACT_ID));
+                    if (summary != null)
+                    {
+                        summary.snapshotVersions = getLong(document, SNAPSHOT_VERSIONS);
+                        summary.latestSnapshot = document.getString(LATEST_SNAPSHOT);
+                    }
+                });
+        return new ArrayList<>(summaries.values());
+    }
+
+    private static Document countIfTrue(String field)
+    {
+        return new Document("$cond", Arrays.asList(new Document("$eq", Arrays.asList("$" + field, true)), 1, 0));
+    }
+
+    private static long getLong(Document document, String field)
+    {
+        Object value = document.get(field);
+        return value instanceof Number ? ((Number) value).longValue() : 0;
+    }
+
     @Override
     public long delete(String groupId, String artifactId)
     {
@@ -116,6 +355,55 @@ public class ProjectsVersionsMongo extends BaseMongo<StoreProjectVersionData> im
         return delete(getArtifactAndVersionFilter(groupId, artifactId, versionId));
     }
 
+    @Override
+    public List<ProjectVersion> findNotEvicted(List<ProjectVersion> projectVersions)
+    {
+        if (projectVersions.isEmpty())
+        {
+            return Collections.emptyList();
+        }
+        List<Bson> projectFilters = new ArrayList<>();
+        projectVersions.stream().collect(Collectors.groupingBy(ProjectVersion::getGa)).values().forEach(versions ->
+                projectFilters.add(getArtifactAndVersionsFilter(versions.get(0).getGroupId(), versions.get(0).getArtifactId(),
+                        versions.stream().map(ProjectVersion::getVersionId).collect(Collectors.toList()))));
+        return findCoordinates(and(Filters.ne(EVICTED, true), Filters.or(projectFilters)));
+    }
+
+    @Override
+    public List<ProjectVersion> findNotEvictedOrExcluded()
+    {
+        return findCoordinates(and(Filters.ne(EVICTED, true), Filters.ne(VERSION_DATA_EXCLUDED, true)));
+    }
+
+    private List<ProjectVersion> findCoordinates(Bson filter)
+    {
+        List<ProjectVersion> result = new ArrayList<>();
+        executeFind(filter).projection(Projections.include(GROUP_ID, ARTIFACT_ID, VERSION_ID)).forEach((Consumer<Document>) document ->
+                result.add(new ProjectVersion(document.getString(GROUP_ID), document.getString(ARTIFACT_ID), document.getString(VERSION_ID))));
+        return result;
+    }
+
+    @Override
+    public long markEvicted(List<ProjectVersion> projectVersions)
+    {
+        if (projectVersions.isEmpty())
+        {
+            return 0;
+        }
+        long updated = toTime(LocalDateTime.now());
+        List<UpdateOneModel<Document>> updates = projectVersions.stream()
+                .map(pv -> new UpdateOneModel<Document>(getArtifactAndVersionFilter(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()),
+                        Updates.combine(Updates.set(EVICTED, true), Updates.set(UPDATED, updated))))
+                .collect(Collectors.toList());
+        return getCollection().bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount();
+    }
+
+    @Override
+    protected List<String> getKeysetFields()
+    {
+        return KEYSET_FIELDS;
+    }
+
     @Override
     protected MongoCollection getCollection()
     {
@@ -24,10 +24,14 @@ import org.finos.legend.depot.store.mongo.admin.CoreDataMigrations;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
+import javax.ws.rs.GET;
 import javax.ws.rs.PUT;
 import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import java.security.Principal;
+import java.util.Map;
 
 @Path("")
 @Api("Mongo Store Administration")
@@ -97,6 +101,20 @@ public class CoreDataStoreMigrationsResource extends AuthorisedResource
         });
     }
 
+    @GET
+    @Path("/migrations/calculateDependenciesForVersions/progress")
+    @ApiOperation("progress of the transitive dependencies calculation, a run that has not finished resumes from its last checkpoint")
+    @Produces(MediaType.APPLICATION_JSON)
+    @Deprecated
+    public Map<String, Object> getTransitiveDependenciesProgress()
+    {
+        return handle("progress of the transitive dependencies calculation", () ->
+        {
+            validateUser();
+            return mongoMigrations.getTransitiveDependenciesProgress();
+        });
+    }
+
     @PUT
     @Path("/migrations/addTransitiveDependenciesToVersionData")
     @ApiOperation("Update versions collection with transitive dependencies")
@@ -125,4 +143,16 @@ public class CoreDataStoreMigrationsResource extends AuthorisedResource
         });
     }
 
+    @PUT
+    @Path("/migrations/addVersionSortKeys")
+    @ApiOperation("Add the sort key latest version queries use to stored release versions")
+    public Response addVersionSortKeys()
+    {
+        return handle("Add version sort keys", () ->
+        {
+            validateUser();
+            return Response.ok().entity(mongoMigrations.addVersionSortKeys()).build();
+        });
+    }
+
 }
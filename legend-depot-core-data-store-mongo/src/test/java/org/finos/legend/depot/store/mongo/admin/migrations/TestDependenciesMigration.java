@@ -32,7 +32,9 @@ import org.junit.jupiter.api.Test;
 import java.io.InputStream;
 import java.net.URL;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import static org.finos.legend.depot.store.mongo.core.BaseMongo.convert;
 
 public class TestDependenciesMigration extends CoreDataMongoStoreTests
@@ -91,7 +93,8 @@ public class TestDependenciesMigration extends CoreDataMongoStoreTests
     {
         mongoAdminStore.calculateTransitiveDependenciesForAllProjectVersions();
 
-        StoreProjectVersionData result = convert(new ObjectMapper(),mongoProvider.getCollection(VERSIONS_COLLECTION).find().first(), StoreProjectVersionData.class);
+        //versions are calculated dependencies first, so look the top of the graph up rather than relying on insertion order
+        StoreProjectVersionData result = convert(new ObjectMapper(), mongoProvider.getCollection(VERSIONS_COLLECTION).find(Filters.and(Filters.eq("groupId", "examples.metadata"), Filters.eq("artifactId", "test"))).first(), StoreProjectVersionData.class);
         Assertions.assertTrue(result.getTransitiveDependenciesReport().isValid());
         Assertions.assertEquals(4, result.getTransitiveDependenciesReport().getTransitiveDependencies().size());
         ProjectVersion pv1 = new ProjectVersion("examples.metadata", "test-dependencies", "2.0.0");
@@ -141,4 +144,31 @@ public class TestDependenciesMigration extends CoreDataMongoStoreTests
         StoreProjectVersionData result3 = convert(new ObjectMapper(), mongoProvider.getCollection(ProjectsVersionsMongo.COLLECTION).find(Filters.and(Filters.eq("groupId", "examples.metadata"), Filters.eq("artifactId", "art108"))).first(), StoreProjectVersionData.class);
         Assertions.assertFalse(result3.getTransitiveDependenciesReport().isValid());
     }
+
+    @Test
+    public void testResumingFromCheckpoint()
+    {
+        //an interrupted run left a checkpoint and one calculated version behind
+        mongoProvider.getCollection("versionsTempCheckpoint").insertOne(new Document("_id", "transitiveDependencies").append("total", 9L).append("completed", 1L).append("finished", false));
+        ProjectVersion marker = new ProjectVersion("examples.metadata", "marker", "1.0.0");
+        mongoProvider.getCollection(VERSIONS_COLLECTION).insertOne(new Document("gav", "examples.metadata:art103:1.0.0").append("groupId", "examples.metadata").append("artifactId", "art103").append("versionId", "1.0.0")
+                .append("transitiveDependenciesReport", new Document("transitiveDependencies", Collections.singletonList(new Document("groupId", "examples.metadata").append("artifactId", "marker").append("versionId", "1.0.0"))).append("valid", true)));
+
+        mongoAdminStore.calculateTransitiveDependenciesForAllProjectVersions();
+
+        Assertions.assertEquals(9, mongoProvider.getCollection(VERSIONS_COLLECTION).countDocuments());
+        StoreProjectVersionData art102 = convert(new ObjectMapper(), mongoProvider.getCollection(VERSIONS_COLLECTION).find(Filters.and(Filters.eq("groupId", "examples.metadata"), Filters.eq("artifactId", "art102"))).first(), StoreProjectVersionData.class);
+        Assertions.assertTrue(art102.getTransitiveDependenciesReport().isValid());
+        Assertions.assertTrue(art102.getTransitiveDependenciesReport().getTransitiveDependencies().contains(marker), "the checkpointed version is reused, not recalculated");
+
+        Map<String, Object> progress = mongoAdminStore.getTransitiveDependenciesProgress();
+        Assertions.assertEquals(9L, ((Number) progress.get(DependenciesMigration.TOTAL)).longValue());
+        Assertions.assertEquals(9L, ((Number) progress.get(DependenciesMigration.COMPLETED)).longValue());
+        Assertions.assertEquals(true, progress.get(DependenciesMigration.FINISHED));
+
+        //a finished run is not resumed, the next one starts over
+        mongoAdminStore.calculateTransitiveDependenciesForAllProjectVersions();
+        art102 = convert(new ObjectMapper(), mongoProvider.getCollection(VERSIONS_COLLECTION).find(Filters.and(Filters.eq("groupId", "examples.metadata"), Filters.eq("artifactId", "art102"))).first(), StoreProjectVersionData.class);
+        Assertions.assertEquals(Collections.singletonList(new ProjectVersion("examples.metadata", "art103", "1.0.0")), art102.getTransitiveDependenciesReport().getTransitiveDependencies());
+    }
 }
@@ -18,12 +18,14 @@ package org.finos.legend.depot.store.mongo.admin.migrations;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.model.Filters;
 import org.bson.Document;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.store.mongo.CoreDataMongoStoreTests;
 import org.finos.legend.depot.store.mongo.admin.CoreDataMigrations;
 import org.finos.legend.depot.store.mongo.core.BaseMongo;
+import org.finos.legend.depot.store.mongo.projects.ProjectsVersionsMongo;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -144,4 +146,19 @@ public class TestProjectVersionMigrations extends CoreDataMongoStoreTests
 
         Assertions.assertNull(result.getLatestVersion());
     }
+
+    @Test
+    public void canAddSortKeysToExistingVersions()
+    {
+        setUpProjectsVersionsFromFile(this.getClass().getClassLoader().getResource("data/projectsVersions.json"));
+        long releases = getMongoProjectVersions().countDocuments(Filters.not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT("") + "$")));
+        Assertions.assertEquals(0, getMongoProjectVersions().countDocuments(Filters.exists(ProjectsVersionsMongo.SORT_KEY)));
+        Assertions.assertEquals("2.3.1", new ProjectsVersionsMongo(mongoProvider).findLatestRelease("examples.metadata", "test").map(StoreProjectVersionData::getVersionId).orElse(null));
+
+        Assertions.assertEquals(releases, mongoAdminStore.addVersionSortKeys());
+        Assertions.assertEquals(0, mongoAdminStore.addVersionSortKeys());
+        Assertions.assertEquals(releases, getMongoProjectVersions().countDocuments(Filters.exists(ProjectsVersionsMongo.SORT_KEY)));
+        Assertions.assertEquals(1, mongoProvider.getCollection(ProjectsVersionsMongo.MIGRATIONS_COLLECTION).countDocuments(Filters.eq(BaseMongo.ID_FIELD, ProjectsVersionsMongo.SORT_KEYS_MIGRATION)));
+        Assertions.assertEquals("2.3.1", new ProjectsVersionsMongo(mongoProvider).findLatestRelease("examples.metadata", "test").map(StoreProjectVersionData::getVersionId).orElse(null));
+    }
 }
@@ -15,16 +15,28 @@
 
 package org.finos.legend.depot.store.mongo.projects;
 
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Updates;
+import org.bson.Document;
+import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.store.api.projects.ProjectsVersions;
 import org.finos.legend.depot.store.mongo.CoreDataMongoStoreTests;
+import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.finos.legend.depot.domain.DatesHandler.toTime;
 
@@ -81,6 +93,80 @@ public class TestQueryProjectVersionApi extends CoreDataMongoStoreTests
         Assertions.assertEquals(4, project.size());
     }
 
+    @Test
+    public void canPageThroughAllVersions()
+    {
+        List<StoreProjectVersionData> all = new ArrayList<>();
+        Page<StoreProjectVersionData> page = projectsVersionsAPI.find(null, null, null, 4);
+        Assertions.assertEquals(4, page.getItems().size());
+        Assertions.assertTrue(page.hasMore());
+        all.addAll(page.getItems());
+        page = projectsVersionsAPI.find(null, null, page.getContinuationToken(), 4);
+        Assertions.assertEquals(2, page.getItems().size());
+        Assertions.assertFalse(page.hasMore());
+        all.addAll(page.getItems());
+
+        Comparator<StoreProjectVersionData> keyOrder = Comparator.comparing(StoreProjectVersionData::getGroupId).thenComparing(StoreProjectVersionData::getArtifactId).thenComparing(StoreProjectVersionData::getVersionId);
+        Assertions.assertEquals(projectsVersionsAPI.getAll().stream().sorted(keyOrder).map(StoreProjectVersionData::getVersionId).collect(Collectors.toList()),
+                all.stream().map(StoreProjectVersionData::getVersionId).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void canPageThroughProjectVersions()
+    {
+        Page<StoreProjectVersionData> page = projectsVersionsAPI.find("examples.metadata", "test", null, 3);
+        Assertions.assertEquals(3, page.getItems().size());
+        Page<StoreProjectVersionData> lastPage = projectsVersionsAPI.find("examples.metadata", "test", page.getContinuationToken(), 3);
+        Assertions.assertEquals(1, lastPage.getItems().size());
+        Assertions.assertNull(lastPage.getContinuationToken());
+        Assertions.assertTrue(lastPage.getItems().get(0).getVersionId().compareTo(page.getItems().get(2).getVersionId()) > 0);
+    }
+
+    @Test
+    public void rejectsInvalidContinuationToken()
+    {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> projectsVersionsAPI.find(null, null, "not a token", 4));
+    }
+
+    @Test
+    public void canStreamAllVersions()
+    {
+        try (Stream<StoreProjectVersionData> versions = projectsVersionsAPI.getAllAsStream(2))
+        {
+            Assertions.assertEquals(6, versions.count());
+        }
+    }
+
+    @Test
+    public void canStreamDependants()
+    {
+        try (Stream<StoreProjectVersionData> dependants = projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies", null, 10))
+        {
+            List<StoreProjectVersionData> result = dependants.collect(Collectors.toList());
+            Assertions.assertEquals(2, result.size());
+            Assertions.assertTrue(result.stream().allMatch(pv -> pv.getArtifactId().equals("test") && pv.getVersionData().getDependencies().size() == 1));
+        }
+        try (Stream<StoreProjectVersionData> dependants = projectsVersionsAPI.findDependants("examples.metadata", "test-dependencies", "2.0.0", 10))
+        {
+            Assertions.assertEquals(0, dependants.count());
+        }
+    }
+
+    @Test
+    public void canLoadDependencyGraphNodesInOneQuery()
+    {
+        List<ProjectVersion> versions = Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.3.1"),
+                new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0"),
+                new ProjectVersion("examples.metadata", "unknown", "1.0.0"));
+        List<StoreProjectVersionData> nodes = projectsVersionsAPI.findDependencyGraphNodes(versions, false);
+        Assertions.assertEquals(2, nodes.size());
+        StoreProjectVersionData test = nodes.stream().filter(pv -> pv.getArtifactId().equals("test")).findFirst().get();
+        Assertions.assertEquals(Collections.singletonList(new ProjectVersion("examples.metadata", "test-dependencies", "1.0.0")), test.getVersionData().getDependencies());
+        Assertions.assertNull(test.getVersionData().getManifestProperties());
+
+        Assertions.assertTrue(projectsVersionsAPI.findDependencyGraphNodes(Collections.emptyList(), true).isEmpty());
+    }
+
     @Test
     public void cannotFindProject()
     {
@@ -99,4 +185,46 @@ public class TestQueryProjectVersionApi extends CoreDataMongoStoreTests
         Assertions.assertEquals("3.0.0", storeProjectVersionData.get(0).getVersionId());
     }
 
+    @Test
+    public void canFindLatestReleasesBySortKey()
+    {
+        ProjectsVersionsMongo versionsMongo = new ProjectsVersionsMongo(mongoProvider);
+        StoreProjectVersionData excluded = new StoreProjectVersionData("examples.sort", "test", "2.0.0");
+        excluded.getVersionData().setExcluded(true);
+        StoreProjectVersionData evicted = new StoreProjectVersionData("examples.sort", "test", "1.11.0");
+        evicted.setEvicted(true);
+        StoreProjectVersionData deprecated = new StoreProjectVersionData("examples.sort", "test", "1.12.0");
+        deprecated.getVersionData().setDeprecated(true);
+        Stream.of(new StoreProjectVersionData("examples.sort", "test", "1.9.0"), new StoreProjectVersionData("examples.sort", "test", "1.10.0"),
+                new StoreProjectVersionData("examples.sort", "test", "master-SNAPSHOT"), excluded, evicted, deprecated).forEach(versionsMongo::createOrUpdate);
+
+        Assertions.assertEquals("1.10.0", projectsVersionsAPI.findLatestRelease("examples.sort", "test").get().getVersionId());
+        Assertions.assertEquals(Arrays.asList("1.12.0", "1.11.0", "1.10.0"), projectsVersionsAPI.findLatestReleaseVersionIds("examples.sort", "test", 3));
+        Assertions.assertFalse(projectsVersionsAPI.findLatestRelease("examples.sort", "unknown").isPresent());
+    }
+
+    @Test
+    public void canFindLatestReleasesWithoutSortKeys()
+    {
+        ProjectsVersionsMongo versionsMongo = new ProjectsVersionsMongo(mongoProvider);
+        Stream.of("1.9.0", "1.10.0", "1.2.0", "master-SNAPSHOT").forEach(versionId -> versionsMongo.createOrUpdate(new StoreProjectVersionData("examples.sort", "test", versionId)));
+        getMongoProjectVersions().updateOne(Filters.and(Filters.eq(BaseMongo.GROUP_ID, "examples.sort"), Filters.eq(BaseMongo.VERSION_ID, "1.10.0")), Updates.unset(ProjectsVersionsMongo.SORT_KEY));
+
+        Assertions.assertEquals("1.10.0", projectsVersionsAPI.findLatestRelease("examples.sort", "test").get().getVersionId());
+        Assertions.assertEquals(Arrays.asList("1.10.0", "1.9.0"), projectsVersionsAPI.findLatestReleaseVersionIds("examples.sort", "test", 2));
+    }
+
+    @Test
+    public void canSkipReleasesWithoutSortKeysOnceBackfilled()
+    {
+        ProjectsVersionsMongo versionsMongo = new ProjectsVersionsMongo(mongoProvider);
+        Stream.of("1.9.0", "1.10.0").forEach(versionId -> versionsMongo.createOrUpdate(new StoreProjectVersionData("examples.sort", "test", versionId)));
+        getMongoProjectVersions().updateOne(Filters.and(Filters.eq(BaseMongo.GROUP_ID, "examples.sort"), Filters.eq(BaseMongo.VERSION_ID, "1.10.0")), Updates.unset(ProjectsVersionsMongo.SORT_KEY));
+        mongoProvider.getCollection(ProjectsVersionsMongo.MIGRATIONS_COLLECTION).insertOne(new Document(BaseMongo.ID_FIELD, ProjectsVersionsMongo.SORT_KEYS_MIGRATION));
+
+        // once backfilled, lookups only use the sort key
+        ProjectsVersionsMongo backfilled = new ProjectsVersionsMongo(mongoProvider);
+        Assertions.assertEquals("1.9.0", backfilled.findLatestRelease("examples.sort", "test").get().getVersionId());
+        Assertions.assertEquals(Collections.singletonList("1.9.0"), backfilled.findLatestReleaseVersionIds("examples.sort", "test", 2));
+    }
 }
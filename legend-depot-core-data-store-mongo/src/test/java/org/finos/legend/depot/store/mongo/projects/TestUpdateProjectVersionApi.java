@@ -22,6 +22,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
@@ -78,4 +79,17 @@ public class TestUpdateProjectVersionApi extends CoreDataMongoStoreTests
         Assertions.assertEquals(updatedProject.get().getVersionData().getDependencies().size(),1);
     }
 
+    @Test
+    public void canMarkVersionsEvicted()
+    {
+        List<ProjectVersion> versions = Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.2.0"),
+                new ProjectVersion("examples.metadata", "test", "3.0.0"),
+                new ProjectVersion("examples.metadata", "test", "9.9.9"));
+        Assertions.assertEquals(2, projectsVersionsAPI.findNotEvicted(versions).size());
+
+        Assertions.assertEquals(1, projectsVersionsAPI.markEvicted(Collections.singletonList(new ProjectVersion("examples.metadata", "test", "2.2.0"))));
+        Assertions.assertTrue(projectsVersionsAPI.find("examples.metadata", "test", "2.2.0").get().isEvicted());
+        Assertions.assertEquals(Collections.singletonList(new ProjectVersion("examples.metadata", "test", "3.0.0")), projectsVersionsAPI.findNotEvicted(versions));
+        Assertions.assertFalse(projectsVersionsAPI.findNotEvictedOrExcluded().contains(new ProjectVersion("examples.metadata", "test", "2.2.0")));
+    }
 }
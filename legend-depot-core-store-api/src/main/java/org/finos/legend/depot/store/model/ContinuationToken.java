@@ -0,0 +1,63 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.model;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Opaque continuation token for keyset pagination, carrying the sort key values of the last item returned.
+ */
+public final class ContinuationToken
+{
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<List<Object>> KEY_VALUES = new TypeReference<List<Object>>()
+    {
+    };
+
+    private ContinuationToken()
+    {
+    }
+
+    public static String encode(List<?> keyValues)
+    {
+        try
+        {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(MAPPER.writeValueAsBytes(keyValues));
+        }
+        catch (IOException e)
+        {
+            throw new IllegalStateException("could not build continuation token", e);
+        }
+    }
+
+    public static List<Object> decode(String token)
+    {
+        try
+        {
+            return MAPPER.readValue(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8), KEY_VALUES);
+        }
+        catch (IllegalArgumentException | IOException e)
+        {
+            throw new IllegalArgumentException("invalid continuation token " + token);
+        }
+    }
+}
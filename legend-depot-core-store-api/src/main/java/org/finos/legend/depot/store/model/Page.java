@@ -0,0 +1,65 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class Page<T>
+{
+    @JsonProperty
+    private List<T> items = new ArrayList<>();
+
+    // absent on the last page
+    @JsonProperty
+    private String continuationToken;
+
+    public Page()
+    {
+    }
+
+    public Page(List<T> items, String continuationToken)
+    {
+        this.items = items;
+        this.continuationToken = continuationToken;
+    }
+
+    public List<T> getItems()
+    {
+        return items;
+    }
+
+    public String getContinuationToken()
+    {
+        return continuationToken;
+    }
+
+    public boolean hasMore()
+    {
+        return continuationToken != null;
+    }
+
+    public <R> Page<R> map(Function<? super T, ? extends R> function)
+    {
+        return new Page<>(items.stream().map(function).collect(Collectors.toList()), continuationToken);
+    }
+}
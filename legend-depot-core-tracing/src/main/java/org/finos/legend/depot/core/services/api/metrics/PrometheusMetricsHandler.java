@@ -23,10 +23,14 @@ public interface PrometheusMetricsHandler
 {
     void registerSummary(String summaryName,String helpMessage);
 
+    void registerSummary(String summaryName, String helpMessage, List<String> labelNames);
+
     void registerHistogram(String name,String helpMessage);
 
     void registerHistogram(String name, String help,List<String> labelNames);
 
+    void registerHistogram(String name, String help, List<String> labelNames, double[] buckets);
+
     void observe(String summaryName, long start, long end);
 
     void observeHistogram(String name, long start, long end,String... labelValues);
@@ -37,6 +41,8 @@ public interface PrometheusMetricsHandler
 
     void registerCounter(String counter, String helpMessage);
 
+    void registerCounter(String counter, String helpMessage, List<String> labelNames);
+
     void incrementCount(String counter);
 
     void incrementErrorCount(String counter);
@@ -52,4 +58,16 @@ public interface PrometheusMetricsHandler
     void increaseGauge(String name, int value);
 
     void registerResourceSummaries(Class<? extends TracingResource> baseResource);
+
+    // handles are resolved once (including label values) and then record without any name lookup,
+    // labelled metrics have to be registered with their label names first
+    CounterHandle counter(String counter, String... labelValues);
+
+    CounterHandle errorCounter(String counter);
+
+    SummaryHandle summary(String summaryName, String... labelValues);
+
+    GaugeHandle gauge(String name, String... labelValues);
+
+    HistogramHandle histogram(String name, String... labelValues);
 }
@@ -37,6 +37,11 @@ public class VoidPrometheusMetricsHandler implements PrometheusMetricsHandler
     {
     }
 
+    @Override
+    public void registerCounter(String counter, String helpMessage, List<String> labelNames)
+    {
+    }
+
     @Override
     public void observe(String uriMetricName, long start, long end)
     {
@@ -47,6 +52,11 @@ public class VoidPrometheusMetricsHandler implements PrometheusMetricsHandler
     {
     }
 
+    @Override
+    public void registerSummary(String summaryName, String helpMessage, List<String> labelNames)
+    {
+    }
+
     @Override
     public void registerResourceSummaries(Class<? extends TracingResource> baseResource)
     {
@@ -93,6 +103,12 @@ public class VoidPrometheusMetricsHandler implements PrometheusMetricsHandler
 
     }
 
+    @Override
+    public void registerHistogram(String name, String help, List<String> labelNames, double[] buckets)
+    {
+
+    }
+
     @Override
     public void observeHistogram(String name, long start, long end, String... labelValues)
     {
@@ -104,4 +120,34 @@ public class VoidPrometheusMetricsHandler implements PrometheusMetricsHandler
     {
 
     }
+
+    @Override
+    public CounterHandle counter(String counter, String... labelValues)
+    {
+        return CounterHandle.NOOP;
+    }
+
+    @Override
+    public CounterHandle errorCounter(String counter)
+    {
+        return CounterHandle.NOOP;
+    }
+
+    @Override
+    public SummaryHandle summary(String summaryName, String... labelValues)
+    {
+        return SummaryHandle.NOOP;
+    }
+
+    @Override
+    public GaugeHandle gauge(String name, String... labelValues)
+    {
+        return GaugeHandle.NOOP;
+    }
+
+    @Override
+    public HistogramHandle histogram(String name, String... labelValues)
+    {
+        return HistogramHandle.NOOP;
+    }
 }
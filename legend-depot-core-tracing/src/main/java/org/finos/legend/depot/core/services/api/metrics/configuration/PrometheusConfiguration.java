@@ -26,6 +26,9 @@ public class PrometheusConfiguration
     @JsonProperty
     private PrometheusMetricsHandler metricsHandler;
 
+    @JsonProperty
+    private ResourceMetricsConfiguration resourceMetrics = new ResourceMetricsConfiguration();
+
     public PrometheusConfiguration()
     {
     }
@@ -55,4 +58,14 @@ public class PrometheusConfiguration
     {
         this.metricsHandler = metricsHandler;
     }
+
+    public ResourceMetricsConfiguration getResourceMetrics()
+    {
+        return resourceMetrics;
+    }
+
+    public void setResourceMetrics(ResourceMetricsConfiguration resourceMetrics)
+    {
+        this.resourceMetrics = resourceMetrics;
+    }
 }
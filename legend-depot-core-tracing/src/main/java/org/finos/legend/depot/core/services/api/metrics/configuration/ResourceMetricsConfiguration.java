@@ -0,0 +1,63 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.services.api.metrics.configuration;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class ResourceMetricsConfiguration
+{
+    private static final double[] DEFAULT_DURATION_BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60};
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @JsonProperty
+    private double[] durationBuckets = DEFAULT_DURATION_BUCKETS;
+
+    // resources beyond this are recorded under a single "other" label
+    @JsonProperty
+    private int maxResources = 250;
+
+    public ResourceMetricsConfiguration()
+    {
+    }
+
+    public ResourceMetricsConfiguration(double[] durationBuckets, int maxResources)
+    {
+        this.durationBuckets = durationBuckets;
+        this.maxResources = maxResources;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    public double[] getDurationBuckets()
+    {
+        return durationBuckets;
+    }
+
+    public int getMaxResources()
+    {
+        return maxResources;
+    }
+}
@@ -18,6 +18,7 @@ package org.finos.legend.depot.core.services.metrics;
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.Counter;
 import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
@@ -25,13 +26,19 @@ import io.prometheus.client.Summary;
 import io.swagger.annotations.ApiOperation;
 import org.apache.commons.lang3.StringUtils;
 import org.eclipse.collections.impl.map.mutable.ConcurrentHashMap;
+import org.finos.legend.depot.core.services.api.metrics.CounterHandle;
+import org.finos.legend.depot.core.services.api.metrics.GaugeHandle;
+import org.finos.legend.depot.core.services.api.metrics.HistogramHandle;
 import org.finos.legend.depot.core.services.api.metrics.PrometheusMetricsHandler;
+import org.finos.legend.depot.core.services.api.metrics.SummaryHandle;
 import org.finos.legend.depot.core.services.tracing.resources.TracingResource;
 
 import javax.validation.constraints.NotNull;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.DoubleConsumer;
+import java.util.regex.Pattern;
 
 public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
 {
@@ -41,7 +48,7 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
     private static final String DURATION = " duration";
     private static final String GAUGE = " gauge";
     private static final String HISTOGRAM = " histogram";
-    private static final String WHITE_SPACE = "\\s";
+    private static final Pattern WHITE_SPACE = Pattern.compile("\\s");
 
     final ConcurrentHashMap<String, Counter> allCounters = new ConcurrentHashMap<>();
     final ConcurrentHashMap<String, Counter> allErrorCounters = new ConcurrentHashMap();
@@ -49,19 +56,37 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
     final ConcurrentHashMap<String, Gauge> allGauges = new ConcurrentHashMap();
     final ConcurrentHashMap<String, Histogram> allHistograms = new ConcurrentHashMap();
 
+    // metric names are sanitised once, recording only looks up the cached key
+    private final ConcurrentHashMap<String, String> keyNames = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> errorKeyNames = new ConcurrentHashMap<>();
+
     @JsonProperty
     @NotNull
     private final String prefix;
 
+    private final CollectorRegistry registry;
+
     @JsonCreator
     public DepotPrometheusMetricsHandler(@JsonProperty("prefix")String prefix)
+    {
+        this(prefix, CollectorRegistry.defaultRegistry);
+    }
+
+    public DepotPrometheusMetricsHandler(String prefix, CollectorRegistry registry)
     {
         this.prefix = prefix;
+        this.registry = registry;
     }
 
     private String getKeyName(String name)
     {
-        return sanitise(new StringBuffer().append(this.prefix).append(METRIC_SEPARATOR).append(StringUtils.lowerCase(name)).toString());
+        String key = keyNames.get(name);
+        return key != null ? key : keyNames.getIfAbsentPutWithKey(name, this::buildKeyName);
+    }
+
+    private String buildKeyName(String name)
+    {
+        return sanitise(new StringBuilder().append(this.prefix).append(METRIC_SEPARATOR).append(StringUtils.lowerCase(name)).toString());
     }
 
     private String getHelpMessage(String metricName, String helpMessage)
@@ -71,22 +96,43 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
 
     private String sanitise(String name)
     {
-        return name.replaceAll(WHITE_SPACE, METRIC_SEPARATOR);
+        return WHITE_SPACE.matcher(name).replaceAll(METRIC_SEPARATOR);
     }
 
     private String buildErrorCounterName(String counterName)
     {
-        return getKeyName(counterName) + ERRORS;
+        String key = errorKeyNames.get(counterName);
+        return key != null ? key : errorKeyNames.getIfAbsentPutWithKey(counterName, name -> getKeyName(name) + ERRORS);
     }
 
     private Counter buildCounter(String key, String helpMessage)
     {
-        return Counter.build(key,getHelpMessage(key,helpMessage)).register();
+        return buildCounter(key, helpMessage, Collections.emptyList());
+    }
+
+    private Counter buildCounter(String key, String helpMessage, List<String> labelNames)
+    {
+        Counter.Builder builder = Counter.build(key,getHelpMessage(key,helpMessage));
+        if (!labelNames.isEmpty())
+        {
+            builder.labelNames(labelNames.toArray(new String[0]));
+        }
+        return builder.register(registry);
     }
 
     private  Summary buildSummary(String name, String helpMessage)
     {
-        return Summary.build(getKeyName(name),getHelpMessage(name, helpMessage)).quantile(0.5D, 0.05D).quantile(0.9D, 0.01D).quantile(0.99D, 0.001D).register();
+        return buildSummary(name, helpMessage, Collections.emptyList());
+    }
+
+    private  Summary buildSummary(String name, String helpMessage, List<String> labelNames)
+    {
+        Summary.Builder builder = Summary.build(getKeyName(name),getHelpMessage(name, helpMessage)).quantile(0.5D, 0.05D).quantile(0.9D, 0.01D).quantile(0.99D, 0.001D);
+        if (!labelNames.isEmpty())
+        {
+            builder.labelNames(labelNames.toArray(new String[0]));
+        }
+        return builder.register(registry);
     }
 
     private Gauge buildGauge(String name, String helpMessage, List<String> labelNames)
@@ -96,30 +142,114 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
         {
             builder.labelNames(labelNames.toArray(new String[0]));
         }
-        return builder.register();
+        return builder.register(registry);
     }
 
     private Histogram buildHistogram(String name, String helpMessage, List<String> labelNames)
+    {
+        return buildHistogram(name, helpMessage, labelNames, null);
+    }
+
+    private Histogram buildHistogram(String name, String helpMessage, List<String> labelNames, double[] buckets)
     {
         Histogram.Builder builder = Histogram.build(getKeyName(name),getHelpMessage(name, helpMessage));
         if (!labelNames.isEmpty())
         {
             builder.labelNames(labelNames.toArray(new String[0]));
         }
-        return builder.register();
+        if (buckets != null)
+        {
+            builder.buckets(buckets);
+        }
+        return builder.register(registry);
+    }
+
+    private Counter resolveCounter(String counter)
+    {
+        String key = getKeyName(counter);
+        Counter found = allCounters.get(key);
+        return found != null ? found : allCounters.getIfAbsentPutWithKey(key, k -> buildCounter(k, counter));
+    }
+
+    private Counter resolveErrorCounter(String counter)
+    {
+        String key = buildErrorCounterName(counter);
+        Counter found = allErrorCounters.get(key);
+        return found != null ? found : allErrorCounters.getIfAbsentPutWithKey(key, k -> buildCounter(k, counter + ERRORS_HELP));
+    }
+
+    private Summary resolveSummary(String summaryName)
+    {
+        String key = getKeyName(summaryName);
+        Summary found = allSummaries.get(key);
+        return found != null ? found : allSummaries.getIfAbsentPutWithKey(key, k -> buildSummary(summaryName, summaryName + DURATION));
+    }
+
+    private Gauge resolveGauge(String gaugeName)
+    {
+        String key = getKeyName(gaugeName);
+        Gauge found = allGauges.get(key);
+        return found != null ? found : allGauges.getIfAbsentPutWithKey(key, k -> buildGauge(gaugeName, gaugeName + GAUGE, Collections.emptyList()));
+    }
+
+    private Counter getRegisteredCounter(String counter)
+    {
+        Counter found = this.allCounters.get(getKeyName(counter));
+        if (found == null)
+        {
+            throw new UnsupportedOperationException("Please register the counter first if you need labels");
+        }
+        return found;
+    }
+
+    private Summary getRegisteredSummary(String summaryName)
+    {
+        Summary summary = this.allSummaries.get(getKeyName(summaryName));
+        if (summary == null)
+        {
+            throw new UnsupportedOperationException("Please register the summary first if you need labels");
+        }
+        return summary;
+    }
+
+    private Gauge getRegisteredGauge(String gaugeName)
+    {
+        Gauge gauge = this.allGauges.get(getKeyName(gaugeName));
+        if (gauge == null)
+        {
+            throw new UnsupportedOperationException("Please register the gauge first if you need labels");
+        }
+        return gauge;
+    }
+
+    private Histogram resolveHistogram(String name)
+    {
+        String key = getKeyName(name);
+        Histogram found = allHistograms.get(key);
+        return found != null ? found : allHistograms.getIfAbsentPutWithKey(key, k -> buildHistogram(name, name + HISTOGRAM, Collections.emptyList()));
+    }
+
+    private Histogram getRegisteredHistogram(String name)
+    {
+        Histogram histogram = this.allHistograms.get(getKeyName(name));
+        if (histogram == null)
+        {
+            throw new UnsupportedOperationException("Please register the histogram first if you need labels");
+        }
+        return histogram;
     }
 
 
     @Override
     public void incrementCount(String counter)
     {
-        allCounters.getIfAbsentPutWithKey(getKeyName(counter),(key) -> buildCounter(getKeyName(counter),counter)).inc();
+        resolveCounter(counter).inc();
     }
 
     @Override
     public void incrementErrorCount(String counter)
     {
-        allErrorCounters.getIfAbsentPutWithKey(buildErrorCounterName(counter), (key) -> buildCounter(buildErrorCounterName(counter),counter + ERRORS_HELP)).inc();
+        resolveErrorCounter(counter).inc();
     }
 
     @Override
@@ -129,16 +259,28 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
         allErrorCounters.getIfAbsentPutWithKey(buildErrorCounterName(counterName),(key) -> buildCounter(buildErrorCounterName(counterName),helpMessage + ERRORS_HELP));
     }
 
+    @Override
+    public void registerCounter(String counterName, String helpMessage, List<String> labelNames)
+    {
+        allCounters.getIfAbsentPutWithKey(getKeyName(counterName),(key) -> buildCounter(key, helpMessage, labelNames));
+    }
+
     @Override
     public void registerSummary(String summaryName,String helpMessage)
     {
         this.allSummaries.getIfAbsentPutWithKey(getKeyName(summaryName),(key) -> buildSummary(summaryName, getHelpMessage(summaryName,helpMessage)));
     }
 
+    @Override
+    public void registerSummary(String summaryName, String helpMessage, List<String> labelNames)
+    {
+        this.allSummaries.getIfAbsentPutWithKey(getKeyName(summaryName),(key) -> buildSummary(summaryName, helpMessage, labelNames));
+    }
+
     @Override
     public void observe(String summaryName, long start, long end)
     {
-        this.allSummaries.getIfAbsentPutWithKey(getKeyName(summaryName),(key) -> buildSummary(summaryName, summaryName + DURATION)).observe((end - start) / 1000f);
+        resolveSummary(summaryName).observe((end - start) / 1000f);
     }
 
 
@@ -146,11 +288,7 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
     @Override
     public void observeHistogram(String name, long start, long end, String... labelValues)
     {
-        if (this.allHistograms.get(getKeyName(name)) == null)
-        {
-            throw new UnsupportedOperationException("Please register the histogram first if you need labels");
-        }
-        this.allHistograms.get(getKeyName(name)).labels(labelValues).observe(end - start);
+        getRegisteredHistogram(name).labels(labelValues).observe(end - start);
     }
 
 
@@ -170,23 +308,19 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
     @Override
     public void setGauge(String gaugeName, double value)
     {
-        this.allGauges.getIfAbsentPutWithKey(getKeyName(gaugeName),(key) -> buildGauge(gaugeName,gaugeName + GAUGE,Collections.emptyList())).set(value);
+        resolveGauge(gaugeName).set(value);
     }
 
     @Override
     public void setGauge(String gaugeName, double value, List<String> labelValues)
     {
-        if (this.allGauges.get(getKeyName(gaugeName)) == null)
-        {
-            throw new UnsupportedOperationException("Please register the gauge first if you need labels");
-        }
-        this.allGauges.get(getKeyName(gaugeName)).labels(labelValues.toArray(new String[0])).set(value);
+        getRegisteredGauge(gaugeName).labels(labelValues.toArray(new String[0])).set(value);
     }
 
     @Override
     public void increaseGauge(String gaugeName, int value)
     {
-        this.allGauges.getIfAbsentPutWithKey(getKeyName(gaugeName),(key) -> buildGauge(gaugeName,gaugeName + GAUGE,Collections.emptyList())).inc(value);
+        resolveGauge(gaugeName).inc(value);
     }
 
     @Override
@@ -201,16 +335,88 @@ public class DepotPrometheusMetricsHandler implements  PrometheusMetricsHandler
         this.allHistograms.getIfAbsentPutWithKey(getKeyName(name),(key) -> buildHistogram(name,name + HISTOGRAM,labelNames));
     }
 
+    @Override
+    public void registerHistogram(String name, String helpMessage, List<String> labelNames, double[] buckets)
+    {
+        this.allHistograms.getIfAbsentPutWithKey(getKeyName(name),(key) -> buildHistogram(name, helpMessage, labelNames, buckets));
+    }
+
     @Override
     public void observeHistogram(String name, long start, long end)
     {
-       this.allHistograms.getIfAbsentPutWithKey(getKeyName(name),(key) -> buildHistogram(name,name + HISTOGRAM,Collections.emptyList())).observe(end - start);
+       resolveHistogram(name).observe(end - start);
     }
 
     @Override
     public void observeHistogram(String name, double amount)
     {
-        this.allHistograms.getIfAbsentPutWithKey(getKeyName(name),(key) -> buildHistogram(name,name + HISTOGRAM,Collections.emptyList())).observe(amount);
+        resolveHistogram(name).observe(amount);
+    }
+
+    @Override
+    public CounterHandle counter(String counter, String... labelValues)
+    {
+        if (labelValues.length == 0)
+        {
+            return resolveCounter(counter)::inc;
+        }
+        return getRegisteredCounter(counter).labels(labelValues)::inc;
+    }
+
+    @Override
+    public CounterHandle errorCounter(String counter)
+    {
+        return resolveErrorCounter(counter)::inc;
+    }
+
+    @Override
+    public SummaryHandle summary(String summaryName, String... labelValues)
+    {
+        if (labelValues.length == 0)
+        {
+            return resolveSummary(summaryName)::observe;
+        }
+        return getRegisteredSummary(summaryName).labels(labelValues)::observe;
+    }
+
+    @Override
+    public GaugeHandle gauge(String name, String... labelValues)
+    {
+        if (labelValues.length == 0)
+        {
+            Gauge gauge = resolveGauge(name);
+            return gaugeHandle(gauge::set, gauge::inc);
+        }
+        Gauge.Child child = getRegisteredGauge(name).labels(labelValues);
+        return gaugeHandle(child::set, child::inc);
+    }
+
+    @Override
+    public HistogramHandle histogram(String name, String... labelValues)
+    {
+        if (labelValues.length == 0)
+        {
+            return resolveHistogram(name)::observe;
+        }
+        return getRegisteredHistogram(name).labels(labelValues)::observe;
+    }
+
+    private static GaugeHandle gaugeHandle(DoubleConsumer set, DoubleConsumer increase)
+    {
+        return new GaugeHandle()
+        {
+            @Override
+            public void set(double value)
+            {
+                set.accept(value);
+            }
+
+            @Override
+            public void increase(double value)
+            {
+                increase.accept(value);
+            }
+        };
     }
 
     @Override
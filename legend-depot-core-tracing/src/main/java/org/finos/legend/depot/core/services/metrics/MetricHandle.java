@@ -0,0 +1,68 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+
+package org.finos.legend.depot.core.services.metrics;
+
+import org.finos.legend.depot.core.services.api.metrics.PrometheusMetricsHandler;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A metric handle held by the component recording into it. It is resolved on first use and again only if the
+ * metrics handler is reconfigured, so recording costs an identity check instead of a metric name lookup.
+ */
+public final class MetricHandle<H>
+{
+    private final Supplier<PrometheusMetricsHandler> handlers;
+    private final Function<PrometheusMetricsHandler, H> resolver;
+    private volatile Resolved<H> resolved;
+
+    public MetricHandle(Supplier<PrometheusMetricsHandler> handlers, Function<PrometheusMetricsHandler, H> resolver)
+    {
+        this.handlers = handlers;
+        this.resolver = resolver;
+    }
+
+    public static <H> MetricHandle<H> of(Function<PrometheusMetricsHandler, H> resolver)
+    {
+        return new MetricHandle<>(PrometheusMetricsFactory::getInstance, resolver);
+    }
+
+    public H get()
+    {
+        PrometheusMetricsHandler handler = handlers.get();
+        Resolved<H> current = resolved;
+        if (current == null || current.handler != handler)
+        {
+            current = new Resolved<>(handler, resolver.apply(handler));
+            resolved = current;
+        }
+        return current.handle;
+    }
+
+    private static final class Resolved<H>
+    {
+        private final PrometheusMetricsHandler handler;
+        private final H handle;
+
+        private Resolved(PrometheusMetricsHandler handler, H handle)
+        {
+            this.handler = handler;
+            this.handle = handle;
+        }
+    }
+}
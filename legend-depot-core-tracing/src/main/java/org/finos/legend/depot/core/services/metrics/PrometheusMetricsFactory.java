@@ -24,7 +24,7 @@ import javax.inject.Singleton;
 @Singleton
 public final class PrometheusMetricsFactory
 {
-    private static PrometheusMetricsHandler INSTANCE;
+    private static volatile PrometheusMetricsHandler INSTANCE;
 
     public static PrometheusMetricsHandler getInstance()
     {
@@ -0,0 +1,293 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.services.metrics;
+
+import org.apache.commons.lang3.StringUtils;
+import org.finos.legend.depot.core.services.api.metrics.GaugeHandle;
+import org.finos.legend.depot.core.services.api.metrics.HistogramHandle;
+import org.finos.legend.depot.core.services.api.metrics.PrometheusMetricsHandler;
+import org.finos.legend.depot.core.services.api.metrics.SummaryHandle;
+import org.finos.legend.depot.core.services.api.metrics.configuration.ResourceMetricsConfiguration;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Records per resource template (e.g. "GET /projects/{groupId}/{artifactId}") request duration by status class,
+ * time spent in the resource method versus serializing the response, response size and requests being handled.
+ */
+public class ResourceMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor
+{
+    static final String OTHER_RESOURCE = "other";
+    static final String UNMATCHED_RESOURCE = "unmatched";
+    static final String HANDLER_PHASE = "handler";
+    static final String SERIALIZATION_PHASE = "serialization";
+    static final String REQUEST_DURATION = "http_request_duration_seconds";
+    static final String PHASE_DURATION = "http_request_phase_duration_seconds";
+    static final String RESPONSE_SIZE = "http_response_size_bytes";
+    static final String IN_FLIGHT = "http_requests_in_flight";
+    private static final String RESOURCE = "resource";
+    private static final String STATUS = "status";
+    private static final String PHASE = "phase";
+    private static final String START_TIME_PROPERTY = ResourceMetricsFilter.class.getName() + ".start";
+    private static final String HANDLED_TIME_PROPERTY = ResourceMetricsFilter.class.getName() + ".handled";
+    private static final String HANDLES_PROPERTY = ResourceMetricsFilter.class.getName() + ".handles";
+    private static final String STATUS_PROPERTY = ResourceMetricsFilter.class.getName() + ".status";
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    private final Supplier<PrometheusMetricsHandler> handlers;
+    private final double[] durationBuckets;
+    private final int maxResources;
+    private final ConcurrentHashMap<Method, String> resourceLabels = new ConcurrentHashMap<>();
+    private volatile Registration registration;
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    public ResourceMetricsFilter(ResourceMetricsConfiguration configuration)
+    {
+        this(configuration, PrometheusMetricsFactory::getInstance);
+    }
+
+    ResourceMetricsFilter(ResourceMetricsConfiguration configuration, Supplier<PrometheusMetricsHandler> handlers)
+    {
+        this.handlers = handlers;
+        this.durationBuckets = configuration.getDurationBuckets();
+        this.maxResources = configuration.getMaxResources();
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext)
+    {
+        ResourceHandles handles = handles(resourceLabel(resourceInfo != null ? resourceInfo.getResourceMethod() : null));
+        requestContext.setProperty(HANDLES_PROPERTY, handles);
+        requestContext.setProperty(START_TIME_PROPERTY, System.nanoTime());
+        handles.inFlight.increase(1);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext)
+    {
+        Object start = requestContext.getProperty(START_TIME_PROPERTY);
+        if (start == null)
+        {
+            // request never reached a resource method, e.g. not found
+            return;
+        }
+        ResourceHandles handles = (ResourceHandles) requestContext.getProperty(HANDLES_PROPERTY);
+        long handled = System.nanoTime();
+        // the response filter runs once for every request that was counted in, the writer interceptor may not run at all
+        handles.inFlight.increase(-1);
+        handles.handlerPhase.observe((handled - (long) start) / NANOS_PER_SECOND);
+        if (responseContext.hasEntity())
+        {
+            // completed in aroundWriteTo once the entity is serialized
+            requestContext.setProperty(HANDLED_TIME_PROPERTY, handled);
+            requestContext.setProperty(STATUS_PROPERTY, statusClass(responseContext.getStatus()));
+        }
+        else
+        {
+            requestContext.removeProperty(START_TIME_PROPERTY);
+            handles.duration(statusClass(responseContext.getStatus())).observe((handled - (long) start) / NANOS_PER_SECOND);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException
+    {
+        Object start = context.getProperty(START_TIME_PROPERTY);
+        Object handled = context.getProperty(HANDLED_TIME_PROPERTY);
+        if (start == null || handled == null)
+        {
+            context.proceed();
+            return;
+        }
+        context.removeProperty(START_TIME_PROPERTY);
+        ResourceHandles handles = (ResourceHandles) context.getProperty(HANDLES_PROPERTY);
+        CountingOutputStream outputStream = new CountingOutputStream(context.getOutputStream());
+        context.setOutputStream(outputStream);
+        try
+        {
+            context.proceed();
+        }
+        finally
+        {
+            long end = System.nanoTime();
+            handles.serializationPhase.observe((end - (long) handled) / NANOS_PER_SECOND);
+            handles.responseSize.observe(outputStream.count);
+            handles.duration((String) context.getProperty(STATUS_PROPERTY)).observe((end - (long) start) / NANOS_PER_SECOND);
+        }
+    }
+
+    ResourceHandles handles(String resource)
+    {
+        PrometheusMetricsHandler handler = handlers.get();
+        Registration current = registration;
+        if (current == null || current.handler != handler)
+        {
+            current = new Registration(handler, durationBuckets);
+            registration = current;
+        }
+        return current.handles(resource);
+    }
+
+    String resourceLabel(Method method)
+    {
+        if (method == null)
+        {
+            return UNMATCHED_RESOURCE;
+        }
+        String label = resourceLabels.get(method);
+        if (label != null)
+        {
+            return label;
+        }
+        // cardinality guard: label values are derived from resource methods only, and capped
+        if (resourceLabels.size() >= maxResources)
+        {
+            return OTHER_RESOURCE;
+        }
+        return resourceLabels.computeIfAbsent(method, ResourceMetricsFilter::buildResourceLabel);
+    }
+
+    static String statusClass(int status)
+    {
+        return status >= 100 && status < 600 ? (status / 100) + "xx" : "unknown";
+    }
+
+    private static String buildResourceLabel(Method method)
+    {
+        StringBuilder template = new StringBuilder();
+        appendPath(template, method.getDeclaringClass().getAnnotation(Path.class));
+        appendPath(template, method.getAnnotation(Path.class));
+        return httpMethod(method) + " " + (template.length() == 0 ? "/" : template.toString());
+    }
+
+    private static void appendPath(StringBuilder template, Path path)
+    {
+        if (path != null)
+        {
+            String value = StringUtils.strip(path.value(), "/");
+            if (!value.isEmpty())
+            {
+                template.append('/').append(value);
+            }
+        }
+    }
+
+    private static String httpMethod(Method method)
+    {
+        for (Annotation annotation : method.getAnnotations())
+        {
+            HttpMethod httpMethod = annotation.annotationType().getAnnotation(HttpMethod.class);
+            if (httpMethod != null)
+            {
+                return httpMethod.value();
+            }
+        }
+        return "ANY";
+    }
+
+    // metrics registered with one handler, a reconfigured handler gets a fresh registration
+    private static final class Registration
+    {
+        private final PrometheusMetricsHandler handler;
+        private final Map<String, ResourceHandles> resources = new ConcurrentHashMap<>();
+
+        private Registration(PrometheusMetricsHandler handler, double[] durationBuckets)
+        {
+            this.handler = handler;
+            handler.registerHistogram(REQUEST_DURATION, "resource request duration", Arrays.asList(RESOURCE, STATUS), durationBuckets);
+            handler.registerHistogram(PHASE_DURATION, "time spent in the resource method (store) or serializing the response", Arrays.asList(RESOURCE, PHASE), durationBuckets);
+            handler.registerSummary(RESPONSE_SIZE, "resource response size", Arrays.asList(RESOURCE));
+            handler.registerGauge(IN_FLIGHT, "resource requests being handled", Arrays.asList(RESOURCE));
+        }
+
+        private ResourceHandles handles(String resource)
+        {
+            ResourceHandles found = resources.get(resource);
+            return found != null ? found : resources.computeIfAbsent(resource, r -> new ResourceHandles(handler, r));
+        }
+    }
+
+    static final class ResourceHandles
+    {
+        private final PrometheusMetricsHandler handler;
+        private final String resource;
+        private final GaugeHandle inFlight;
+        private final HistogramHandle handlerPhase;
+        private final HistogramHandle serializationPhase;
+        private final SummaryHandle responseSize;
+        private final Map<String, HistogramHandle> durations = new ConcurrentHashMap<>();
+
+        private ResourceHandles(PrometheusMetricsHandler handler, String resource)
+        {
+            this.handler = handler;
+            this.resource = resource;
+            this.inFlight = handler.gauge(IN_FLIGHT, resource);
+            this.handlerPhase = handler.histogram(PHASE_DURATION, resource, HANDLER_PHASE);
+            this.serializationPhase = handler.histogram(PHASE_DURATION, resource, SERIALIZATION_PHASE);
+            this.responseSize = handler.summary(RESPONSE_SIZE, resource);
+        }
+
+        HistogramHandle duration(String status)
+        {
+            HistogramHandle found = durations.get(status);
+            return found != null ? found : durations.computeIfAbsent(status, s -> handler.histogram(REQUEST_DURATION, resource, s));
+        }
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream
+    {
+        private long count;
+
+        private CountingOutputStream(OutputStream out)
+        {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException
+        {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException
+        {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
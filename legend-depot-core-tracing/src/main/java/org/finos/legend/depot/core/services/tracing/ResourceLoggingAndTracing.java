@@ -18,6 +18,11 @@ package org.finos.legend.depot.core.services.tracing;
 public class ResourceLoggingAndTracing
 {
     public static final String GET_ALL_PROJECTS = "get all projects";
+    public static final String GET_PROJECTS_PAGE = "get projects page";
+    public static final String GET_PROJECTS_SUMMARY = "get projects summary";
+    public static final String GET_VERSIONS_PAGE = "get versions page";
+    public static final String GET_VERSION_ENTITIES_PAGE = "get version entities page";
+    public static final String FIND_PAST_EVENTS_PAGE = "find past events page";
     public static final String GET_VERSIONS_BY_LASTUPDATE_DATE = "get versions by lastupdate date";
     public static final String GET_PROJECT_CONFIG_BY_GA = "get project configuration by ga";
     public static final String FIND_PROJECT_VERSIONS = "find project versions";
@@ -50,6 +55,7 @@ public class ResourceLoggingAndTracing
     public static final String DEPRECATE_VERSION = "deprecate version";
     public static final String EVICT_VERSION = "evict version";
     public static final String EVICT_VERSIONS_NOT_USED = "evict versions not used";
+    public static final String EVICT_LEAST_RECENTLY_USED = "evict least recently used versions";
     public static final String GET_VERSION_FILE_GENERATION_ENTITIES = "get version generation entities";
     public static final String GET_VERSION_FILE_GENERATION = "get version file generations";
     public static final String GET_VERSION_FILE_GENERATION_BY_TYPE = "get version file generations by type";
@@ -68,6 +74,10 @@ public class ResourceLoggingAndTracing
     public static final String GET_ENTITIES_BY_CLASSIFIER_PATH = "get entities by classifier path";
     public static final String REPOSITORY_PROJECT_VERSIONS = "repo project versions";
     public static final String GET_PROJECT_CACHE_MISMATCHES = "version mismatch";
+    public static final String GET_PROJECT_CACHE_MISMATCHES_PAGE = "version mismatch page";
+    public static final String START_PROJECT_CACHE_MISMATCHES_REPORT = "start version mismatch report";
+    public static final String GET_PROJECT_CACHE_MISMATCHES_REPORT = "get version mismatch report";
+    public static final String GET_PROJECT_CACHE_MISMATCHES_REPORT_PAGE = "get version mismatch report page";
     public static final String FIND_EVENT_BY_ID = "find event";
     public static final String GET_EVENT_IN_QUEUE = "find event in queue";
     public static final String DELETE_SCHEDULE = "delete schedule";
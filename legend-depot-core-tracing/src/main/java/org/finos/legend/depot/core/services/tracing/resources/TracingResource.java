@@ -15,8 +15,10 @@
 
 package org.finos.legend.depot.core.services.tracing.resources;
 
+import org.finos.legend.depot.core.services.api.metrics.CounterHandle;
+import org.finos.legend.depot.core.services.api.metrics.SummaryHandle;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
-import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.core.services.metrics.MetricHandle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,6 +26,7 @@ import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 public class TracingResource
@@ -35,6 +38,9 @@ public class TracingResource
     private static final int PADDING = 29;
     private static final String FINISHED = "Finished ";
     private static final String MS = "ms)";
+    // resource metric names are fixed labels, their handles are resolved once and shared by every resource instance
+    private static final ConcurrentHashMap<String, MetricHandle<SummaryHandle>> DURATIONS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, MetricHandle<CounterHandle>> ERRORS = new ConcurrentHashMap<>();
 
     public TracingResource()
     {
@@ -74,7 +80,7 @@ public class TracingResource
         {
             T result = supplier.get();
             long end = System.currentTimeMillis();
-            PrometheusMetricsFactory.getInstance().observe(resourceAPIMetricName, start, end);
+            duration(resourceAPIMetricName).get().observe(start, end);
             if (isInfoLogging)
             {
                 duration = end - start;
@@ -84,7 +90,7 @@ public class TracingResource
         }
         catch (Exception e)
         {
-            PrometheusMetricsFactory.getInstance().incrementErrorCount(resourceAPIMetricName);
+            errors(resourceAPIMetricName).get().increment();
             if (logger.isErrorEnabled())
             {
                 duration = System.currentTimeMillis() - start;
@@ -94,6 +100,18 @@ public class TracingResource
         }
     }
 
+    private static MetricHandle<SummaryHandle> duration(String resourceAPIMetricName)
+    {
+        MetricHandle<SummaryHandle> handle = DURATIONS.get(resourceAPIMetricName);
+        return handle != null ? handle : DURATIONS.computeIfAbsent(resourceAPIMetricName, name -> MetricHandle.of(metrics -> metrics.summary(name)));
+    }
+
+    private static MetricHandle<CounterHandle> errors(String resourceAPIMetricName)
+    {
+        MetricHandle<CounterHandle> handle = ERRORS.get(resourceAPIMetricName);
+        return handle != null ? handle : ERRORS.computeIfAbsent(resourceAPIMetricName, name -> MetricHandle.of(metrics -> metrics.errorCounter(name)));
+    }
+
     protected <T> T handle(String resourceAPIMetricName, String label, Supplier<T> supplier)
     {
         return TracerFactory.get().executeWithTrace(label, () -> handleWithLogging(resourceAPIMetricName, label, supplier));
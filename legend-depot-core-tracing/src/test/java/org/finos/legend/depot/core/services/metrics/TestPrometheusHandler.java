@@ -17,11 +17,23 @@
 package org.finos.legend.depot.core.services.metrics;
 
 import io.prometheus.client.CollectorRegistry;
+import org.finos.legend.depot.core.services.api.metrics.CounterHandle;
+import org.finos.legend.depot.core.services.api.metrics.GaugeHandle;
+import org.finos.legend.depot.core.services.api.metrics.PrometheusMetricsHandler;
+import org.finos.legend.depot.core.services.api.metrics.SummaryHandle;
 import org.finos.legend.depot.core.services.api.metrics.configuration.PrometheusConfiguration;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
 public class TestPrometheusHandler
 {
     DepotPrometheusMetricsHandler prometheusMetrics = (DepotPrometheusMetricsHandler) PrometheusMetricsFactory.configure(new PrometheusConfiguration(true,new DepotPrometheusMetricsHandler("test")));
@@ -99,4 +111,87 @@ public class TestPrometheusHandler
         prometheusMetrics.registerSummary("test","test");
         Assertions.assertEquals(1,prometheusMetrics.allSummaries.keySet().size());
     }
+
+    @Test
+    public void canRecordThroughHandles() throws Exception
+    {
+        CounterHandle counter = prometheusMetrics.counter("test handle");
+        prometheusMetrics.incrementCount("test handle");
+        Assertions.assertEquals(1, prometheusMetrics.allCounters.size());
+        Assertions.assertEquals(1.0D, prometheusMetrics.allCounters.get("test_test_handle").get(), 0.0D);
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        List<Future<?>> tasks = new ArrayList<>();
+        for (int i = 0; i < 4; i++)
+        {
+            tasks.add(executorService.submit(() ->
+            {
+                for (int j = 0; j < 1000; j++)
+                {
+                    counter.increment();
+                }
+            }));
+        }
+        for (Future<?> task : tasks)
+        {
+            task.get();
+        }
+        executorService.shutdown();
+        Assertions.assertEquals(4001.0D, prometheusMetrics.allCounters.get("test_test_handle").get(), 0.0D);
+
+        prometheusMetrics.errorCounter("test handle").increment();
+        Assertions.assertEquals(1.0D, prometheusMetrics.allErrorCounters.get("test_test_handle_errors").get(), 0.0D);
+    }
+
+    @Test
+    public void canRecordThroughLabelledGaugeHandle()
+    {
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> prometheusMetrics.gauge("test gauge", "collection"));
+
+        prometheusMetrics.registerGauge("test gauge", "help", Arrays.asList("collectionName"));
+        GaugeHandle gauge = prometheusMetrics.gauge("test gauge", "collection");
+        gauge.set(5);
+        gauge.increase(2);
+        Assertions.assertEquals(7.0D, prometheusMetrics.allGauges.get("test_test_gauge").labels("collection").get(), 0.0D);
+
+        prometheusMetrics.setGauge("test gauge", 3, Arrays.asList("collection"));
+        Assertions.assertEquals(3.0D, prometheusMetrics.allGauges.get("test_test_gauge").labels("collection").get(), 0.0D);
+    }
+
+    @Test
+    public void canRecordThroughLabelledCounterAndSummaryHandles()
+    {
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> prometheusMetrics.counter("test labelled", "collection"));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> prometheusMetrics.summary("test labelled", "collection"));
+
+        prometheusMetrics.registerCounter("test labelled", "help", Arrays.asList("collectionName"));
+        prometheusMetrics.registerSummary("test labelled", "help", Arrays.asList("collectionName"));
+        prometheusMetrics.counter("test labelled", "collection").increment();
+        SummaryHandle summary = prometheusMetrics.summary("test labelled", "collection");
+        summary.observe(2);
+        summary.observe(0, 1500);
+
+        Assertions.assertEquals(1.0D, prometheusMetrics.allCounters.get("test_test_labelled").labels("collection").get(), 0.0D);
+        Assertions.assertEquals(2.0D, prometheusMetrics.allSummaries.get("test_test_labelled").labels("collection").get().count, 0.0D);
+        Assertions.assertEquals(3.5D, prometheusMetrics.allSummaries.get("test_test_labelled").labels("collection").get().sum, 0.0D);
+    }
+
+    @Test
+    public void metricHandleResolvesAgainWhenHandlerChanges()
+    {
+        CollectorRegistry first = new CollectorRegistry();
+        CollectorRegistry second = new CollectorRegistry();
+        AtomicReference<PrometheusMetricsHandler> handlers = new AtomicReference<>(new DepotPrometheusMetricsHandler("test", first));
+        MetricHandle<CounterHandle> counter = new MetricHandle<>(handlers::get, metrics -> metrics.counter("test handle"));
+
+        CounterHandle resolved = counter.get();
+        resolved.increment();
+        Assertions.assertSame(resolved, counter.get());
+
+        handlers.set(new DepotPrometheusMetricsHandler("test", second));
+        counter.get().increment();
+        counter.get().increment();
+        Assertions.assertEquals(1.0D, first.getSampleValue("test_test_handle"), 0.0D);
+        Assertions.assertEquals(2.0D, second.getSampleValue("test_test_handle"), 0.0D);
+    }
 }
@@ -0,0 +1,116 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.core.services.metrics;
+
+import io.prometheus.client.CollectorRegistry;
+import org.finos.legend.depot.core.services.api.metrics.configuration.ResourceMetricsConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestResourceMetricsFilter
+{
+    private final CollectorRegistry registry = new CollectorRegistry();
+    private final DepotPrometheusMetricsHandler metricsHandler = new DepotPrometheusMetricsHandler("test", registry);
+
+    @Test
+    public void canLabelResourcesByTemplate() throws NoSuchMethodException
+    {
+        ResourceMetricsFilter filter = new ResourceMetricsFilter(new ResourceMetricsConfiguration(), () -> metricsHandler);
+        Assertions.assertEquals("GET /tracing/test", filter.resourceLabel(TestTracingResource.class.getMethod("testMethod")));
+        Assertions.assertEquals(ResourceMetricsFilter.UNMATCHED_RESOURCE, filter.resourceLabel(null));
+    }
+
+    @Test
+    public void canCapResourceLabels() throws NoSuchMethodException
+    {
+        ResourceMetricsFilter filter = new ResourceMetricsFilter(new ResourceMetricsConfiguration(new double[]{0.1, 1}, 1), () -> metricsHandler);
+        Assertions.assertEquals("GET /tracing/test", filter.resourceLabel(TestTracingResource.class.getMethod("testMethod")));
+        Assertions.assertEquals(ResourceMetricsFilter.OTHER_RESOURCE, filter.resourceLabel(TestTracingResource.class.getMethod("toString")));
+        Assertions.assertEquals("GET /tracing/test", filter.resourceLabel(TestTracingResource.class.getMethod("testMethod")));
+    }
+
+    @Test
+    public void canClassifyStatus()
+    {
+        Assertions.assertEquals("2xx", ResourceMetricsFilter.statusClass(200));
+        Assertions.assertEquals("3xx", ResourceMetricsFilter.statusClass(304));
+        Assertions.assertEquals("5xx", ResourceMetricsFilter.statusClass(503));
+        Assertions.assertEquals("unknown", ResourceMetricsFilter.statusClass(0));
+    }
+
+    @Test
+    public void canRegisterResourceMetricsWithConfiguredBuckets()
+    {
+        ResourceMetricsFilter filter = new ResourceMetricsFilter(new ResourceMetricsConfiguration(new double[]{0.1, 1}, 10), () -> metricsHandler);
+        filter.handles("GET /tracing/test").duration("2xx").observe(0.5);
+        Assertions.assertEquals(1.0D, registry.getSampleValue("test_http_request_duration_seconds_bucket", new String[]{"resource", "status", "le"}, new String[]{"GET /tracing/test", "2xx", "1.0"}), 0.0D);
+        Assertions.assertEquals(0.0D, registry.getSampleValue("test_http_request_duration_seconds_bucket", new String[]{"resource", "status", "le"}, new String[]{"GET /tracing/test", "2xx", "0.1"}), 0.0D);
+    }
+
+    @Test
+    public void canReleaseInFlightRequestsWhenResponseIsNotWritten()
+    {
+        ResourceMetricsFilter filter = new ResourceMetricsFilter(new ResourceMetricsConfiguration(), () -> metricsHandler);
+        ContainerRequestContext request = requestContext(new HashMap<>());
+        filter.filter(request);
+        Assertions.assertEquals(1.0D, registry.getSampleValue("test_http_requests_in_flight", new String[]{"resource"}, new String[]{ResourceMetricsFilter.UNMATCHED_RESOURCE}), 0.0D);
+
+        // a response with an entity whose writer never runs, e.g. a HEAD request
+        filter.filter(request, responseContext(200, true));
+        Assertions.assertEquals(0.0D, registry.getSampleValue("test_http_requests_in_flight", new String[]{"resource"}, new String[]{ResourceMetricsFilter.UNMATCHED_RESOURCE}), 0.0D);
+        Assertions.assertEquals(1.0D, registry.getSampleValue("test_http_request_phase_duration_seconds_count", new String[]{"resource", "phase"}, new String[]{ResourceMetricsFilter.UNMATCHED_RESOURCE, ResourceMetricsFilter.HANDLER_PHASE}), 0.0D);
+    }
+
+    private static ContainerRequestContext requestContext(Map<String, Object> properties)
+    {
+        return (ContainerRequestContext) Proxy.newProxyInstance(ContainerRequestContext.class.getClassLoader(), new Class<?>[]{ContainerRequestContext.class}, (proxy, method, args) ->
+        {
+            switch (method.getName())
+            {
+                case "getProperty":
+                    return properties.get(args[0]);
+                case "setProperty":
+                    return properties.put((String) args[0], args[1]);
+                case "removeProperty":
+                    return properties.remove(args[0]);
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+
+    private static ContainerResponseContext responseContext(int status, boolean hasEntity)
+    {
+        return (ContainerResponseContext) Proxy.newProxyInstance(ContainerResponseContext.class.getClassLoader(), new Class<?>[]{ContainerResponseContext.class}, (proxy, method, args) ->
+        {
+            switch (method.getName())
+            {
+                case "getStatus":
+                    return status;
+                case "hasEntity":
+                    return hasEntity;
+                default:
+                    throw new UnsupportedOperationException(method.getName());
+            }
+        });
+    }
+}
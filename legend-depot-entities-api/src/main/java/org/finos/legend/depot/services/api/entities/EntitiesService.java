@@ -17,6 +17,7 @@ package org.finos.legend.depot.services.api.entities;
 
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
@@ -34,6 +35,11 @@ public interface EntitiesService<T extends StoredEntity>
 
     List<Entity> getEntities(String groupId, String artifactId, String versionId);
 
+    /**
+     * Pages through the entities of versionId as stored: callers resolve aliases and check the version exists beforehand.
+     */
+    Page<Entity> getEntities(String groupId, String artifactId, String versionId, String continuationToken, int pageSize);
+
     List<Entity> getEntitiesByClassifier(String groupId, String artifactId, String versionId, String classifier);
 
     Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String entityPath);
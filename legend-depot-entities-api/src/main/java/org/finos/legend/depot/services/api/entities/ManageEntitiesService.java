@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.services.api.entities;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
@@ -29,6 +30,10 @@ public interface ManageEntitiesService<T extends StoredEntity> extends EntitiesS
 
     long delete(String groupId, String artifactId, String versionId);
 
+    long delete(String groupId, String artifactId, List<String> versionIds);
+
+    long delete(List<ProjectVersion> projectVersions);
+
     void createOrUpdate(String groupId, String artifactId, String versionId, List<Entity> entities);
 
 }
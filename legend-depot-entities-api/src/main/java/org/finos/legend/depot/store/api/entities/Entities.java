@@ -17,6 +17,7 @@ package org.finos.legend.depot.store.api.entities;
 
 import org.finos.legend.depot.domain.entity.DepotEntity;
 import org.finos.legend.depot.domain.entity.DepotEntityOverview;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
@@ -30,6 +31,8 @@ public interface Entities<T extends StoredEntity>
 {
     List<Entity> getAllEntities(String groupId, String artifactId, String versionId);
 
+    Page<Entity> getAllEntities(String groupId, String artifactId, String versionId, String continuationToken, int pageSize);
+
     Optional<Entity> getEntity(String groupId, String artifactId, String versionId, String path);
 
     List<Entity> getEntityFromDependencies(Set<ProjectVersion> dependencies, List<String> entityPaths);
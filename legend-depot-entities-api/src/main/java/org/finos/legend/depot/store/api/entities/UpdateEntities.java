@@ -16,6 +16,7 @@
 package org.finos.legend.depot.store.api.entities;
 
 import org.eclipse.collections.api.tuple.Pair;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
 
@@ -30,6 +31,10 @@ public interface UpdateEntities<T extends StoredEntity> extends Entities<T>
 
     long delete(String groupId, String artifactId, String versionId);
 
+    long delete(String groupId, String artifactId, List<String> versionIds);
+
+    long delete(List<ProjectVersion> projectVersions);
+
     List<T> getStoredEntities(String groupId, String artifactId);
 
     List<Pair<String, String>> getStoredEntitiesCoordinates();
@@ -39,6 +39,7 @@ import java.util.Set;
 
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.GET_VERSION_ENTITIES;
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.GET_VERSION_ENTITIES_BY_FILTER;
+import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.GET_VERSION_ENTITIES_PAGE;
 import static org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing.GET_VERSION_ENTITY;
 
 @Path("")
@@ -68,6 +69,22 @@ public class EntitiesResource extends TracingResource
         return handle(GET_VERSION_ENTITIES, () -> this.entitiesService.getEntities(groupId, artifactId, resolvedVersionId), request, () -> EtagBuilder.create().withGAV(groupId, artifactId, resolvedVersionId).build());
     }
 
+    @GET
+    @Path("/paged/projects/{groupId}/{artifactId}/versions/{versionId}")
+    @ApiOperation(GET_VERSION_ENTITIES_PAGE)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response getEntities(@PathParam("groupId") String groupId,
+                                @PathParam("artifactId") String artifactId,
+                                @PathParam("versionId") @ApiParam(value = VersionValidator.VALID_VERSION_ID_TXT) String versionId,
+                                @QueryParam("continuationToken") @ApiParam("token returned with the previous page, first page if not provided") String continuationToken,
+                                @QueryParam("pageSize") @DefaultValue("100") @ApiParam("number of entities per page") int pageSize,
+                                @Context Request request)
+    {
+        String resolvedVersionId = this.projectsService.resolveAliasesAndCheckVersionExists(groupId, artifactId, versionId);
+        return handle(GET_VERSION_ENTITIES_PAGE, () -> this.entitiesService.getEntities(groupId, artifactId, resolvedVersionId, continuationToken, pageSize), request,
+                () -> EtagBuilder.create().withGAV(groupId, artifactId, resolvedVersionId).withPage(continuationToken, pageSize).build());
+    }
+
     @GET
     @Path("/projects/{groupId}/{artifactId}/versions/{versionId}/classifiers/{classifier}")
     @ApiOperation(value = GET_VERSION_ENTITIES, hidden = true)
@@ -18,12 +18,14 @@ package org.finos.legend.depot.services.entities;
 import org.eclipse.collections.api.list.MutableList;
 import org.eclipse.collections.impl.list.mutable.FastList;
 import org.eclipse.collections.impl.parallel.ParallelIterate;
-import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.core.services.api.metrics.HistogramHandle;
+import org.finos.legend.depot.core.services.metrics.MetricHandle;
 import org.finos.legend.depot.domain.artifacts.repository.ArtifactDependency;
 import org.finos.legend.depot.domain.entity.ProjectVersionEntities;
 import org.finos.legend.depot.domain.project.ProjectVersionData;
 import org.finos.legend.depot.services.dependencies.DependencyExclusionsUtil;
 import org.finos.legend.depot.services.dependencies.DependencyUtil;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.api.entities.EntitiesService;
@@ -51,6 +53,8 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
     private static final String CALCULATE_PROJECT_DEPENDENCIES = "calculateProjectDependencies";
     private static final String RETRIEVE_DEPENDENCY_ENTITIES = "retrieveDependencyEntities";
     private static final String DEPENDENCIES_SIZE = "dependencies";
+
+    private static final MetricHandle<HistogramHandle> DEPENDENCIES_SIZE_HISTOGRAM = MetricHandle.of(metrics -> metrics.histogram(DEPENDENCIES_SIZE));
     private final Entities entities;
     protected final ProjectsService projects;
 
@@ -69,6 +73,12 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
         return entities.getAllEntities(groupId, artifactId, version);
     }
 
+    @Override
+    public Page<Entity> getEntities(String groupId, String artifactId, String versionId, String continuationToken, int pageSize)
+    {
+        return entities.getAllEntities(groupId, artifactId, versionId, continuationToken, pageSize);
+    }
+
     @Override
     public List<Entity> getEntitiesByClassifier(String groupId, String artifactId, String versionId, String classifier)
     {
@@ -116,7 +126,7 @@ public class EntitiesServiceImpl<T extends StoredEntity> implements EntitiesServ
         });
 
         TracerFactory.get().log(String.format("dependencies: [%s] ",dependencies.size()));
-        PrometheusMetricsFactory.getInstance().observeHistogram(DEPENDENCIES_SIZE,dependencies.size());
+        DEPENDENCIES_SIZE_HISTOGRAM.get().observe(dependencies.size());
         LOGGER.info("finished calculating [{}] dependencies",dependencies.size());
 
         return retrieveEntitiesForDependencies(dependencies, classifier);
@@ -22,11 +22,11 @@ import org.finos.legend.depot.domain.version.Scope;
 import org.finos.legend.depot.services.api.entities.EntityClassifierService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.store.api.entities.Entities;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -43,19 +43,9 @@ public class EntityClassifierServiceImpl implements EntityClassifierService
         this.entities = versions;
     }
 
-    private List<ProjectVersion> getLatestProjectVersionByPage(int page, int pageSize, List<StoreProjectData> allProjects)
+    private List<ProjectVersion> getLatestProjectVersions(Page<StoreProjectData> projectsPage)
     {
-        int beginIndex = page * pageSize - pageSize;
-        int lastIndex = page * pageSize - 1;
-        if (beginIndex >= allProjects.size() || beginIndex < 0)
-        {
-            return Collections.emptyList();
-        }
-        else if (lastIndex >= allProjects.size())
-        {
-            lastIndex = allProjects.size() - 1;
-        }
-        return allProjects.subList(beginIndex, lastIndex).stream()
+        return projectsPage.getItems().stream()
                 .filter(project -> project.getLatestVersion() != null)
                 .map(project -> new ProjectVersion(project.getGroupId(), project.getArtifactId(), project.getLatestVersion()))
                 .collect(Collectors.toList());
@@ -69,19 +59,19 @@ public class EntityClassifierServiceImpl implements EntityClassifierService
             return this.findClassifierEntities(classifierPath, scope, search, limit);
         }
         List<DepotEntity> result = new ArrayList<>();
-        int currentPage = 1;
-        List<StoreProjectData> allProjects = projects.getAllProjectCoordinates();
-        List<ProjectVersion> projectVersions = this.getLatestProjectVersionByPage(currentPage, PAGE_SIZE, allProjects);
-        while (!projectVersions.isEmpty())
+        Page<StoreProjectData> projectsPage = projects.getProjectCoordinates(null, PAGE_SIZE);
+        while (true)
         {
-            List<DepotEntity> entities = this.findClassifierEntitiesByVersions(classifierPath, projectVersions, search, limit);
-            result.addAll(entities);
-            if (limit != null && result.size() >= limit)
+            List<ProjectVersion> projectVersions = this.getLatestProjectVersions(projectsPage);
+            if (!projectVersions.isEmpty())
+            {
+                result.addAll(this.findClassifierEntitiesByVersions(classifierPath, projectVersions, search, limit));
+            }
+            if ((limit != null && result.size() >= limit) || !projectsPage.hasMore())
             {
                 break;
             }
-            currentPage++;
-            projectVersions = this.getLatestProjectVersionByPage(currentPage, PAGE_SIZE, allProjects);
+            projectsPage = projects.getProjectCoordinates(projectsPage.getContinuationToken(), PAGE_SIZE);
         }
         if (limit != null)
         {
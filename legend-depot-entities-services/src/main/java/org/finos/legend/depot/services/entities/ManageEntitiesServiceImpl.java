@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.services.entities;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.api.entities.ManageEntitiesService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
@@ -49,6 +50,18 @@ public class ManageEntitiesServiceImpl<T extends StoredEntity> extends EntitiesS
         return entities.delete(groupId, artifactId, versionId);
     }
 
+    @Override
+    public long delete(String groupId, String artifactId, List<String> versionIds)
+    {
+        return entities.delete(groupId, artifactId, versionIds);
+    }
+
+    @Override
+    public long delete(List<ProjectVersion> projectVersions)
+    {
+        return entities.delete(projectVersions);
+    }
+
     @Override
     public long delete(String groupId, String artifactId)
     {
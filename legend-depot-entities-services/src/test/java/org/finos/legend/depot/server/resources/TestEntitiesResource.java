@@ -20,6 +20,7 @@ import org.finos.legend.depot.services.api.metrics.query.QueryMetricsService;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.services.metrics.query.InMemoryQueryMetricsRegistry;
 import org.finos.legend.depot.services.metrics.query.QueryMetricsServiceImpl;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.server.resources.entities.EntitiesResource;
@@ -96,6 +97,21 @@ public class TestEntitiesResource extends TestBaseServices
         Assertions.assertEquals(7, entityList.size());
     }
 
+    @Test
+    public void canPageEntitiesResolvingVersionOnce()
+    {
+        Response firstResponse = entitiesResource.getEntities("examples.metadata", "test", "2.3.0", null, 5, null);
+        Page<Entity> firstPage = (Page<Entity>) firstResponse.getEntity();
+        Assertions.assertEquals(5, firstPage.getItems().size());
+        Assertions.assertNotNull(firstPage.getContinuationToken());
+        metricsHandler.persist(metricsRegistry);
+        Assertions.assertEquals(1, metricsStore.get("examples.metadata", "test", "2.3.0").get(0).getCount());
+
+        Page<Entity> secondPage = (Page<Entity>) entitiesResource.getEntities("examples.metadata", "test", "2.3.0", firstPage.getContinuationToken(), 5, null).getEntity();
+        Assertions.assertEquals(2, secondPage.getItems().size());
+        Assertions.assertNull(secondPage.getContinuationToken());
+    }
+
     @Test
     public void canGetEntityByPathForProjectAndVersion()
     {
@@ -137,7 +153,8 @@ public class TestEntitiesResource extends TestBaseServices
         metricsHandler.persist(metricsRegistry);
 
         Assertions.assertNotNull(metricsStore.get("examples.metadata", "test", "2.3.0").get(0).getLastQueryTime());
-        Assertions.assertEquals(3, metricsStore.getAllStoredEntities().size());
+        Assertions.assertEquals(2, metricsStore.getAllStoredEntities().size());
+        Assertions.assertEquals(2, metricsStore.get("example.services.test", "test", "1.0.1").get(0).getCount());
     }
 
     @Test
@@ -154,7 +171,7 @@ public class TestEntitiesResource extends TestBaseServices
         entitiesService.getDependenciesEntities("examples.metadata", "test-master", "2.3.0", true, false);
         metricsHandler.persist(metricsRegistry);
 
-        Assertions.assertEquals(2, metricsStore.getAll().size());
+        Assertions.assertEquals(2, metricsStore.getAllStoredEntities().size());
         Assertions.assertNotNull(metricsStore.get("examples.metadata", "test", "2.3.0").get(0).getLastQueryTime());
         Assertions.assertNotNull(metricsStore.get("examples.metadata", "test-master", "2.3.0").get(0).getLastQueryTime());
     }
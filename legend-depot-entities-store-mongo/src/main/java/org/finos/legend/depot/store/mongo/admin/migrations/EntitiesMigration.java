@@ -20,12 +20,17 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.store.mongo.core.BaseMongo;
+import org.finos.legend.depot.store.mongo.entities.AbstractEntitiesMongo;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
 import org.slf4j.Logger;
 
@@ -36,6 +41,7 @@ import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.StringTokenizer;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
 
 import static com.mongodb.client.model.Aggregates.group;
@@ -57,6 +63,8 @@ public final class EntitiesMigration
     static final String ENTITY_ATTRIBUTES = "entityAttributes";
     static final String CLASSIFIER_PATH = "classifierPath";
     static final String PATH = "path";
+    static final String SEARCH_PATH = "searchPath";
+    static final String PACKAGES = "packages";
     private final MongoDatabase mongoDatabase;
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(EntitiesMigration.class);
 
@@ -113,6 +121,45 @@ public final class EntitiesMigration
         LOGGER.info(String.format("Entities update completed", i.get()));
     }
 
+    @Deprecated
+    public long addSearchKeys(String collectionName)
+    {
+        MongoCollection<Document> collection = mongoDatabase.getCollection(collectionName);
+        AtomicLong updated = new AtomicLong();
+        List<WriteModel<Document>> updates = new ArrayList<>();
+        collection.find(Filters.exists(AbstractEntitiesMongo.SNAPSHOT, false))
+                .projection(Projections.include(VERSION_ID, ENTITY_ATTRIBUTES))
+                .batchSize(BaseMongo.DEFAULT_BATCH_SIZE)
+                .forEach((Consumer<Document>) document ->
+                {
+                    Document withKeys = AbstractEntitiesMongo.withSearchKeys(document);
+                    List<Bson> keys = new ArrayList<>();
+                    keys.add(Updates.set(AbstractEntitiesMongo.SNAPSHOT, withKeys.get(AbstractEntitiesMongo.SNAPSHOT)));
+                    Document entityAttributes = (Document) withKeys.get(ENTITY_ATTRIBUTES);
+                    if (entityAttributes != null && entityAttributes.containsKey(SEARCH_PATH))
+                    {
+                        keys.add(Updates.set(AbstractEntitiesMongo.ENTITY_SEARCH_PATH, entityAttributes.get(SEARCH_PATH)));
+                    }
+                    if (entityAttributes != null && entityAttributes.containsKey(PACKAGES))
+                    {
+                        keys.add(Updates.set(AbstractEntitiesMongo.ENTITY_PACKAGES, entityAttributes.get(PACKAGES)));
+                    }
+                    updates.add(new UpdateOneModel<>(eq(BaseMongo.ID_FIELD, document.get(BaseMongo.ID_FIELD)), Updates.combine(keys)));
+                    if (updates.size() == BaseMongo.DEFAULT_BATCH_SIZE)
+                    {
+                        updated.addAndGet(collection.bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount());
+                        updates.clear();
+                        LOGGER.info(String.format("[%s] %s search keys added", updated.get(), collectionName));
+                    }
+                });
+        if (!updates.isEmpty())
+        {
+            updated.addAndGet(collection.bulkWrite(updates, new BulkWriteOptions().ordered(false)).getModifiedCount());
+        }
+        LOGGER.info(String.format("%s search keys migration completed, [%s] updated", collectionName, updated.get()));
+        return updated.get();
+    }
+
     private List<ProjectVersion> getAllStoredEntitiesCoordinates()
     {
         List<ProjectVersion> result = new ArrayList<>();
@@ -17,6 +17,8 @@ package org.finos.legend.depot.store.mongo.admin.migrations;
 
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.result.DeleteResult;
+import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
+import org.finos.legend.depot.store.mongo.versionedEntities.VersionedEntitiesMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -42,4 +44,10 @@ public class MongoEntitiesMigrations extends MongoMigrations
     {
         new EntitiesMigration(mongoDatabase).entitiesToStoredEntityDataMigration();
     }
+
+    public long addEntitySearchKeys()
+    {
+        EntitiesMigration migration = new EntitiesMigration(mongoDatabase);
+        return migration.addSearchKeys(EntitiesMongo.COLLECTION) + migration.addSearchKeys(VersionedEntitiesMongo.COLLECTION);
+    }
 }
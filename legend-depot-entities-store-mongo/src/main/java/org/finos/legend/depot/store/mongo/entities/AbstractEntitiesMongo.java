@@ -23,7 +23,6 @@ import com.mongodb.BasicDBObject;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.Aggregates;
-import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.Projections;
 import org.bson.Document;
 import org.bson.conversions.Bson;
@@ -31,6 +30,8 @@ import org.eclipse.collections.api.tuple.Pair;
 import org.eclipse.collections.impl.tuple.Tuples;
 import org.eclipse.collections.impl.utility.ListIterate;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import org.finos.legend.sdlc.domain.model.entity.Entity;
@@ -39,6 +40,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -50,6 +52,7 @@ import java.util.stream.Collectors;
 import static com.mongodb.client.model.Aggregates.group;
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.exists;
 import static com.mongodb.client.model.Filters.in;
 import static com.mongodb.client.model.Filters.not;
 import static com.mongodb.client.model.Filters.or;
@@ -75,8 +78,12 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
     static final String ENTITY_TYPE_STRING_DATA = "entityStringData";
     protected static final String VERSIONED_ENTITY_TYPE_STRING_DATA = "versionedEntityStringData";
     protected static final ObjectMapper objectMapper = new ObjectMapper().configure(SerializationFeature.WRITE_NULL_MAP_VALUES, true);
-    static final String RE_STRING_START = "^";
-    static final String RE_STAR = "*";
+    public static final String SNAPSHOT = "snapshot";
+    static final String SEARCH_PATH = "searchPath";
+    public static final String ENTITY_SEARCH_PATH = "entityAttributes.searchPath";
+    static final String PACKAGES = "packages";
+    public static final String ENTITY_PACKAGES = "entityAttributes.packages";
+    private static final String PACKAGE_SEPARATOR = "::";
 
     protected AbstractEntitiesMongo(MongoDatabase mongoDatabase, Class documentClass)
     {
@@ -147,12 +154,17 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         return find(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId)).parallelStream().map(this::resolvedToEntityDefinition).collect(Collectors.toList());
     }
 
+    public Page<Entity> getAllEntities(String groupId, String artifactId, String versionId, String continuationToken, int pageSize)
+    {
+        return findPage(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId), continuationToken, pageSize).map(this::resolvedToEntityDefinition);
+    }
+
     public List<Entity> getEntitiesByPackage(String groupId, String artifactId, String versionId, String packageName, Set<String> classifierPaths, boolean includeSubPackages)
     {
         Bson filter = getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId);
         if (packageName != null && !packageName.trim().isEmpty() && includeSubPackages)
         {
-            filter = and(filter, regex(ENTITY_PACKAGE, RE_STRING_START + packageName + RE_STAR));
+            filter = and(filter, getSubPackagesFilter(packageName));
         }
         else if (packageName != null && !packageName.trim().isEmpty())
         {
@@ -171,12 +183,12 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
 
     public FindIterable findReleasedEntitiesByClassifier(String classifier)
     {
-        return executeFind(and(eq(ENTITY_CLASSIFIER_PATH, classifier), not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT("")))));
+        return executeFind(and(eq(ENTITY_CLASSIFIER_PATH, classifier), getSnapshotFilter(false)));
     }
 
     public FindIterable findLatestEntitiesByClassifier(String classifier)
     {
-        return executeFind(and(eq(ENTITY_CLASSIFIER_PATH, classifier), Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT(""))));
+        return executeFind(and(eq(ENTITY_CLASSIFIER_PATH, classifier), getSnapshotFilter(true)));
     }
 
     public FindIterable findEntitiesByClassifierAndVersions(String classifier, List<ProjectVersion> projectVersions)
@@ -194,10 +206,10 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
     {
         List<Bson> filters = new ArrayList<>();
         filters.add(eq(ENTITY_CLASSIFIER_PATH, classifier));
-        filters.add(Filters.not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT(""))));
+        filters.add(getSnapshotFilter(false));
         if (search != null)
         {
-            filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
+            filters.add(getSearchPathFilter(search));
         }
         return executeFind(and(filters));
     }
@@ -206,10 +218,10 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
     {
         List<Bson> filters = new ArrayList<>();
         filters.add(eq(ENTITY_CLASSIFIER_PATH, classifier));
-        filters.add(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT("")));
+        filters.add(getSnapshotFilter(true));
         if (search != null)
         {
-            filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
+            filters.add(getSearchPathFilter(search));
         }
         return executeFind(and(filters));
     }
@@ -224,20 +236,64 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
         }
         else
         {
-            filters.add(Filters.not(Filters.regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT(""))));
+            filters.add(getSnapshotFilter(false));
         }
         if (search != null)
         {
-            filters.add(Filters.regex(ENTITY_PATH, Pattern.quote(search), "i"));
+            filters.add(getSearchPathFilter(search));
         }
         return executeFind(and(filters));
     }
 
+    /**
+     * Documents stored before the search keys were introduced have no snapshot key until
+     * PUT /migrations/addEntitySearchKeys backfills them; they are matched on the fields they do have.
+     */
+    private static Bson withoutSearchKeys(Bson legacyFilter)
+    {
+        return and(exists(SNAPSHOT, false), legacyFilter);
+    }
+
+    private Bson getSnapshotFilter(boolean snapshot)
+    {
+        Bson snapshotVersion = regex(BaseMongo.VERSION_ID, BRANCH_SNAPSHOT(""));
+        return or(eq(SNAPSHOT, snapshot), withoutSearchKeys(snapshot ? snapshotVersion : not(snapshotVersion)));
+    }
+
+    /**
+     * Case insensitive substring match on the lower cased path; unlike an "i" regex it can be evaluated
+     * against the classifier-snapshot-searchPath index keys without fetching documents.
+     */
+    private Bson getSearchPathFilter(String search)
+    {
+        return or(regex(ENTITY_SEARCH_PATH, Pattern.quote(toSearchKey(search))), withoutSearchKeys(regex(ENTITY_PATH, Pattern.quote(search), "i")));
+    }
+
+    private Bson getSubPackagesFilter(String packageName)
+    {
+        return or(eq(ENTITY_PACKAGES, packageName), withoutSearchKeys(regex(ENTITY_PACKAGE, "^" + Pattern.quote(packageName) + "(" + PACKAGE_SEPARATOR + "|$)")));
+    }
+
     public long delete(String groupId, String artifactId, String versionId)
     {
         return delete(getArtifactAndVersionVersionedFilter(groupId, artifactId, versionId));
     }
 
+    public long delete(String groupId, String artifactId, List<String> versionIds)
+    {
+        return delete(and(getArtifactVersionedFilter(groupId, artifactId), in(BaseMongo.VERSION_ID, versionIds)));
+    }
+
+    public long delete(List<ProjectVersion> projectVersions)
+    {
+        // versions of every project are removed with a single delete
+        List<Bson> projectFilters = new ArrayList<>();
+        projectVersions.stream().collect(Collectors.groupingBy(ProjectVersion::getGa)).values().forEach(versions ->
+                projectFilters.add(and(getArtifactVersionedFilter(versions.get(0).getGroupId(), versions.get(0).getArtifactId()),
+                        in(BaseMongo.VERSION_ID, versions.stream().map(ProjectVersion::getVersionId).collect(Collectors.toList())))));
+        return projectFilters.isEmpty() ? 0 : delete(or(projectFilters));
+    }
+
     public long delete(String groupId, String artifactId)
     {
         return delete(getArtifactVersionedFilter(groupId, artifactId));
@@ -278,16 +334,74 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
 
     protected Map<String, ?> buildEntityAttributes(Entity entity)
     {
-        Map<String, String> entityAttributes = new HashMap<>();
+        Map<String, Object> entityAttributes = new HashMap<>();
         entityAttributes.put(PATH, entity.getPath());
         entityAttributes.put(CLASSIFIER_PATH, entity.getClassifierPath());
         if (entity.getContent() != null)
         {
             entityAttributes.put(PACKAGE, entity.getContent().get(PACKAGE).toString());
         }
+        addSearchKeys(entityAttributes);
         return entityAttributes;
     }
 
+    @Override
+    protected Document toDocument(T data)
+    {
+        return withSearchKeys(super.toDocument(data));
+    }
+
+    /**
+     * Adds the keys classifier and package queries filter on: the snapshot flag, the lower cased path
+     * and the package with all its ancestor packages.
+     */
+    public static Document withSearchKeys(Document document)
+    {
+        String versionId = document.getString(BaseMongo.VERSION_ID);
+        if (versionId != null)
+        {
+            document.put(SNAPSHOT, VersionValidator.isSnapshotVersion(versionId));
+        }
+        Object entityAttributes = document.get(ENTITY_ATTRIBUTES);
+        if (entityAttributes instanceof Map)
+        {
+            addSearchKeys((Map<String, Object>) entityAttributes);
+        }
+        return document;
+    }
+
+    private static void addSearchKeys(Map<String, Object> entityAttributes)
+    {
+        Object path = entityAttributes.get(PATH);
+        if (path != null)
+        {
+            entityAttributes.put(SEARCH_PATH, toSearchKey(path.toString()));
+        }
+        Object packageName = entityAttributes.get(PACKAGE);
+        if (packageName != null)
+        {
+            entityAttributes.put(PACKAGES, getPackageAncestors(packageName.toString()));
+        }
+    }
+
+    static String toSearchKey(String value)
+    {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    static List<String> getPackageAncestors(String packageName)
+    {
+        List<String> packages = new ArrayList<>();
+        int index = packageName.indexOf(PACKAGE_SEPARATOR);
+        while (index > 0)
+        {
+            packages.add(packageName.substring(0, index));
+            index = packageName.indexOf(PACKAGE_SEPARATOR, index + PACKAGE_SEPARATOR.length());
+        }
+        packages.add(packageName);
+        return packages;
+    }
+
 
     protected Bson combineDocument(T storedEntity, Entity entity, String entityType)
     {
@@ -295,6 +409,7 @@ public abstract class AbstractEntitiesMongo<T extends StoredEntity> extends Base
                 set(BaseMongo.GROUP_ID, storedEntity.getGroupId()),
                 set(BaseMongo.ARTIFACT_ID, storedEntity.getArtifactId()),
                 set(BaseMongo.VERSION_ID, storedEntity.getVersionId()),
+                set(SNAPSHOT, VersionValidator.isSnapshotVersion(storedEntity.getVersionId())),
                 set(ENTITY_ATTRIBUTES, buildEntityAttributes(entity)),
                 set(ENTITY_TYPE, entityType),
                 set(ENTITY_DATA, serializeEntity(entity)),
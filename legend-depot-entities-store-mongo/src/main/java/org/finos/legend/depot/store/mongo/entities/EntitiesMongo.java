@@ -73,7 +73,9 @@ public class EntitiesMongo<T extends StoredEntity> extends AbstractEntitiesMongo
         return Arrays.asList(BaseMongo.buildIndex("groupId-artifactId-versionId", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID),
                 BaseMongo.buildIndex("groupId-artifactId-versionId-entityAttributes-path", true, BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ENTITY_PATH),
                 BaseMongo.buildIndex("groupId-artifactId-versionId-entityAttributes-package", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ENTITY_PACKAGE),
-                BaseMongo.buildIndex("entityAttributes-classifier", ENTITY_CLASSIFIER_PATH)
+                BaseMongo.buildIndex("groupId-artifactId-versionId-entityAttributes-packages", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, ENTITY_PACKAGES),
+                BaseMongo.buildIndex("entityAttributes-classifier-snapshot-searchPath", ENTITY_CLASSIFIER_PATH, SNAPSHOT, ENTITY_SEARCH_PATH),
+                BaseMongo.buildIndex("groupId-artifactId-versionId-id", BaseMongo.GROUP_ID, BaseMongo.ARTIFACT_ID, BaseMongo.VERSION_ID, BaseMongo.ID_FIELD)
         );
     }
 
@@ -50,7 +50,8 @@ public class VersionedEntitiesMongo extends EntitiesMongo<StoredVersionedEntity>
         return Arrays.asList(buildIndex("groupId-artifactId-versionId", GROUP_ID, ARTIFACT_ID, VERSION_ID),
                 buildIndex("groupId-artifactId-versionId-entityPath", true, GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PATH),
                 buildIndex("groupId-artifactId-versionId-package", GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PACKAGE),
-                buildIndex("entity-classifier", ENTITY_CLASSIFIER_PATH)
+                buildIndex("groupId-artifactId-versionId-packages", GROUP_ID, ARTIFACT_ID, VERSION_ID, ENTITY_PACKAGES),
+                buildIndex("entity-classifier-snapshot-searchPath", ENTITY_CLASSIFIER_PATH, SNAPSHOT, ENTITY_SEARCH_PATH)
         );
     }
 
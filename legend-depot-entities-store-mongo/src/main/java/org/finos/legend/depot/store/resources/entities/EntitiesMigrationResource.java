@@ -84,4 +84,16 @@ public class EntitiesMigrationResource extends AuthorisedResource
             return Response.ok().build();
         });
     }
+
+    @PUT
+    @Path("/migrations/addEntitySearchKeys")
+    @ApiOperation("Add snapshot, search path and package keys to stored entities")
+    public Response addEntitySearchKeys()
+    {
+        return handle("Add entity search keys", () ->
+        {
+            validateUser();
+            return Response.ok().entity(mongoMigrations.addEntitySearchKeys()).build();
+        });
+    }
 }
@@ -102,6 +102,21 @@ public class TestEntitiesMigration extends TestStoreMongo
         Assertions.assertTrue(storedEntities.get(2) instanceof StoredEntityData);
     }
 
+    @Test
+    public void canAddSearchKeysToExistingEntities()
+    {
+        mongoProvider.getCollection("entities").updateMany(new Document(), Updates.combine(Updates.unset(EntitiesMongo.SNAPSHOT), Updates.unset(EntitiesMongo.ENTITY_SEARCH_PATH), Updates.unset(EntitiesMongo.ENTITY_PACKAGES)));
+        EntitiesMongo entitiesMongo = new EntitiesMongo(mongoProvider);
+        // documents without search keys are still found through the fields they were stored with
+        Assertions.assertEquals(3, entitiesMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata", null, true).size());
+        Assertions.assertTrue(entitiesMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::meta", null, true).isEmpty());
+
+        Assertions.assertEquals(3, mongoAdminStore.addEntitySearchKeys());
+        Assertions.assertEquals(0, mongoAdminStore.addEntitySearchKeys());
+        Assertions.assertEquals(3, mongoProvider.getCollection("entities").countDocuments(Filters.eq(EntitiesMongo.SNAPSHOT, false)));
+        Assertions.assertEquals(3, entitiesMongo.getEntitiesByPackage("examples.metadata", "test", "2.2.0", "examples::metadata", null, true).size());
+    }
+
     protected void setUpLegacyEntitiesDataFromFile(URL entitiesFile)
     {
         try
@@ -68,4 +68,20 @@ public class TestQueryClassifierPath extends TestStoreMongo
         Assertions.assertEquals(1, mongo.findClassifierEntitiesByVersions(CPATH, Lists.fixedSize.of(new ProjectVersion("examples.metadata", "test2", "2.3.0")), "TestProfileTwo", null).size());
         Assertions.assertEquals(2, mongo.findClassifierEntitiesByVersions(CPATH, Lists.fixedSize.of(new ProjectVersion("examples.metadata", "test", "2.3.0"), new ProjectVersion("examples.metadata", "test2", "2.3.0")), "TestProfileTwo", null).size());
     }
+
+    @Test
+    public void searchIsCaseInsensitive()
+    {
+        String CPATH = "meta::pure::metamodel::extension::Profile";
+        Assertions.assertEquals(3, mongo.findReleasedClassifierEntities(CPATH, "testprofiletwo", null).size());
+        Assertions.assertEquals(1, mongo.findLatestClassifierEntities(CPATH, "TESTPROFILETWO", null).size());
+        Assertions.assertEquals(0, mongo.findReleasedClassifierEntities(CPATH, "Test.*Two", null).size());
+    }
+
+    @Test
+    public void derivesPackageAncestors()
+    {
+        Assertions.assertEquals(Lists.fixedSize.of("examples", "examples::metadata", "examples::metadata::test"), AbstractEntitiesMongo.getPackageAncestors("examples::metadata::test"));
+        Assertions.assertEquals(Lists.fixedSize.of("examples"), AbstractEntitiesMongo.getPackageAncestors("examples"));
+    }
 }
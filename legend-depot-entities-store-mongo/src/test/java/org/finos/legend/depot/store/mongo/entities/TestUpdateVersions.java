@@ -17,6 +17,7 @@ package org.finos.legend.depot.store.mongo.entities;
 
 import com.mongodb.client.MongoCollection;
 import org.bson.Document;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.entities.StoredEntity;
 import org.finos.legend.depot.store.model.entities.StoredEntityData;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
@@ -142,6 +143,14 @@ public class TestUpdateVersions extends TestStoreMongo
         Assertions.assertEquals(0, entitiesMongo.getAllEntities("examples.metadata", "test", "2.2.0").size());
     }
 
+    @Test
+    public void canDeleteVersionsOfSeveralProjects()
+    {
+        entityUtils.loadEntities(ENTITIES_FILE);
+        Assertions.assertEquals(3, entitiesMongo.delete(Arrays.asList(new ProjectVersion("examples.metadata", "test", "2.2.0"), new ProjectVersion("examples.unknown", "test", "1.0.0"))));
+        Assertions.assertEquals(0, entitiesMongo.getAllEntities("examples.metadata", "test", "2.2.0").size());
+    }
+
 
     @Test
     public void canDeleteStoreEntities()
@@ -73,7 +73,7 @@ public final class EntitiesMongoTestUtils
             {
                 try
                 {
-                    getMongoEntities().insertOne(Document.parse(new ObjectMapper().writeValueAsString(entity)));
+                    getMongoEntities().insertOne(EntitiesMongo.withSearchKeys(Document.parse(new ObjectMapper().writeValueAsString(entity))));
                 }
                 catch (JsonProcessingException e)
                 {
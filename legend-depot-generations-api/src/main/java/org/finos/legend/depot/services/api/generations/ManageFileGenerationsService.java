@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.services.api.generations;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.generations.StoredFileGeneration;
 
 import java.util.List;
@@ -24,6 +25,10 @@ public interface ManageFileGenerationsService extends FileGenerationsService
 
     long delete(String groupId, String artifactId, String versionId);
 
+    long delete(String groupId, String artifactId, List<String> versionIds);
+
+    long delete(List<ProjectVersion> projectVersions);
+
     void createOrUpdate(List<StoredFileGeneration> storedFileGeneration);
 
     List<StoredFileGeneration> getAll();
@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.store.api.generations;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.generations.StoredFileGeneration;
 
 import java.util.List;
@@ -27,4 +28,8 @@ public interface UpdateFileGenerations extends FileGenerations
 
     long delete(String groupId, String artifactId, String versionId);
 
+    long delete(String groupId, String artifactId, List<String> versionIds);
+
+    long delete(List<ProjectVersion> projectVersions);
+
 }
@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.services.generations.impl;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.api.projects.ProjectsService;
 import org.finos.legend.depot.services.api.generations.ManageFileGenerationsService;
 import org.finos.legend.depot.store.model.generations.StoredFileGeneration;
@@ -53,4 +54,16 @@ public class ManageFileGenerationsServiceImpl extends  FileGenerationsServiceImp
     {
         return fileGenerations.delete(groupId, artifactId, versionId);
     }
+
+    @Override
+    public long delete(String groupId, String artifactId, List<String> versionIds)
+    {
+        return fileGenerations.delete(groupId, artifactId, versionIds);
+    }
+
+    @Override
+    public long delete(List<ProjectVersion> projectVersions)
+    {
+        return fileGenerations.delete(projectVersions);
+    }
 }
@@ -19,6 +19,7 @@ import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.IndexModel;
 import org.bson.conversions.Bson;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.generations.StoredFileGeneration;
 import org.finos.legend.depot.store.api.generations.FileGenerations;
 import org.finos.legend.depot.store.api.generations.UpdateFileGenerations;
@@ -26,12 +27,15 @@ import org.finos.legend.depot.store.mongo.core.BaseMongo;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.or;
 
 public class FileGenerationsMongo extends BaseMongo<StoredFileGeneration> implements FileGenerations, UpdateFileGenerations
 {
@@ -116,5 +120,22 @@ public class FileGenerationsMongo extends BaseMongo<StoredFileGeneration> implem
         return delete(getArtifactAndVersionFilter(groupId, artifactId, versionId));
     }
 
+    @Override
+    public long delete(String groupId, String artifactId, List<String> versionIds)
+    {
+        return delete(getArtifactAndVersionsFilter(groupId, artifactId, versionIds));
+    }
+
+    @Override
+    public long delete(List<ProjectVersion> projectVersions)
+    {
+        // versions of every project are removed with a single delete
+        List<Bson> projectFilters = new ArrayList<>();
+        projectVersions.stream().collect(Collectors.groupingBy(ProjectVersion::getGa)).values().forEach(versions ->
+                projectFilters.add(getArtifactAndVersionsFilter(versions.get(0).getGroupId(), versions.get(0).getArtifactId(),
+                        versions.stream().map(ProjectVersion::getVersionId).collect(Collectors.toList()))));
+        return projectFilters.isEmpty() ? 0 : delete(or(projectFilters));
+    }
+
 }
 
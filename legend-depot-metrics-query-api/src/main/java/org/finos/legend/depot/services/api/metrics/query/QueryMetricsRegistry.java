@@ -17,7 +17,9 @@ package org.finos.legend.depot.services.api.metrics.query;
 
 import org.finos.legend.depot.store.model.metrics.query.VersionQueryMetric;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Optional;
 
 public interface QueryMetricsRegistry
@@ -31,4 +33,16 @@ public interface QueryMetricsRegistry
 
     Optional<VersionQueryMetric> findFirst();
 
+    default List<VersionQueryMetric> drain()
+    {
+        List<VersionQueryMetric> metrics = new ArrayList<>();
+        Optional<VersionQueryMetric> metric = findFirst();
+        while (metric.isPresent())
+        {
+            metrics.add(metric.get());
+            metric = findFirst();
+        }
+        return metrics;
+    }
+
 }
@@ -15,6 +15,7 @@
 
 package org.finos.legend.depot.services.api.metrics.query;
 
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.store.model.metrics.query.VersionQueryMetric;
 
 import java.util.Date;
@@ -29,10 +30,14 @@ public interface QueryMetricsService
 
     List<VersionQueryMetric> findMetricsForProjectCoordinates(String groupId, String artifactId);
 
+    List<ProjectVersion> getQueriedProjectVersions();
+
     List<VersionQueryMetric> findReleasedVersionMetricsBefore(Date date);
 
     List<VersionQueryMetric> findSnapshotVersionMetricsBefore(Date date);
 
+    List<VersionQueryMetric> findVersionsLastQueriedBefore(Date releasedVersionsBefore, Date snapshotVersionsBefore);
+
     List<VersionQueryMetric> getStaleMetrics(int ttlForVersionsInDays, int ttlForSnapshotsInDays);
 
     void consolidateMetrics();
@@ -40,4 +45,8 @@ public interface QueryMetricsService
     void persist(QueryMetricsRegistry registry);
 
     void delete(String groupId, String artifactId, String versionId);
+
+    void delete(String groupId, String artifactId, List<String> versionIds);
+
+    void delete(List<ProjectVersion> projectVersions);
 }
@@ -20,6 +20,7 @@ import org.finos.legend.depot.store.model.metrics.query.VersionQueryMetric;
 
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface QueryMetrics
 {
@@ -27,16 +28,32 @@ public interface QueryMetrics
 
     List<VersionQueryMetric> find(String groupId, String artifactId);
 
-    List<VersionQueryMetric> getAll();
+    /**
+     * Streams every raw query metric, fetching batchSize documents per round trip. The stream must be closed.
+     */
+    Stream<VersionQueryMetric> getAllAsStream(int batchSize);
 
     void insert(VersionQueryMetric versionQueryMetric);
 
-    long consolidate(VersionQueryMetric metric);
+    long upsert(List<VersionQueryMetric> versionQueryMetrics);
+
+    long consolidate();
 
     List<ProjectVersion> getAllStoredEntitiesCoordinates();
 
+    // the queries below are answered from the consolidated metrics, one per project version
+    List<VersionQueryMetric> getConsolidatedMetrics();
+
+    List<ProjectVersion> getConsolidatedCoordinates();
+
     List<VersionQueryMetric> findMetricsBefore(Date date);
 
+    List<VersionQueryMetric> findVersionsLastQueriedBefore(Date releasedVersionsBefore, Date snapshotVersionsBefore);
+
     long delete(String groupId, String artifactId, String versionId);
 
+    long delete(String groupId, String artifactId, List<String> versionIds);
+
+    long delete(List<ProjectVersion> projectVersions);
+
 }
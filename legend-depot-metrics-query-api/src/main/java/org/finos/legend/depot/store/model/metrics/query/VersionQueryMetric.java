@@ -34,6 +34,8 @@ public class VersionQueryMetric implements HasIdentifier
     private String versionId;
     @JsonProperty
     private Date lastQueryTime;
+    @JsonProperty
+    private long count = 1;
 
     public VersionQueryMetric()
     {
@@ -56,6 +58,12 @@ public class VersionQueryMetric implements HasIdentifier
         this.lastQueryTime = lastQueryTime;
     }
 
+    public VersionQueryMetric(String groupId, String artifactId, String versionId, Date lastQueryTime, long count)
+    {
+        this(groupId, artifactId, versionId, lastQueryTime);
+        this.count = count;
+    }
+
     public String getGroupId()
     {
         return groupId;
@@ -81,6 +89,11 @@ public class VersionQueryMetric implements HasIdentifier
         this.lastQueryTime = time;
     }
 
+    public long getCount()
+    {
+        return count;
+    }
+
     @Override
     @JsonIgnore
     public String getId()
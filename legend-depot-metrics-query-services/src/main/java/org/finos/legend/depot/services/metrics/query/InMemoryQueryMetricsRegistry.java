@@ -15,33 +15,162 @@
 
 package org.finos.legend.depot.services.metrics.query;
 
+import org.finos.legend.depot.core.services.api.metrics.CounterHandle;
+import org.finos.legend.depot.core.services.metrics.MetricHandle;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.store.model.metrics.query.VersionQueryMetric;
+import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+/**
+ * Aggregates queries per project version (count and last query time) until they are drained,
+ * so each flush persists one counter per version instead of one document per query.
+ * Holds at most maxVersions distinct versions between flushes; queries for further versions are dropped.
+ */
 public class InMemoryQueryMetricsRegistry implements QueryMetricsRegistry
 {
-    private ConcurrentLinkedQueue<VersionQueryMetric> metrics;
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(InMemoryQueryMetricsRegistry.class);
+    public static final String QUERY_METRICS_DROPPED = "queryMetricsDropped";
+
+    private static final MetricHandle<CounterHandle> DROPPED = MetricHandle.of(metrics -> metrics.counter(QUERY_METRICS_DROPPED));
+    private static final int DEFAULT_MAX_VERSIONS = 100000;
+
+    private final ConcurrentHashMap<VersionKey, VersionQueryCounter> metrics = new ConcurrentHashMap<>();
+    private final AtomicBoolean capacityWarningLogged = new AtomicBoolean(false);
+    private final int maxVersions;
 
     @Inject
     public InMemoryQueryMetricsRegistry()
     {
-        this.metrics = new ConcurrentLinkedQueue<>();
+        this(DEFAULT_MAX_VERSIONS);
+    }
+
+    public InMemoryQueryMetricsRegistry(int maxVersions)
+    {
+        this.maxVersions = maxVersions;
     }
 
     public void record(String groupId, String artifactId, String versionId, Date date)
     {
-        metrics.offer(new VersionQueryMetric(groupId, artifactId, versionId, date));
+        VersionKey key = new VersionKey(groupId, artifactId, versionId);
+        if (metrics.size() >= maxVersions && !metrics.containsKey(key))
+        {
+            if (capacityWarningLogged.compareAndSet(false, true))
+            {
+                LOGGER.warn("query metrics registry is holding {} versions, dropping queries for new versions until next flush", maxVersions);
+            }
+            DROPPED.get().increment();
+            return;
+        }
+        long time = date.getTime();
+        // compute and remove lock the same bin, so a drain never loses a concurrent increment
+        metrics.compute(key, (k, counter) -> counter == null ? new VersionQueryCounter(time) : counter.increment(time));
     }
 
     @Override
     public Optional<VersionQueryMetric> findFirst()
     {
-        VersionQueryMetric versionQueryMetric = metrics.poll();
-        return versionQueryMetric == null ? Optional.empty() : Optional.of(versionQueryMetric);
+        Iterator<VersionKey> keys = metrics.keySet().iterator();
+        while (keys.hasNext())
+        {
+            VersionKey key = keys.next();
+            VersionQueryCounter counter = metrics.remove(key);
+            if (counter != null)
+            {
+                return Optional.of(key.toMetric(counter));
+            }
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public List<VersionQueryMetric> drain()
+    {
+        List<VersionQueryMetric> result = new ArrayList<>(metrics.size());
+        metrics.keySet().forEach(key ->
+        {
+            VersionQueryCounter counter = metrics.remove(key);
+            if (counter != null)
+            {
+                result.add(key.toMetric(counter));
+            }
+        });
+        capacityWarningLogged.set(false);
+        return result;
+    }
+
+    public int size()
+    {
+        return metrics.size();
+    }
+
+    private static final class VersionKey
+    {
+        private final String groupId;
+        private final String artifactId;
+        private final String versionId;
+        private final int hash;
+
+        private VersionKey(String groupId, String artifactId, String versionId)
+        {
+            this.groupId = groupId;
+            this.artifactId = artifactId;
+            this.versionId = versionId;
+            this.hash = Objects.hash(groupId, artifactId, versionId);
+        }
+
+        private VersionQueryMetric toMetric(VersionQueryCounter counter)
+        {
+            return new VersionQueryMetric(groupId, artifactId, versionId, new Date(counter.lastQueryTime), counter.count);
+        }
+
+        @Override
+        public boolean equals(Object obj)
+        {
+            if (this == obj)
+            {
+                return true;
+            }
+            if (!(obj instanceof VersionKey))
+            {
+                return false;
+            }
+            VersionKey other = (VersionKey) obj;
+            return hash == other.hash && Objects.equals(groupId, other.groupId) && Objects.equals(artifactId, other.artifactId) && Objects.equals(versionId, other.versionId);
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return hash;
+        }
+    }
+
+    private static final class VersionQueryCounter
+    {
+        private long count;
+        private long lastQueryTime;
+
+        private VersionQueryCounter(long time)
+        {
+            this.count = 1;
+            this.lastQueryTime = time;
+        }
+
+        private VersionQueryCounter increment(long time)
+        {
+            this.count++;
+            this.lastQueryTime = Math.max(this.lastQueryTime, time);
+            return this;
+        }
     }
 }
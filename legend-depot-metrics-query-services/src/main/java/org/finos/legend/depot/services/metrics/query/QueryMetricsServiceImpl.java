@@ -15,6 +15,9 @@
 
 package org.finos.legend.depot.services.metrics.query;
 
+import org.finos.legend.depot.core.services.api.metrics.SummaryHandle;
+import org.finos.legend.depot.core.services.metrics.MetricHandle;
+import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsService;
@@ -23,16 +26,21 @@ import org.finos.legend.depot.store.model.metrics.query.VersionQueryMetric;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
-import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static org.finos.legend.depot.domain.DatesHandler.toDate;
+
 public class QueryMetricsServiceImpl implements QueryMetricsService
 {
     private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(QueryMetricsServiceImpl.class);
+    public static final String QUERY_METRICS_FLUSH = "queryMetricsFlush";
+
+    private static final MetricHandle<SummaryHandle> FLUSH = MetricHandle.of(metrics -> metrics.summary(QUERY_METRICS_FLUSH));
     private final QueryMetrics metricsStore;
 
 
@@ -59,10 +67,7 @@ public class QueryMetricsServiceImpl implements QueryMetricsService
 
     public List<VersionQueryMetric> getSummaryByProjectVersion()
     {
-        return metricsStore.getAllStoredEntitiesCoordinates().parallelStream()
-                .map(pv -> getSummary(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()).get())
-                .collect(Collectors.toList());
-
+        return metricsStore.getConsolidatedMetrics();
     }
 
     public List<VersionQueryMetric> findMetricsForProjectCoordinates(String groupId, String artifactId)
@@ -70,6 +75,11 @@ public class QueryMetricsServiceImpl implements QueryMetricsService
         return metricsStore.find(groupId, artifactId);
     }
 
+    public List<ProjectVersion> getQueriedProjectVersions()
+    {
+        return metricsStore.getConsolidatedCoordinates();
+    }
+
     public List<VersionQueryMetric> findReleasedVersionMetricsBefore(Date date)
     {
         return metricsStore.findMetricsBefore(date).parallelStream().filter(metric -> !VersionValidator.isSnapshotVersion(metric.getVersionId())).collect(Collectors.toList());
@@ -80,17 +90,24 @@ public class QueryMetricsServiceImpl implements QueryMetricsService
         return metricsStore.findMetricsBefore(date).parallelStream().filter(metric -> VersionValidator.isSnapshotVersion(metric.getVersionId())).collect(Collectors.toList());
     }
 
+    public List<VersionQueryMetric> findVersionsLastQueriedBefore(Date releasedVersionsBefore, Date snapshotVersionsBefore)
+    {
+        return metricsStore.findVersionsLastQueriedBefore(releasedVersionsBefore, snapshotVersionsBefore);
+    }
 
     @Override
     public void persist(QueryMetricsRegistry registry)
     {
-        Optional<VersionQueryMetric> versionQueryMetric = registry.findFirst();
-        while (versionQueryMetric.isPresent())
+        long start = System.currentTimeMillis();
+        List<VersionQueryMetric> metrics = registry.drain();
+        if (metrics.isEmpty())
         {
-            metricsStore.insert(versionQueryMetric.get());
-            versionQueryMetric = registry.findFirst();
+            return;
         }
-
+        long updated = metricsStore.upsert(metrics);
+        long end = System.currentTimeMillis();
+        FLUSH.get().observe(start, end);
+        LOGGER.info("Persisted query metrics for [{}] versions, [{}] documents updated in [{}] ms", metrics.size(), updated, end - start);
     }
 
     public void delete(String groupId, String artifactId, String versionId)
@@ -98,37 +115,27 @@ public class QueryMetricsServiceImpl implements QueryMetricsService
         metricsStore.delete(groupId, artifactId, versionId);
     }
 
-    private boolean checkDateBeforeNumDays(Date date, int numDays)
+    public void delete(String groupId, String artifactId, List<String> versionIds)
+    {
+        metricsStore.delete(groupId, artifactId, versionIds);
+    }
+
+    public void delete(List<ProjectVersion> projectVersions)
     {
-        return date.before(new Date(System.currentTimeMillis() - Duration.ofDays(numDays).toMillis()));
+        metricsStore.delete(projectVersions);
     }
 
     public List<VersionQueryMetric> getStaleMetrics(int ttlForVersionsInDays, int ttlForSnapshotsInDays)
     {
-        return metricsStore.getAll().stream()
-                .filter(metric ->
-                        (VersionValidator.isSnapshotVersion(metric.getVersionId()) && checkDateBeforeNumDays(metric.getLastQueryTime(), ttlForSnapshotsInDays))
-                                || checkDateBeforeNumDays(metric.getLastQueryTime(), ttlForVersionsInDays)
-                )
-                .collect(Collectors.toList());
+        LocalDateTime now = LocalDateTime.now();
+        return metricsStore.findVersionsLastQueriedBefore(toDate(now.minusDays(ttlForVersionsInDays)), toDate(now.minusDays(ttlForSnapshotsInDays)));
     }
 
     public void consolidateMetrics()
     {
         LOGGER.info("Started consolidating metrics for all project versions");
-        metricsStore.getAllStoredEntitiesCoordinates().parallelStream().forEach(pv ->
-        {
-            try
-            {
-                VersionQueryMetric metric = getSummary(pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()).get();
-                long deletedResult = metricsStore.consolidate(metric);
-                LOGGER.info(String.format("Deleted [%s] records for project version: %s-%s-%s", deletedResult, pv.getGroupId(), pv.getArtifactId(), pv.getVersionId()));
-            }
-            catch (Exception e)
-            {
-                LOGGER.error(String.format("Error consolidating metrics for %s-%s-%s with error: %s", pv.getGroupId(), pv.getArtifactId(), pv.getVersionId(), e.getMessage()));
-            }
-        });
-        LOGGER.info("Completed consolidating metrics for all project version");
+        long start = System.currentTimeMillis();
+        long consolidated = metricsStore.consolidate();
+        LOGGER.info("Completed consolidating metrics for all project versions: [{}] versions in [{}] ms", consolidated, System.currentTimeMillis() - start);
     }
 }
@@ -15,6 +15,8 @@
 
 package org.finos.legend.depot.services.metrics.query;
 
+import com.mongodb.client.model.Filters;
+import org.bson.Document;
 import org.finos.legend.depot.domain.project.ProjectVersion;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsRegistry;
 import org.finos.legend.depot.services.api.metrics.query.QueryMetricsService;
@@ -30,6 +32,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.Optional;
 import java.util.concurrent.Future;
@@ -38,6 +41,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.finos.legend.depot.domain.DatesHandler.toDate;
@@ -55,6 +59,8 @@ public class TestMetricsServices extends TestStoreMongo
     {
 
         metricsStore.getCollection().drop();
+        metricsStore.getSummaryCollection().drop();
+        metricsStore.getWatermarkCollection().drop();
         metricsStore.insert(new VersionQueryMetric("group1", "art1", "2.2.0"));
         metricsStore.insert(new VersionQueryMetric("group1", "art1", "2.2.0"));
         metricsStore.insert(new VersionQueryMetric("group1", "art1", "2.2.0"));
@@ -66,6 +72,8 @@ public class TestMetricsServices extends TestStoreMongo
     public void tearDown()
     {
         metricsStore.getCollection().drop();
+        metricsStore.getSummaryCollection().drop();
+        metricsStore.getWatermarkCollection().drop();
     }
 
 
@@ -100,10 +108,27 @@ public class TestMetricsServices extends TestStoreMongo
         Assertions.assertEquals(Arrays.asList(new ProjectVersion("group1", "art1", "1.0.0"),new ProjectVersion("group1", "art1", "2.2.0")), projectVersions);
     }
 
+    @Test
+    public void canFindVersionsLastQueriedBefore()
+    {
+        metricsStore.insert(new VersionQueryMetric("group1", "art1", "3.0.0", toDate(LocalDateTime.now().minusDays(400))));
+        metricsStore.insert(new VersionQueryMetric("group1", "art1", "2.2.0", toDate(LocalDateTime.now().minusDays(400))));
+        metricsStore.insert(new VersionQueryMetric("group1", "art1", "branch1-SNAPSHOT", toDate(LocalDateTime.now().minusDays(40))));
+        metricsStore.insert(new VersionQueryMetric("group1", "art1", "branch2-SNAPSHOT", toDate(LocalDateTime.now().minusDays(20))));
+        metricsHandler.consolidateMetrics();
+
+        List<VersionQueryMetric> notQueried = metricsHandler.findVersionsLastQueriedBefore(toDate(LocalDateTime.now().minusDays(365)), toDate(LocalDateTime.now().minusDays(30)));
+        Set<String> versions = notQueried.stream().map(VersionQueryMetric::getVersionId).collect(Collectors.toSet());
+        Assertions.assertEquals(2, versions.size());
+        Assertions.assertTrue(versions.contains("3.0.0"));
+        Assertions.assertTrue(versions.contains("branch1-SNAPSHOT"));
+    }
+
     @Test
     public void canGetMostRecentlyQueriedMetrics()
     {
         Assertions.assertEquals(4, metricsStore.getAllStoredEntities().size());
+        metricsHandler.consolidateMetrics();
         List<VersionQueryMetric> metrics = metricsHandler.getSummaryByProjectVersion();
         Assertions.assertEquals(2, metrics.size());
         Assertions.assertEquals("1.0.0", metrics.get(0).getVersionId());
@@ -117,20 +142,16 @@ public class TestMetricsServices extends TestStoreMongo
         Thread.sleep(10);
         metricsRegistry.record("group1", "art1", "3.0.0");
         metricsHandler.persist(metricsRegistry);
-        Assertions.assertEquals(6, metricsStore.getAllStoredEntities().size());
-        List<VersionQueryMetric> summary = metricsHandler.getSummaryByProjectVersion();
+        Assertions.assertEquals(5, metricsStore.getAllStoredEntities().size());
         metricsHandler.consolidateMetrics();
-        List<VersionQueryMetric> metrics = metricsStore.getAllStoredEntities();
+        Assertions.assertEquals(5, metricsStore.getAllStoredEntities().size());
+
+        Map<String, VersionQueryMetric> metrics = metricsHandler.getSummaryByProjectVersion().stream().collect(Collectors.toMap(VersionQueryMetric::getVersionId, Function.identity()));
         Assertions.assertEquals(3, metrics.size());
-        Assertions.assertEquals("2.2.0", metrics.get(0).getVersionId());
-        Assertions.assertEquals("2.2.0", summary.get(1).getVersionId());
-        Assertions.assertEquals(summary.get(1).getLastQueryTime(), metrics.get(0).getLastQueryTime());
-        Assertions.assertEquals("1.0.0", metrics.get(1).getVersionId());
-        Assertions.assertEquals("1.0.0", summary.get(0).getVersionId());
-        Assertions.assertEquals(summary.get(0).getLastQueryTime(), metrics.get(1).getLastQueryTime());
-        Assertions.assertEquals("3.0.0", metrics.get(2).getVersionId());
-        Assertions.assertEquals("3.0.0", summary.get(2).getVersionId());
-        Assertions.assertEquals(summary.get(2).getLastQueryTime(), metrics.get(2).getLastQueryTime());
+        metrics.values().forEach(metric -> Assertions.assertEquals(metricsHandler.getSummary("group1", "art1", metric.getVersionId()).get().getLastQueryTime(), metric.getLastQueryTime()));
+        Assertions.assertEquals(3, metrics.get("2.2.0").getCount());
+        Assertions.assertEquals(1, metrics.get("1.0.0").getCount());
+        Assertions.assertEquals(2, metrics.get("3.0.0").getCount());
     }
 
     @Test
@@ -141,10 +162,78 @@ public class TestMetricsServices extends TestStoreMongo
 
         Assertions.assertEquals(6, metricsStore.getAllStoredEntities().size());
         metricsHandler.consolidateMetrics();
-        List<VersionQueryMetric> metrics = metricsStore.getAllStoredEntities();
+        List<VersionQueryMetric> metrics = metricsStore.getConsolidatedMetrics();
         Assertions.assertEquals(3, metrics.size());
-        Assertions.assertEquals("3.0.0", metrics.get(2).getVersionId());
-        Assertions.assertEquals(toDate(LocalDateTime.parse("2023-03-22T14:02:49", DateTimeFormatter.ISO_DATE_TIME)), metrics.get(2).getLastQueryTime());
+        VersionQueryMetric metric = metrics.stream().filter(m -> m.getVersionId().equals("3.0.0")).findFirst().get();
+        Assertions.assertEquals(toDate(LocalDateTime.parse("2023-03-22T14:02:49", DateTimeFormatter.ISO_DATE_TIME)), metric.getLastQueryTime());
+        Assertions.assertEquals(2, metric.getCount());
+    }
+
+    @Test
+    public void canKeepConsolidatedMetricsWhenRawMetricsExpire()
+    {
+        metricsStore.insert(new VersionQueryMetric("group1", "art1", "3.0.0", toDate(LocalDateTime.now().minusDays(400))));
+        metricsHandler.consolidateMetrics();
+        Assertions.assertEquals(3, metricsStore.getConsolidatedMetrics().size());
+
+        metricsStore.getCollection().drop();
+        metricsStore.insert(new VersionQueryMetric("group1", "art1", "1.0.0"));
+        metricsHandler.consolidateMetrics();
+        Assertions.assertEquals(3, metricsStore.getConsolidatedMetrics().size());
+        Assertions.assertEquals(3, metricsHandler.getQueriedProjectVersions().size());
+
+        List<VersionQueryMetric> stale = metricsHandler.getStaleMetrics(365, 30);
+        Assertions.assertEquals(1, stale.size());
+        Assertions.assertEquals("3.0.0", stale.get(0).getVersionId());
+
+        metricsHandler.delete("group1", "art1", "3.0.0");
+        Assertions.assertEquals(2, metricsStore.getConsolidatedMetrics().size());
+        Assertions.assertTrue(metricsHandler.getStaleMetrics(365, 30).isEmpty());
+    }
+
+    @Test
+    public void canAccumulateConsolidatedCounts()
+    {
+        metricsStore.insert(new VersionQueryMetric("group1", "art1", "3.0.0", toDate(LocalDateTime.now().minusDays(10))));
+        metricsHandler.consolidateMetrics();
+        metricsHandler.consolidateMetrics();
+        metricsStore.getCollection().drop();
+        metricsStore.insert(new VersionQueryMetric("group1", "art1", "3.0.0"));
+        metricsHandler.consolidateMetrics();
+
+        Map<String, VersionQueryMetric> metrics = metricsStore.getConsolidatedMetrics().stream().collect(Collectors.toMap(VersionQueryMetric::getVersionId, Function.identity()));
+        Assertions.assertEquals(2, metrics.get("3.0.0").getCount());
+        Assertions.assertEquals(3, metrics.get("2.2.0").getCount());
+        Assertions.assertEquals(1, metrics.get("1.0.0").getCount());
+    }
+
+    @Test
+    public void canResumeInterruptedConsolidation()
+    {
+        metricsStore.insert(new VersionQueryMetric("group1", "art1", "3.0.0", toDate(LocalDateTime.now().minusDays(10))));
+        metricsHandler.consolidateMetrics();
+        Document watermark = metricsStore.getWatermarkCollection().find().first();
+        metricsStore.getWatermarkCollection().replaceOne(Filters.eq("_id", watermark.get("_id")),
+                new Document("consolidatedUntil", 0L).append("consolidatingUntil", watermark.get("consolidatedUntil")));
+        metricsHandler.consolidateMetrics();
+
+        Map<String, VersionQueryMetric> metrics = metricsStore.getConsolidatedMetrics().stream().collect(Collectors.toMap(VersionQueryMetric::getVersionId, Function.identity()));
+        Assertions.assertEquals(1, metrics.get("3.0.0").getCount());
+        Assertions.assertEquals(3, metrics.get("2.2.0").getCount());
+        Assertions.assertFalse(metricsStore.getWatermarkCollection().find().first().containsKey("consolidatingUntil"));
+    }
+
+    @Test
+    public void canConsolidateMetricsStoredWithoutBuckets()
+    {
+        metricsStore.getCollection().insertOne(new Document("groupId", "group1").append("artifactId", "art1").append("versionId", "3.0.0")
+                .append("lastQueryTime", toDate(LocalDateTime.now().minusDays(10)).getTime()));
+        metricsHandler.consolidateMetrics();
+
+        Assertions.assertEquals(0, metricsStore.getCollection().countDocuments(Filters.exists("bucket", false)));
+        Map<String, VersionQueryMetric> metrics = metricsStore.getConsolidatedMetrics().stream().collect(Collectors.toMap(VersionQueryMetric::getVersionId, Function.identity()));
+        Assertions.assertEquals(1, metrics.get("3.0.0").getCount());
+        Assertions.assertEquals(3, metrics.get("2.2.0").getCount());
     }
 
     @Test
@@ -156,7 +245,36 @@ public class TestMetricsServices extends TestStoreMongo
         metricsRegistry.record("group1", "art1", "3.0.0");
         metricsRegistry.record("group1", "art1", "2.0.0");
         metricsHandler.persist(metricsRegistry);
-        Assertions.assertEquals(7, metricsStore.getAllStoredEntities().size());
+        Assertions.assertEquals(6, metricsStore.getAllStoredEntities().size());
+        Assertions.assertEquals(2, metricsStore.get("group1", "art1", "3.0.0").get(0).getCount());
+        Assertions.assertEquals(1, metricsStore.get("group1", "art1", "2.0.0").get(0).getCount());
+
+        metricsRegistry.record("group1", "art1", "3.0.0");
+        metricsHandler.persist(metricsRegistry);
+        Assertions.assertEquals(6, metricsStore.getAllStoredEntities().size());
+        Assertions.assertEquals(3, metricsStore.get("group1", "art1", "3.0.0").get(0).getCount());
+    }
+
+    @Test
+    public void canAggregateMetricsWithinBoundedRegistry()
+    {
+        InMemoryQueryMetricsRegistry registry = new InMemoryQueryMetricsRegistry(2);
+        registry.record("group1", "art1", "1.0.0", toDate(LocalDateTime.now().minusMinutes(1)));
+        registry.record("group1", "art1", "1.0.0");
+        registry.record("group1", "art1", "2.0.0");
+        registry.record("group1", "art1", "3.0.0");
+        Assertions.assertEquals(2, registry.size());
+
+        List<VersionQueryMetric> metrics = registry.drain();
+        Assertions.assertEquals(0, registry.size());
+        Assertions.assertEquals(2, metrics.size());
+        VersionQueryMetric metric = metrics.stream().filter(m -> m.getVersionId().equals("1.0.0")).findFirst().get();
+        Assertions.assertEquals(2, metric.getCount());
+        Assertions.assertTrue(metric.getLastQueryTime().after(toDate(LocalDateTime.now().minusMinutes(1))));
+        Assertions.assertFalse(metrics.stream().anyMatch(m -> m.getVersionId().equals("3.0.0")));
+
+        registry.record("group1", "art1", "3.0.0");
+        Assertions.assertEquals(1, registry.size());
     }
 
     @Test
@@ -36,6 +36,7 @@ public class ManageQueryMetricsMongoStoreModule extends QueryMetricsMongoStoreMo
     public boolean registerIndexes(MongoAdminStore adminStore)
     {
         adminStore.registerIndexes(QueryMetricsMongo.COLLECTION,QueryMetricsMongo.buildIndexes());
+        adminStore.registerIndexes(QueryMetricsMongo.SUMMARY_COLLECTION,QueryMetricsMongo.buildSummaryIndexes());
         return true;
     }
 }
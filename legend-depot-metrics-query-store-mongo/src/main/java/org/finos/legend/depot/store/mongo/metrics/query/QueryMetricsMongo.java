@@ -20,13 +20,24 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
+import com.mongodb.bulk.BulkWriteResult;
 import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
+import com.mongodb.client.model.Accumulators;
 import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Field;
+import com.mongodb.client.model.IndexOptions;
+import com.mongodb.client.model.MergeOptions;
 import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.Updates;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.finos.legend.depot.domain.project.ProjectVersion;
+import org.finos.legend.depot.domain.version.VersionValidator;
 import org.finos.legend.depot.store.api.metrics.query.QueryMetrics;
 import org.finos.legend.depot.store.model.metrics.query.VersionQueryMetric;
 import org.finos.legend.depot.store.mongo.core.BaseMongo;
@@ -34,23 +45,48 @@ import com.mongodb.client.model.IndexModel;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Arrays;
 import java.util.StringTokenizer;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.mongodb.client.model.Aggregates.group;
+import static com.mongodb.client.model.Aggregates.match;
+import static com.mongodb.client.model.Aggregates.merge;
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
-import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.exists;
+import static com.mongodb.client.model.Filters.gte;
 import static com.mongodb.client.model.Filters.lte;
+import static com.mongodb.client.model.Filters.not;
+import static com.mongodb.client.model.Filters.or;
+import static com.mongodb.client.model.Filters.regex;
 
 public class QueryMetricsMongo extends BaseMongo<VersionQueryMetric> implements QueryMetrics
 {
 
     public static final String COLLECTION = "query-metrics";
+    public static final String SUMMARY_COLLECTION = "query-metrics-summary";
+    public static final String WATERMARK_COLLECTION = "query-metrics-watermark";
+    private static final long RAW_METRICS_RETENTION_DAYS = 90;
+    private static final String LAST_QUERY_TIME = "lastQueryTime";
+    private static final String COUNT = "count";
+    private static final String BUCKET = "bucket";
+    private static final String CONSOLIDATED_COUNT = "consolidatedCount";
+    private static final String OPEN_COUNT = "openCount";
+    private static final String CONSOLIDATED_UNTIL = "consolidatedUntil";
+    private static final String CONSOLIDATING_UNTIL = "consolidatingUntil";
+    private static final String WATERMARK_ID = "summary";
+    private static final long LATE_PERSIST_GRACE_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final UpdateOptions UPSERT = new UpdateOptions().upsert(true);
+    private static final String SNAPSHOT_VERSION = VersionValidator.BRANCH_SNAPSHOT("") + "$";
 
 
     @Inject
@@ -64,10 +100,15 @@ public class QueryMetricsMongo extends BaseMongo<VersionQueryMetric> implements
         return getMongoCollection(COLLECTION);
     }
 
+    public MongoCollection<Document> getSummaryCollection()
+    {
+        return getMongoCollection(SUMMARY_COLLECTION);
+    }
+
     @Override
-    public List<VersionQueryMetric> getAll()
+    public Stream<VersionQueryMetric> getAllAsStream(int batchSize)
     {
-        return getAllStoredEntities();
+        return getAllStoredEntitiesAsStream(batchSize);
     }
 
     @Override
@@ -109,29 +150,199 @@ public class QueryMetricsMongo extends BaseMongo<VersionQueryMetric> implements
     @Override
     public void insert(VersionQueryMetric metric)
     {
-        getCollection().insertOne(buildDocument(metric));
+        Document document = buildDocument(metric);
+        document.put(BUCKET, bucket(metric.getLastQueryTime().getTime()));
+        getCollection().insertOne(document);
+    }
+
+    private static Date bucket(long time)
+    {
+        return Date.from(Instant.ofEpochMilli(time).truncatedTo(ChronoUnit.DAYS));
+    }
+
+    @Override
+    public long upsert(List<VersionQueryMetric> metrics)
+    {
+        if (metrics.isEmpty())
+        {
+            return 0;
+        }
+        List<UpdateOneModel<Document>> updates = new ArrayList<>(metrics.size());
+        metrics.forEach(metric ->
+        {
+            long lastQueryTime = metric.getLastQueryTime().getTime();
+            // counters are kept per version and day, the filter fields are copied into newly inserted documents
+            Document filter = new Document(GROUP_ID, metric.getGroupId()).append(ARTIFACT_ID, metric.getArtifactId()).append(VERSION_ID, metric.getVersionId())
+                    .append(BUCKET, bucket(lastQueryTime));
+            updates.add(new UpdateOneModel<>(filter, Updates.combine(Updates.inc(COUNT, metric.getCount()), Updates.max(LAST_QUERY_TIME, lastQueryTime)), UPSERT));
+        });
+        BulkWriteResult result = getCollection().bulkWrite(updates, new BulkWriteOptions().ordered(false));
+        return result.getUpserts().size() + (long) result.getModifiedCount();
+    }
+
+    @Override
+    public long consolidate()
+    {
+        addMissingBuckets();
+        Document watermark = getWatermarkCollection().find(eq(ID_FIELD, WATERMARK_ID)).first();
+        long from = watermark == null ? 0 : watermark.get(CONSOLIDATED_UNTIL, Number.class).longValue();
+        // an interrupted run is resumed with its own watermark so that the summaries it already merged are not added twice
+        long until = watermark != null && watermark.containsKey(CONSOLIDATING_UNTIL) ? watermark.get(CONSOLIDATING_UNTIL, Number.class).longValue()
+                : bucket(System.currentTimeMillis() - LATE_PERSIST_GRACE_MILLIS).getTime();
+        getWatermarkCollection().updateOne(eq(ID_FIELD, WATERMARK_ID), Updates.combine(Updates.setOnInsert(CONSOLIDATED_UNTIL, from), Updates.set(CONSOLIDATING_UNTIL, until)), UPSERT);
+
+        // buckets before the watermark are closed and are added to the summary exactly once, guarded by the watermark stored
+        // on each summary; counts of open buckets are recomputed every run, so summary counts keep growing after raw counters expire
+        Document count = new Document("$ifNull", Arrays.asList("$" + COUNT, 1));
+        Document closed = new Document("$lt", Arrays.asList("$" + BUCKET, new Date(until)));
+        Bson window = match(gte(BUCKET, new Date(from)));
+        Bson byVersion = group(new Document(GROUP_ID, "$" + GROUP_ID).append(ARTIFACT_ID, "$" + ARTIFACT_ID).append(VERSION_ID, "$" + VERSION_ID),
+                Accumulators.sum(CONSOLIDATED_COUNT, new Document("$cond", Arrays.asList(closed, count, 0))),
+                Accumulators.sum(OPEN_COUNT, new Document("$cond", Arrays.asList(closed, 0, count))),
+                Accumulators.max(LAST_QUERY_TIME, "$" + LAST_QUERY_TIME));
+        Bson summary = Aggregates.project(Projections.fields(Projections.excludeId(),
+                Projections.computed(GROUP_ID, "$_id." + GROUP_ID),
+                Projections.computed(ARTIFACT_ID, "$_id." + ARTIFACT_ID),
+                Projections.computed(VERSION_ID, "$_id." + VERSION_ID),
+                Projections.include(LAST_QUERY_TIME, CONSOLIDATED_COUNT, OPEN_COUNT),
+                Projections.computed(COUNT, new Document("$add", Arrays.asList("$" + CONSOLIDATED_COUNT, "$" + OPEN_COUNT))),
+                Projections.computed(CONSOLIDATED_UNTIL, new Document("$literal", until))));
+        getRawCollection().aggregate(Arrays.asList(window, byVersion, summary, merge(SUMMARY_COLLECTION, mergeIntoSummary(until)))).toCollection();
+
+        getWatermarkCollection().updateOne(eq(ID_FIELD, WATERMARK_ID), Updates.combine(Updates.set(CONSOLIDATED_UNTIL, until), Updates.unset(CONSOLIDATING_UNTIL)));
+        return getSummaryCollection().countDocuments();
+    }
+
+    private static MergeOptions mergeIntoSummary(long until)
+    {
+        Document notYetAdded = new Document("$lt", Arrays.asList(new Document("$ifNull", Arrays.asList("$" + CONSOLIDATED_UNTIL, 0L)), until));
+        Document consolidatedCount = new Document("$ifNull", Arrays.asList("$" + CONSOLIDATED_COUNT, 0L));
+        Bson accumulate = Aggregates.set(
+                new Field<>(CONSOLIDATED_COUNT, new Document("$cond", Arrays.asList(notYetAdded,
+                        new Document("$add", Arrays.asList(consolidatedCount, "$$new." + CONSOLIDATED_COUNT)), consolidatedCount))),
+                new Field<>(CONSOLIDATED_UNTIL, new Document("$max", Arrays.asList("$" + CONSOLIDATED_UNTIL, until))),
+                new Field<>(LAST_QUERY_TIME, new Document("$max", Arrays.asList("$" + LAST_QUERY_TIME, "$$new." + LAST_QUERY_TIME))));
+        Bson total = Aggregates.set(new Field<>(COUNT, new Document("$add", Arrays.asList("$" + CONSOLIDATED_COUNT, "$$new." + OPEN_COUNT))),
+                new Field<>(OPEN_COUNT, "$$new." + OPEN_COUNT));
+        return new MergeOptions()
+                .uniqueIdentifier(Arrays.asList(GROUP_ID, ARTIFACT_ID, VERSION_ID))
+                .whenMatchedPipeline(Arrays.asList(accumulate, total))
+                .whenNotMatched(MergeOptions.WhenNotMatched.INSERT);
+    }
+
+    /**
+     * Raw counters stored before day buckets existed are never expired by the TTL index;
+     * they get the bucket of their last query.
+     */
+    private void addMissingBuckets()
+    {
+        List<Document> batch;
+        do
+        {
+            batch = getRawCollection().find(exists(BUCKET, false))
+                    .projection(Projections.include(LAST_QUERY_TIME))
+                    .limit(DEFAULT_BATCH_SIZE)
+                    .into(new ArrayList<>());
+            List<UpdateOneModel<Document>> updates = new ArrayList<>(batch.size());
+            batch.forEach(document ->
+            {
+                Object lastQueryTime = document.get(LAST_QUERY_TIME);
+                updates.add(new UpdateOneModel<>(eq(ID_FIELD, document.get(ID_FIELD)),
+                        Updates.set(BUCKET, bucket(lastQueryTime != null ? getTime(lastQueryTime) : System.currentTimeMillis()))));
+            });
+            if (!updates.isEmpty())
+            {
+                getRawCollection().bulkWrite(updates, new BulkWriteOptions().ordered(false));
+            }
+        }
+        while (batch.size() == DEFAULT_BATCH_SIZE);
+    }
+
+    private static long getTime(Object time)
+    {
+        return time instanceof Date ? ((Date) time).getTime() : ((Number) time).longValue();
+    }
+
+    private MongoCollection<Document> getRawCollection()
+    {
+        return getMongoCollection(COLLECTION);
+    }
+
+    public MongoCollection<Document> getWatermarkCollection()
+    {
+        return getMongoCollection(WATERMARK_COLLECTION);
     }
 
     @Override
-    public long consolidate(VersionQueryMetric metric)
+    public List<VersionQueryMetric> getConsolidatedMetrics()
     {
-        // We are deleting every metric with same gav except the one passed in the function
-        return super.delete(and(getKeyFilter(metric),lt("lastQueryTime", metric.getLastQueryTime().getTime())));
+        List<VersionQueryMetric> result = new ArrayList<>();
+        getSummaryCollection().find().sort(Sorts.ascending(GROUP_ID, ARTIFACT_ID, VERSION_ID)).projection(Projections.excludeId())
+                .forEach((Consumer<Document>) document -> result.add(convert(document, VersionQueryMetric.class)));
+        return result;
+    }
+
+    @Override
+    public List<ProjectVersion> getConsolidatedCoordinates()
+    {
+        List<ProjectVersion> result = new ArrayList<>();
+        getSummaryCollection().find().projection(Projections.include(GROUP_ID, ARTIFACT_ID, VERSION_ID)).forEach((Consumer<Document>) document ->
+                result.add(new ProjectVersion(document.getString(GROUP_ID), document.getString(ARTIFACT_ID), document.getString(VERSION_ID))));
+        return result;
     }
 
     @Override
     public List<VersionQueryMetric> findMetricsBefore(Date date)
     {
-        return find(lte("lastQueryTime", date.getTime()));
+        return findConsolidated(lte(LAST_QUERY_TIME, date.getTime()));
+    }
+
+    @Override
+    public List<VersionQueryMetric> findVersionsLastQueriedBefore(Date releasedVersionsBefore, Date snapshotVersionsBefore)
+    {
+        return findConsolidated(or(
+                and(lte(LAST_QUERY_TIME, snapshotVersionsBefore.getTime()), regex(VERSION_ID, SNAPSHOT_VERSION)),
+                and(lte(LAST_QUERY_TIME, releasedVersionsBefore.getTime()), not(regex(VERSION_ID, SNAPSHOT_VERSION)))));
+    }
+
+    private List<VersionQueryMetric> findConsolidated(Bson filter)
+    {
+        List<VersionQueryMetric> result = new ArrayList<>();
+        getSummaryCollection().find(filter).projection(Projections.excludeId()).forEach((Consumer<Document>) document -> result.add(convert(document, VersionQueryMetric.class)));
+        return result;
     }
 
     @Override
     public long delete(String groupId, String artifactId, String versionId)
     {
         delete(getKeyFilter(groupId, artifactId, versionId));
+        getSummaryCollection().deleteMany(getKeyFilter(groupId, artifactId, versionId));
         return 1;
     }
 
+    @Override
+    public long delete(String groupId, String artifactId, List<String> versionIds)
+    {
+        getSummaryCollection().deleteMany(getArtifactAndVersionsFilter(groupId, artifactId, versionIds));
+        return delete(getArtifactAndVersionsFilter(groupId, artifactId, versionIds));
+    }
+
+    @Override
+    public long delete(List<ProjectVersion> projectVersions)
+    {
+        // versions of every project are removed with a single delete per collection
+        List<Bson> projectFilters = new ArrayList<>();
+        projectVersions.stream().collect(Collectors.groupingBy(ProjectVersion::getGa)).values().forEach(versions ->
+                projectFilters.add(getArtifactAndVersionsFilter(versions.get(0).getGroupId(), versions.get(0).getArtifactId(),
+                        versions.stream().map(ProjectVersion::getVersionId).collect(Collectors.toList()))));
+        if (projectFilters.isEmpty())
+        {
+            return 0;
+        }
+        getSummaryCollection().deleteMany(or(projectFilters));
+        return delete(or(projectFilters));
+    }
+
     @Override
     protected Bson getKeyFilter(VersionQueryMetric data)
     {
@@ -152,6 +363,13 @@ public class QueryMetricsMongo extends BaseMongo<VersionQueryMetric> implements
 
     public static List<IndexModel> buildIndexes()
     {
-        return Arrays.asList(buildIndex("group-artifact-version", GROUP_ID,ARTIFACT_ID,VERSION_ID));
+        return Arrays.asList(buildIndex("group-artifact-version", GROUP_ID,ARTIFACT_ID,VERSION_ID),
+                buildIndex("bucket-ttl", new IndexOptions().expireAfter(RAW_METRICS_RETENTION_DAYS, TimeUnit.DAYS), BUCKET));
+    }
+
+    public static List<IndexModel> buildSummaryIndexes()
+    {
+        return Arrays.asList(buildIndex("group-artifact-version", true, GROUP_ID,ARTIFACT_ID,VERSION_ID),
+                buildIndex("lastQueryTime", LAST_QUERY_TIME));
     }
 }
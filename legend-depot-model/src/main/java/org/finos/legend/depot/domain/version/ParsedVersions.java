@@ -0,0 +1,105 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.domain.version;
+
+import org.finos.legend.sdlc.domain.model.version.VersionId;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared cache of parsed release versions. Version strings are parsed at most once while cached, and failures are
+ * remembered too, so sorting and validating the same versions over and over stays cheap.
+ */
+public final class ParsedVersions
+{
+    private static final int MAX_CACHED_VERSIONS = 100000;
+    private static final String SORT_KEY_FORMAT = "%010d.%010d.%010d";
+    private static final Map<String, Optional<VersionId>> PARSED = new ConcurrentHashMap<>();
+
+    /**
+     * Orders version strings by their parsed release version, so 1.9.0 comes before 1.10.0. Strings that are not
+     * release versions sort first, by their text.
+     */
+    public static final Comparator<String> RELEASE_VERSION_ORDER = ParsedVersions::compare;
+
+    private ParsedVersions()
+    {
+    }
+
+    public static Optional<VersionId> tryParse(String versionId)
+    {
+        if (versionId == null)
+        {
+            return Optional.empty();
+        }
+        Optional<VersionId> parsed = PARSED.get(versionId);
+        if (parsed == null)
+        {
+            parsed = parseVersionId(versionId);
+            if (PARSED.size() >= MAX_CACHED_VERSIONS)
+            {
+                PARSED.clear();
+            }
+            PARSED.putIfAbsent(versionId, parsed);
+        }
+        return parsed;
+    }
+
+    public static VersionId parse(String versionId)
+    {
+        // invalid versions are parsed again so callers get the original error
+        return tryParse(versionId).orElseGet(() -> VersionId.parseVersionId(versionId));
+    }
+
+    /**
+     * Key that sorts release versions in version order as plain strings: major, minor and patch zero padded to ten
+     * digits each. Versions that are not releases have no key.
+     */
+    public static String sortKey(String versionId)
+    {
+        return tryParse(versionId).map(version -> String.format(SORT_KEY_FORMAT, version.getMajorVersion(), version.getMinorVersion(), version.getPatchVersion())).orElse(null);
+    }
+
+    private static int compare(String versionId1, String versionId2)
+    {
+        Optional<VersionId> parsed1 = tryParse(versionId1);
+        Optional<VersionId> parsed2 = tryParse(versionId2);
+        if (parsed1.isPresent() && parsed2.isPresent())
+        {
+            return parsed1.get().compareTo(parsed2.get());
+        }
+        if (parsed1.isPresent() != parsed2.isPresent())
+        {
+            return parsed1.isPresent() ? 1 : -1;
+        }
+        return Comparator.<String>nullsFirst(Comparator.naturalOrder()).compare(versionId1, versionId2);
+    }
+
+    private static Optional<VersionId> parseVersionId(String versionId)
+    {
+        try
+        {
+            return Optional.of(VersionId.parseVersionId(versionId));
+        }
+        catch (IllegalArgumentException e)
+        {
+            return Optional.empty();
+        }
+    }
+}
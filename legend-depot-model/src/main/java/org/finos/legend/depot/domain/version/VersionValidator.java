@@ -15,8 +15,6 @@
 
 package org.finos.legend.depot.domain.version;
 
-import org.finos.legend.sdlc.domain.model.version.VersionId;
-
 import java.util.Arrays;
 
 public class VersionValidator
@@ -40,15 +38,7 @@ public class VersionValidator
 
     public static boolean isValidReleaseVersion(String versionId)
     {
-        try
-        {
-            VersionId.parseVersionId(versionId);
-            return true;
-        }
-        catch (IllegalArgumentException e)
-        {
-            return false;
-        }
+        return ParsedVersions.tryParse(versionId).isPresent();
     }
 
     public static boolean isSnapshotVersion(String versionId)
@@ -0,0 +1,43 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.domain.version;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestParsedVersions
+{
+    @Test
+    public void ordersVersionsNumerically()
+    {
+        List<String> versions = new ArrayList<>(Arrays.asList("1.10.0", "1.9.0", "master-SNAPSHOT", "2.0.0", "1.9.10"));
+        versions.sort(ParsedVersions.RELEASE_VERSION_ORDER);
+        Assertions.assertEquals(Arrays.asList("master-SNAPSHOT", "1.9.0", "1.9.10", "1.10.0", "2.0.0"), versions);
+    }
+
+    @Test
+    public void parsesOnceAndKeepsOriginalErrors()
+    {
+        Assertions.assertSame(ParsedVersions.parse("3.4.5"), ParsedVersions.parse("3.4.5"));
+        Assertions.assertFalse(ParsedVersions.tryParse("not-a-version").isPresent());
+        Assertions.assertFalse(ParsedVersions.tryParse(null).isPresent());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ParsedVersions.parse("not-a-version"));
+    }
+}
@@ -16,6 +16,7 @@
 package org.finos.legend.depot.services.api.notifications;
 
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
+import org.finos.legend.depot.store.model.Page;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -27,6 +28,8 @@ public interface NotificationsService
 
     List<MetadataNotification> findProcessedEvents(String group, String artifact, String version,String eventId, String parentId, Boolean success, LocalDateTime localDateTime, LocalDateTime localDateTime1);
 
+    Page<MetadataNotification> findProcessedEvents(String group, String artifact, String version, String eventId, String parentId, Boolean success, LocalDateTime from, LocalDateTime to, String continuationToken, int pageSize);
+
     Optional<MetadataNotification> getProcessedEvent(String eventId);
 
     long deleteOldNotifications(long days);
@@ -16,6 +16,7 @@
 package org.finos.legend.depot.store.api.notifications;
 
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
+import org.finos.legend.depot.store.model.Page;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -30,6 +31,8 @@ public interface Notifications
 
     List<MetadataNotification> find(String group, String artifact, String version, String eventId,String parentId, Boolean success, LocalDateTime fromDate, LocalDateTime toDate);
 
+    Page<MetadataNotification> find(String group, String artifact, String version, String eventId, String parentId, Boolean success, LocalDateTime fromDate, LocalDateTime toDate, String continuationToken, int pageSize);
+
     MetadataNotification createOrUpdate(MetadataNotification metadataEvent);
 
     void delete(String id);
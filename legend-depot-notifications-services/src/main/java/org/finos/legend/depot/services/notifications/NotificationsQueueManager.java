@@ -24,11 +24,17 @@ import org.finos.legend.depot.store.api.notifications.Notifications;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
 import org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing;
 import org.finos.legend.depot.core.services.tracing.TracerFactory;
-import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.core.services.api.metrics.CounterHandle;
+import org.finos.legend.depot.core.services.api.metrics.GaugeHandle;
+import org.finos.legend.depot.core.services.api.metrics.HistogramHandle;
+import org.finos.legend.depot.core.services.metrics.MetricHandle;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public class NotificationsQueueManager
@@ -41,6 +47,15 @@ public class NotificationsQueueManager
     public static final String DELIMITER = ",";
     public static final String NOTIFICATION_COMPLETE = "notification_complete";
     public static final String NOTIFICATION_COMPLETE_HELP = " time to precess notification";
+    private static final MetricHandle<CounterHandle> NOTIFICATIONS = MetricHandle.of(metrics -> metrics.counter(NOTIFICATIONS_COUNTER));
+    private static final MetricHandle<CounterHandle> NOTIFICATION_ERRORS = MetricHandle.of(metrics -> metrics.errorCounter(NOTIFICATIONS_COUNTER));
+    private static final MetricHandle<GaugeHandle> WAITING = MetricHandle.of(metrics -> metrics.gauge(QUEUE_WAITING));
+    private static final Map<Priority, MetricHandle<HistogramHandle>> COMPLETED = new EnumMap<>(Priority.class);
+
+    static
+    {
+        Arrays.stream(Priority.values()).forEach(priority -> COMPLETED.put(priority, MetricHandle.of(metrics -> metrics.histogram(NOTIFICATION_COMPLETE, priority.name()))));
+    }
 
     private final Notifications notifications;
     private final Queue queue;
@@ -58,7 +73,7 @@ public class NotificationsQueueManager
     public int handle()
     {
         long waitingInQueue = queue.size();
-        PrometheusMetricsFactory.getInstance().setGauge(QUEUE_WAITING,waitingInQueue);
+        WAITING.get().set(waitingInQueue);
         LOGGER.info("waiting in queue {}",waitingInQueue);
         return TracerFactory.get().executeWithTrace(ResourceLoggingAndTracing.HANDLE_EVENTS_IN_QUEUE, () -> handleEvents(queue.getFirstInQueue()));
     }
@@ -82,7 +97,7 @@ public class NotificationsQueueManager
 
     void handleEvent(MetadataNotification event)
     {
-        PrometheusMetricsFactory.getInstance().incrementCount(NOTIFICATIONS_COUNTER);
+        NOTIFICATIONS.get().increment();
         List<String> validationErrors = eventHandler.validate(event);
         if (!validationErrors.isEmpty())
         {
@@ -90,7 +105,7 @@ public class NotificationsQueueManager
                     event.getEventId(), event.getParentEventId(),event.getGroupId(),event.getArtifactId(),event.getVersionId(),event.getAttempt(),String.join(DELIMITER,validationErrors));
             LOGGER.error(message);
             notifications.createOrUpdate(event.addError(message).complete());
-            PrometheusMetricsFactory.getInstance().incrementErrorCount(NOTIFICATIONS_COUNTER);
+            NOTIFICATION_ERRORS.get().increment();
             return;
         }
 
@@ -120,8 +135,8 @@ public class NotificationsQueueManager
                     event.addError(messageRetry);
                     LOGGER.error(messageRetry);
                     notifications.createOrUpdate(event.combineResponse(response).complete());
-                    PrometheusMetricsFactory.getInstance().observeHistogram(NOTIFICATION_COMPLETE,event.getCreated().getTime(),System.currentTimeMillis(),event.getEventPriority().name());
-                    PrometheusMetricsFactory.getInstance().incrementErrorCount(NOTIFICATIONS_COUNTER);
+                    COMPLETED.get(event.getEventPriority()).get().observe(event.getCreated().getTime(), System.currentTimeMillis());
+                    NOTIFICATION_ERRORS.get().increment();
                 }
                 else
                 {
@@ -135,7 +150,7 @@ public class NotificationsQueueManager
             else
             {
                 notifications.createOrUpdate(event.combineResponse(response).complete());
-                PrometheusMetricsFactory.getInstance().observeHistogram(NOTIFICATION_COMPLETE,event.getCreated().getTime(),System.currentTimeMillis(),event.getEventPriority().name());
+                COMPLETED.get(event.getEventPriority()).get().observe(event.getCreated().getTime(), System.currentTimeMillis());
                 LOGGER.info("eventId:[{}],parentEventId:[{}],gav: [{}-{}-{}] ,attempt [{}] completed successfully", event.getEventId(), event.getParentEventId(), event.getGroupId(), event.getArtifactId(), event.getVersionId(), event.getAttempt());
             }
         }
@@ -145,7 +160,7 @@ public class NotificationsQueueManager
 
     public String notify(String projectId, String groupId, String artifactId, String versionId)
     {
-        PrometheusMetricsFactory.getInstance().incrementCount(NOTIFICATIONS_COUNTER);
+        NOTIFICATIONS.get().increment();
         //create a notification event with fullUpdate/transitive flag = false/false
         //it means, it will only process changed master-SNAPSHOT jar files and wont force dependencies to load
         MetadataNotification event = new MetadataNotification(projectId, groupId, artifactId, versionId,false,false, null, Priority.HIGH);
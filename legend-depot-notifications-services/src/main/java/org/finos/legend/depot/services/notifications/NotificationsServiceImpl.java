@@ -18,6 +18,7 @@ package org.finos.legend.depot.services.notifications;
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
 import org.finos.legend.depot.services.api.notifications.NotificationsService;
 import org.finos.legend.depot.store.api.notifications.Notifications;
+import org.finos.legend.depot.store.model.Page;
 import org.slf4j.Logger;
 
 import javax.inject.Inject;
@@ -44,6 +45,12 @@ public final class NotificationsServiceImpl implements NotificationsService
         return this.notifications.find(group,artifact,version,eventId,parentId,success,from,to);
     }
 
+    @Override
+    public Page<MetadataNotification> findProcessedEvents(String group, String artifact, String version, String eventId, String parentId, Boolean success, LocalDateTime from, LocalDateTime to, String continuationToken, int pageSize)
+    {
+        return this.notifications.find(group, artifact, version, eventId, parentId, success, from, to, continuationToken, pageSize);
+    }
+
     @Override
     public Optional<MetadataNotification> getProcessedEvent(String eventId)
     {
@@ -24,10 +24,12 @@ import org.finos.legend.depot.domain.DatesHandler;
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
 import org.finos.legend.depot.core.services.tracing.ResourceLoggingAndTracing;
 import org.finos.legend.depot.services.api.notifications.NotificationsService;
+import org.finos.legend.depot.store.model.Page;
 
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Provider;
+import javax.ws.rs.DefaultValue;
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
@@ -89,6 +91,29 @@ public class NotificationsResource extends AuthorisedResource
                 to == null ? LocalDateTime.now() : DatesHandler.parseDate(to)));
     }
 
+    @GET
+    @Path("/paged/notifications")
+    @ApiOperation(ResourceLoggingAndTracing.FIND_PAST_EVENTS_PAGE)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Page<MetadataNotification> getPastEventNotifications(
+                                                   @QueryParam("groupId") String group,
+                                                   @QueryParam("artifactId") String artifact,
+                                                   @QueryParam("versionId") String version,
+                                                   @QueryParam("eventId") String eventId,
+                                                   @QueryParam("parentEventId") @ApiParam("refresh could be started by another event, eg refresh all store versions") String parentId,
+                                                   @QueryParam("success") Boolean success,
+                                                   @QueryParam("from")
+                                                   @ApiParam("last updated from date: yyyy-MM-dd HH:mm:ss/unix epoc millis (default is 120 minutes prior)") String from,
+                                                   @QueryParam("to")
+                                                   @ApiParam("to date: yyyy-MM-dd HH:mm:ss/unix epoc millis (default is now)") String to,
+                                                   @QueryParam("continuationToken") @ApiParam("token returned with the previous page, first page if not provided") String continuationToken,
+                                                   @QueryParam("pageSize") @DefaultValue("100") @ApiParam("number of notifications per page") int pageSize)
+    {
+        return handle(ResourceLoggingAndTracing.FIND_PAST_EVENTS_PAGE, () -> notificationsService.findProcessedEvents(group, artifact, version, eventId, parentId, success,
+                from == null ?  LocalDateTime.now().minusMinutes(120) : DatesHandler.parseDate(from),
+                to == null ? LocalDateTime.now() : DatesHandler.parseDate(to), continuationToken, pageSize));
+    }
+
 
     @GET
     @Path("/notifications/{eventId}")
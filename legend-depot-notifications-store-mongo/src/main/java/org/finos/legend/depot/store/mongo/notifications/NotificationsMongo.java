@@ -27,6 +27,7 @@ import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
 import org.finos.legend.depot.domain.notifications.MetadataNotificationStatus;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.mongo.core.BaseMongo;
 import org.finos.legend.depot.store.api.notifications.Notifications;
 import org.finos.legend.depot.store.mongo.notifications.queue.NotificationKeyFilter;
@@ -76,9 +77,23 @@ public class NotificationsMongo extends BaseMongo<MetadataNotification> implemen
         buildIndex("status",RESPONSE_STATUS),
         buildIndex("lastUpdated", UPDATED),
         buildIndex("groupId-artifactId-versionId", GROUP_ID, ARTIFACT_ID, VERSION_ID),
+        buildIndex("updated-id", UPDATED, ID_FIELD),
         buildIndex("eventId", EVENT_ID));
     }
 
+    @Override
+    protected List<String> getKeysetFields()
+    {
+        return Arrays.asList(UPDATED, ID_FIELD);
+    }
+
+    @Override
+    protected boolean isKeysetDescending()
+    {
+        // pages follow the order of the unpaged listing, most recently updated first
+        return true;
+    }
+
     @Override
     protected Bson getKeyFilter(MetadataNotification data)
     {
@@ -107,6 +122,21 @@ public class NotificationsMongo extends BaseMongo<MetadataNotification> implemen
     public List<MetadataNotification> find(String groupId, String artifactId, String version, String eventId,String parentEventId, Boolean success, LocalDateTime fromDate, LocalDateTime toDate)
     {
         MongoCollection<Document> events = getCollection();
+        Bson filter = buildFilter(groupId, artifactId, version, eventId, parentEventId, success, fromDate, toDate);
+
+        List<MetadataNotification> result = new ArrayList<>();
+        events.find(filter).sort(Sorts.descending(UPDATED)).forEach((Consumer<Document>) doc -> result.add(convert(doc, MetadataNotification.class)));
+        return result;
+    }
+
+    @Override
+    public Page<MetadataNotification> find(String groupId, String artifactId, String version, String eventId, String parentEventId, Boolean success, LocalDateTime fromDate, LocalDateTime toDate, String continuationToken, int pageSize)
+    {
+        return findPage(buildFilter(groupId, artifactId, version, eventId, parentEventId, success, fromDate, toDate), continuationToken, pageSize);
+    }
+
+    private Bson buildFilter(String groupId, String artifactId, String version, String eventId, String parentEventId, Boolean success, LocalDateTime fromDate, LocalDateTime toDate)
+    {
         LocalDateTime to = toDate != null ? toDate : LocalDateTime.now();
         Bson filter = Filters.lte(UPDATED, toTime(to));
         filter = fromDate != null ? and(filter, gte(UPDATED, toTime(fromDate))) : filter;
@@ -116,10 +146,7 @@ public class NotificationsMongo extends BaseMongo<MetadataNotification> implemen
         filter = eventId != null ? and(filter, eq(EVENT_ID, eventId)) : filter;
         filter = parentEventId != null ? and(filter, eq(PARENT_EVENT, parentEventId)) : filter;
         filter = success != null ? and(filter, eq(RESPONSE_STATUS, (success ? MetadataNotificationStatus.SUCCESS.name() : MetadataNotificationStatus.FAILED.name()))) : filter;
-
-        List<MetadataNotification> result = new ArrayList<>();
-        events.find(filter).sort(Sorts.descending(UPDATED)).forEach((Consumer<Document>) doc -> result.add(convert(doc, MetadataNotification.class)));
-        return result;
+        return filter;
     }
 
     @Override
@@ -17,12 +17,16 @@ package org.finos.legend.depot.store.mongo.notifications;
 
 import org.finos.legend.depot.domain.notifications.MetadataNotification;
 import org.finos.legend.depot.services.api.notifications.queue.Queue;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.mongo.TestStoreMongo;
 import org.finos.legend.depot.store.mongo.notifications.queue.NotificationsQueueMongo;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 
@@ -133,4 +137,31 @@ public class TestNotificationsMongo extends TestStoreMongo
         Assertions.assertNotNull(afterLunch);
         Assertions.assertEquals(3, afterLunch.size());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void pagesEventsMostRecentlyUpdatedFirst()
+    {
+        LocalDateTime aPointInTime = LocalDateTime.of(2020, 10, 12, 12, 0);
+        insertRaw(eventsMongo.COLLECTION, new MetadataNotification(TESTPROJECT_1, "a.test", TEST, VERSION).setUpdated(toDate(aPointInTime.plusHours(1))));
+        insertRaw(eventsMongo.COLLECTION, new MetadataNotification(TESTPROJECT_2, "b.test", TEST, VERSION).setUpdated(toDate(aPointInTime.plusHours(3))));
+        insertRaw(eventsMongo.COLLECTION, new MetadataNotification("testproject3", "c.test", TEST, VERSION).setUpdated(toDate(aPointInTime.plusHours(2))));
+        insertRaw(eventsMongo.COLLECTION, new MetadataNotification("testproject4", "d.test", TEST, VERSION).setUpdated(toDate(aPointInTime.plusHours(2))));
+        insertRaw(eventsMongo.COLLECTION, new MetadataNotification("testproject5", "e.test", TEST, VERSION).setUpdated(toDate(aPointInTime)));
+
+        List<String> paged = new ArrayList<>();
+        String continuationToken = null;
+        do
+        {
+            Page<MetadataNotification> page = eventsMongo.find(null, null, null, null, null, null, aPointInTime.minusDays(1), null, continuationToken, 2);
+            Assertions.assertTrue(page.getItems().size() <= 2);
+            page.getItems().forEach(event -> paged.add(event.getGroupId()));
+            continuationToken = page.getContinuationToken();
+        }
+        while (continuationToken != null);
+
+        Assertions.assertEquals(5, paged.size());
+        Assertions.assertEquals("b.test", paged.get(0));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("c.test", "d.test")), new HashSet<>(paged.subList(1, 3)));
+        Assertions.assertEquals(Arrays.asList("a.test", "e.test"), paged.subList(3, 5));
+    }
+}
@@ -34,7 +34,6 @@ import org.finos.legend.depot.services.metrics.query.InMemoryQueryMetricsRegistr
 import org.finos.legend.depot.services.metrics.query.QueryMetricsServiceImpl;
 import org.finos.legend.depot.services.projects.ProjectsServiceImpl;
 import org.finos.legend.depot.store.api.entities.UpdateEntities;
-import org.finos.legend.depot.store.api.metrics.query.QueryMetrics;
 import org.finos.legend.depot.store.model.projects.StoreProjectData;
 import org.finos.legend.depot.store.model.projects.StoreProjectVersionData;
 import org.finos.legend.depot.store.mongo.entities.EntitiesMongo;
@@ -60,7 +59,7 @@ public class TestPureModelContextService extends TestBaseServices
     private static final URL entities_10855 = TestPureModelContextService.class.getClassLoader().getResource("versioned-entities_PROD-10855.json");
     public static final String TEST_GROUP_ID = "examples.metadata";
     public static final String CLIENT_VERSION = "vX_X_X";
-    private final QueryMetrics metrics = new QueryMetricsMongo(mongoProvider);
+    private final QueryMetricsMongo metrics = new QueryMetricsMongo(mongoProvider);
     private final QueryMetricsRegistry metricsRegistry = new InMemoryQueryMetricsRegistry();
     private final QueryMetricsService metricsHandler = new QueryMetricsServiceImpl(metrics);
     private final Queue queue = mock(Queue.class);
@@ -200,7 +199,7 @@ public class TestPureModelContextService extends TestBaseServices
     {
         getPureModelContextDataAsString("examples.metadata", "test", "2.3.1", CLIENT_VERSION, true, true);
         metricsHandler.persist(metricsRegistry);
-        Assertions.assertEquals(metrics.getAll().size(), 4);
+        Assertions.assertEquals(metrics.getAllStoredEntities().size(), 4);
         Assertions.assertNotNull(metrics.get("examples.metadata", "test-dependencies", "1.0.0").get(0).getLastQueryTime());
         Assertions.assertNotNull(metrics.get("examples.metadata", "test", "2.3.1").get(0).getLastQueryTime());
     }
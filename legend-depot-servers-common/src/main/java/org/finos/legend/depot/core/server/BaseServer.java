@@ -38,7 +38,9 @@ import org.finos.legend.depot.core.server.error.CatchAllExceptionMapper;
 import org.finos.legend.depot.core.server.error.DepotServerExceptionMapper;
 import org.finos.legend.depot.core.services.api.metrics.configuration.PrometheusMetricsProviderConfiguration;
 import org.finos.legend.depot.core.services.api.tracing.configuration.TracerProviderConfiguration;
+import org.finos.legend.depot.core.services.api.metrics.configuration.PrometheusConfiguration;
 import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
+import org.finos.legend.depot.core.services.metrics.ResourceMetricsFilter;
 import org.finos.legend.depot.store.StorageConfiguration;
 import org.finos.legend.server.pac4j.LegendPac4jBundle;
 import org.finos.legend.server.shared.bundles.ChainFixingFilterHandler;
@@ -134,7 +136,7 @@ public abstract class BaseServer<T extends ServerConfiguration> extends Applicat
 
 
         initialiseCors(environment);
-        initialisePrometheusMetrics(environment);
+        initialisePrometheusMetrics(configuration, environment);
         initialiseOpenTracing(environment);
     }
 
@@ -184,12 +186,18 @@ public abstract class BaseServer<T extends ServerConfiguration> extends Applicat
         new OpenTracingBundle().run(environment);
     }
 
-    private void initialisePrometheusMetrics(Environment environment)
+    private void initialisePrometheusMetrics(T configuration, Environment environment)
     {
         MetricRegistry metricRegistry = environment.metrics();
         CollectorRegistry collectorRegistry = CollectorRegistry.defaultRegistry;
         collectorRegistry.register(new DropwizardExports(metricRegistry));
         environment.admin().addServlet("prometheus", new MetricsServlet(collectorRegistry)).addMapping("/prometheus");
+
+        PrometheusConfiguration prometheusConfiguration = configuration.getPrometheusConfiguration();
+        if (prometheusConfiguration != null && prometheusConfiguration.isEnabled() && prometheusConfiguration.getResourceMetrics() != null && prometheusConfiguration.getResourceMetrics().isEnabled())
+        {
+            environment.jersey().register(new ResourceMetricsFilter(prometheusConfiguration.getResourceMetrics()));
+        }
     }
 
     protected abstract void initialiseCors(Environment environment);
@@ -20,12 +20,15 @@ import com.mongodb.MongoClientOptions;
 import com.mongodb.MongoClientURI;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.management.JMXConnectionPoolListener;
+import org.finos.legend.depot.core.services.metrics.PrometheusMetricsFactory;
 
 public abstract class AbstractMongoConnectionFactory implements ConnectionFactory
 {
     private final String mongoURI;
     private final String applicationName;
     private final String databaseName;
+    private final MongoCommandMetricsConfiguration commandMetricsConfiguration;
+    private final MongoClientSettingsConfiguration clientSettingsConfiguration;
     protected MongoClient client;
 
     public AbstractMongoConnectionFactory(String applicationName, MongoConfiguration mongoConfiguration)
@@ -38,6 +41,8 @@ public abstract class AbstractMongoConnectionFactory implements ConnectionFactor
         this.applicationName = applicationName;
         this.databaseName = mongoConfiguration.database;
         this.mongoURI = mongoConfiguration.url;
+        this.commandMetricsConfiguration = mongoConfiguration.getCommandMetrics();
+        this.clientSettingsConfiguration = mongoConfiguration.getClientSettings();
     }
 
     private boolean isNullOrEmpty(String string)
@@ -47,8 +52,12 @@ public abstract class AbstractMongoConnectionFactory implements ConnectionFactor
 
     protected MongoClientURI buildMongoURI()
     {
-        MongoClientOptions.Builder optionsBuilder = MongoClientOptions.builder().applicationName(applicationName);
+        MongoClientOptions.Builder optionsBuilder = clientSettingsConfiguration.applyTo(MongoClientOptions.builder().applicationName(applicationName));
         optionsBuilder.addConnectionPoolListener(new JMXConnectionPoolListener());
+        if (commandMetricsConfiguration.isEnabled())
+        {
+            optionsBuilder.addCommandListener(new MongoCommandMetricsListener(commandMetricsConfiguration, PrometheusMetricsFactory::getInstance));
+        }
         return new MongoClientURI(mongoURI, optionsBuilder);
     }
 
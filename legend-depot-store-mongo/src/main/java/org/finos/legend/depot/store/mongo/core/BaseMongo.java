@@ -19,17 +19,21 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoCursor;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.model.FindOneAndReplaceOptions;
 import com.mongodb.client.model.IndexModel;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
 import com.mongodb.client.model.ReturnDocument;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.result.DeleteResult;
 import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
+import org.finos.legend.depot.store.model.ContinuationToken;
 import org.finos.legend.depot.store.model.HasIdentifier;
+import org.finos.legend.depot.store.model.Page;
 import org.finos.legend.depot.store.StoreException;
 import org.slf4j.Logger;
 
@@ -40,11 +44,22 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.mongodb.client.model.Filters.and;
 import static com.mongodb.client.model.Filters.eq;
+import static com.mongodb.client.model.Filters.gt;
+import static com.mongodb.client.model.Filters.gte;
+import static com.mongodb.client.model.Filters.in;
+import static com.mongodb.client.model.Filters.lt;
+import static com.mongodb.client.model.Filters.lte;
+import static com.mongodb.client.model.Filters.ne;
+import static com.mongodb.client.model.Filters.or;
 import static org.finos.legend.depot.domain.DatesHandler.toTime;
 
 
@@ -58,6 +73,8 @@ public abstract class BaseMongo<T extends HasIdentifier>
     private static final String INDEX_NAME = "name";
     public static final String ID_FIELD = "_id";
     public static final String ID = "id";
+    protected static final List<String> DEFAULT_KEYSET_FIELDS = Arrays.asList(GROUP_ID, ARTIFACT_ID, VERSION_ID, ID_FIELD);
+    public static final int DEFAULT_BATCH_SIZE = 1000;
     public static final FindOneAndReplaceOptions FIND_ONE_AND_REPLACE_OPTIONS = new FindOneAndReplaceOptions().upsert(true).returnDocument(ReturnDocument.AFTER);
     protected static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(BaseMongo.class);
     private final ObjectMapper objectMapper;
@@ -145,11 +162,16 @@ public abstract class BaseMongo<T extends HasIdentifier>
         return and(eq(GROUP_ID, groupId), eq(ARTIFACT_ID, artifactId));
     }
 
+    protected Bson getArtifactAndVersionsFilter(String groupId, String artifactId, List<String> versionIds)
+    {
+        return and(in(VERSION_ID, versionIds), getArtifactFilter(groupId, artifactId));
+    }
+
     public T createOrUpdate(T data)
     {
         validateNewData(data);
         Bson keyFilter = getKeyFilter(data);
-        Document result = (Document)getCollection().findOneAndReplace(keyFilter,handleCreateUpdateDates(buildDocument(data)), FIND_ONE_AND_REPLACE_OPTIONS);
+        Document result = (Document)getCollection().findOneAndReplace(keyFilter,handleCreateUpdateDates(toDocument(data)), FIND_ONE_AND_REPLACE_OPTIONS);
         return convert(result, documentClass);
     }
 
@@ -163,7 +185,15 @@ public abstract class BaseMongo<T extends HasIdentifier>
     public void insert(T data)
     {
         validateNewData(data);
-        getCollection().insertOne(handleCreateUpdateDates(buildDocument(data)));
+        getCollection().insertOne(handleCreateUpdateDates(toDocument(data)));
+    }
+
+    /**
+     * Document written by createOrUpdate and insert; stores override it to add fields derived from the data.
+     */
+    protected Document toDocument(T data)
+    {
+        return buildDocument(data);
     }
 
     private Document handleCreateUpdateDates(Document document)
@@ -180,6 +210,32 @@ public abstract class BaseMongo<T extends HasIdentifier>
         return result;
     }
 
+    public Stream<T> getAllStoredEntitiesAsStream(int batchSize)
+    {
+        return stream(new Document(), null, batchSize);
+    }
+
+    /**
+     * Lazily converts documents as the cursor is consumed, fetching batchSize documents per round trip.
+     * The returned stream holds a server cursor and must be closed.
+     */
+    protected Stream<T> stream(Bson filter, Bson projection, int batchSize)
+    {
+        FindIterable<Document> iterable = getCollection().find(filter).batchSize(batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE);
+        if (projection != null)
+        {
+            iterable = iterable.projection(projection);
+        }
+        MongoCursor<Document> cursor = iterable.iterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(cursor, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(cursor::close)
+                .map(doc -> convert(doc, documentClass));
+    }
+
+    /**
+     * @deprecated skip based, deep pages scan every document before them; use {@link #getStoredEntitiesPage(String, int)}
+     */
+    @Deprecated
     public List<T> getStoredEntitiesByPage(int page, int pageSize)
     {
         List<T> result = new ArrayList<>();
@@ -187,6 +243,114 @@ public abstract class BaseMongo<T extends HasIdentifier>
         return result;
     }
 
+    public Page<T> getStoredEntitiesPage(String continuationToken, int pageSize)
+    {
+        return findPage(new Document(), continuationToken, pageSize);
+    }
+
+    /**
+     * Fields, in sort order, that position a document for keyset pagination. Together they must be unique and
+     * covered by an index so that every page is an index range scan, however deep.
+     */
+    protected List<String> getKeysetFields()
+    {
+        return DEFAULT_KEYSET_FIELDS;
+    }
+
+    /**
+     * Whether pages run from the highest keyset values to the lowest, e.g. newest first.
+     */
+    protected boolean isKeysetDescending()
+    {
+        return false;
+    }
+
+    protected Page<T> findPage(Bson filter, String continuationToken, int pageSize)
+    {
+        if (pageSize < 1)
+        {
+            throw new IllegalArgumentException("pageSize must be greater than 0");
+        }
+        List<String> keysetFields = getKeysetFields();
+        boolean descending = isKeysetDescending();
+        Bson pageFilter = continuationToken == null ? filter : and(filter, getKeysetFilter(keysetFields, ContinuationToken.decode(continuationToken), descending));
+        List<T> result = new ArrayList<>();
+        List<Object> lastKey = null;
+        try (MongoCursor<Document> cursor = getCollection().find(pageFilter).sort(descending ? Sorts.descending(keysetFields) : Sorts.ascending(keysetFields)).limit(pageSize + 1).iterator())
+        {
+            while (cursor.hasNext() && result.size() < pageSize)
+            {
+                Document document = cursor.next();
+                lastKey = getKeysetValues(keysetFields, document);
+                result.add(convert(document, documentClass));
+            }
+            return new Page<>(result, cursor.hasNext() ? ContinuationToken.encode(lastKey) : null);
+        }
+    }
+
+    private static List<Object> getKeysetValues(List<String> keysetFields, Document document)
+    {
+        List<Object> values = new ArrayList<>();
+        for (String field : keysetFields)
+        {
+            Object value = document.get(field);
+            values.add(value instanceof ObjectId ? ((ObjectId) value).toHexString() : value);
+        }
+        return values;
+    }
+
+    static Bson getKeysetFilter(List<String> keysetFields, List<Object> keyValues)
+    {
+        return getKeysetFilter(keysetFields, keyValues, false);
+    }
+
+    static Bson getKeysetFilter(List<String> keysetFields, List<Object> keyValues, boolean descending)
+    {
+        if (keyValues.size() != keysetFields.size())
+        {
+            throw new IllegalArgumentException("continuation token does not match this listing");
+        }
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < keysetFields.size(); i++)
+        {
+            Object value = keyValues.get(i);
+            values.add(ID_FIELD.equals(keysetFields.get(i)) && value instanceof String && ObjectId.isValid((String) value) ? new ObjectId((String) value) : value);
+        }
+        // (k1 > v1) or (k1 = v1 and k2 > v2) or ... nulls sort first, so anything not null comes after them
+        // descending it is (k1 < v1) or ..., where nulls sort last: they come after anything not null and nothing comes after them
+        List<Bson> after = new ArrayList<>();
+        for (int i = 0; i < keysetFields.size(); i++)
+        {
+            String field = keysetFields.get(i);
+            Object value = values.get(i);
+            if (descending && value == null)
+            {
+                continue;
+            }
+            List<Bson> conditions = new ArrayList<>();
+            for (int j = 0; j < i; j++)
+            {
+                conditions.add(eq(keysetFields.get(j), values.get(j)));
+            }
+            if (descending)
+            {
+                conditions.add(or(lt(field, value), eq(field, null)));
+            }
+            else
+            {
+                conditions.add(value == null ? ne(field, null) : gt(field, value));
+            }
+            after.add(and(conditions));
+        }
+        // leading bound lets the index scan start at the last key instead of the beginning
+        String first = keysetFields.get(0);
+        if (values.get(0) == null)
+        {
+            return or(after);
+        }
+        return and(descending ? or(lte(first, values.get(0)), eq(first, null)) : gte(first, values.get(0)), or(after));
+    }
+
     public <T> T convert(Document document, Class<T> clazz)
     {
       return convert(this.objectMapper,document,clazz);
@@ -69,6 +69,7 @@ public class MongoClientModule extends PrivateModule
     }
 
     @Provides
+    @Singleton
     @Named("mongoDatabase")
     public MongoDatabase getMongoDatabase(ConnectionFactory connectionFactory)
     {
@@ -0,0 +1,233 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.core;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.mongodb.MongoClientOptions;
+import com.mongodb.MongoCompressor;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Client settings applied on top of the driver defaults. Unset values keep the driver default,
+ * and options given in the connection string always take precedence over these.
+ */
+public class MongoClientSettingsConfiguration
+{
+    @JsonProperty
+    private Integer maxPoolSize;
+
+    @JsonProperty
+    private Integer minPoolSize;
+
+    // how long a thread waits in the queue for a pooled connection before failing
+    @JsonProperty
+    private Integer maxWaitTimeMillis;
+
+    @JsonProperty
+    private Integer maxConnectionIdleTimeMillis;
+
+    @JsonProperty
+    private Integer connectTimeoutMillis;
+
+    @JsonProperty
+    private Integer socketTimeoutMillis;
+
+    @JsonProperty
+    private Integer serverSelectionTimeoutMillis;
+
+    // in order of preference, from zstd, snappy and zlib
+    @JsonProperty
+    private List<String> compressors = new ArrayList<>();
+
+    // primary, primaryPreferred, secondary, secondaryPreferred or nearest
+    @JsonProperty
+    private String readPreference;
+
+    // w1, w2, majority, journaled etc.
+    @JsonProperty
+    private String writeConcern;
+
+    @JsonProperty
+    private Boolean retryReads;
+
+    @JsonProperty
+    private Boolean retryWrites;
+
+    public MongoClientSettingsConfiguration()
+    {
+    }
+
+    public MongoClientSettingsConfiguration(Integer maxPoolSize, Integer maxWaitTimeMillis, Integer socketTimeoutMillis, List<String> compressors, String readPreference, String writeConcern)
+    {
+        this.maxPoolSize = maxPoolSize;
+        this.maxWaitTimeMillis = maxWaitTimeMillis;
+        this.socketTimeoutMillis = socketTimeoutMillis;
+        this.compressors = compressors != null ? compressors : new ArrayList<>();
+        this.readPreference = readPreference;
+        this.writeConcern = writeConcern;
+    }
+
+    public Integer getMaxPoolSize()
+    {
+        return maxPoolSize;
+    }
+
+    public Integer getMinPoolSize()
+    {
+        return minPoolSize;
+    }
+
+    public Integer getMaxWaitTimeMillis()
+    {
+        return maxWaitTimeMillis;
+    }
+
+    public Integer getMaxConnectionIdleTimeMillis()
+    {
+        return maxConnectionIdleTimeMillis;
+    }
+
+    public Integer getConnectTimeoutMillis()
+    {
+        return connectTimeoutMillis;
+    }
+
+    public Integer getSocketTimeoutMillis()
+    {
+        return socketTimeoutMillis;
+    }
+
+    public Integer getServerSelectionTimeoutMillis()
+    {
+        return serverSelectionTimeoutMillis;
+    }
+
+    public List<String> getCompressors()
+    {
+        return compressors != null ? compressors : Collections.emptyList();
+    }
+
+    public String getReadPreference()
+    {
+        return readPreference;
+    }
+
+    public String getWriteConcern()
+    {
+        return writeConcern;
+    }
+
+    public Boolean getRetryReads()
+    {
+        return retryReads;
+    }
+
+    public Boolean getRetryWrites()
+    {
+        return retryWrites;
+    }
+
+    public MongoClientOptions.Builder applyTo(MongoClientOptions.Builder builder)
+    {
+        if (maxPoolSize != null)
+        {
+            builder.connectionsPerHost(maxPoolSize);
+        }
+        if (minPoolSize != null)
+        {
+            builder.minConnectionsPerHost(minPoolSize);
+        }
+        if (maxWaitTimeMillis != null)
+        {
+            builder.maxWaitTime(maxWaitTimeMillis);
+        }
+        if (maxConnectionIdleTimeMillis != null)
+        {
+            builder.maxConnectionIdleTime(maxConnectionIdleTimeMillis);
+        }
+        if (connectTimeoutMillis != null)
+        {
+            builder.connectTimeout(connectTimeoutMillis);
+        }
+        if (socketTimeoutMillis != null)
+        {
+            builder.socketTimeout(socketTimeoutMillis);
+        }
+        if (serverSelectionTimeoutMillis != null)
+        {
+            builder.serverSelectionTimeout(serverSelectionTimeoutMillis);
+        }
+        if (!getCompressors().isEmpty())
+        {
+            builder.compressorList(buildCompressors(getCompressors()));
+        }
+        if (!isNullOrEmpty(readPreference))
+        {
+            builder.readPreference(ReadPreference.valueOf(readPreference));
+        }
+        if (!isNullOrEmpty(writeConcern))
+        {
+            WriteConcern concern = WriteConcern.valueOf(writeConcern);
+            if (concern == null)
+            {
+                throw new IllegalArgumentException("unknown write concern " + writeConcern);
+            }
+            builder.writeConcern(concern);
+        }
+        if (retryReads != null)
+        {
+            builder.retryReads(retryReads);
+        }
+        if (retryWrites != null)
+        {
+            builder.retryWrites(retryWrites);
+        }
+        return builder;
+    }
+
+    static List<MongoCompressor> buildCompressors(List<String> names)
+    {
+        List<MongoCompressor> result = new ArrayList<>();
+        for (String name : names)
+        {
+            switch (name.trim().toLowerCase())
+            {
+                case "zstd":
+                    result.add(MongoCompressor.createZstdCompressor());
+                    break;
+                case "snappy":
+                    result.add(MongoCompressor.createSnappyCompressor());
+                    break;
+                case "zlib":
+                    result.add(MongoCompressor.createZlibCompressor());
+                    break;
+                default:
+                    throw new IllegalArgumentException("unsupported mongo compressor " + name);
+            }
+        }
+        return result;
+    }
+
+    private static boolean isNullOrEmpty(String string)
+    {
+        return string == null || string.isEmpty();
+    }
+}
@@ -0,0 +1,67 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.core;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+public class MongoCommandMetricsConfiguration
+{
+    private static final double[] DEFAULT_DURATION_BUCKETS = {0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+    @JsonProperty
+    private boolean enabled = true;
+
+    @JsonProperty
+    private double[] durationBuckets = DEFAULT_DURATION_BUCKETS;
+
+    // commands slower than this are logged with their filter shape, zero or less disables the slow command log
+    @JsonProperty
+    private long slowCommandThresholdMillis = 1000;
+
+    // sizes of commands and replies the driver has already decoded are measured by re-encoding them
+    @JsonProperty
+    private boolean recordPayloadSizes = false;
+
+    public MongoCommandMetricsConfiguration()
+    {
+    }
+
+    public MongoCommandMetricsConfiguration(long slowCommandThresholdMillis, boolean recordPayloadSizes)
+    {
+        this.slowCommandThresholdMillis = slowCommandThresholdMillis;
+        this.recordPayloadSizes = recordPayloadSizes;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    public double[] getDurationBuckets()
+    {
+        return durationBuckets;
+    }
+
+    public long getSlowCommandThresholdMillis()
+    {
+        return slowCommandThresholdMillis;
+    }
+
+    public boolean isRecordPayloadSizes()
+    {
+        return recordPayloadSizes;
+    }
+}
@@ -0,0 +1,287 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.core;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.finos.legend.depot.core.services.api.metrics.CounterHandle;
+import org.finos.legend.depot.core.services.api.metrics.HistogramHandle;
+import org.finos.legend.depot.core.services.api.metrics.PrometheusMetricsHandler;
+import org.finos.legend.depot.core.services.api.metrics.SummaryHandle;
+import org.slf4j.Logger;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Records latency, document counts and payload sizes for every command sent by the driver, by collection and command,
+ * and logs commands slower than the configured threshold with the shape of their filters (field names and operators, no values).
+ */
+public class MongoCommandMetricsListener implements CommandListener
+{
+    private static final Logger LOGGER = org.slf4j.LoggerFactory.getLogger(MongoCommandMetricsListener.class);
+    static final String COMMAND_DURATION = "mongo_command_duration_seconds";
+    static final String COMMAND_FAILURES = "mongo_command_failures";
+    static final String COMMAND_DOCUMENTS = "mongo_command_documents";
+    static final String COMMAND_PAYLOAD_SIZE = "mongo_command_payload_bytes";
+    static final String NO_COLLECTION = "none";
+    private static final String COLLECTION = "collection";
+    private static final String COMMAND = "command";
+    private static final String DIRECTION = "direction";
+    private static final String REQUEST = "request";
+    private static final String RESPONSE = "response";
+    private static final String GET_MORE = "getMore";
+    private static final String CURSOR = "cursor";
+    private static final String VALUE = "value";
+    private static final String N = "n";
+    private static final Set<String> SHAPE_FIELDS = new HashSet<>(Arrays.asList("filter", "query", "q", "u", "update", "sort", "projection", "pipeline", "updates", "deletes", "hint"));
+    private static final BsonString PLACEHOLDER = new BsonString("?");
+    private static final BsonString TRUNCATED = new BsonString("...");
+    private static final int MAX_SHAPE_DEPTH = 6;
+    private static final double NANOS_PER_SECOND = 1_000_000_000D;
+
+    private final Supplier<PrometheusMetricsHandler> handlers;
+    private final double[] durationBuckets;
+    private final long slowCommandThresholdMillis;
+    private final boolean recordPayloadSizes;
+    private final Map<Integer, StartedCommand> inProgress = new ConcurrentHashMap<>();
+    private volatile Registration registration;
+
+    public MongoCommandMetricsListener(MongoCommandMetricsConfiguration configuration, Supplier<PrometheusMetricsHandler> handlers)
+    {
+        this.handlers = handlers;
+        this.durationBuckets = configuration.getDurationBuckets();
+        this.slowCommandThresholdMillis = configuration.getSlowCommandThresholdMillis();
+        this.recordPayloadSizes = configuration.isRecordPayloadSizes();
+    }
+
+    private CommandHandles handles(String collection, String commandName)
+    {
+        PrometheusMetricsHandler handler = handlers.get();
+        Registration current = registration;
+        if (current == null || current.handler != handler)
+        {
+            current = new Registration(handler, durationBuckets);
+            registration = current;
+        }
+        return current.handles(collection, commandName);
+    }
+
+    @Override
+    public void commandStarted(CommandStartedEvent event)
+    {
+        // the command document is only valid during this call, anything needed later is extracted now
+        BsonDocument command = event.getCommand();
+        String collection = collectionName(event.getCommandName(), command);
+        long size = payloadSize(command);
+        if (size >= 0)
+        {
+            handles(collection, event.getCommandName()).requestSize.observe(size);
+        }
+        inProgress.put(event.getRequestId(), new StartedCommand(collection, slowCommandThresholdMillis > 0 ? shape(command) : null));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event)
+    {
+        StartedCommand started = inProgress.remove(event.getRequestId());
+        String collection = started != null ? started.collection : NO_COLLECTION;
+        CommandHandles handles = handles(collection, event.getCommandName());
+        long elapsedNanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        handles.duration.observe(elapsedNanos / NANOS_PER_SECOND);
+
+        BsonDocument response = event.getResponse();
+        long count = documentCount(response);
+        if (count >= 0)
+        {
+            handles.documents.observe(count);
+        }
+        long size = payloadSize(response);
+        if (size >= 0)
+        {
+            handles.responseSize.observe(size);
+        }
+        logIfSlow(event.getCommandName(), started, elapsedNanos);
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event)
+    {
+        StartedCommand started = inProgress.remove(event.getRequestId());
+        String collection = started != null ? started.collection : NO_COLLECTION;
+        CommandHandles handles = handles(collection, event.getCommandName());
+        long elapsedNanos = event.getElapsedTime(TimeUnit.NANOSECONDS);
+        handles.duration.observe(elapsedNanos / NANOS_PER_SECOND);
+        handles.failures.increment();
+        logIfSlow(event.getCommandName(), started, elapsedNanos);
+    }
+
+    private void logIfSlow(String commandName, StartedCommand started, long elapsedNanos)
+    {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        if (started != null && started.shape != null && elapsedMillis >= slowCommandThresholdMillis)
+        {
+            LOGGER.warn("slow mongo command [{}] on [{}] took [{}] ms: {}", commandName, started.collection, elapsedMillis, started.shape.toJson());
+        }
+    }
+
+    static String collectionName(String commandName, BsonDocument command)
+    {
+        BsonValue target = GET_MORE.equals(commandName) ? command.get(COLLECTION) : command.get(commandName);
+        return target != null && target.isString() ? target.asString().getValue() : NO_COLLECTION;
+    }
+
+    static long documentCount(BsonDocument response)
+    {
+        BsonValue cursor = response.get(CURSOR);
+        if (cursor != null && cursor.isDocument())
+        {
+            BsonValue batch = cursor.asDocument().containsKey("firstBatch") ? cursor.asDocument().get("firstBatch") : cursor.asDocument().get("nextBatch");
+            return batch != null && batch.isArray() ? batch.asArray().size() : -1;
+        }
+        BsonValue n = response.get(N);
+        if (n != null && n.isNumber())
+        {
+            return n.asNumber().longValue();
+        }
+        if (response.containsKey(VALUE))
+        {
+            return response.get(VALUE).isNull() ? 0 : 1;
+        }
+        return -1;
+    }
+
+    static BsonDocument shape(BsonDocument command)
+    {
+        BsonDocument shape = new BsonDocument();
+        command.forEach((field, value) ->
+        {
+            if (SHAPE_FIELDS.contains(field))
+            {
+                shape.put(field, shapeOf(value, 1));
+            }
+        });
+        return shape;
+    }
+
+    private static BsonValue shapeOf(BsonValue value, int depth)
+    {
+        if (depth > MAX_SHAPE_DEPTH)
+        {
+            return TRUNCATED;
+        }
+        if (value.isDocument())
+        {
+            BsonDocument shape = new BsonDocument();
+            value.asDocument().forEach((field, fieldValue) -> shape.put(field, shapeOf(fieldValue, depth + 1)));
+            return shape;
+        }
+        if (value.isArray())
+        {
+            // one element is enough to show the shape, large $in lists are not copied
+            BsonArray array = value.asArray();
+            return array.isEmpty() ? new BsonArray() : new BsonArray(Arrays.asList(shapeOf(array.get(0), depth + 1)));
+        }
+        return PLACEHOLDER;
+    }
+
+    private long payloadSize(BsonDocument document)
+    {
+        if (document instanceof RawBsonDocument)
+        {
+            return ((RawBsonDocument) document).getByteBuffer().remaining();
+        }
+        if (!recordPayloadSizes)
+        {
+            return -1;
+        }
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        try (BsonBinaryWriter writer = new BsonBinaryWriter(buffer))
+        {
+            new BsonDocumentCodec().encode(writer, document, EncoderContext.builder().build());
+        }
+        return buffer.getSize();
+    }
+
+    // metrics registered with one handler, a reconfigured handler gets a fresh registration
+    private static final class Registration
+    {
+        private final PrometheusMetricsHandler handler;
+        private final Map<String, CommandHandles> handles = new ConcurrentHashMap<>();
+
+        private Registration(PrometheusMetricsHandler handler, double[] durationBuckets)
+        {
+            this.handler = handler;
+            handler.registerHistogram(COMMAND_DURATION, "mongo command duration", Arrays.asList(COLLECTION, COMMAND), durationBuckets);
+            handler.registerCounter(COMMAND_FAILURES, "mongo command failures", Arrays.asList(COLLECTION, COMMAND));
+            handler.registerSummary(COMMAND_DOCUMENTS, "documents returned or written by mongo commands", Arrays.asList(COLLECTION, COMMAND));
+            handler.registerSummary(COMMAND_PAYLOAD_SIZE, "mongo command and reply sizes", Arrays.asList(COLLECTION, COMMAND, DIRECTION));
+        }
+
+        private CommandHandles handles(String collection, String commandName)
+        {
+            String key = collection + "/" + commandName;
+            CommandHandles found = handles.get(key);
+            return found != null ? found : handles.computeIfAbsent(key, k -> new CommandHandles(handler, collection, commandName));
+        }
+    }
+
+    private static final class CommandHandles
+    {
+        private final HistogramHandle duration;
+        private final CounterHandle failures;
+        private final SummaryHandle documents;
+        private final SummaryHandle requestSize;
+        private final SummaryHandle responseSize;
+
+        private CommandHandles(PrometheusMetricsHandler handler, String collection, String commandName)
+        {
+            this.duration = handler.histogram(COMMAND_DURATION, collection, commandName);
+            this.failures = handler.counter(COMMAND_FAILURES, collection, commandName);
+            this.documents = handler.summary(COMMAND_DOCUMENTS, collection, commandName);
+            this.requestSize = handler.summary(COMMAND_PAYLOAD_SIZE, collection, commandName, REQUEST);
+            this.responseSize = handler.summary(COMMAND_PAYLOAD_SIZE, collection, commandName, RESPONSE);
+        }
+    }
+
+    private static final class StartedCommand
+    {
+        private final String collection;
+        private final BsonDocument shape;
+
+        private StartedCommand(String collection, BsonDocument shape)
+        {
+            this.collection = collection;
+            this.shape = shape;
+        }
+    }
+}
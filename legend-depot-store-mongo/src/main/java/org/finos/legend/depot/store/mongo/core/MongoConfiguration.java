@@ -35,6 +35,12 @@ public class MongoConfiguration extends StorageConfiguration
     @JsonProperty
     public boolean tracing;
 
+    @JsonProperty
+    public MongoCommandMetricsConfiguration commandMetrics;
+
+    @JsonProperty
+    public MongoClientSettingsConfiguration clientSettings;
+
     @JsonCreator
     public MongoConfiguration(@JsonProperty("database") String database, @JsonProperty("url") String url,@JsonProperty("tracing") boolean tracing)
     {
@@ -58,4 +64,14 @@ public class MongoConfiguration extends StorageConfiguration
     {
         return tracing;
     }
+
+    public MongoCommandMetricsConfiguration getCommandMetrics()
+    {
+        return commandMetrics != null ? commandMetrics : new MongoCommandMetricsConfiguration();
+    }
+
+    public MongoClientSettingsConfiguration getClientSettings()
+    {
+        return clientSettings != null ? clientSettings : new MongoClientSettingsConfiguration();
+    }
 }
@@ -0,0 +1,73 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.MongoClientOptions;
+import com.mongodb.MongoClientURI;
+import com.mongodb.ReadPreference;
+import com.mongodb.WriteConcern;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class TestMongoClientSettingsConfiguration
+{
+    @Test
+    public void canApplyClientSettings() throws IOException
+    {
+        MongoClientSettingsConfiguration settings = new ObjectMapper().readValue("{\"maxPoolSize\": 20, \"maxWaitTimeMillis\": 5000, \"socketTimeoutMillis\": 60000, " +
+                "\"compressors\": [\"zstd\", \"snappy\"], \"readPreference\": \"secondaryPreferred\", \"writeConcern\": \"majority\", \"retryWrites\": false}", MongoClientSettingsConfiguration.class);
+
+        MongoClientOptions options = settings.applyTo(MongoClientOptions.builder()).build();
+        Assertions.assertEquals(20, options.getConnectionsPerHost());
+        Assertions.assertEquals(5000, options.getMaxWaitTime());
+        Assertions.assertEquals(60000, options.getSocketTimeout());
+        Assertions.assertEquals(Arrays.asList("zstd", "snappy"), Arrays.asList(options.getCompressorList().get(0).getName(), options.getCompressorList().get(1).getName()));
+        Assertions.assertEquals(ReadPreference.secondaryPreferred(), options.getReadPreference());
+        Assertions.assertEquals(WriteConcern.MAJORITY, options.getWriteConcern());
+        Assertions.assertFalse(options.getRetryWrites());
+    }
+
+    @Test
+    public void unsetSettingsKeepDriverDefaults()
+    {
+        MongoClientOptions defaults = MongoClientOptions.builder().build();
+        MongoClientOptions options = new MongoClientSettingsConfiguration().applyTo(MongoClientOptions.builder()).build();
+        Assertions.assertEquals(defaults.getConnectionsPerHost(), options.getConnectionsPerHost());
+        Assertions.assertEquals(defaults.getReadPreference(), options.getReadPreference());
+        Assertions.assertTrue(options.getCompressorList().isEmpty());
+    }
+
+    @Test
+    public void connectionStringTakesPrecedence()
+    {
+        MongoClientSettingsConfiguration settings = new MongoClientSettingsConfiguration(20, null, null, Collections.emptyList(), "secondaryPreferred", null);
+        MongoClientURI uri = new MongoClientURI("mongodb://127.0.0.1:27017/?readPreference=primary", settings.applyTo(MongoClientOptions.builder()));
+        Assertions.assertEquals(ReadPreference.primary(), uri.getOptions().getReadPreference());
+        Assertions.assertEquals(20, uri.getOptions().getConnectionsPerHost());
+    }
+
+    @Test
+    public void rejectsUnknownSettings()
+    {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MongoClientSettingsConfiguration(null, null, null, Collections.singletonList("lz4"), null, null).applyTo(MongoClientOptions.builder()));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new MongoClientSettingsConfiguration(null, null, null, null, null, "sometimes").applyTo(MongoClientOptions.builder()));
+    }
+}
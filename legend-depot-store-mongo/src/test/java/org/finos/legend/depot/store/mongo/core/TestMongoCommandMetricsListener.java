@@ -0,0 +1,75 @@
+//  Copyright 2021 Goldman Sachs
+//
+//  Licensed under the Apache License, Version 2.0 (the "License");
+//  you may not use this file except in compliance with the License.
+//  You may obtain a copy of the License at
+//
+//       http://www.apache.org/licenses/LICENSE-2.0
+//
+//  Unless required by applicable law or agreed to in writing, software
+//  distributed under the License is distributed on an "AS IS" BASIS,
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+//  See the License for the specific language governing permissions and
+//  limitations under the License.
+//
+
+package org.finos.legend.depot.store.mongo.core;
+
+import com.mongodb.MongoClient;
+import com.mongodb.MongoClientOptions;
+import com.mongodb.ServerAddress;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import de.bwaldvogel.mongo.MongoServer;
+import de.bwaldvogel.mongo.backend.memory.MemoryBackend;
+import io.prometheus.client.CollectorRegistry;
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.finos.legend.depot.core.services.metrics.DepotPrometheusMetricsHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class TestMongoCommandMetricsListener
+{
+    private static final String[] LABELS = {"collection", "command"};
+    private final CollectorRegistry registry = new CollectorRegistry();
+    private final DepotPrometheusMetricsHandler metricsHandler = new DepotPrometheusMetricsHandler("test", registry);
+    private final MongoServer server = new MongoServer(new MemoryBackend());
+    private final MongoClient mongoClient = new MongoClient(new ServerAddress(server.bind()),
+            MongoClientOptions.builder().addCommandListener(new MongoCommandMetricsListener(new MongoCommandMetricsConfiguration(1, true), () -> metricsHandler)).build());
+
+    @AfterEach
+    public void tearDown()
+    {
+        mongoClient.close();
+        server.shutdown();
+    }
+
+    @Test
+    public void canRecordCommandMetricsByCollection()
+    {
+        MongoCollection<Document> collection = mongoClient.getDatabase("test-db").getCollection("entities");
+        collection.insertMany(Arrays.asList(new Document("groupId", "examples.metadata").append("versionId", "1.0.0"),
+                new Document("groupId", "examples.metadata").append("versionId", "2.0.0")));
+        collection.find(Filters.eq("groupId", "examples.metadata")).into(new ArrayList<>());
+
+        Assertions.assertEquals(1.0D, registry.getSampleValue("test_mongo_command_duration_seconds_count", LABELS, new String[]{"entities", "insert"}), 0.0D);
+        Assertions.assertEquals(1.0D, registry.getSampleValue("test_mongo_command_duration_seconds_count", LABELS, new String[]{"entities", "find"}), 0.0D);
+        Assertions.assertEquals(2.0D, registry.getSampleValue("test_mongo_command_documents_sum", LABELS, new String[]{"entities", "insert"}), 0.0D);
+        Assertions.assertEquals(2.0D, registry.getSampleValue("test_mongo_command_documents_sum", LABELS, new String[]{"entities", "find"}), 0.0D);
+        Assertions.assertTrue(registry.getSampleValue("test_mongo_command_payload_bytes_sum", new String[]{"collection", "command", "direction"}, new String[]{"entities", "find", "response"}) > 0);
+    }
+
+    @Test
+    public void canShapeCommandFiltersWithoutValues()
+    {
+        BsonDocument command = BsonDocument.parse("{find: 'entities', filter: {groupId: 'examples.metadata', versionId: {$in: ['1.0.0', '2.0.0']}}, limit: 1, $db: 'test-db'}");
+        Assertions.assertEquals("entities", MongoCommandMetricsListener.collectionName("find", command));
+        Assertions.assertEquals(BsonDocument.parse("{filter: {groupId: '?', versionId: {$in: ['?']}}}"), MongoCommandMetricsListener.shape(command));
+        Assertions.assertEquals(MongoCommandMetricsListener.NO_COLLECTION, MongoCommandMetricsListener.collectionName("ping", BsonDocument.parse("{ping: 1}")));
+    }
+}